@@ -0,0 +1,86 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes and reads a generated resolved closure, as a build caching resolution results on a
+ * key-value store would do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactClosureBenchmark {
+
+  private static final String REPOSITORY = "https://repo.example.com/maven2/";
+
+  @Param({"5000"})
+  private int size;
+
+  private Map<ArtifactCoordinates, Artifact> closure;
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    ArtifactCoordinates[] coordinates = new ArtifactCoordinates[size];
+    closure = new LinkedHashMap<>();
+    for (int i = 0; i < size; ++i) {
+      coordinates[i] = new ArtifactCoordinates(
+          SyntheticRepository.GROUP_ID,
+          "artifact-" + i,
+          SyntheticRepository.VERSION);
+      Set<ArtifactCoordinates> dependencies = new LinkedHashSet<>();
+      if (i > 0) {
+        dependencies.add(coordinates[i / 2]);
+        dependencies.add(coordinates[i - 1]);
+      }
+      closure.put(coordinates[i], new Artifact(
+          new URL(REPOSITORY + coordinates[i].getPath("jar")),
+          dependencies));
+    }
+    encoded = write();
+  }
+
+  @Benchmark
+  public byte[] writeClosure() throws IOException {
+    return write();
+  }
+
+  @Benchmark
+  public Map<ArtifactCoordinates, Artifact> readClosure() throws IOException {
+    try (ArtifactClosureReader reader = new ArtifactClosureReader(
+        new ByteArrayInputStream(encoded))) {
+      return reader.readAll();
+    }
+  }
+
+  private byte[] write() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (ArtifactClosureWriter writer = new ArtifactClosureWriter(output)) {
+      writer.writeAll(closure);
+    }
+    return output.toByteArray();
+  }
+}
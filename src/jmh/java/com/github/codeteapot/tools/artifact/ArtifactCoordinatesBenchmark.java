@@ -0,0 +1,85 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArtifactCoordinatesBenchmark {
+
+  private static final String[] COMMON_ARTIFACT_IDS = {"core", "api", "parent", "common"};
+
+  private ArtifactCoordinates coordinates = new ArtifactCoordinates(
+      "com.github.codeteapot.tools",
+      "maven-artifact-get",
+      "0.2.0");
+
+  @Benchmark
+  public String getPath() {
+    return coordinates.getPath("jar");
+  }
+
+  @Benchmark
+  public int hashCodeOfCoordinates() {
+    return coordinates.hashCode();
+  }
+
+  /**
+   * Builds a set of coordinates that mostly share a handful of artifact identifiers across many
+   * groups, like closures of large multi-module projects do.
+   */
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.SECONDS)
+  public int populateSet(Closure closure) {
+    Set<ArtifactCoordinates> set = new HashSet<>();
+    for (ArtifactCoordinates element : closure.elements) {
+      set.add(element);
+    }
+    int found = 0;
+    for (ArtifactCoordinates element : closure.lookups) {
+      if (set.contains(element)) {
+        ++found;
+      }
+    }
+    return found;
+  }
+
+  @State(Scope.Benchmark)
+  public static class Closure {
+
+    @Param({"100000"})
+    private int size;
+
+    private ArtifactCoordinates[] elements;
+    private ArtifactCoordinates[] lookups;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      elements = new ArtifactCoordinates[size];
+      lookups = new ArtifactCoordinates[size];
+      for (int i = 0; i < size; ++i) {
+        String groupId = "org.example.group" + i / COMMON_ARTIFACT_IDS.length;
+        String artifactId = COMMON_ARTIFACT_IDS[i % COMMON_ARTIFACT_IDS.length];
+        elements[i] = new ArtifactCoordinates(groupId, artifactId, "1.0." + i % 3);
+        lookups[i] = new ArtifactCoordinates(groupId, artifactId, "1.0." + i % 3);
+      }
+    }
+  }
+}
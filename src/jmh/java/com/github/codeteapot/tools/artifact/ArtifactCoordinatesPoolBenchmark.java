@@ -0,0 +1,91 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by a synthetic graph of one million dependency edges, with and without
+ * canonicalizing its coordinates.
+ *
+ * <p>Every edge is built from freshly allocated strings, as parsing a project does. The retained
+ * heap is reported as the {@code retainedMegabytes} secondary result.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ArtifactCoordinatesPoolBenchmark {
+
+  private static final int NODE_COUNT = 100_000;
+  private static final int EDGES_PER_NODE = 10;
+  private static final int GROUP_COUNT = 500;
+  private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+  @Param({"false", "true"})
+  private boolean pooled;
+
+  private MemoryMXBean memory;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    memory = ManagementFactory.getMemoryMXBean();
+  }
+
+  @Benchmark
+  public Object buildGraph(Footprint footprint) {
+    long before = usedHeap();
+    ArtifactCoordinatesPool pool = new ArtifactCoordinatesPool();
+    List<Set<ArtifactCoordinates>> graph = new ArrayList<>(NODE_COUNT);
+    for (int i = 0; i < NODE_COUNT; ++i) {
+      Set<ArtifactCoordinates> dependencies = new HashSet<>();
+      for (int j = 1; j <= EDGES_PER_NODE; ++j) {
+        ArtifactCoordinates dependency = coordinates((i * 31 + j * 7919) % NODE_COUNT);
+        dependencies.add(pooled ? pool.canonical(dependency) : dependency);
+      }
+      graph.add(dependencies);
+    }
+    footprint.retainedMegabytes = (usedHeap() - before) / BYTES_PER_MEGABYTE;
+    return graph;
+  }
+
+  private long usedHeap() {
+    for (int i = 0; i < 3; ++i) {
+      System.gc();
+    }
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static ArtifactCoordinates coordinates(int index) {
+    return new ArtifactCoordinates(
+        new StringBuilder("org.example.group").append(index % GROUP_COUNT).toString(),
+        new StringBuilder("artifact-").append(index).toString(),
+        new StringBuilder("1.0.").append(index % 10).toString());
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+
+    public double retainedMegabytes;
+  }
+}
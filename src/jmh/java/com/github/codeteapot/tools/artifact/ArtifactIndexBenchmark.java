@@ -0,0 +1,99 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.SyntheticRepository.dependencies;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Gets every artifact of a generated {@code file:} repository, as a new process would do, either
+ * parsing every project file or reading a previously saved index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactIndexBenchmark {
+
+  @Param({"2000"})
+  private int size;
+
+  private SyntheticRepository repository;
+  private URL url;
+  private List<ArtifactCoordinates> closure;
+  private Path indexFile;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    repository = new SyntheticRepository();
+    url = repository.getURL();
+    closure = new ArrayList<>();
+    for (int i = 0; i < size; ++i) {
+      Set<String> artifactIds = new LinkedHashSet<>();
+      if (i > 0) {
+        artifactIds.add(artifactId(i / 2));
+        artifactIds.add(artifactId(i - 1));
+      }
+      closure.add(repository.project(
+          artifactId(i),
+          null,
+          dependencies(new ArrayList<>(artifactIds), SyntheticRepository.VERSION)));
+    }
+    indexFile = Files.createTempDirectory("artifact-get-bench").resolve("artifacts.idx");
+    ArtifactIndex index = new ArtifactIndex(new ArtifactRepository(url), indexFile);
+    for (ArtifactCoordinates coordinates : closure) {
+      index.get(coordinates);
+    }
+    index.save();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.delete(indexFile);
+    Files.delete(indexFile.getParent());
+    repository.close();
+  }
+
+  @Benchmark
+  public void parseProjects(Blackhole blackhole) throws Exception {
+    ArtifactRepository source = new ArtifactRepository(url);
+    for (ArtifactCoordinates coordinates : closure) {
+      blackhole.consume(source.get(coordinates));
+    }
+  }
+
+  @Benchmark
+  public void readIndex(Blackhole blackhole) throws Exception {
+    ArtifactIndex source = new ArtifactIndex(new ArtifactRepository(url), indexFile);
+    for (ArtifactCoordinates coordinates : closure) {
+      blackhole.consume(source.get(coordinates));
+    }
+  }
+
+  private static String artifactId(int index) {
+    return "artifact-" + index;
+  }
+}
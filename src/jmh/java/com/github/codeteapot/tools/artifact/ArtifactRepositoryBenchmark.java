@@ -0,0 +1,130 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.SyntheticRepository.dependencies;
+import static com.github.codeteapot.tools.artifact.SyntheticRepository.dependency;
+import static java.util.Arrays.asList;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads a single artifact from a {@code file:} repository.
+ *
+ * <p>A new repository is created on each invocation so that neither raw projects nor effective
+ * models are served from its memoization.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArtifactRepositoryBenchmark {
+
+  private static final int LARGE_SIZE = 200;
+  private static final int NESTED_DEPTH = 8;
+
+  @Param({"small", "large", "nested"})
+  private String shape;
+
+  private SyntheticRepository repository;
+  private URL url;
+  private ArtifactCoordinates coordinates;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    repository = new SyntheticRepository();
+    url = repository.getURL();
+    repository.project("dependency-a", null, "");
+    repository.project("dependency-b", null, "");
+    switch (shape) {
+      case "small":
+        coordinates = small();
+        break;
+      case "large":
+        coordinates = large();
+        break;
+      case "nested":
+        coordinates = nested();
+        break;
+      default:
+        throw new IllegalArgumentException(shape);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    repository.close();
+  }
+
+  @Benchmark
+  public Artifact get() throws ArtifactRepositoryException, IOException {
+    return new ArtifactRepository(url).get(coordinates);
+  }
+
+  private ArtifactCoordinates small() throws IOException {
+    return repository.project(
+        "small",
+        null,
+        dependencies(asList("dependency-a", "dependency-b"), SyntheticRepository.VERSION));
+  }
+
+  private ArtifactCoordinates large() throws IOException {
+    StringBuilder body = new StringBuilder("  <properties>\n");
+    List<String> artifactIds = new ArrayList<>();
+    for (int i = 0; i < LARGE_SIZE; ++i) {
+      body.append("    <some.property.").append(i).append(">some-value-").append(i)
+          .append("</some.property.").append(i).append(">\n");
+      artifactIds.add(i % 2 == 0 ? "dependency-a" : "dependency-b");
+    }
+    body.append("  </properties>\n")
+        .append("  <build>\n");
+    for (int i = 0; i < LARGE_SIZE; ++i) {
+      body.append("    <!-- some build configuration ").append(i).append(" -->\n")
+          .append("    <directory>${some.property.").append(i).append("}</directory>\n");
+    }
+    body.append("  </build>\n")
+        .append(dependencies(artifactIds, "${project.version}"));
+    return repository.project("large", null, body);
+  }
+
+  private ArtifactCoordinates nested() throws IOException {
+    String parentId = null;
+    for (int i = 0; i < NESTED_DEPTH; ++i) {
+      StringBuilder body = new StringBuilder()
+          .append("  <properties>\n")
+          .append("    <level.").append(i).append(".version>")
+          .append(SyntheticRepository.VERSION)
+          .append("</level.").append(i).append(".version>\n")
+          .append("  </properties>\n")
+          .append("  <dependencyManagement>\n")
+          .append("    <dependencies>\n");
+      dependency(body, i % 2 == 0 ? "dependency-a" : "dependency-b", "${level.0.version}");
+      body.append("    </dependencies>\n")
+          .append("  </dependencyManagement>\n");
+      String artifactId = "nested-parent-" + i;
+      repository.project(artifactId, parentId, body);
+      parentId = artifactId;
+    }
+    return repository.project(
+        "nested",
+        parentId,
+        dependencies(asList("dependency-a", "dependency-b"), null));
+  }
+}
@@ -0,0 +1,80 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.SyntheticRepository.dependencies;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves the full dependency graph over a generated {@code file:} repository.
+ *
+ * <p>Artifact {@code i} depends on artifacts {@code i / 2}, {@code i / 3} and {@code i - 1}, so
+ * the root reaches every generated artifact through a graph with plenty of shared nodes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DependencyResolverBenchmark {
+
+  @Param({"1000", "5000"})
+  private int size;
+
+  private SyntheticRepository repository;
+  private URL url;
+  private ArtifactCoordinates root;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    repository = new SyntheticRepository();
+    url = repository.getURL();
+    for (int i = 0; i < size; ++i) {
+      Set<String> artifactIds = new LinkedHashSet<>();
+      if (i > 0) {
+        artifactIds.add(artifactId(i / 2));
+        artifactIds.add(artifactId(i / 3));
+        artifactIds.add(artifactId(i - 1));
+      }
+      List<String> dependencies = new ArrayList<>(artifactIds);
+      root = repository.project(
+          artifactId(i),
+          null,
+          dependencies(dependencies, SyntheticRepository.VERSION));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    repository.close();
+  }
+
+  @Benchmark
+  public DependencyGraph resolve() throws Exception {
+    return new DependencyResolver(new ArtifactRepository(url), ArtifactExecutors.DEFAULT)
+        .resolve(root);
+  }
+
+  private static String artifactId(int index) {
+    return "artifact-" + index;
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempDirectory;
+import static java.nio.file.Files.walk;
+import static java.nio.file.Files.write;
+import static java.util.Comparator.reverseOrder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+
+class SyntheticRepository implements AutoCloseable {
+
+  static final String GROUP_ID = "bench.synthetic";
+  static final String VERSION = "1.0.0";
+
+  private static final byte[] BUNDLE_CONTENT = new byte[0];
+
+  private final Path directory;
+
+  SyntheticRepository() throws IOException {
+    directory = createTempDirectory("artifact-get-bench");
+  }
+
+  URL getURL() throws MalformedURLException {
+    return directory.toUri().toURL();
+  }
+
+  ArtifactCoordinates coordinates(String artifactId) {
+    return new ArtifactCoordinates(GROUP_ID, artifactId, VERSION);
+  }
+
+  ArtifactCoordinates project(String artifactId, String parentId, CharSequence body)
+      throws IOException {
+    ArtifactCoordinates coordinates = coordinates(artifactId);
+    StringBuilder content = new StringBuilder()
+        .append("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n")
+        .append("  <modelVersion>4.0.0</modelVersion>\n");
+    if (parentId != null) {
+      content.append("  <parent>\n")
+          .append("    <groupId>").append(GROUP_ID).append("</groupId>\n")
+          .append("    <artifactId>").append(parentId).append("</artifactId>\n")
+          .append("    <version>").append(VERSION).append("</version>\n")
+          .append("  </parent>\n");
+    }
+    content.append("  <groupId>").append(GROUP_ID).append("</groupId>\n")
+        .append("  <artifactId>").append(artifactId).append("</artifactId>\n")
+        .append("  <version>").append(VERSION).append("</version>\n")
+        .append(body)
+        .append("</project>\n");
+    write(file(coordinates.getPath("pom")), content.toString().getBytes(UTF_8));
+    write(file(coordinates.getPath("jar")), BUNDLE_CONTENT);
+    return coordinates;
+  }
+
+  static StringBuilder dependencies(List<String> artifactIds, String version) {
+    StringBuilder body = new StringBuilder("  <dependencies>\n");
+    for (String artifactId : artifactIds) {
+      dependency(body, artifactId, version);
+    }
+    return body.append("  </dependencies>\n");
+  }
+
+  static StringBuilder dependency(StringBuilder body, String artifactId, String version) {
+    body.append("    <dependency>\n")
+        .append("      <groupId>").append(GROUP_ID).append("</groupId>\n")
+        .append("      <artifactId>").append(artifactId).append("</artifactId>\n");
+    if (version != null) {
+      body.append("      <version>").append(version).append("</version>\n");
+    }
+    return body.append("    </dependency>\n");
+  }
+
+  @Override
+  public void close() throws IOException {
+    walk(directory)
+        .sorted(reverseOrder())
+        .map(Path::toFile)
+        .forEach(File::delete);
+  }
+
+  private Path file(String relativePath) throws IOException {
+    Path file = directory.resolve(relativePath);
+    createDirectories(file.getParent());
+    return file;
+  }
+}
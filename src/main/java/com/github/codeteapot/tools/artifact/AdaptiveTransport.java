@@ -0,0 +1,333 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Transport decorator pacing the requests made on each host, so an overloaded repository manager
+ * is backed off instead of being failed against.
+ *
+ * <p>Requests to each host are limited by a token bucket, refilled at a fixed rate up to a burst
+ * size, and by a number of files open at the same time. That limit adapts to the host health: it
+ * grows slowly while responses are fine, and it is halved when the server answers {@code 429} or
+ * {@code 5xx}, or when the time to get a response spikes over twice the usual one. It is halved
+ * at most once per usual response time, so a burst of failures counts as a single one.
+ *
+ * <p>Requests answered with {@code 429} or {@code 5xx} are retried after an exponential backoff
+ * with jitter. When the server tells when to request again by {@code Retry-After}, no request is
+ * made on that host before then.
+ * 
+ * <p>The decorated transport should not bound the number of files open on each host below the
+ * maximum concurrency, or the adaptive limit would have no effect beyond that bound, and the time
+ * spent waiting for it would be taken as response time. So an {@link HttpTransport} decorated by
+ * this one should be given at least that maximum as its number of connections per host, instead of
+ * {@link HttpTransport#DEFAULT_MAX_CONNECTIONS_PER_HOST}.
+ *
+ * @see HttpTransport
+ * @see HttpStatusException
+ */
+public class AdaptiveTransport implements ArtifactTransport {
+
+  /**
+   * Default number of requests per second made on each host.
+   */
+  public static final double DEFAULT_REQUESTS_PER_SECOND = 100.0;
+
+  /**
+   * Default number of requests made on each host at once, before pacing them.
+   */
+  public static final int DEFAULT_BURST = 20;
+
+  /**
+   * Default maximum number of files open at the same time on each host, the adaptive limit
+   * never grows beyond.
+   */
+  public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+  /**
+   * Default number of times a failed request is retried.
+   */
+  public static final int DEFAULT_MAX_RETRIES = 3;
+
+  /**
+   * Default backoff before the first retry.
+   */
+  public static final Duration DEFAULT_MIN_BACKOFF = Duration.ofMillis(100L);
+
+  /**
+   * Default maximum backoff between retries.
+   */
+  public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(10L);
+
+  private static final double LATENCY_SPIKE_FACTOR = 2.0;
+  private static final int LATENCY_SMOOTHING = 8;
+
+  private final ArtifactTransport transport;
+  private final double nanosPerRequest;
+  private final int burst;
+  private final int maxConcurrency;
+  private final int maxRetries;
+  private final long minBackoff;
+  private final long maxBackoff;
+  private final Map<String, Host> hosts;
+
+  /**
+   * Decorate the given transport with default settings.
+   *
+   * @param transport The decorated transport.
+   */
+  public AdaptiveTransport(ArtifactTransport transport) {
+    this(
+        transport,
+        DEFAULT_REQUESTS_PER_SECOND,
+        DEFAULT_BURST,
+        DEFAULT_MAX_CONCURRENCY,
+        DEFAULT_MAX_RETRIES,
+        DEFAULT_MIN_BACKOFF,
+        DEFAULT_MAX_BACKOFF);
+  }
+
+  /**
+   * Decorate the given transport with the given settings.
+   *
+   * <p>The number of files open at the same time on each host starts at
+   * {@link ArtifactSource#DEFAULT_CONCURRENCY}, or at the maximum one when it is lower.
+   *
+   * @param transport The decorated transport.
+   * @param requestsPerSecond Number of requests per second made on each host.
+   * @param burst Number of requests made on each host at once, before pacing them.
+   * @param maxConcurrency Maximum number of files open at the same time on each host. It should
+   *        not be greater than the one the decorated transport allows.
+   * @param maxRetries Number of times a failed request is retried.
+   * @param minBackoff Backoff before the first retry.
+   * @param maxBackoff Maximum backoff between retries.
+   *
+   * @throws IllegalArgumentException When the rate, the burst or the maximum concurrency are not
+   *         positive, the number of retries is negative, or the backoffs are not in order.
+   */
+  public AdaptiveTransport(
+      ArtifactTransport transport,
+      double requestsPerSecond,
+      int burst,
+      int maxConcurrency,
+      int maxRetries,
+      Duration minBackoff,
+      Duration maxBackoff) {
+    if (!(requestsPerSecond > 0.0)) {
+      throw new IllegalArgumentException("Requests per second must be positive");
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("Burst must be positive");
+    }
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Maximum concurrency must be positive");
+    }
+    if (maxRetries < 0) {
+      throw new IllegalArgumentException("Maximum retries must not be negative");
+    }
+    if (minBackoff.isNegative() || maxBackoff.compareTo(minBackoff) < 0) {
+      throw new IllegalArgumentException("Backoffs must not be negative nor out of order");
+    }
+    this.transport = transport;
+    nanosPerRequest = SECONDS.toNanos(1L) / requestsPerSecond;
+    this.burst = burst;
+    this.maxConcurrency = maxConcurrency;
+    this.maxRetries = maxRetries;
+    this.minBackoff = minBackoff.toNanos();
+    this.maxBackoff = maxBackoff.toNanos();
+    hosts = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Open the file at the given location.
+   *
+   * <p>It waits until a request can be made on the host, and it retries while the server is
+   * overloaded or failing, up to the maximum number of retries.
+   *
+   * @throws FileNotFoundException When the file does not exist.
+   * @throws InterruptedIOException When interrupted while waiting.
+   * @throws HttpStatusException When the server answers an error status, and it cannot be retried
+   *         or the retries have been exhausted.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  @Override
+  public InputStream open(URL location) throws IOException {
+    Host host = host(location);
+    for (int attempt = 0;; ++attempt) {
+      host.acquire();
+      long start = System.nanoTime();
+      try {
+        InputStream input = transport.open(location);
+        host.succeeded(System.nanoTime() - start);
+        return new SlotInputStream(input, host);
+      } catch (HttpStatusException e) {
+        host.failed(e);
+        if (!e.isRetryable() || attempt >= maxRetries) {
+          throw e;
+        }
+        backoff(attempt);
+      } catch (IOException | RuntimeException e) {
+        host.release();
+        throw e;
+      }
+    }
+  }
+
+  int limit(URL location) {
+    return host(location).limit();
+  }
+
+  private Host host(URL location) {
+    return hosts.computeIfAbsent(
+        location.getProtocol() + "://" + location.getAuthority(),
+        key -> new Host());
+  }
+
+  /*
+   * Equal jitter keeps at least half of the exponential backoff, so retries of concurrent
+   * requests spread out without coming back too early.
+   */
+  private void backoff(int attempt) throws InterruptedIOException {
+    long half = (long) Math.min(maxBackoff, minBackoff * Math.pow(2.0, attempt)) / 2L;
+    try {
+      NANOSECONDS.sleep(half + ThreadLocalRandom.current().nextLong(half + 1L));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while backing off");
+    }
+  }
+
+  private class Host {
+
+    private double tokens;
+    private long refilled;
+    private double limit;
+    private int open;
+    private long smoothedLatency;
+    private long decreased;
+    private boolean decreasedUnsampled;
+    private long pausedUntil;
+
+    private Host() {
+      tokens = burst;
+      refilled = System.nanoTime();
+      limit = Math.min(ArtifactSource.DEFAULT_CONCURRENCY, maxConcurrency);
+      open = 0;
+      smoothedLatency = 0L;
+      decreased = refilled;
+      decreasedUnsampled = false;
+      pausedUntil = refilled;
+    }
+
+    private synchronized int limit() {
+      return (int) limit;
+    }
+
+    private synchronized void acquire() throws InterruptedIOException {
+      try {
+        long delay;
+        while ((delay = delay()) > 0L) {
+          NANOSECONDS.timedWait(this, delay);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a request slot");
+      }
+      tokens -= 1.0;
+      ++open;
+    }
+
+    private synchronized void release() {
+      --open;
+      notifyAll();
+    }
+
+    private synchronized void succeeded(long latency) {
+      if (smoothedLatency == 0L) {
+        smoothedLatency = latency;
+      }
+      if (latency > LATENCY_SPIKE_FACTOR * smoothedLatency) {
+        decrease();
+      } else {
+        limit = Math.min(maxConcurrency, limit + 1.0 / limit);
+      }
+      smoothedLatency += (latency - smoothedLatency) / LATENCY_SMOOTHING;
+    }
+
+    private synchronized void failed(HttpStatusException exception) {
+      if (exception.isRetryable()) {
+        decrease();
+      }
+      if (exception.getRetryAfter() != null) {
+        pausedUntil = Math.max(
+            pausedUntil,
+            System.nanoTime() + exception.getRetryAfter().toNanos());
+      }
+      release();
+    }
+
+    /*
+     * Until some response time has been sampled, failures of the same burst cannot be told apart,
+     * so the limit is halved only once.
+     */
+    private void decrease() {
+      long now = System.nanoTime();
+      if (smoothedLatency == 0L ? !decreasedUnsampled : now - decreased >= smoothedLatency) {
+        limit = Math.max(1.0, limit / 2.0);
+        decreased = now;
+        decreasedUnsampled = true;
+      }
+    }
+
+    /*
+     * Zero or less when a request can be made right now, since a whole token is available.
+     */
+    private long delay() {
+      long now = System.nanoTime();
+      tokens = Math.min(burst, tokens + (now - refilled) / nanosPerRequest);
+      refilled = now;
+      if (pausedUntil - now > 0L) {
+        return pausedUntil - now;
+      }
+      if (open >= (int) limit) {
+        return Long.MAX_VALUE;
+      }
+      return (long) Math.ceil((1.0 - tokens) * nanosPerRequest);
+    }
+  }
+
+  private static class SlotInputStream extends FilterInputStream {
+
+    private final Host host;
+    private final AtomicBoolean released;
+
+    private SlotInputStream(InputStream input, Host host) {
+      super(input);
+      this.host = host;
+      released = new AtomicBoolean();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (released.compareAndSet(false, true)) {
+          host.release();
+        }
+      }
+    }
+  }
+}
@@ -1,10 +1,16 @@
 package com.github.codeteapot.tools.artifact;
 
+import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.net.URL;
 import java.net.URLStreamHandler;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -14,11 +20,49 @@ import java.util.Set;
 public class Artifact {
 
   private final URL location;
+  private final List<ArtifactDependency> declaredDependencies;
   private final Set<ArtifactCoordinates> dependencies;
+  private final ArtifactTransport transport;
 
+  /*
+   * Artifact whose dependencies are all compile ones, without exclusions.
+   */
   Artifact(URL location, Set<ArtifactCoordinates> dependencies) {
+    this(location, dependencies, ArtifactTransport.URL_CONNECTION);
+  }
+
+  /*
+   * Artifact whose dependencies are all compile ones, without exclusions, and whose published
+   * checksums are read through the given transport.
+   */
+  Artifact(URL location, Set<ArtifactCoordinates> dependencies, ArtifactTransport transport) {
     this.location = requireNonNull(location);
+    List<ArtifactDependency> compileDependencies = new ArrayList<>();
+    dependencies.forEach(dependency -> compileDependencies.add(
+        new ArtifactDependency(dependency)));
+    declaredDependencies = unmodifiableList(compileDependencies);
     this.dependencies = unmodifiableSet(dependencies);
+    this.transport = requireNonNull(transport);
+  }
+
+  Artifact(URL location, List<ArtifactDependency> declaredDependencies) {
+    this(location, declaredDependencies, ArtifactTransport.URL_CONNECTION);
+  }
+
+  Artifact(
+      URL location,
+      List<ArtifactDependency> declaredDependencies,
+      ArtifactTransport transport) {
+    this.location = requireNonNull(location);
+    this.declaredDependencies = unmodifiableList(declaredDependencies);
+    Set<ArtifactCoordinates> requiredDependencies = new LinkedHashSet<>();
+    for (ArtifactDependency dependency : declaredDependencies) {
+      if (dependency.getScope().isTransitive()) {
+        requiredDependencies.add(dependency.getCoordinates());
+      }
+    }
+    dependencies = unmodifiableSet(requiredDependencies);
+    this.transport = requireNonNull(transport);
   }
 
   /**
@@ -37,10 +81,51 @@ public class Artifact {
 
   /**
    * Coordinates of {@code compile} and {@code runtime} dependencies.
+   * 
+   * <p>Optional dependencies are included, and exclusions are not applied.
    *
    * @return The needed artifact dependencies coordinates.
    */
   public Set<ArtifactCoordinates> getDependencies() {
     return dependencies;
   }
+
+  /**
+   * Dependencies declared on the project file, whatever their scope.
+   * 
+   * <p>Dependencies are given in declaration order, with their scope, optionality and exclusions,
+   * so they can be applied while walking the dependency graph.
+   *
+   * @return The declared dependencies.
+   *
+   * @see DependencyMediator
+   */
+  public List<ArtifactDependency> getDeclaredDependencies() {
+    return declaredDependencies;
+  }
+
+  /**
+   * Download the artifact bundle to the given file.
+   * 
+   * <p>When the repository publishes a {@code .sha256} or {@code .sha1} checksum of the bundle, it
+   * is verified while downloading. The checksum is read through the transport of the repository
+   * this artifact has been got from. The bundle is first written to a file with the same name plus
+   * {@code .part}, which is moved to the given one once verified. An interrupted download of a
+   * remote bundle is resumed from that file when the server supports it.
+   *
+   * @param target File where the bundle is downloaded to.
+   *
+   * @throws ArtifactRepositoryException When the checksum does not match.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  public void downloadTo(Path target) throws ArtifactRepositoryException, IOException {
+    ArtifactDownload.download(location, target, transport);
+  }
+
+  /*
+   * Same artifact, with other declared dependencies.
+   */
+  Artifact withDeclaredDependencies(List<ArtifactDependency> declaredDependencies) {
+    return new Artifact(location, declaredDependencies, transport);
+  }
 }
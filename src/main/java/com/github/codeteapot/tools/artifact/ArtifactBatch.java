@@ -0,0 +1,95 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.concurrent.CompletableFuture.runAsync;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+
+/**
+ * Result of getting several artifacts at once through an {@link ArtifactSource}.
+ * 
+ * <p>Each coordinates end up either on the got artifacts or on the failures, so a failing one does
+ * not prevent the others from being got.
+ *
+ * @see ArtifactSource#getAll(Collection, int)
+ */
+public class ArtifactBatch {
+
+  private final Map<ArtifactCoordinates, Artifact> artifacts;
+  private final Map<ArtifactCoordinates, Exception> failures;
+
+  ArtifactBatch() {
+    artifacts = new ConcurrentHashMap<>();
+    failures = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Artifacts successfully got.
+   *
+   * @return The artifacts, by their coordinates.
+   */
+  public Map<ArtifactCoordinates, Artifact> getArtifacts() {
+    return unmodifiableMap(artifacts);
+  }
+
+  /**
+   * Errors occurred when getting artifacts.
+   * 
+   * <p>Errors are the same that {@link ArtifactSource#get(ArtifactCoordinates)} throws.
+   *
+   * @return The errors, by the coordinates of the artifact failed to be got.
+   */
+  public Map<ArtifactCoordinates, Exception> getFailures() {
+    return unmodifiableMap(failures);
+  }
+
+  /*
+   * A fixed number of workers take coordinates from a shared queue, so at most that number of
+   * requests are in flight, and each worker keeps reusing the same connection when the source
+   * supports it.
+   */
+  static ArtifactBatch get(
+      ArtifactSource source,
+      Collection<ArtifactCoordinates> coordinates,
+      int concurrency,
+      Executor executor) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive");
+    }
+    ArtifactBatch batch = new ArtifactBatch();
+    Queue<ArtifactCoordinates> pending = new ConcurrentLinkedQueue<>(coordinates);
+    allOf(IntStream.range(0, concurrency)
+        .mapToObj(worker -> runAsync(() -> batch.getAll(source, pending), executor))
+        .toArray(CompletableFuture[]::new))
+        .join();
+    return batch;
+  }
+
+  private void getAll(ArtifactSource source, Queue<ArtifactCoordinates> pending) {
+    ArtifactCoordinates coordinates;
+    while ((coordinates = pending.poll()) != null) {
+      try {
+        completed(coordinates, source.get(coordinates));
+      } catch (ArtifactRepositoryException | IOException | RuntimeException e) {
+        failed(coordinates, e);
+      }
+    }
+  }
+
+  void completed(ArtifactCoordinates coordinates, Artifact artifact) {
+    artifacts.put(coordinates, artifact);
+  }
+
+  void failed(ArtifactCoordinates coordinates, Exception failure) {
+    failures.put(coordinates, failure);
+  }
+}
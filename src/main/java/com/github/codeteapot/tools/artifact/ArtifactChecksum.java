@@ -0,0 +1,149 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/*
+ * Checksum published next to a file, with the same name plus the algorithm extension. Strongest
+ * algorithms are preferred when several ones are published.
+ */
+class ArtifactChecksum {
+
+  static final ArtifactChecksum NONE = new ArtifactChecksum();
+
+  private static final String[][] ALGORITHMS = {
+      {"sha256", "SHA-256"},
+      {"sha1", "SHA-1"}
+  };
+
+  private static final int SIDECAR_BUFFER_SIZE = 128;
+  private static final int DIGEST_BUFFER_SIZE = 8192;
+
+  private final MessageDigest digest;
+  private final String expected;
+
+  private ArtifactChecksum() {
+    digest = null;
+    expected = null;
+  }
+
+  ArtifactChecksum(String algorithm, String expected) throws ArtifactRepositoryException {
+    try {
+      digest = MessageDigest.getInstance(algorithm);
+      this.expected = expected;
+    } catch (NoSuchAlgorithmException e) {
+      throw new ArtifactRepositoryException(e);
+    }
+  }
+
+  boolean isEnabled() {
+    return digest != null;
+  }
+
+  void update(ByteBuffer buffer) {
+    if (digest != null) {
+      digest.update(buffer);
+    }
+  }
+
+  void verify(URL location) throws ArtifactRepositoryException {
+    if (digest != null) {
+      if (!hex(digest.digest()).equalsIgnoreCase(expected)) {
+        throw new ArtifactRepositoryException("Checksum mismatch of " + location);
+      }
+    }
+  }
+
+  /*
+   * Checksum published next to the given location, read through the given transport.
+   */
+  static ArtifactChecksum fetch(URL location, ArtifactTransport transport)
+      throws ArtifactRepositoryException, IOException {
+    String path = location.getPath();
+    String name = path.substring(path.lastIndexOf('/') + 1);
+    for (String[] algorithm : ALGORITHMS) {
+      try (InputStream input = transport.open(new URL(location, name + "." + algorithm[0]))) {
+        return new ArtifactChecksum(algorithm[1], readHex(input));
+      } catch (FileNotFoundException e) {
+        // Try next algorithm
+      }
+    }
+    return NONE;
+  }
+
+  /*
+   * Published checksum of a repository file, prefixed by the algorithm extension, or null when
+   * none is published.
+   */
+  static String published(ArtifactRepository repository, String relativePath)
+      throws ArtifactRepositoryException, IOException {
+    for (String[] algorithm : ALGORITHMS) {
+      try (InputStream input = repository.open(relativePath + "." + algorithm[0])) {
+        return algorithm[0] + ":" + readHex(input);
+      } catch (FileNotFoundException e) {
+        // Try next algorithm
+      }
+    }
+    return null;
+  }
+
+  /*
+   * Checksum given as returned by published, or none when it is null.
+   */
+  static ArtifactChecksum of(String published) throws ArtifactRepositoryException {
+    if (published != null) {
+      for (String[] algorithm : ALGORITHMS) {
+        if (published.startsWith(algorithm[0] + ":")) {
+          return new ArtifactChecksum(
+              algorithm[1],
+              published.substring(algorithm[0].length() + 1));
+        }
+      }
+    }
+    return NONE;
+  }
+
+  /*
+   * Checksum of the content of a repository file, computed with the strongest algorithm and
+   * prefixed by its extension, like published ones.
+   */
+  static String computed(ArtifactRepository repository, String relativePath)
+      throws ArtifactRepositoryException, IOException {
+    ArtifactChecksum checksum = new ArtifactChecksum(ALGORITHMS[0][1], null);
+    try (InputStream input = repository.open(relativePath)) {
+      byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+      int length;
+      while ((length = input.read(buffer)) != -1) {
+        checksum.update(ByteBuffer.wrap(buffer, 0, length));
+      }
+    }
+    return ALGORITHMS[0][0] + ":" + hex(checksum.digest.digest());
+  }
+
+  private static String hex(byte[] bytes) {
+    StringBuilder hex = new StringBuilder(2 * bytes.length);
+    for (byte octet : bytes) {
+      hex.append(Character.forDigit((octet >> 4) & 0xf, 16));
+      hex.append(Character.forDigit(octet & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+  private static String readHex(InputStream input) throws IOException {
+    ByteArrayOutputStream content = new ByteArrayOutputStream();
+    byte[] buffer = new byte[SIDECAR_BUFFER_SIZE];
+    int length;
+    while ((length = input.read(buffer)) != -1) {
+      content.write(buffer, 0, length);
+    }
+    return new String(content.toByteArray(), US_ASCII).trim().split("\\s+")[0];
+  }
+}
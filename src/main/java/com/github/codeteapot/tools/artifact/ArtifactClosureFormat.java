@@ -0,0 +1,53 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.IOException;
+
+/*
+ * Binary format of a resolved artifact closure, written by ArtifactClosureWriter and read by
+ * ArtifactClosureReader.
+ *
+ * It starts with a magic number and the format version, followed by one record per artifact and an
+ * end marker. Integers are unsigned variable-length ones, seven bits per byte, least significant
+ * first. Strings and coordinates are stored the first time they appear and referred to by position
+ * later, so the tables are built while streaming on both sides. A reference is zero when a new
+ * value follows, or its position plus one otherwise.
+ *
+ * Each record holds the coordinates of the artifact, its location and its declared dependencies.
+ * Locations are usually stored as the repository base URL and the file extension, since the rest
+ * of them is given by the coordinates. Each dependency is stored as its coordinates, its scope and
+ * flags packed in a single integer, its type, its classifier when it has some and its exclusions.
+ */
+class ArtifactClosureFormat {
+
+  static final int MAGIC = 0x4d414743;
+  static final int VERSION = 1;
+
+  static final int END = 0;
+  static final int RECORD = 1;
+
+  static final int NEW = 0;
+
+  static final int FULL_LOCATION = 0;
+  static final int RELATIVE_LOCATION = 1;
+
+  static final int SCOPE_MASK = 0x07;
+  static final int OPTIONAL_FLAG = 0x08;
+  static final int CLASSIFIER_FLAG = 0x10;
+
+  /*
+   * Same limit of modified UTF-8 strings on data streams, far beyond any actual URL or identifier,
+   * so a corrupted length never leads to a huge allocation.
+   */
+  static final int MAXIMUM_STRING_LENGTH = 0xffff;
+
+  static final int PAYLOAD_MASK = 0x7f;
+  static final int MORE_FLAG = 0x80;
+  static final int PAYLOAD_BITS = 7;
+  static final int MAXIMUM_INT_BYTES = 5;
+
+  private ArtifactClosureFormat() {}
+
+  static IOException corrupted() {
+    return new IOException("Corrupted artifact closure");
+  }
+}
@@ -0,0 +1,274 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.CLASSIFIER_FLAG;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.END;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.FULL_LOCATION;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MAGIC;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MAXIMUM_INT_BYTES;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MAXIMUM_STRING_LENGTH;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MORE_FLAG;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.NEW;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.OPTIONAL_FLAG;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.PAYLOAD_BITS;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.PAYLOAD_MASK;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.RECORD;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.RELATIVE_LOCATION;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.SCOPE_MASK;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.VERSION;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.corrupted;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads a resolved artifact closure from a binary stream written by {@link ArtifactClosureWriter}.
+ * 
+ * <p>Artifacts are read one by one, in the same order they have been written, so a closure can be
+ * processed without keeping it on memory.
+ * 
+ * <p>Locations are read with the default URL stream handler of their protocol.
+ */
+public class ArtifactClosureReader implements Closeable {
+
+  private static final DependencyScope[] SCOPES = DependencyScope.values();
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final InputStream input;
+  private final byte[] buffer;
+  private final List<String> strings;
+  private final List<ArtifactCoordinates> coordinatesTable;
+  private final Map<String, URL> bases;
+  private int position;
+  private int limit;
+  private boolean ended;
+
+  /**
+   * Reader from the given stream, that is buffered and closed along with the reader.
+   * 
+   * <p>Since it is buffered, the stream may be read beyond the end of the closure.
+   *
+   * @param input Stream to read the closure from.
+   *
+   * @throws IOException When the header cannot be read, or it is not the one of a closure written
+   *         by a compatible version.
+   */
+  public ArtifactClosureReader(InputStream input) throws IOException {
+    this.input = input;
+    buffer = new byte[BUFFER_SIZE];
+    strings = new ArrayList<>();
+    coordinatesTable = new ArrayList<>();
+    bases = new HashMap<>();
+    position = 0;
+    limit = 0;
+    ended = false;
+    byte[] magic = new byte[Integer.BYTES];
+    readFully(magic);
+    if (ByteBuffer.wrap(magic).getInt() != MAGIC || readInt() != VERSION) {
+      throw new IOException("Not an artifact closure, or written by an incompatible version");
+    }
+  }
+
+  /**
+   * Read the next artifact of the closure.
+   *
+   * @return The artifact, by its coordinates, or {@code null} when the end has been reached.
+   *
+   * @throws IOException When an I/O error has been occurred, or the closure is corrupted.
+   */
+  public Map.Entry<ArtifactCoordinates, Artifact> read() throws IOException {
+    if (ended) {
+      return null;
+    }
+    int marker = readInt();
+    if (marker == END) {
+      ended = true;
+      return null;
+    }
+    if (marker != RECORD) {
+      throw corrupted();
+    }
+    ArtifactCoordinates coordinates = readCoordinates();
+    URL location = readLocation(coordinates);
+    int dependencyCount = readInt();
+    List<ArtifactDependency> dependencies = new ArrayList<>();
+    for (int i = 0; i < dependencyCount; ++i) {
+      dependencies.add(readDependency());
+    }
+    return new SimpleImmutableEntry<>(coordinates, new Artifact(location, dependencies));
+  }
+
+  /**
+   * Read all the remaining artifacts of the closure.
+   *
+   * @return The artifacts, by their coordinates, in the same order they have been written.
+   *
+   * @throws IOException When an I/O error has been occurred, or the closure is corrupted.
+   */
+  public Map<ArtifactCoordinates, Artifact> readAll() throws IOException {
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    for (Map.Entry<ArtifactCoordinates, Artifact> entry = read();
+        entry != null;
+        entry = read()) {
+      artifacts.put(entry.getKey(), entry.getValue());
+    }
+    return artifacts;
+  }
+
+  /**
+   * Close the underlying stream.
+   *
+   * @throws IOException When an I/O error has been occurred.
+   */
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  /*
+   * Bases are parsed once, and relative locations are resolved against them, since parsing whole
+   * locations is the most expensive part of reading. Bases that are not directories, or that have
+   * a query or a fragment, cannot be resolved against without changing the location, but they are
+   * not expected on repositories, so their locations are just parsed.
+   */
+  private URL readLocation(ArtifactCoordinates coordinates) throws IOException {
+    int kind = readInt();
+    if (kind == RELATIVE_LOCATION) {
+      String base = readString();
+      String path = coordinates.getPath(readString());
+      URL baseLocation = bases.get(base);
+      if (baseLocation == null) {
+        baseLocation = new URL(base);
+        bases.put(base, baseLocation);
+      }
+      if (!baseLocation.getPath().endsWith("/")
+          || baseLocation.getQuery() != null
+          || baseLocation.getRef() != null) {
+        return new URL(base + path);
+      }
+      return new URL(baseLocation, path);
+    }
+    if (kind == FULL_LOCATION) {
+      return new URL(readString());
+    }
+    throw corrupted();
+  }
+
+  private ArtifactDependency readDependency() throws IOException {
+    ArtifactCoordinates coordinates = readCoordinates();
+    int flags = readInt();
+    if ((flags & SCOPE_MASK) >= SCOPES.length) {
+      throw corrupted();
+    }
+    String type = readString();
+    String classifier = (flags & CLASSIFIER_FLAG) == 0 ? null : readString();
+    int exclusionCount = readInt();
+    Set<String> exclusions = new LinkedHashSet<>();
+    for (int i = 0; i < exclusionCount; ++i) {
+      exclusions.add(readString());
+    }
+    return new ArtifactDependency(
+        coordinates,
+        type,
+        classifier,
+        SCOPES[flags & SCOPE_MASK],
+        (flags & OPTIONAL_FLAG) != 0,
+        exclusions);
+  }
+
+  private ArtifactCoordinates readCoordinates() throws IOException {
+    int reference = readInt();
+    if (reference == NEW) {
+      ArtifactCoordinates coordinates = new ArtifactCoordinates(
+          readString(),
+          readString(),
+          readString());
+      coordinatesTable.add(coordinates);
+      return coordinates;
+    }
+    return referenced(coordinatesTable, reference);
+  }
+
+  private String readString() throws IOException {
+    int reference = readInt();
+    if (reference == NEW) {
+      int length = readInt();
+      if (length > MAXIMUM_STRING_LENGTH) {
+        throw corrupted();
+      }
+      byte[] bytes = new byte[length];
+      readFully(bytes);
+      String string = new String(bytes, UTF_8);
+      strings.add(string);
+      return string;
+    }
+    return referenced(strings, reference);
+  }
+
+  /*
+   * Negative values are taken as corrupted, since no count nor reference ever needs them.
+   */
+  private int readInt() throws IOException {
+    int value = 0;
+    for (int i = 0; i < MAXIMUM_INT_BYTES; ++i) {
+      int b = readByte();
+      value |= (b & PAYLOAD_MASK) << (i * PAYLOAD_BITS);
+      if ((b & MORE_FLAG) == 0) {
+        if (value < 0) {
+          throw corrupted();
+        }
+        return value;
+      }
+    }
+    throw corrupted();
+  }
+
+  private int readByte() throws IOException {
+    if (position == limit) {
+      fill();
+    }
+    return buffer[position++] & 0xff;
+  }
+
+  private void readFully(byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      if (position == limit) {
+        fill();
+      }
+      int length = Math.min(bytes.length - offset, limit - position);
+      System.arraycopy(buffer, position, bytes, offset, length);
+      position += length;
+      offset += length;
+    }
+  }
+
+  private void fill() throws IOException {
+    int read = input.read(buffer);
+    if (read == -1) {
+      throw new EOFException();
+    }
+    position = 0;
+    limit = read;
+  }
+
+  private static <T> T referenced(List<T> table, int reference) throws IOException {
+    if (reference > table.size()) {
+      throw corrupted();
+    }
+    return table.get(reference - 1);
+  }
+}
@@ -0,0 +1,209 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.CLASSIFIER_FLAG;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.END;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.FULL_LOCATION;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MAGIC;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MAXIMUM_STRING_LENGTH;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.MORE_FLAG;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.NEW;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.OPTIONAL_FLAG;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.PAYLOAD_BITS;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.PAYLOAD_MASK;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.RECORD;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.RELATIVE_LOCATION;
+import static com.github.codeteapot.tools.artifact.ArtifactClosureFormat.VERSION;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a resolved artifact closure on a compact binary stream, to be read by
+ * {@link ArtifactClosureReader}.
+ * 
+ * <p>Artifacts are written one by one as they are given, so the closure does not need to be kept
+ * on memory. Each string and each coordinates are written only the first time they appear, and
+ * they are referred to by a variable-length position later, whatever the number of artifacts
+ * depending on them.
+ * 
+ * <p>Locations are written as text, so the URL stream handler they have been got with is not kept.
+ */
+public class ArtifactClosureWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final OutputStream output;
+  private final byte[] buffer;
+  private final Map<String, Integer> strings;
+  private final Map<ArtifactCoordinates, Integer> coordinatesTable;
+  private int position;
+
+  /**
+   * Writer on the given stream, that is buffered and closed along with the writer.
+   *
+   * @param output Stream to write the closure on.
+   *
+   * @throws IOException When the header cannot be written.
+   */
+  public ArtifactClosureWriter(OutputStream output) throws IOException {
+    this.output = output;
+    buffer = new byte[BUFFER_SIZE];
+    strings = new HashMap<>();
+    coordinatesTable = new HashMap<>();
+    position = 0;
+    writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).array());
+    writeInt(VERSION);
+  }
+
+  /**
+   * Write an artifact of the closure.
+   *
+   * @param coordinates Coordinates of the artifact.
+   * @param artifact The artifact, with its declared dependencies.
+   *
+   * @throws UTFDataFormatException When some string is longer than 65535 bytes once encoded.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  public void write(ArtifactCoordinates coordinates, Artifact artifact) throws IOException {
+    writeInt(RECORD);
+    writeCoordinates(coordinates);
+    writeLocation(coordinates, artifact.getLocation().toExternalForm());
+    writeInt(artifact.getDeclaredDependencies().size());
+    for (ArtifactDependency dependency : artifact.getDeclaredDependencies()) {
+      writeDependency(dependency);
+    }
+  }
+
+  /**
+   * Write all the artifacts of a closure, in iteration order.
+   *
+   * @param artifacts The artifacts, by their coordinates.
+   *
+   * @throws IOException When an I/O error has been occurred.
+   */
+  public void writeAll(Map<ArtifactCoordinates, Artifact> artifacts) throws IOException {
+    for (Map.Entry<ArtifactCoordinates, Artifact> entry : artifacts.entrySet()) {
+      write(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Write the end of the closure, and close the underlying stream.
+   *
+   * @throws IOException When an I/O error has been occurred.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      writeInt(END);
+      flushBuffer();
+    } finally {
+      output.close();
+    }
+  }
+
+  /*
+   * Locations matching the coordinates path are written as the repository base, shared by all the
+   * artifacts of the same repository, and the extension.
+   */
+  private void writeLocation(ArtifactCoordinates coordinates, String location) throws IOException {
+    String extension = location.substring(location.lastIndexOf('.') + 1);
+    String path = coordinates.getPath(extension);
+    if (location.endsWith(path)) {
+      writeInt(RELATIVE_LOCATION);
+      writeString(location.substring(0, location.length() - path.length()));
+      writeString(extension);
+    } else {
+      writeInt(FULL_LOCATION);
+      writeString(location);
+    }
+  }
+
+  private void writeDependency(ArtifactDependency dependency) throws IOException {
+    writeCoordinates(dependency.getCoordinates());
+    writeInt(dependency.getScope().ordinal()
+        | (dependency.isOptional() ? OPTIONAL_FLAG : 0)
+        | (dependency.getClassifier() == null ? 0 : CLASSIFIER_FLAG));
+    writeString(dependency.getType());
+    if (dependency.getClassifier() != null) {
+      writeString(dependency.getClassifier());
+    }
+    writeInt(dependency.getExclusions().size());
+    for (String exclusion : dependency.getExclusions()) {
+      writeString(exclusion);
+    }
+  }
+
+  /*
+   * Values are added to their table only once written, so a failed write never leaves a reference
+   * to a value the stream does not have.
+   */
+  private void writeCoordinates(ArtifactCoordinates coordinates) throws IOException {
+    Integer position = coordinatesTable.get(coordinates);
+    if (position == null) {
+      writeInt(NEW);
+      writeString(coordinates.getGroupId());
+      writeString(coordinates.getArtifactId());
+      writeString(coordinates.getVersion());
+      coordinatesTable.put(coordinates, coordinatesTable.size());
+    } else {
+      writeInt(position + 1);
+    }
+  }
+
+  private void writeString(String string) throws IOException {
+    Integer position = strings.get(string);
+    if (position == null) {
+      byte[] bytes = string.getBytes(UTF_8);
+      if (bytes.length > MAXIMUM_STRING_LENGTH) {
+        throw new UTFDataFormatException("String too long: " + bytes.length + " bytes");
+      }
+      writeInt(NEW);
+      writeInt(bytes.length);
+      writeBytes(bytes);
+      strings.put(string, strings.size());
+    } else {
+      writeInt(position + 1);
+    }
+  }
+
+  private void writeInt(int value) throws IOException {
+    int remaining = value;
+    while ((remaining & ~PAYLOAD_MASK) != 0) {
+      writeByte(remaining & PAYLOAD_MASK | MORE_FLAG);
+      remaining >>>= PAYLOAD_BITS;
+    }
+    writeByte(remaining);
+  }
+
+  private void writeByte(int b) throws IOException {
+    if (position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = (byte) b;
+  }
+
+  private void writeBytes(byte[] bytes) throws IOException {
+    int offset = 0;
+    while (offset < bytes.length) {
+      if (position == buffer.length) {
+        flushBuffer();
+      }
+      int length = Math.min(bytes.length - offset, buffer.length - position);
+      System.arraycopy(bytes, offset, buffer, position, length);
+      position += length;
+      offset += length;
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    output.write(buffer, 0, position);
+    position = 0;
+  }
+}
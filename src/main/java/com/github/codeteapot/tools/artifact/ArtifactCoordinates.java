@@ -1,13 +1,9 @@
 package com.github.codeteapot.tools.artifact;
 
-import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.joining;
-import static java.util.stream.Stream.concat;
 
 import java.beans.ConstructorProperties;
 import java.io.Serializable;
-import java.util.stream.Stream;
 
 /**
  * Coordinates used to identify an artifact.
@@ -16,10 +12,15 @@ public class ArtifactCoordinates implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
+  private static final String METADATA_NAME = "maven-metadata.xml";
+
   private final String groupId;
   private final String artifactId;
   private final String version;
 
+  private transient int hash;
+  private transient String groupPath;
+
   /**
    * Coordinates with given group identifier, artifact identifier and version.
    *
@@ -66,11 +67,18 @@ public class ArtifactCoordinates implements Serializable {
   }
 
   /**
-   * Based on artifact identifier hash.
+   * Based on compounded hash of group, artifact identifier and version.
+   *
+   * <p>It is computed once and cached, like {@link String#hashCode()}.
    */
   @Override
   public int hashCode() {
-    return artifactId.hashCode();
+    int result = hash;
+    if (result == 0) {
+      result = 31 * (31 * groupId.hashCode() + artifactId.hashCode()) + version.hashCode();
+      hash = result;
+    }
+    return result;
   }
 
   /**
@@ -91,10 +99,42 @@ public class ArtifactCoordinates implements Serializable {
   }
 
   String getPath(String extension) {
-    return concat(
-        Stream.of(groupId.split("\\.")),
-        Stream.of(artifactId, version, format("%s-%s.%s", artifactId, version, extension)))
-            .collect(joining("/"));
+    return getPath(extension, version);
+  }
 
+  /*
+   * Path of a file whose name has a version other than the directory one, like timestamped
+   * snapshots.
+   */
+  String getPath(String extension, String fileVersion) {
+    String prefix = groupPath();
+    return new StringBuilder(prefix.length()
+        + 2 * artifactId.length()
+        + version.length()
+        + fileVersion.length()
+        + extension.length()
+        + 4)
+            .append(prefix)
+            .append(artifactId).append('/')
+            .append(version).append('/')
+            .append(artifactId).append('-').append(fileVersion).append('.').append(extension)
+            .toString();
+  }
+
+  String getArtifactMetadataPath() {
+    return groupPath() + artifactId + "/" + METADATA_NAME;
+  }
+
+  String getVersionMetadataPath() {
+    return groupPath() + artifactId + "/" + version + "/" + METADATA_NAME;
+  }
+
+  private String groupPath() {
+    String result = groupPath;
+    if (result == null) {
+      result = groupId.replace('.', '/').concat("/");
+      groupPath = result;
+    }
+    return result;
   }
 }
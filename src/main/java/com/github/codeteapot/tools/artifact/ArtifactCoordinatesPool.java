@@ -0,0 +1,103 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of canonical coordinates.
+ * 
+ * <p>Equal coordinates got through the same pool are the same instance, and so are the group
+ * identifiers, artifact identifiers and versions they are made of. It is useful to reduce the
+ * memory footprint of large dependency graphs, where the same coordinates are referenced by many
+ * artifacts. It also makes comparing canonical coordinates by equality as cheap as comparing them
+ * by identity.
+ * 
+ * <p>The pool only keeps weak references, so coordinates that are no longer used elsewhere can be
+ * reclaimed.
+ */
+public class ArtifactCoordinatesPool {
+
+  private final Map<ArtifactCoordinates, WeakReference<ArtifactCoordinates>> coordinates;
+  private final Map<String, WeakReference<String>> strings;
+
+  /**
+   * Empty pool.
+   */
+  public ArtifactCoordinatesPool() {
+    coordinates = new WeakHashMap<>();
+    strings = new WeakHashMap<>();
+  }
+
+  /**
+   * Canonical instance of the given coordinates.
+   *
+   * @param coordinates The coordinates.
+   *
+   * @return The canonical coordinates equal to the given ones.
+   */
+  public ArtifactCoordinates canonical(ArtifactCoordinates coordinates) {
+    requireNonNull(coordinates);
+    synchronized (this.coordinates) {
+      ArtifactCoordinates canonical = get(this.coordinates, coordinates);
+      if (canonical == null) {
+        canonical = new ArtifactCoordinates(
+            intern(coordinates.getGroupId()),
+            intern(coordinates.getArtifactId()),
+            intern(coordinates.getVersion()));
+        this.coordinates.put(canonical, new WeakReference<>(canonical));
+      }
+      return canonical;
+    }
+  }
+
+  /**
+   * Source getting artifacts from the given one, whose dependencies are canonical coordinates of
+   * this pool.
+   *
+   * @param source The source whose artifacts dependencies are canonicalized.
+   *
+   * @return The canonicalizing source.
+   */
+  public ArtifactSource pooled(ArtifactSource source) {
+    requireNonNull(source);
+    return coordinates -> withCanonicalDependencies(source.get(coordinates));
+  }
+
+  /**
+   * Current number of canonical coordinates not yet reclaimed.
+   *
+   * @return The number of canonical coordinates.
+   */
+  public int getSize() {
+    synchronized (coordinates) {
+      return coordinates.size();
+    }
+  }
+
+  private Artifact withCanonicalDependencies(Artifact artifact) {
+    List<ArtifactDependency> dependencies = new ArrayList<>();
+    for (ArtifactDependency dependency : artifact.getDeclaredDependencies()) {
+      dependencies.add(dependency.withCoordinates(canonical(dependency.getCoordinates())));
+    }
+    return artifact.withDeclaredDependencies(dependencies);
+  }
+
+  private String intern(String string) {
+    String canonical = get(strings, string);
+    if (canonical == null) {
+      canonical = string;
+      strings.put(canonical, new WeakReference<>(canonical));
+    }
+    return canonical;
+  }
+
+  private static <T> T get(Map<T, WeakReference<T>> pool, T key) {
+    WeakReference<T> reference = pool.get(key);
+    return reference == null ? null : reference.get();
+  }
+}
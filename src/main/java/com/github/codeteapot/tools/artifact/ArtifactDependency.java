@@ -0,0 +1,153 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Set;
+
+/**
+ * Dependency declared by an artifact, as found on its project file once its version has been
+ * resolved.
+ */
+public class ArtifactDependency {
+
+  /**
+   * Exclusion wildcard, matching any group or artifact identifier.
+   */
+  public static final String ANY = "*";
+
+  static final String DEFAULT_TYPE = "jar";
+
+  private final ArtifactCoordinates coordinates;
+  private final String type;
+  private final String classifier;
+  private final DependencyScope scope;
+  private final boolean optional;
+  private final Set<String> exclusions;
+  private final String declaredVersion;
+
+  /*
+   * Compile dependency on the main bundle, without exclusions.
+   */
+  ArtifactDependency(ArtifactCoordinates coordinates) {
+    this(coordinates, DEFAULT_TYPE, null, DependencyScope.COMPILE, false, emptySet());
+  }
+
+  ArtifactDependency(
+      ArtifactCoordinates coordinates,
+      String type,
+      String classifier,
+      DependencyScope scope,
+      boolean optional,
+      Set<String> exclusions) {
+    this(coordinates, type, classifier, scope, optional, exclusions, coordinates.getVersion());
+  }
+
+  private ArtifactDependency(
+      ArtifactCoordinates coordinates,
+      String type,
+      String classifier,
+      DependencyScope scope,
+      boolean optional,
+      Set<String> exclusions,
+      String declaredVersion) {
+    this.coordinates = requireNonNull(coordinates);
+    this.type = requireNonNull(type);
+    this.classifier = classifier;
+    this.scope = requireNonNull(scope);
+    this.optional = optional;
+    this.exclusions = unmodifiableSet(exclusions);
+    this.declaredVersion = declaredVersion;
+  }
+
+  /**
+   * Coordinates of the artifact depended on.
+   *
+   * @return The dependency coordinates.
+   */
+  public ArtifactCoordinates getCoordinates() {
+    return coordinates;
+  }
+
+  /**
+   * Type of the dependency, like {@code jar} or {@code test-jar}.
+   *
+   * @return The dependency type.
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Classifier of the file depended on, like {@code sources}.
+   *
+   * @return The classifier, or {@code null} when the main bundle is depended on.
+   */
+  public String getClassifier() {
+    return classifier;
+  }
+
+  /**
+   * Scope of the dependency.
+   *
+   * @return The dependency scope.
+   */
+  public DependencyScope getScope() {
+    return scope;
+  }
+
+  /**
+   * Whether the dependency is optional, so it is not transitive.
+   *
+   * @return {@code true} when the dependency is optional.
+   */
+  public boolean isOptional() {
+    return optional;
+  }
+
+  /**
+   * Artifacts excluded from the dependencies of this one, whatever the depth.
+   * 
+   * <p>Each one is given as {@code groupId:artifactId}, where any of both may be {@link #ANY}.
+   *
+   * @return The excluded artifacts.
+   */
+  public Set<String> getExclusions() {
+    return exclusions;
+  }
+
+  /*
+   * Version as declared on the project file, like a range, before it has been resolved.
+   */
+  String getDeclaredVersion() {
+    return declaredVersion;
+  }
+
+  /*
+   * Same dependency on other coordinates, keeping the version it was declared with.
+   */
+  ArtifactDependency withCoordinates(ArtifactCoordinates coordinates) {
+    return new ArtifactDependency(
+        coordinates,
+        type,
+        classifier,
+        scope,
+        optional,
+        exclusions,
+        declaredVersion);
+  }
+
+  static boolean isExcluded(Set<String> exclusions, ArtifactCoordinates coordinates) {
+    String groupId = coordinates.getGroupId();
+    String artifactId = coordinates.getArtifactId();
+    return exclusions.contains(exclusion(groupId, artifactId))
+        || exclusions.contains(exclusion(groupId, ANY))
+        || exclusions.contains(exclusion(ANY, artifactId))
+        || exclusions.contains(exclusion(ANY, ANY));
+  }
+
+  static String exclusion(String groupId, String artifactId) {
+    return groupId + ":" + artifactId;
+  }
+}
@@ -0,0 +1,226 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.lang.Math.min;
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.channels.Channels.newChannel;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * Bundles are written to a partial file next to the target, which is atomically moved once its
+ * checksum has been verified. The checksum is computed while writing, so the content is read only
+ * once.
+ * 
+ * Local files are copied by the channels themselves when there is no checksum to compute, and
+ * through a memory mapping otherwise. Remote ones are read into a direct buffer, and resumed from
+ * the partial file when the server supports ranges. The entity tag or the last modification date
+ * of the remote file is kept next to the partial file, and sent by If-Range when resuming, so the
+ * partial file is restarted instead of being completed with the content of another file. So it is
+ * when the server answers with a range that does not start where the partial file ends.
+ */
+class ArtifactDownload {
+
+  private static final String FILE_PROTOCOL = "file";
+  private static final String PARTIAL_SUFFIX = ".part";
+  private static final String VALIDATOR_SUFFIX = ".validator";
+  private static final String RANGE_HEADER = "Range";
+  private static final String IF_RANGE_HEADER = "If-Range";
+  private static final String CONTENT_RANGE_HEADER = "Content-Range";
+  private static final String ENTITY_TAG_HEADER = "ETag";
+  private static final String LAST_MODIFIED_HEADER = "Last-Modified";
+
+  private static final Pattern CONTENT_RANGE =
+      Pattern.compile("bytes (\\d{1,18})-\\d+/(\\d+|\\*)");
+
+  private static final int RANGE_NOT_SATISFIABLE = 416;
+  private static final int NO_STATUS = -1;
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+  private static final long MAPPING_SIZE = 64L * 1024 * 1024;
+
+  private ArtifactDownload() {}
+
+  /*
+   * Download verified against the published checksum, which is read through the given transport.
+   */
+  static void download(URL location, Path target, ArtifactTransport transport)
+      throws ArtifactRepositoryException, IOException {
+    download(location, target, ArtifactChecksum.fetch(location, transport));
+  }
+
+  /*
+   * Download verified against a checksum known beforehand, instead of the published one.
+   */
+  static void download(URL location, Path target, ArtifactChecksum checksum)
+      throws ArtifactRepositoryException, IOException {
+    Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+    Path validator = partial.resolveSibling(partial.getFileName() + VALIDATOR_SUFFIX);
+    try (FileChannel output = FileChannel.open(partial, CREATE, READ, WRITE)) {
+      if (location.getProtocol().equals(FILE_PROTOCOL)) {
+        copyFile(path(location), output, checksum);
+      } else {
+        copyRemote(location, output, validator, checksum);
+      }
+    }
+    try {
+      checksum.verify(location);
+    } catch (ArtifactRepositoryException e) {
+      deleteIfExists(partial);
+      throw e;
+    } finally {
+      deleteIfExists(validator);
+    }
+    move(partial, target, ATOMIC_MOVE);
+  }
+
+  private static void copyFile(Path source, FileChannel output, ArtifactChecksum checksum)
+      throws IOException {
+    output.truncate(0L);
+    try (FileChannel input = FileChannel.open(source, READ)) {
+      long size = input.size();
+      long position = 0L;
+      while (position < size) {
+        if (checksum.isEnabled()) {
+          MappedByteBuffer mapping = input.map(
+              READ_ONLY,
+              position,
+              min(MAPPING_SIZE, size - position));
+          checksum.update(mapping.duplicate());
+          position += write(mapping, output);
+        } else {
+          position += output.transferFrom(input, position, size - position);
+        }
+      }
+    }
+  }
+
+  private static void copyRemote(
+      URL location,
+      FileChannel output,
+      Path validator,
+      ArtifactChecksum checksum) throws IOException {
+    URLConnection connection = connect(location, output.size(), validator);
+    try (ReadableByteChannel input = newChannel(connection.getInputStream())) {
+      ByteBuffer buffer = allocateDirect(BUFFER_SIZE);
+      if (status(connection) == HttpURLConnection.HTTP_PARTIAL) {
+        digestExisting(output, output.size(), buffer, checksum);
+      } else {
+        output.truncate(0L);
+        keepValidator(connection, validator);
+      }
+      while (input.read(buffer) != -1) {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        write(buffer, output);
+        buffer.clear();
+      }
+    }
+  }
+
+  /*
+   * Connection resuming the partial file of the given length when the validator of its content is
+   * known, or getting the whole file otherwise. It gets the whole file too when the range is not
+   * satisfiable anymore, or when the content given does not start at the end of the partial file.
+   */
+  private static URLConnection connect(URL location, long offset, Path validator)
+      throws IOException {
+    if (offset > 0L && exists(validator)) {
+      URLConnection connection = location.openConnection();
+      connection.setRequestProperty(RANGE_HEADER, "bytes=" + offset + "-");
+      connection.setRequestProperty(IF_RANGE_HEADER, new String(readAllBytes(validator), UTF_8));
+      int status = status(connection);
+      if (status != RANGE_NOT_SATISFIABLE
+          && (status != HttpURLConnection.HTTP_PARTIAL || rangeStart(connection) == offset)) {
+        return connection;
+      }
+      ((HttpURLConnection) connection).disconnect();
+    }
+    return location.openConnection();
+  }
+
+  /*
+   * First position of the content given by a partial response, or -1 when its range is missing or
+   * malformed.
+   */
+  private static long rangeStart(URLConnection connection) {
+    Matcher range = CONTENT_RANGE.matcher(
+        Objects.toString(connection.getHeaderField(CONTENT_RANGE_HEADER), ""));
+    return range.matches() ? Long.parseLong(range.group(1)) : -1L;
+  }
+
+  private static void keepValidator(URLConnection connection, Path validator) throws IOException {
+    String value = connection.getHeaderField(ENTITY_TAG_HEADER);
+    if (value == null) {
+      value = connection.getHeaderField(LAST_MODIFIED_HEADER);
+    }
+    if (value == null) {
+      deleteIfExists(validator);
+    } else {
+      Files.write(validator, value.getBytes(UTF_8));
+    }
+  }
+
+  private static int status(URLConnection connection) throws IOException {
+    if (connection instanceof HttpURLConnection) {
+      return ((HttpURLConnection) connection).getResponseCode();
+    }
+    return NO_STATUS;
+  }
+
+  private static void digestExisting(
+      FileChannel output,
+      long length,
+      ByteBuffer buffer,
+      ArtifactChecksum checksum) throws IOException {
+    if (checksum.isEnabled()) {
+      output.position(0L);
+      while (output.position() < length) {
+        output.read(buffer);
+        buffer.flip();
+        checksum.update(buffer);
+        buffer.clear();
+      }
+    }
+    output.position(length);
+  }
+
+  private static int write(ByteBuffer buffer, FileChannel output) throws IOException {
+    int length = buffer.remaining();
+    while (buffer.hasRemaining()) {
+      output.write(buffer);
+    }
+    return length;
+  }
+
+  private static Path path(URL location) throws IOException {
+    try {
+      return Paths.get(location.toURI());
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+  }
+}
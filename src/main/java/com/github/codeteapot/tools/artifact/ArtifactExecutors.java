@@ -0,0 +1,33 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.concurrent.Executors.newCachedThreadPool;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+class ArtifactExecutors {
+
+  static final Executor DEFAULT = defaultExecutor(
+      Executors.class,
+      "newVirtualThreadPerTaskExecutor");
+
+  private static final String THREAD_NAME = "artifact-get";
+
+  private ArtifactExecutors() {}
+
+  /*
+   * Virtual threads make blocking lookups as cheap as non-blocking ones, but they are only
+   * available on newer runtimes. Otherwise, daemon threads are created on demand and reused.
+   */
+  static Executor defaultExecutor(Class<?> factoryType, String factoryMethodName) {
+    try {
+      return (Executor) factoryType.getMethod(factoryMethodName).invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Objects.requireNonNull;
+
+import com.github.codeteapot.tools.artifact.ArtifactIndexFile.Entry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Persistent index of artifacts got from a repository.
+ * 
+ * <p>The packaging and the dependencies of each artifact are kept on a binary file, so they can be
+ * got again on later runs without fetching nor parsing any project file. The file is
+ * memory-mapped and read when the index is created, and it is written by {@link #save()}. A file
+ * written for another repository, or by an incompatible version, is ignored.
+ * 
+ * <p>Release versions are considered immutable, so they are served from the index once they are in
+ * it. Snapshot versions, version ranges, {@code LATEST} and {@code RELEASE} are always got from
+ * the repository, and they are never indexed. Neither are the artifacts having some
+ * {@code compile} or {@code runtime} dependency declared with one of them, since it may be resolved
+ * to another artifact later.
+ * 
+ * <p>The published checksum of each project file is kept along with it, so entries whose project
+ * file has changed on the repository can be dropped by {@link #revalidate()}. It is not fetched
+ * when the artifact is got, so getting it costs no more requests than getting it from the
+ * repository, but when the index is saved or revalidated.
+ */
+public class ArtifactIndex implements ArtifactSource {
+
+  private final ArtifactRepository upstream;
+  private final Path file;
+  private final String repository;
+  private final ConcurrentMap<ArtifactCoordinates, Entry> entries;
+  private final Set<ArtifactCoordinates> unchecked;
+
+  /**
+   * Index of the given repository, on the given file.
+   *
+   * @param upstream Repository whose artifacts are indexed.
+   * @param file File where the index is kept. It does not need to exist.
+   *
+   * @throws IOException When the file cannot be read or it is corrupted.
+   */
+  public ArtifactIndex(ArtifactRepository upstream, Path file) throws IOException {
+    this.upstream = requireNonNull(upstream);
+    this.file = file.toAbsolutePath();
+    repository = upstream.getDirectory().toString();
+    entries = new ConcurrentHashMap<>(ArtifactIndexFile.read(this.file, repository));
+    unchecked = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Get an artifact from the index, or from the repository when it is not indexed yet.
+   *
+   * @param coordinates Artifact coordinates.
+   *
+   * @return The artifact.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  @Override
+  public Artifact get(ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    if (ArtifactRepository.isMutable(coordinates.getVersion())) {
+      return upstream.get(coordinates);
+    }
+    Entry entry = entries.get(coordinates);
+    if (entry == null) {
+      Artifact artifact = upstream.get(coordinates);
+      if (ArtifactRepository.hasMutableDependencies(artifact)) {
+        return artifact;
+      }
+      String location = artifact.getLocation().getPath();
+      entries.put(coordinates, new Entry(
+          location.substring(location.lastIndexOf('.') + 1),
+          null,
+          artifact.getDeclaredDependencies()));
+      unchecked.add(coordinates);
+      return artifact;
+    }
+    return new Artifact(
+        upstream.file(coordinates.getPath(entry.getExtension())),
+        entry.getDependencies(),
+        upstream.getTransport());
+  }
+
+  /**
+   * Drop entries whose project file checksum published on the repository has changed since they
+   * were indexed.
+   * 
+   * <p>Only checksum files are fetched, so entries of project files without published checksum
+   * are kept. Entries whose checksum has not been fetched yet are kept too, along with the checksum
+   * fetched now.
+   *
+   * @return The number of dropped entries.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  public int revalidate() throws ArtifactRepositoryException, IOException {
+    int dropped = 0;
+    for (Map.Entry<ArtifactCoordinates, Entry> entry : entries.entrySet()) {
+      String published = ArtifactChecksum.published(upstream, entry.getKey().getPath("pom"));
+      if (unchecked.remove(entry.getKey())) {
+        entries.put(entry.getKey(), checked(entry.getValue(), published));
+      } else if (!Objects.equals(published, entry.getValue().getChecksum())) {
+        entries.remove(entry.getKey());
+        ++dropped;
+      }
+    }
+    return dropped;
+  }
+
+  /**
+   * Write the index to its file.
+   * 
+   * <p>Checksums of the entries that have not been fetched yet are fetched first. It is written to
+   * a temporary file and atomically moved to its place, so the file can be safely shared by several
+   * processes.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When some checksum cannot be fetched, or the file cannot be written.
+   */
+  public void save() throws ArtifactRepositoryException, IOException {
+    for (ArtifactCoordinates coordinates : unchecked) {
+      entries.put(coordinates, checked(
+          entries.get(coordinates),
+          ArtifactChecksum.published(upstream, coordinates.getPath("pom"))));
+      unchecked.remove(coordinates);
+    }
+    ArtifactIndexFile.write(file, repository, new HashMap<>(entries));
+  }
+
+  /**
+   * Number of indexed artifacts.
+   *
+   * @return The number of artifacts.
+   */
+  public int getSize() {
+    return entries.size();
+  }
+
+  private static Entry checked(Entry entry, String checksum) {
+    return new Entry(entry.getExtension(), checksum, entry.getDependencies());
+  }
+}
@@ -0,0 +1,279 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.Collections.unmodifiableList;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Binary file of an artifact index.
+ *
+ * It starts with a magic number, the format version and the repository URL. Then come a table of
+ * strings, a table of coordinates referring to strings by position, and the entries, referring to
+ * both tables by position. So each string and each coordinates are stored and read only once,
+ * whatever the number of artifacts depending on them. Integers are big-endian, and strings are
+ * UTF-8 bytes preceded by their length.
+ *
+ * Each dependency of an entry is stored as its coordinates, its scope and optionality packed in a
+ * single integer, its type, its classifier and its exclusions.
+ */
+class ArtifactIndexFile {
+
+  private static final int MAGIC = 0x4d414749;
+  private static final int VERSION = 2;
+
+  private static final int NO_CHECKSUM = -1;
+  private static final int NO_CLASSIFIER = -1;
+  private static final int OPTIONAL_FLAG = 0x100;
+  private static final int SCOPE_MASK = 0xff;
+
+  private static final int STRING_MINIMUM_SIZE = Integer.BYTES;
+  private static final int COORDINATES_SIZE = 3 * Integer.BYTES;
+  private static final int ENTRY_MINIMUM_SIZE = 4 * Integer.BYTES;
+  private static final int DEPENDENCY_MINIMUM_SIZE = 5 * Integer.BYTES;
+  private static final int EXCLUSION_SIZE = Integer.BYTES;
+
+  private static final DependencyScope[] SCOPES = DependencyScope.values();
+
+  private static final String TEMPORARY_SUFFIX = ".part";
+
+  static class Entry {
+
+    private final String extension;
+    private final String checksum;
+    private final List<ArtifactDependency> dependencies;
+
+    Entry(String extension, String checksum, List<ArtifactDependency> dependencies) {
+      this.extension = extension;
+      this.checksum = checksum;
+      this.dependencies = dependencies;
+    }
+
+    String getExtension() {
+      return extension;
+    }
+
+    String getChecksum() {
+      return checksum;
+    }
+
+    List<ArtifactDependency> getDependencies() {
+      return dependencies;
+    }
+  }
+
+  private ArtifactIndexFile() {}
+
+  /*
+   * Entries of the file, or none when it does not exist or belongs to another repository or
+   * version.
+   */
+  static Map<ArtifactCoordinates, Entry> read(Path file, String repository) throws IOException {
+    Map<ArtifactCoordinates, Entry> entries = new HashMap<>();
+    if (exists(file)) {
+      try (FileChannel channel = FileChannel.open(file, READ)) {
+        ByteBuffer buffer = channel.map(READ_ONLY, 0L, channel.size());
+        if (buffer.getInt() == MAGIC
+            && buffer.getInt() == VERSION
+            && readString(buffer).equals(repository)) {
+          readEntries(buffer, entries);
+        }
+      } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+        throw new IOException("Corrupted index file " + file, e);
+      }
+    }
+    return entries;
+  }
+
+  static void write(Path file, String repository, Map<ArtifactCoordinates, Entry> entries)
+      throws IOException {
+    Map<ArtifactCoordinates, Integer> coordinatesTable = new LinkedHashMap<>();
+    Map<String, Integer> stringTable = new LinkedHashMap<>();
+    entries.forEach((coordinates, entry) -> {
+      position(coordinatesTable, coordinates);
+      entry.getDependencies().forEach(dependency -> position(
+          coordinatesTable,
+          dependency.getCoordinates()));
+    });
+    coordinatesTable.keySet().forEach(coordinates -> {
+      position(stringTable, coordinates.getGroupId());
+      position(stringTable, coordinates.getArtifactId());
+      position(stringTable, coordinates.getVersion());
+    });
+    entries.values().forEach(entry -> {
+      position(stringTable, entry.getExtension());
+      if (entry.getChecksum() != null) {
+        position(stringTable, entry.getChecksum());
+      }
+      entry.getDependencies().forEach(dependency -> positionStrings(stringTable, dependency));
+    });
+    createDirectories(file.getParent());
+    Path temporary = createTempFile(
+        file.getParent(),
+        file.getFileName().toString(),
+        TEMPORARY_SUFFIX);
+    try {
+      try (DataOutputStream output = new DataOutputStream(
+          new BufferedOutputStream(newOutputStream(temporary)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        writeString(output, repository);
+        output.writeInt(stringTable.size());
+        for (String string : stringTable.keySet()) {
+          writeString(output, string);
+        }
+        output.writeInt(coordinatesTable.size());
+        for (ArtifactCoordinates coordinates : coordinatesTable.keySet()) {
+          output.writeInt(stringTable.get(coordinates.getGroupId()));
+          output.writeInt(stringTable.get(coordinates.getArtifactId()));
+          output.writeInt(stringTable.get(coordinates.getVersion()));
+        }
+        output.writeInt(entries.size());
+        for (Map.Entry<ArtifactCoordinates, Entry> entry : entries.entrySet()) {
+          output.writeInt(coordinatesTable.get(entry.getKey()));
+          writeEntry(output, entry.getValue(), stringTable, coordinatesTable);
+        }
+      }
+      move(temporary, file, ATOMIC_MOVE);
+    } finally {
+      deleteIfExists(temporary);
+    }
+  }
+
+  private static void readEntries(ByteBuffer buffer, Map<ArtifactCoordinates, Entry> entries) {
+    String[] strings = new String[readCount(buffer, STRING_MINIMUM_SIZE)];
+    for (int i = 0; i < strings.length; ++i) {
+      strings[i] = readString(buffer);
+    }
+    ArtifactCoordinates[] coordinates =
+        new ArtifactCoordinates[readCount(buffer, COORDINATES_SIZE)];
+    for (int i = 0; i < coordinates.length; ++i) {
+      coordinates[i] = new ArtifactCoordinates(
+          strings[buffer.getInt()],
+          strings[buffer.getInt()],
+          strings[buffer.getInt()]);
+    }
+    int entryCount = readCount(buffer, ENTRY_MINIMUM_SIZE);
+    for (int i = 0; i < entryCount; ++i) {
+      ArtifactCoordinates key = coordinates[buffer.getInt()];
+      String extension = strings[buffer.getInt()];
+      int checksum = buffer.getInt();
+      List<ArtifactDependency> dependencies = new ArrayList<>();
+      int dependencyCount = readCount(buffer, DEPENDENCY_MINIMUM_SIZE);
+      for (int j = 0; j < dependencyCount; ++j) {
+        dependencies.add(readDependency(buffer, strings, coordinates));
+      }
+      entries.put(key, new Entry(
+          extension,
+          checksum == NO_CHECKSUM ? null : strings[checksum],
+          unmodifiableList(dependencies)));
+    }
+  }
+
+  private static ArtifactDependency readDependency(
+      ByteBuffer buffer,
+      String[] strings,
+      ArtifactCoordinates[] coordinates) {
+    ArtifactCoordinates dependencyCoordinates = coordinates[buffer.getInt()];
+    int flags = buffer.getInt();
+    String type = strings[buffer.getInt()];
+    int classifier = buffer.getInt();
+    Set<String> exclusions = new LinkedHashSet<>();
+    int exclusionCount = readCount(buffer, EXCLUSION_SIZE);
+    for (int i = 0; i < exclusionCount; ++i) {
+      exclusions.add(strings[buffer.getInt()]);
+    }
+    return new ArtifactDependency(
+        dependencyCoordinates,
+        type,
+        classifier == NO_CLASSIFIER ? null : strings[classifier],
+        SCOPES[flags & SCOPE_MASK],
+        (flags & OPTIONAL_FLAG) != 0,
+        exclusions);
+  }
+
+  private static void writeEntry(
+      DataOutputStream output,
+      Entry entry,
+      Map<String, Integer> stringTable,
+      Map<ArtifactCoordinates, Integer> coordinatesTable) throws IOException {
+    output.writeInt(stringTable.get(entry.getExtension()));
+    output.writeInt(entry.getChecksum() == null
+        ? NO_CHECKSUM
+        : stringTable.get(entry.getChecksum()));
+    output.writeInt(entry.getDependencies().size());
+    for (ArtifactDependency dependency : entry.getDependencies()) {
+      output.writeInt(coordinatesTable.get(dependency.getCoordinates()));
+      output.writeInt(dependency.getScope().ordinal()
+          | (dependency.isOptional() ? OPTIONAL_FLAG : 0));
+      output.writeInt(stringTable.get(dependency.getType()));
+      output.writeInt(dependency.getClassifier() == null
+          ? NO_CLASSIFIER
+          : stringTable.get(dependency.getClassifier()));
+      output.writeInt(dependency.getExclusions().size());
+      for (String exclusion : dependency.getExclusions()) {
+        output.writeInt(stringTable.get(exclusion));
+      }
+    }
+  }
+
+  private static void positionStrings(
+      Map<String, Integer> stringTable,
+      ArtifactDependency dependency) {
+    position(stringTable, dependency.getType());
+    if (dependency.getClassifier() != null) {
+      position(stringTable, dependency.getClassifier());
+    }
+    dependency.getExclusions().forEach(exclusion -> position(stringTable, exclusion));
+  }
+
+  /*
+   * Counts are checked against the remaining bytes, so a corrupted one never leads to a huge
+   * allocation.
+   */
+  private static int readCount(ByteBuffer buffer, int minimumSize) {
+    int count = buffer.getInt();
+    if (Integer.compareUnsigned(count, buffer.remaining() / minimumSize) > 0) {
+      throw new BufferUnderflowException();
+    }
+    return count;
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[readCount(buffer, Byte.BYTES)];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  private static void writeString(DataOutputStream output, String string) throws IOException {
+    byte[] bytes = string.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  private static <K> void position(Map<K, Integer> table, K key) {
+    table.putIfAbsent(key, table.size());
+  }
+}
@@ -0,0 +1,394 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Lockfile of the dependency closure of an artifact, so it is not resolved again while the
+ * project file of the artifact does not change.
+ * 
+ * <p>The lockfile records the coordinates of every artifact of the closure, with the extension of
+ * its bundle given by its packaging, the checksum of its bundle published on the repository, and
+ * its dependencies. It also records the checksums of the project file of the root and of the
+ * parents and imported projects its effective model is built from. When none of those project
+ * files has changed, the lockfile is trusted and the closure is built from it, without getting any
+ * artifact from the repository. Only those project files are read.
+ * 
+ * <p>Closures containing snapshot versions, or whose artifacts declare {@code compile} or
+ * {@code runtime} dependencies by version ranges, {@code LATEST} or {@code RELEASE}, are never
+ * locked, since they may change while the project files of the root do not.
+ * 
+ * <p>The lockfile is a text file, one line per artifact, so it can be kept under version control
+ * along with the project.
+ */
+public class ArtifactLockfile {
+
+  private static final String HEADER = "artifact-lockfile 1";
+  private static final String ROOT = "root";
+  private static final String SEPARATOR = " ";
+  private static final String COORDINATES_SEPARATOR = ":";
+  private static final String NO_CHECKSUM = "-";
+  private static final String TEMPORARY_SUFFIX = ".part";
+
+  private static final int ROOT_FIELD_COUNT = 3;
+  private static final int ENTRY_MINIMUM_FIELD_COUNT = 3;
+
+  private final ArtifactRepository repository;
+  private final Path file;
+
+  /**
+   * Lockfile of closures got from the given repository, on the given file.
+   *
+   * @param repository Repository artifacts are got from.
+   * @param file File where the closure is locked. It does not need to exist.
+   */
+  public ArtifactLockfile(ArtifactRepository repository, Path file) {
+    this.repository = requireNonNull(repository);
+    this.file = file.toAbsolutePath();
+  }
+
+  /**
+   * Whether the lockfile is trusted for the given root, so its closure would not be resolved
+   * again.
+   * 
+   * <p>It is trusted when it exists, it has been written for the same root, and neither the
+   * project file of the root nor those of its parents and imported projects have changed since
+   * then.
+   *
+   * @param root Coordinates of the artifact whose closure is locked.
+   *
+   * @return {@code true} when the lockfile is trusted.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When the lockfile cannot be read, or it is malformed.
+   */
+  public boolean verify(ArtifactCoordinates root) throws ArtifactRepositoryException, IOException {
+    return read(root) != null;
+  }
+
+  /**
+   * Get the dependency graph of the given artifact from the lockfile when it is trusted, or
+   * resolve it and lock it otherwise.
+   * 
+   * <p>Artifacts built from the lockfile declare their dependencies as {@code compile} ones,
+   * without exclusions. When the graph is resolved, the checksums of the bundles are fetched on
+   * the given executor too, and the lockfile is written to a temporary file that is atomically
+   * moved to its place. Either way, the locked checksums are kept along with the returned graph,
+   * so they are used when it is downloaded.
+   *
+   * @param root Coordinates of the artifact to start from.
+   * @param executor Executor where artifacts and checksums are fetched when resolving.
+   *
+   * @return The dependency graph.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred, or the lockfile is malformed.
+   * @throws InterruptedException When interrupted while waiting for the resolution.
+   *
+   * @see #verify(ArtifactCoordinates)
+   * @see DependencyResolver
+   */
+  public DependencyGraph resolve(ArtifactCoordinates root, Executor executor)
+      throws ArtifactRepositoryException, IOException, InterruptedException {
+    Lock lock = read(root);
+    if (lock != null) {
+      Map<ArtifactCoordinates, Artifact> artifacts = new HashMap<>();
+      for (Map.Entry<ArtifactCoordinates, Entry> entry : lock.entries.entrySet()) {
+        artifacts.put(entry.getKey(), new Artifact(
+            repository.file(entry.getKey().getPath(entry.getValue().extension)),
+            entry.getValue().dependencies,
+            repository.getTransport()));
+      }
+      return new LockedGraph(root, artifacts, lock.entries);
+    }
+    DependencyGraph graph = new DependencyResolver(repository, executor).resolve(root);
+    if (isMutable(graph)) {
+      return graph;
+    }
+    Map<ArtifactCoordinates, Entry> entries = lock(graph, executor);
+    write(new Lock(root, rootChecksums(root), entries));
+    return new LockedGraph(root, graph.getArtifacts(), entries);
+  }
+
+  /**
+   * Download the bundles of a dependency graph that are missing on the given directory.
+   * 
+   * <p>Bundles are placed following the same layout than the repository. Those that already
+   * exist are not even read. Downloaded bundles are verified against the checksums locked along
+   * with the graph when it has been got through {@link #resolve(ArtifactCoordinates, Executor)},
+   * or against the published ones for closures that are not locked.
+   *
+   * @param graph Dependency graph whose bundles are downloaded.
+   * @param directory Directory where bundles are downloaded to.
+   *
+   * @return Coordinates of the artifacts whose bundle has been downloaded.
+   *
+   * @throws ArtifactRepositoryException When some checksum does not match.
+   * @throws IOException When an I/O error has been occurred.
+   *
+   * @see Artifact#downloadTo(Path)
+   */
+  public Set<ArtifactCoordinates> download(DependencyGraph graph, Path directory)
+      throws ArtifactRepositoryException, IOException {
+    Map<ArtifactCoordinates, Entry> locked = graph instanceof LockedGraph
+        ? ((LockedGraph) graph).entries
+        : emptyMap();
+    Set<ArtifactCoordinates> downloaded = new LinkedHashSet<>();
+    for (Map.Entry<ArtifactCoordinates, Artifact> entry : graph.getArtifacts().entrySet()) {
+      ArtifactCoordinates coordinates = entry.getKey();
+      Artifact artifact = entry.getValue();
+      Path target = directory.resolve(coordinates.getPath(extension(artifact)));
+      if (!exists(target)) {
+        createDirectories(target.getParent());
+        Entry lockedEntry = locked.get(coordinates);
+        if (lockedEntry == null) {
+          artifact.downloadTo(target);
+        } else {
+          ArtifactDownload.download(
+              artifact.getLocation(),
+              target,
+              ArtifactChecksum.of(lockedEntry.checksum));
+        }
+        downloaded.add(coordinates);
+      }
+    }
+    return downloaded;
+  }
+
+  private Map<ArtifactCoordinates, Entry> lock(DependencyGraph graph, Executor executor)
+      throws ArtifactRepositoryException, IOException {
+    Map<ArtifactCoordinates, CompletableFuture<String>> checksums = new LinkedHashMap<>();
+    for (Map.Entry<ArtifactCoordinates, Artifact> entry : graph.getArtifacts().entrySet()) {
+      String path = entry.getKey().getPath(extension(entry.getValue()));
+      checksums.put(entry.getKey(), published(path, executor));
+    }
+    Map<ArtifactCoordinates, Entry> entries = new LinkedHashMap<>();
+    for (Map.Entry<ArtifactCoordinates, CompletableFuture<String>> entry : checksums.entrySet()) {
+      Artifact artifact = graph.getArtifacts().get(entry.getKey());
+      entries.put(entry.getKey(), new Entry(
+          extension(artifact),
+          Futures.join(entry.getValue()),
+          artifact.getDependencies()));
+    }
+    return entries;
+  }
+
+  /*
+   * Checksum of the project file of the root, followed by the coordinates and checksum of each
+   * parent and imported project.
+   */
+  private String rootChecksums(ArtifactCoordinates root)
+      throws ArtifactRepositoryException, IOException {
+    StringBuilder checksums = new StringBuilder(
+        ArtifactChecksum.computed(repository, root.getPath("pom")));
+    for (ArtifactCoordinates ancestor : repository.ancestors(root)) {
+      checksums.append(SEPARATOR + text(ancestor) + SEPARATOR + ArtifactChecksum.computed(
+          repository,
+          repository.path(ancestor, "pom")));
+    }
+    return checksums.toString();
+  }
+
+  private CompletableFuture<String> published(String path, Executor executor) {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      try {
+        future.complete(ArtifactChecksum.published(repository, path));
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /*
+   * Lock of the given root, or null when the lockfile does not exist, belongs to another root or
+   * version, or the project file of the root or of any of its parents and imported projects has
+   * changed.
+   */
+  private Lock read(ArtifactCoordinates root) throws ArtifactRepositoryException, IOException {
+    if (!exists(file)) {
+      return null;
+    }
+    List<String> lines = readAllLines(file, UTF_8);
+    if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+      return null;
+    }
+    String[] rootFields = fields(lines, 1, ROOT_FIELD_COUNT);
+    if (!rootFields[0].equals(ROOT)) {
+      throw malformed();
+    }
+    String rootChecksums = String.join(
+        SEPARATOR,
+        asList(rootFields).subList(ROOT_FIELD_COUNT - 1, rootFields.length));
+    if (!coordinates(rootFields[1]).equals(root) || !rootChecksums.equals(rootChecksums(root))) {
+      return null;
+    }
+    Map<ArtifactCoordinates, Entry> entries = new LinkedHashMap<>();
+    for (int i = 2; i < lines.size(); ++i) {
+      String[] fields = fields(lines, i, ENTRY_MINIMUM_FIELD_COUNT);
+      Set<ArtifactCoordinates> dependencies = new LinkedHashSet<>();
+      for (int j = ENTRY_MINIMUM_FIELD_COUNT; j < fields.length; ++j) {
+        dependencies.add(coordinates(fields[j]));
+      }
+      entries.put(coordinates(fields[0]), new Entry(
+          fields[1],
+          fields[2].equals(NO_CHECKSUM) ? null : fields[2],
+          dependencies));
+    }
+    return new Lock(root, rootChecksums, entries);
+  }
+
+  private void write(Lock lock) throws IOException {
+    createDirectories(file.getParent());
+    Path temporary = createTempFile(
+        file.getParent(),
+        file.getFileName().toString(),
+        TEMPORARY_SUFFIX);
+    try {
+      try (Writer writer = newBufferedWriter(temporary, UTF_8)) {
+        writer.write(HEADER);
+        writer.write('\n');
+        writer.write(ROOT + SEPARATOR + text(lock.root) + SEPARATOR + lock.rootChecksums);
+        writer.write('\n');
+        for (Map.Entry<String, Entry> entry : sorted(lock.entries).entrySet()) {
+          writer.write(entry.getKey());
+          writer.write(SEPARATOR + entry.getValue().extension);
+          writer.write(SEPARATOR + (entry.getValue().checksum == null
+              ? NO_CHECKSUM
+              : entry.getValue().checksum));
+          for (ArtifactCoordinates dependency : entry.getValue().dependencies) {
+            writer.write(SEPARATOR + text(dependency));
+          }
+          writer.write('\n');
+        }
+      }
+      move(temporary, file, ATOMIC_MOVE);
+    } finally {
+      deleteIfExists(temporary);
+    }
+  }
+
+  private String[] fields(List<String> lines, int index, int minimumCount) throws IOException {
+    if (index >= lines.size()) {
+      throw malformed();
+    }
+    String[] fields = lines.get(index).split(SEPARATOR);
+    if (fields.length < minimumCount) {
+      throw malformed();
+    }
+    return fields;
+  }
+
+  private ArtifactCoordinates coordinates(String text) throws IOException {
+    ArtifactCoordinates coordinates = ArtifactMirror.parseCoordinates(text);
+    if (coordinates == null) {
+      throw malformed();
+    }
+    return coordinates;
+  }
+
+  private IOException malformed() {
+    return new IOException("Malformed lockfile " + file);
+  }
+
+  /*
+   * Artifacts are sorted, so locking the same closure always gives the same file.
+   */
+  private static Map<String, Entry> sorted(Map<ArtifactCoordinates, Entry> entries) {
+    Map<String, Entry> sorted = new TreeMap<>();
+    entries.forEach((coordinates, entry) -> sorted.put(text(coordinates), entry));
+    return sorted;
+  }
+
+  private static String text(ArtifactCoordinates coordinates) {
+    return String.join(
+        COORDINATES_SEPARATOR,
+        coordinates.getGroupId(),
+        coordinates.getArtifactId(),
+        coordinates.getVersion());
+  }
+
+  private static String extension(Artifact artifact) {
+    String location = artifact.getLocation().getPath();
+    return location.substring(location.lastIndexOf('.') + 1);
+  }
+
+  private static boolean isMutable(DependencyGraph graph) {
+    for (Map.Entry<ArtifactCoordinates, Artifact> entry : graph.getArtifacts().entrySet()) {
+      if (ArtifactRepository.isMutable(entry.getKey().getVersion())
+          || ArtifactRepository.hasMutableDependencies(entry.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Graph whose closure is locked, along with the entries it has been locked with.
+   */
+  private static class LockedGraph extends DependencyGraph {
+
+    private final Map<ArtifactCoordinates, Entry> entries;
+
+    private LockedGraph(
+        ArtifactCoordinates root,
+        Map<ArtifactCoordinates, Artifact> artifacts,
+        Map<ArtifactCoordinates, Entry> entries) {
+      super(root, artifacts);
+      this.entries = entries;
+    }
+  }
+
+  private static class Lock {
+
+    private final ArtifactCoordinates root;
+    private final String rootChecksums;
+    private final Map<ArtifactCoordinates, Entry> entries;
+
+    private Lock(
+        ArtifactCoordinates root,
+        String rootChecksums,
+        Map<ArtifactCoordinates, Entry> entries) {
+      this.root = root;
+      this.rootChecksums = rootChecksums;
+      this.entries = entries;
+    }
+  }
+
+  private static class Entry {
+
+    private final String extension;
+    private final String checksum;
+    private final Set<ArtifactCoordinates> dependencies;
+
+    private Entry(String extension, String checksum, Set<ArtifactCoordinates> dependencies) {
+      this.extension = extension;
+      this.checksum = checksum;
+      this.dependencies = dependencies;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache of artifacts got through one or more sources.
+ * 
+ * <p>Artifacts are kept by source and coordinates, up to a maximum number of entries. The least
+ * recently used ones are evicted first when that number is exceeded.
+ * 
+ * <p>Concurrent requests of the same artifact through the same source are coalesced, so the
+ * artifact is got only once from the source while they wait for it. Failures are never cached.
+ * 
+ * <p>Snapshot versions, version ranges, {@code LATEST} and {@code RELEASE} are never cached, since
+ * the artifact they refer to may change. They are always got from the source. Artifacts having
+ * some {@code compile} or {@code runtime} dependency declared with one of them are not kept either,
+ * once they have been got.
+ */
+public class ArtifactMemoryCache {
+
+  private final Map<SourceKey, CompletableFuture<Artifact>> entries;
+  private final LongAdder hitCount;
+  private final LongAdder missCount;
+
+  /**
+   * Cache with the given maximum number of entries.
+   *
+   * @param maximumSize Maximum number of entries.
+   *
+   * @throws IllegalArgumentException When the maximum number of entries is not positive.
+   */
+  public ArtifactMemoryCache(int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size must be positive");
+    }
+    entries = new LinkedHashMap<SourceKey, CompletableFuture<Artifact>>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Entry<SourceKey, CompletableFuture<Artifact>> eldest) {
+        return size() > maximumSize;
+      }
+    };
+    hitCount = new LongAdder();
+    missCount = new LongAdder();
+  }
+
+  /**
+   * Source getting artifacts from the given one through this cache.
+   *
+   * @param source The source whose artifacts are cached.
+   *
+   * @return The caching source.
+   */
+  public ArtifactSource cached(ArtifactSource source) {
+    requireNonNull(source);
+    return coordinates -> get(source, coordinates);
+  }
+
+  /**
+   * Number of artifacts got from this cache, including those waiting for a concurrent request.
+   *
+   * @return The number of hits.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Number of artifacts not found in this cache, and so got from their source.
+   *
+   * @return The number of misses.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Current number of entries, never greater than the maximum.
+   *
+   * @return The number of entries.
+   */
+  public int getSize() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private Artifact get(ArtifactSource source, ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    if (ArtifactRepository.isMutable(coordinates.getVersion())) {
+      missCount.increment();
+      return source.get(coordinates);
+    }
+    SourceKey key = new SourceKey(source, coordinates);
+    CompletableFuture<Artifact> future = new CompletableFuture<>();
+    CompletableFuture<Artifact> cached;
+    synchronized (entries) {
+      cached = entries.putIfAbsent(key, future);
+    }
+    if (cached != null) {
+      hitCount.increment();
+      return Futures.join(cached);
+    }
+    missCount.increment();
+    try {
+      Artifact artifact = source.get(coordinates);
+      if (ArtifactRepository.hasMutableDependencies(artifact)) {
+        synchronized (entries) {
+          entries.remove(key, future);
+        }
+      }
+      future.complete(artifact);
+      return artifact;
+    } catch (Throwable e) {
+      synchronized (entries) {
+        entries.remove(key, future);
+      }
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newBufferedWriter;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mirror of the dependency closure of some artifacts on a local directory.
+ * 
+ * <p>The closure is resolved concurrently, and both project files and bundles of every artifact
+ * are downloaded to the directory, following the same layout than the repository, so it can be
+ * used as a repository itself on hosts without access to the original one. Project files of
+ * parents and imported bills of materials, and the metadata used to resolve dynamic versions, are
+ * downloaded too.
+ * 
+ * <p>Mirrored artifacts are appended to a journal file on the directory, named
+ * {@value #JOURNAL_NAME}, once all the files they need are on the directory. A mirror interrupted
+ * for any reason can be restarted on the same directory, and the artifacts on the journal are then
+ * read from the directory, without reaching the repository.
+ *
+ * @see LocalArtifactCache
+ */
+public class ArtifactMirror {
+
+  /**
+   * Bandwidth value meaning no limit.
+   */
+  public static final long UNLIMITED_BANDWIDTH = Long.MAX_VALUE;
+
+  /**
+   * Name of the journal file on the mirror directory.
+   */
+  public static final String JOURNAL_NAME = ".mirror-journal";
+
+  private static final String THREAD_NAME = "artifact-mirror";
+  private static final String COORDINATES_SEPARATOR = ":";
+
+  private final LocalArtifactCache cache;
+  private final ArtifactRepository local;
+  private final Path directory;
+  private final int concurrency;
+
+  /**
+   * Mirror of the given repository on the given directory, with the default concurrency and
+   * without bandwidth limit.
+   *
+   * @param repository Repository URL.
+   * @param directory Mirror directory.
+   *
+   * @throws MalformedURLException When the directory cannot be used as a repository.
+   *
+   * @see ArtifactSource#DEFAULT_CONCURRENCY
+   */
+  public ArtifactMirror(URL repository, Path directory) throws MalformedURLException {
+    this(
+        repository,
+        ArtifactTransport.URL_CONNECTION,
+        directory,
+        ArtifactSource.DEFAULT_CONCURRENCY,
+        UNLIMITED_BANDWIDTH);
+  }
+
+  /**
+   * Mirror of the given repository on the given directory.
+   * 
+   * <p>The concurrency bounds the number of requests in flight to the repository. When the
+   * transport has its own limit of connections by host, like {@link HttpTransport}, it is applied
+   * too. The bandwidth is shared by all of them.
+   *
+   * @param repository Repository URL.
+   * @param transport Transport used to read files of the repository.
+   * @param directory Mirror directory.
+   * @param concurrency Maximum number of artifacts being mirrored at the same time.
+   * @param bytesPerSecond Maximum number of bytes read by second from the repository, or
+   *        {@link #UNLIMITED_BANDWIDTH}.
+   *
+   * @throws MalformedURLException When the directory cannot be used as a repository.
+   * @throws IllegalArgumentException When the concurrency or the bandwidth is not positive.
+   */
+  public ArtifactMirror(
+      URL repository,
+      ArtifactTransport transport,
+      Path directory,
+      int concurrency,
+      long bytesPerSecond) throws MalformedURLException {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive");
+    }
+    if (bytesPerSecond < 1L) {
+      throw new IllegalArgumentException("Bandwidth must be positive");
+    }
+    ArtifactTransport limitedTransport = bytesPerSecond == UNLIMITED_BANDWIDTH
+        ? requireNonNull(transport)
+        : new BandwidthLimiter(bytesPerSecond).limited(transport);
+    this.directory = directory.toAbsolutePath();
+    cache = new LocalArtifactCache(
+        new ArtifactRepository(repository, limitedTransport),
+        this.directory);
+    local = new ArtifactRepository(LocalArtifactCache.directoryLocation(this.directory));
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Mirror the dependency closures of the given artifacts, waiting for all of them.
+   * 
+   * <p>An error mirroring one of the artifacts does not abort the others, but the dependencies of
+   * the failed artifact are not mirrored.
+   *
+   * @param roots Coordinates of the artifacts to start from.
+   *
+   * @return The mirrored artifacts, located at the mirror directory, and the errors occurred.
+   *
+   * @throws IOException When the journal cannot be read or written.
+   * @throws InterruptedException When interrupted while waiting.
+   */
+  public ArtifactBatch mirror(Collection<ArtifactCoordinates> roots)
+      throws IOException, InterruptedException {
+    createDirectories(directory);
+    Path journalFile = directory.resolve(JOURNAL_NAME);
+    Set<ArtifactCoordinates> journaled = readJournal(journalFile);
+    ExecutorService executor = newFixedThreadPool(concurrency, runnable -> {
+      Thread thread = new Thread(runnable, THREAD_NAME);
+      thread.setDaemon(true);
+      return thread;
+    });
+    try (Writer journal = newBufferedWriter(journalFile, UTF_8, CREATE, APPEND)) {
+      Traversal traversal = new Traversal(journaled, journal, executor);
+      roots.forEach(traversal::visit);
+      return traversal.await();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /*
+   * Coordinates given as group, artifact and version separated by colons, or null when they are
+   * malformed.
+   */
+  static ArtifactCoordinates parseCoordinates(String text) {
+    String[] parts = text.split(COORDINATES_SEPARATOR, -1);
+    if (parts.length != 3) {
+      return null;
+    }
+    return new ArtifactCoordinates(parts[0], parts[1], parts[2]);
+  }
+
+  /*
+   * The last line may be incomplete when a previous mirror has been killed while writing it.
+   */
+  private static Set<ArtifactCoordinates> readJournal(Path journalFile) throws IOException {
+    Set<ArtifactCoordinates> journaled = new HashSet<>();
+    if (exists(journalFile)) {
+      for (String line : readAllLines(journalFile, UTF_8)) {
+        ArtifactCoordinates coordinates = parseCoordinates(line);
+        if (coordinates != null) {
+          journaled.add(coordinates);
+        }
+      }
+    }
+    return journaled;
+  }
+
+  private class Traversal {
+
+    private final Set<ArtifactCoordinates> journaled;
+    private final Writer journal;
+    private final Executor executor;
+    private final Set<ArtifactCoordinates> visited;
+    private final ArtifactBatch batch;
+    private final AtomicInteger pending;
+    private final CountDownLatch completion;
+
+    private Traversal(Set<ArtifactCoordinates> journaled, Writer journal, Executor executor) {
+      this.journaled = journaled;
+      this.journal = journal;
+      this.executor = executor;
+      visited = ConcurrentHashMap.newKeySet();
+      batch = new ArtifactBatch();
+      pending = new AtomicInteger(1);
+      completion = new CountDownLatch(1);
+    }
+
+    private void visit(ArtifactCoordinates coordinates) {
+      if (visited.add(coordinates)) {
+        pending.incrementAndGet();
+        executor.execute(() -> mirror(coordinates));
+      }
+    }
+
+    private ArtifactBatch await() throws InterruptedException {
+      release();
+      completion.await();
+      return batch;
+    }
+
+    private void mirror(ArtifactCoordinates coordinates) {
+      try {
+        Artifact artifact = journaled.contains(coordinates)
+            ? local.get(coordinates)
+            : download(coordinates);
+        batch.completed(coordinates, artifact);
+        artifact.getDependencies().forEach(this::visit);
+      } catch (ArtifactRepositoryException | IOException | RuntimeException e) {
+        batch.failed(coordinates, e);
+      } finally {
+        release();
+      }
+    }
+
+    private Artifact download(ArtifactCoordinates coordinates)
+        throws ArtifactRepositoryException, IOException {
+      Artifact artifact = cache.get(coordinates);
+      synchronized (journal) {
+        journal.write(String.join(
+            COORDINATES_SEPARATOR,
+            coordinates.getGroupId(),
+            coordinates.getArtifactId(),
+            coordinates.getVersion()));
+        journal.write('\n');
+        journal.flush();
+      }
+      return artifact;
+    }
+
+    private void release() {
+      if (pending.decrementAndGet() == 0) {
+        completion.countDown();
+      }
+    }
+  }
+}
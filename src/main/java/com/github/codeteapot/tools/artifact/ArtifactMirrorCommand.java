@@ -0,0 +1,81 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point of {@link ArtifactMirror}.
+ *
+ * <pre>
+ * java com.github.codeteapot.tools.artifact.ArtifactMirrorCommand
+ *     [--concurrency=N] [--bandwidth=BYTES_PER_SECOND]
+ *     REPOSITORY_URL DIRECTORY GROUP_ID:ARTIFACT_ID:VERSION...
+ * </pre>
+ * 
+ * <p>The number of mirrored artifacts is printed on the standard output, and the failures on the
+ * standard error. The command fails when some artifact could not be mirrored, so it can be run
+ * again to retry them.
+ */
+public class ArtifactMirrorCommand {
+
+  private static final String USAGE = "Usage: [--concurrency=N] [--bandwidth=BYTES_PER_SECOND]"
+      + " REPOSITORY_URL DIRECTORY GROUP_ID:ARTIFACT_ID:VERSION...";
+
+  private static final String CONCURRENCY_OPTION = "--concurrency=";
+  private static final String BANDWIDTH_OPTION = "--bandwidth=";
+
+  private ArtifactMirrorCommand() {}
+
+  /**
+   * Run the command.
+   *
+   * @param args Command line arguments.
+   *
+   * @throws IllegalArgumentException When the arguments are not valid.
+   * @throws ArtifactRepositoryException When some artifact could not be mirrored.
+   * @throws Exception When the mirror failed as a whole.
+   */
+  public static void main(String[] args) throws Exception {
+    int concurrency = ArtifactSource.DEFAULT_CONCURRENCY;
+    long bytesPerSecond = ArtifactMirror.UNLIMITED_BANDWIDTH;
+    List<String> operands = new ArrayList<>();
+    for (String arg : args) {
+      if (arg.startsWith(CONCURRENCY_OPTION)) {
+        concurrency = Integer.parseInt(arg.substring(CONCURRENCY_OPTION.length()));
+      } else if (arg.startsWith(BANDWIDTH_OPTION)) {
+        bytesPerSecond = Long.parseLong(arg.substring(BANDWIDTH_OPTION.length()));
+      } else {
+        operands.add(arg);
+      }
+    }
+    if (operands.size() < 3) {
+      throw new IllegalArgumentException(USAGE);
+    }
+    List<ArtifactCoordinates> roots = new ArrayList<>();
+    for (String operand : operands.subList(2, operands.size())) {
+      ArtifactCoordinates coordinates = ArtifactMirror.parseCoordinates(operand);
+      if (coordinates == null) {
+        throw new IllegalArgumentException("Malformed coordinates " + operand);
+      }
+      roots.add(coordinates);
+    }
+    ArtifactBatch batch = new ArtifactMirror(
+        new URL(operands.get(0)),
+        ArtifactTransport.URL_CONNECTION,
+        Paths.get(operands.get(1)),
+        concurrency,
+        bytesPerSecond).mirror(roots);
+    System.out.println("Mirrored " + batch.getArtifacts().size() + " artifacts");
+    batch.getFailures().forEach((coordinates, failure) -> System.err.println(
+        "Failed " + String.join(":",
+            coordinates.getGroupId(),
+            coordinates.getArtifactId(),
+            coordinates.getVersion()) + ": " + failure.getMessage()));
+    if (!batch.getFailures().isEmpty()) {
+      throw new ArtifactRepositoryException(
+          batch.getFailures().size() + " artifacts could not be mirrored");
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory cache of artifacts not found through one or more sources.
+ * 
+ * <p>When a source fails with {@link ArtifactNotFoundException}, the same artifact is reported as
+ * not found through that source without requesting it again, until the given time to live has
+ * elapsed. Up to a maximum number of entries are kept, evicting the oldest ones first. Any other
+ * failure is never cached.
+ */
+public class ArtifactNotFoundCache {
+
+  private final Map<SourceKey, Long> entries;
+  private final long timeToLive;
+  private final LongSupplier nanoTime;
+  private final LongAdder hitCount;
+  private final LongAdder missCount;
+
+  /**
+   * Cache with the given maximum number of entries and time to live.
+   *
+   * @param maximumSize Maximum number of entries.
+   * @param timeToLive Time an artifact is reported as not found since it was.
+   *
+   * @throws IllegalArgumentException When the maximum number of entries or the time to live is
+   *         not positive.
+   */
+  public ArtifactNotFoundCache(int maximumSize, Duration timeToLive) {
+    this(maximumSize, timeToLive, System::nanoTime);
+  }
+
+  ArtifactNotFoundCache(int maximumSize, Duration timeToLive, LongSupplier nanoTime) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("Maximum size must be positive");
+    }
+    if (timeToLive.isNegative() || timeToLive.isZero()) {
+      throw new IllegalArgumentException("Time to live must be positive");
+    }
+    entries = new LinkedHashMap<SourceKey, Long>() {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Entry<SourceKey, Long> eldest) {
+        return size() > maximumSize;
+      }
+    };
+    this.timeToLive = timeToLive.toNanos();
+    this.nanoTime = nanoTime;
+    hitCount = new LongAdder();
+    missCount = new LongAdder();
+  }
+
+  /**
+   * Source getting artifacts from the given one through this cache.
+   *
+   * @param source The source whose missing artifacts are cached.
+   *
+   * @return The caching source.
+   */
+  public ArtifactSource cached(ArtifactSource source) {
+    requireNonNull(source);
+    return coordinates -> get(source, coordinates);
+  }
+
+  /**
+   * Number of artifacts reported as not found by this cache, without requesting them.
+   *
+   * @return The number of hits.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Number of artifacts requested to their source, because they were not known as not found.
+   *
+   * @return The number of misses.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Current number of entries, including expired ones not yet evicted.
+   *
+   * @return The number of entries.
+   */
+  public int getSize() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private Artifact get(ArtifactSource source, ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    SourceKey key = new SourceKey(source, requireNonNull(coordinates));
+    synchronized (entries) {
+      Long expiration = entries.get(key);
+      if (expiration != null && nanoTime.getAsLong() - expiration < 0L) {
+        hitCount.increment();
+        throw new ArtifactNotFoundException(coordinates);
+      }
+      entries.remove(key);
+    }
+    missCount.increment();
+    try {
+      return source.get(coordinates);
+    } catch (ArtifactNotFoundException e) {
+      synchronized (entries) {
+        entries.put(key, nanoTime.getAsLong() + timeToLive);
+      }
+      throw e;
+    }
+  }
+}
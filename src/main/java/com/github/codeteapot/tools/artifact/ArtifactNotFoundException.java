@@ -0,0 +1,56 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exception occurred when the project file or the bundle of an artifact is not found on a
+ * repository.
+ * 
+ * <p>It tells that the repository answered, unlike an {@link java.io.IOException} occurred while
+ * trying to reach it.
+ */
+public class ArtifactNotFoundException extends ArtifactRepositoryException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Coordinates of the missing artifact.
+   */
+  private final ArtifactCoordinates coordinates;
+
+  /**
+   * Exception for the given missing artifact.
+   *
+   * @param coordinates Coordinates of the missing artifact.
+   */
+  public ArtifactNotFoundException(ArtifactCoordinates coordinates) {
+    this(coordinates, null);
+  }
+
+  /**
+   * Exception for the given missing artifact, with the cause reported by the repository.
+   *
+   * @param coordinates Coordinates of the missing artifact.
+   * @param cause The cause.
+   */
+  public ArtifactNotFoundException(ArtifactCoordinates coordinates, Throwable cause) {
+    super(message(coordinates), cause);
+    this.coordinates = coordinates;
+  }
+
+  /**
+   * Coordinates of the missing artifact.
+   *
+   * @return The missing artifact coordinates.
+   */
+  public ArtifactCoordinates getCoordinates() {
+    return coordinates;
+  }
+
+  private static String message(ArtifactCoordinates coordinates) {
+    return "Artifact not found "
+        + requireNonNull(coordinates).getGroupId() + ":"
+        + coordinates.getArtifactId() + ":"
+        + coordinates.getVersion();
+  }
+}
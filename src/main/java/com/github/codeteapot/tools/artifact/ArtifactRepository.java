@@ -3,23 +3,56 @@ package com.github.codeteapot.tools.artifact;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toMap;
-import static javax.xml.bind.JAXBContext.newInstance;
 
+import com.github.codeteapot.tools.artifact.ArtifactRepositoryListener.Phase;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
-import java.net.URISyntaxException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
-import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Artifact repository.
+ * 
+ * <p>Dependencies are resolved against the effective model of each project, so versions can come
+ * from the dependency management of the project, of its parents or of the imported bills of
+ * materials, and they can be given by properties. Effective models of parents and imported
+ * projects are built only once while getting an artifact. Those of released versions are also kept
+ * by the repository, up to a maximum number, as long as they do not inherit nor import snapshot or
+ * dynamic versions, so they are fetched and merged only once for all the artifacts sharing them.
+ * 
+ * <p>Versions given as ranges, like {@code [1.0,2.0)}, or as {@code LATEST} or {@code RELEASE}
+ * are resolved against the {@code maven-metadata.xml} file of the artifact, both when getting an
+ * artifact and for its {@code compile} and {@code runtime} dependencies. Other dependencies keep
+ * their declared versions, and they are dropped when they have none. Files of snapshot versions
+ * are named after the timestamped version given by the metadata of that version, when there is
+ * one. Metadata is kept by the repository, and it is only fetched again once the refresh interval
+ * has elapsed.
+ * 
+ * <p>Files of the repository are read through an {@link ArtifactTransport}, and the work done can
+ * be observed through an {@link ArtifactRepositoryListener}.
  */
-public class ArtifactRepository {
+public class ArtifactRepository implements ArtifactSource {
+
+  /**
+   * Default interval after which metadata is fetched again, the same than the default update
+   * policy of Maven.
+   */
+  public static final Duration DEFAULT_METADATA_REFRESH_INTERVAL = Duration.ofDays(1L);
 
   private static final Map<String, String> EXTENSION_MAP = Stream.of(
       new SimpleEntry<>("jar", "jar"),
@@ -31,15 +64,106 @@ public class ArtifactRepository {
 
   private static final String DEFAULT_EXTENSION = "jar";
 
+  private static final String LATEST_VERSION = "LATEST";
+  private static final String RELEASE_VERSION = "RELEASE";
+  private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+
+  private static final int DRAIN_BUFFER_SIZE = 512;
+
+  private static final int MAX_SHARED_PROJECTS = 1024;
+
   private final URL directory;
+  private final ArtifactTransport transport;
+  private final ArtifactRepositoryListener listener;
+  private final boolean instrumented;
+  private final MetadataCache metadata;
+  private final Replica replica;
+  private final Map<ArtifactCoordinates, CompletableFuture<XMLProject>> projects;
+  private final Map<ArtifactCoordinates, ProjectModel> models;
 
   /**
    * Repository at given directory URL.
+   * 
+   * <p>Files are read through the URL stream handler of the directory.
    *
    * @param directory Directory URL.
+   *
+   * @see ArtifactTransport#URL_CONNECTION
    */
   public ArtifactRepository(URL directory) {
+    this(directory, ArtifactTransport.URL_CONNECTION);
+  }
+
+  /**
+   * Repository at given directory URL, whose files are read through the given transport.
+   *
+   * @param directory Directory URL.
+   * @param transport Transport used to read files.
+   */
+  public ArtifactRepository(URL directory, ArtifactTransport transport) {
+    this(directory, transport, ArtifactRepositoryListener.NONE);
+  }
+
+  /**
+   * Repository at given directory URL, whose files are read through the given transport, and
+   * whose work is notified to the given listener.
+   *
+   * @param directory Directory URL.
+   * @param transport Transport used to read files.
+   * @param listener Listener of the work done, or {@link ArtifactRepositoryListener#NONE}.
+   *
+   * @see ArtifactRepositoryMetrics
+   */
+  public ArtifactRepository(
+      URL directory,
+      ArtifactTransport transport,
+      ArtifactRepositoryListener listener) {
+    this(directory, transport, listener, DEFAULT_METADATA_REFRESH_INTERVAL);
+  }
+
+  /**
+   * Repository at given directory URL, whose files are read through the given transport, whose
+   * work is notified to the given listener, and whose metadata is fetched again after the given
+   * interval.
+   *
+   * @param directory Directory URL.
+   * @param transport Transport used to read files.
+   * @param listener Listener of the work done, or {@link ArtifactRepositoryListener#NONE}.
+   * @param metadataRefreshInterval Interval after which metadata is fetched again.
+   *
+   * @throws IllegalArgumentException When the refresh interval is negative.
+   */
+  public ArtifactRepository(
+      URL directory,
+      ArtifactTransport transport,
+      ArtifactRepositoryListener listener,
+      Duration metadataRefreshInterval) {
+    if (metadataRefreshInterval.isNegative()) {
+      throw new IllegalArgumentException("Metadata refresh interval must not be negative");
+    }
+    this.directory = requireNonNull(directory);
+    this.transport = requireNonNull(transport);
+    this.listener = requireNonNull(listener);
+    instrumented = listener != ArtifactRepositoryListener.NONE;
+    projects = shared();
+    models = shared();
+    metadata = new MetadataCache(metadataRefreshInterval.toNanos(), System::nanoTime);
+    replica = Replica.NONE;
+  }
+
+  /*
+   * Local copy of another repository, whose project files and artifact metadata are copied by the
+   * replica before being read.
+   */
+  ArtifactRepository(URL directory, Replica replica) {
     this.directory = requireNonNull(directory);
+    transport = ArtifactTransport.URL_CONNECTION;
+    listener = ArtifactRepositoryListener.NONE;
+    instrumented = false;
+    projects = shared();
+    models = shared();
+    metadata = new MetadataCache(DEFAULT_METADATA_REFRESH_INTERVAL.toNanos(), System::nanoTime);
+    this.replica = requireNonNull(replica);
   }
 
   /**
@@ -52,19 +176,26 @@ public class ArtifactRepository {
    * @throws ArtifactRepositoryException When some repository error has been occurred.
    * @throws IOException When an I/O error has been occurred.
    */
+  @Override
   public Artifact get(ArtifactCoordinates coordinates)
       throws ArtifactRepositoryException, IOException {
-    try (InputStream input = file(coordinates.getPath("pom")).openStream()) {
-      XMLProject project = (XMLProject) newInstance(XMLProject.class)
-          .createUnmarshaller()
-          .unmarshal(input);
-      return new Artifact(
-          file(coordinates.getPath(project.getExtension(this::fromPackaging))),
-          project.getDependencies());
-    } catch (JAXBException | URISyntaxException | MalformedURLException e) {
-      throw new ArtifactRepositoryException(e);
-    } catch (UncheckedArtifactRepositoryException e) {
-      throw e.getCause();
+    long started = nanoTime();
+    listener.requestStarted(coordinates);
+    try {
+      ArtifactCoordinates literal = resolve(coordinates);
+      XMLProject project = read(literal);
+      long parsed = nanoTime();
+      Artifact artifact = new Artifact(
+          file(path(literal, project.getExtension(this::fromPackaging))),
+          resolveAll(model(project, new Resolution()).getDependencies()),
+          transport);
+      long resolved = nanoTime();
+      listener.phaseCompleted(coordinates, Phase.RESOLVE, resolved - parsed);
+      listener.requestCompleted(coordinates, resolved - started);
+      return artifact;
+    } catch (ArtifactRepositoryException | IOException | RuntimeException e) {
+      listener.requestFailed(coordinates, e, nanoTime() - started);
+      throw e;
     }
   }
 
@@ -95,7 +226,315 @@ public class ArtifactRepository {
     return ofNullable(packaging).map(EXTENSION_MAP::get).orElse(DEFAULT_EXTENSION);
   }
 
-  private URL file(String relativePath) throws URISyntaxException, MalformedURLException {
-    return new URL(directory, relativePath);
+  private ProjectModel model(XMLProject project, Resolution resolution)
+      throws ArtifactRepositoryException, IOException {
+    ArtifactCoordinates parentCoordinates = project.getParent().toCoordinates();
+    ProjectModel parentModel = ProjectModel.NONE;
+    if (parentCoordinates != null) {
+      parentModel = model(parentCoordinates, resolution);
+    }
+    return ProjectModel.build(project, parentModel, coordinates -> model(coordinates, resolution));
+  }
+
+  private ProjectModel model(ArtifactCoordinates coordinates, Resolution resolution)
+      throws ArtifactRepositoryException, IOException {
+    ArtifactCoordinates literal = resolve(coordinates);
+    ProjectModel model = resolution.models.get(literal);
+    if (model == null) {
+      synchronized (models) {
+        model = models.get(literal);
+      }
+    }
+    if (model == null) {
+      if (!resolution.lineage.add(literal)) {
+        throw new ArtifactRepositoryException("Cyclic project inheritance of " + literal);
+      }
+      model = model(project(literal), resolution);
+      resolution.lineage.remove(literal);
+      if (isShareable(literal, model)) {
+        synchronized (models) {
+          models.putIfAbsent(literal, model);
+        }
+      }
+    }
+    resolution.models.putIfAbsent(literal, model);
+    return model;
+  }
+
+  /*
+   * Concurrent requests of the same parent or imported project are coalesced, unless it has a
+   * snapshot version.
+   */
+  private XMLProject project(ArtifactCoordinates literal)
+      throws ArtifactRepositoryException, IOException {
+    if (isMutable(literal.getVersion())) {
+      return read(literal);
+    }
+    CompletableFuture<XMLProject> future = new CompletableFuture<>();
+    CompletableFuture<XMLProject> existing;
+    synchronized (projects) {
+      existing = projects.putIfAbsent(literal, future);
+    }
+    if (existing != null) {
+      return Futures.join(existing);
+    }
+    try {
+      XMLProject project = read(literal);
+      future.complete(project);
+      return project;
+    } catch (Throwable e) {
+      synchronized (projects) {
+        projects.remove(literal, future);
+      }
+      future.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  private XMLProject read(ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    long started = nanoTime();
+    replica.copyProject(coordinates);
+    try (InputStream input = open(path(coordinates, "pom"))) {
+      long opened = nanoTime();
+      listener.phaseCompleted(coordinates, Phase.FETCH, opened - started);
+      CountingInputStream counting = new CountingInputStream(input);
+      XMLProject project = XMLProject.read(counting);
+      drain(counting);
+      parsed(coordinates, nanoTime() - opened, counting.getCount());
+      return project;
+    } catch (FileNotFoundException e) {
+      throw new ArtifactNotFoundException(coordinates, e);
+    } catch (XMLStreamException e) {
+      throw new ArtifactRepositoryException(e);
+    }
+  }
+
+  private List<ArtifactDependency> resolveAll(List<ArtifactDependency> dependencies)
+      throws ArtifactRepositoryException, IOException {
+    List<ArtifactDependency> resolved = new ArrayList<>();
+    for (ArtifactDependency dependency : dependencies) {
+      if (dependency.getScope().isTransitive()) {
+        resolved.add(dependency.withCoordinates(resolve(dependency.getCoordinates())));
+      } else {
+        resolved.add(dependency);
+      }
+    }
+    return resolved;
+  }
+
+  private XMLMetadata metadata(String relativePath)
+      throws ArtifactRepositoryException, IOException {
+    return metadata.get(relativePath, this::fetchMetadata);
+  }
+
+  private XMLMetadata fetchArtifactMetadata(String relativePath)
+      throws ArtifactRepositoryException, IOException {
+    replica.copyMetadata(relativePath);
+    return fetchMetadata(relativePath);
+  }
+
+  private XMLMetadata fetchMetadata(String relativePath)
+      throws ArtifactRepositoryException, IOException {
+    try (InputStream input = open(relativePath)) {
+      XMLMetadata fetched = XMLMetadata.read(input);
+      drain(input);
+      return fetched;
+    } catch (FileNotFoundException e) {
+      return XMLMetadata.NONE;
+    } catch (XMLStreamException e) {
+      throw new ArtifactRepositoryException(e);
+    }
+  }
+
+  private void parsed(ArtifactCoordinates coordinates, long nanos, long bytes) {
+    listener.phaseCompleted(coordinates, Phase.PARSE, nanos);
+    listener.transferred(coordinates, bytes);
+  }
+
+  /*
+   * Time is not even measured when nobody listens.
+   */
+  private long nanoTime() {
+    return instrumented ? System.nanoTime() : 0L;
+  }
+
+  /*
+   * Effective models are only shared when they are built from released versions only, since they
+   * would not change otherwise once metadata is fetched again.
+   */
+  private static boolean isShareable(ArtifactCoordinates literal, ProjectModel model) {
+    if (isMutable(literal.getVersion())) {
+      return false;
+    }
+    for (ArtifactCoordinates source : model.getSources()) {
+      if (isMutable(source.getVersion())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Whether the given version may refer to another artifact later.
+   */
+  static boolean isMutable(String version) {
+    return version.endsWith(SNAPSHOT_SUFFIX) || isDynamic(version);
+  }
+
+  /*
+   * Whether some transitive dependency of the given artifact has been declared with a snapshot or
+   * dynamic version. Dynamic versions have already been resolved on the artifact, so they are
+   * looked for on the declared ones.
+   */
+  static boolean hasMutableDependencies(Artifact artifact) {
+    for (ArtifactDependency dependency : artifact.getDeclaredDependencies()) {
+      if (dependency.getScope().isTransitive() && isMutable(dependency.getDeclaredVersion())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Least recently used entries are evicted once the maximum number is exceeded.
+   */
+  private static <V> Map<ArtifactCoordinates, V> shared() {
+    return new LinkedHashMap<ArtifactCoordinates, V>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Entry<ArtifactCoordinates, V> eldest) {
+        return size() > MAX_SHARED_PROJECTS;
+      }
+    };
+  }
+
+  static boolean isDynamic(String version) {
+    return VersionRange.isRange(version)
+        || version.equals(LATEST_VERSION)
+        || version.equals(RELEASE_VERSION);
+  }
+
+  /*
+   * Persistent connections are only reused once their content has been fully read.
+   */
+  static void drain(InputStream input) throws IOException {
+    byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+    while (input.read(buffer) != -1) {
+      // Nothing to do
+    }
+  }
+
+  /*
+   * Coordinates with a literal version, resolving dynamic versions against the metadata.
+   */
+  ArtifactCoordinates resolve(ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    String version = coordinates.getVersion();
+    if (!isDynamic(version)) {
+      return coordinates;
+    }
+    XMLMetadata artifactMetadata = metadata.get(
+        coordinates.getArtifactMetadataPath(),
+        this::fetchArtifactMetadata);
+    String selected;
+    if (version.equals(LATEST_VERSION)) {
+      selected = artifactMetadata.getLatest();
+    } else if (version.equals(RELEASE_VERSION)) {
+      selected = artifactMetadata.getRelease();
+    } else {
+      selected = artifactMetadata.select(version);
+    }
+    if (selected == null) {
+      throw new ArtifactNotFoundException(coordinates);
+    }
+    return new ArtifactCoordinates(coordinates.getGroupId(), coordinates.getArtifactId(), selected);
+  }
+
+  /*
+   * Path of a file of the given coordinates, which must have a literal version.
+   */
+  String path(ArtifactCoordinates coordinates, String extension)
+      throws ArtifactRepositoryException, IOException {
+    String version = coordinates.getVersion();
+    if (!version.endsWith(SNAPSHOT_SUFFIX)) {
+      return coordinates.getPath(extension);
+    }
+    return coordinates.getPath(
+        extension,
+        metadata(coordinates.getVersionMetadataPath()).getSnapshotFileVersion(version, extension));
+  }
+
+  /*
+   * Literal coordinates of the parents and imported projects the effective model of the given
+   * artifact is built from, whatever the depth.
+   */
+  Set<ArtifactCoordinates> ancestors(ArtifactCoordinates literal)
+      throws ArtifactRepositoryException, IOException {
+    Set<ArtifactCoordinates> ancestors = new LinkedHashSet<>();
+    for (ArtifactCoordinates source : model(read(literal), new Resolution()).getSources()) {
+      ancestors.add(resolve(source));
+    }
+    return ancestors;
+  }
+
+  URL getDirectory() {
+    return directory;
+  }
+
+  ArtifactTransport getTransport() {
+    return transport;
+  }
+
+  InputStream open(String relativePath) throws ArtifactRepositoryException, IOException {
+    return transport.open(file(relativePath));
+  }
+
+  URL file(String relativePath) throws ArtifactRepositoryException {
+    try {
+      return new URL(directory, relativePath);
+    } catch (MalformedURLException e) {
+      throw new ArtifactRepositoryException(e);
+    }
+  }
+
+  /*
+   * Effective models built while getting one artifact, and the parents and imported projects being
+   * currently merged, so cycles can be detected.
+   */
+  private static class Resolution {
+
+    private final Map<ArtifactCoordinates, ProjectModel> models;
+    private final Set<ArtifactCoordinates> lineage;
+
+    private Resolution() {
+      models = new HashMap<>();
+      lineage = new HashSet<>();
+    }
+  }
+
+  /*
+   * Files of a local copy of a repository are copied from the original one as they are read, so
+   * the copy has everything needed to build the effective models, like parents and imported
+   * projects, and to resolve dynamic versions. Metadata of snapshot versions is never copied, since
+   * files are copied with the same names than the coordinates.
+   */
+  interface Replica {
+
+    Replica NONE = new Replica() {
+
+      @Override
+      public void copyProject(ArtifactCoordinates coordinates) {}
+
+      @Override
+      public void copyMetadata(String relativePath) {}
+    };
+
+    void copyProject(ArtifactCoordinates coordinates)
+        throws ArtifactRepositoryException, IOException;
+
+    void copyMetadata(String relativePath) throws ArtifactRepositoryException, IOException;
   }
 }
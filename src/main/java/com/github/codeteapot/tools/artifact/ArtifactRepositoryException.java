@@ -24,4 +24,14 @@ public class ArtifactRepositoryException extends Exception {
   public ArtifactRepositoryException(Throwable cause) {
     super(cause);
   }
+
+  /**
+   * Exception with a message and a cause.
+   *
+   * @param message The message.
+   * @param cause The cause.
+   */
+  public ArtifactRepositoryException(String message, Throwable cause) {
+    super(message, cause);
+  }
 }
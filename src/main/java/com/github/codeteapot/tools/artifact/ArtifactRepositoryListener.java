@@ -0,0 +1,81 @@
+package com.github.codeteapot.tools.artifact;
+
+/**
+ * Listener of the work done by an {@link ArtifactRepository}, to collect metrics or traces.
+ * 
+ * <p>Every method does nothing by default. Methods are called on the thread getting the artifact,
+ * so they should return quickly. Times are given in nanoseconds, and they are not even measured
+ * when the repository has no listener.
+ *
+ * @see ArtifactRepositoryMetrics
+ */
+public interface ArtifactRepositoryListener {
+
+  /**
+   * Listener doing nothing.
+   */
+  ArtifactRepositoryListener NONE = new ArtifactRepositoryListener() {};
+
+  /**
+   * Phase of getting an artifact.
+   */
+  enum Phase {
+
+    /**
+     * Opening the project file, including connection establishment.
+     */
+    FETCH,
+
+    /**
+     * Reading and parsing the project file.
+     */
+    PARSE,
+
+    /**
+     * Building the effective model and extracting the dependencies, including fetching and
+     * parsing parent and imported projects not read yet.
+     */
+    RESOLVE
+  }
+
+  /**
+   * An artifact started being got.
+   *
+   * @param coordinates Artifact coordinates.
+   */
+  default void requestStarted(ArtifactCoordinates coordinates) {}
+
+  /**
+   * An artifact has been got.
+   *
+   * @param coordinates Artifact coordinates.
+   * @param nanos Time since it started being got.
+   */
+  default void requestCompleted(ArtifactCoordinates coordinates, long nanos) {}
+
+  /**
+   * An artifact could not be got.
+   *
+   * @param coordinates Artifact coordinates.
+   * @param failure The failure.
+   * @param nanos Time since it started being got.
+   */
+  default void requestFailed(ArtifactCoordinates coordinates, Exception failure, long nanos) {}
+
+  /**
+   * A phase of getting an artifact, a parent or an imported project has been completed.
+   *
+   * @param coordinates Coordinates of the project.
+   * @param phase The phase.
+   * @param nanos Time the phase took.
+   */
+  default void phaseCompleted(ArtifactCoordinates coordinates, Phase phase, long nanos) {}
+
+  /**
+   * A project file has been read.
+   *
+   * @param coordinates Coordinates of the project.
+   * @param bytes Number of bytes read.
+   */
+  default void transferred(ArtifactCoordinates coordinates, long bytes) {}
+}
@@ -0,0 +1,136 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.stream.Collectors.toMap;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener keeping metrics of the work done by an artifact repository.
+ * 
+ * <p>Latencies are kept by phase and by request, along with the number of requests in flight, the
+ * bytes transferred and the number of failures by type. All of them are updated without locking,
+ * so one instance can be shared by concurrent requests. Use one instance per repository to tell
+ * slow repositories apart.
+ *
+ * <pre>
+ * ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+ * ArtifactSource source = new ArtifactRepository(url, transport, metrics);
+ * </pre>
+ */
+public class ArtifactRepositoryMetrics implements ArtifactRepositoryListener {
+
+  private final LatencyHistogram requestLatency;
+  private final Map<Phase, LatencyHistogram> phaseLatencies;
+  private final LongAdder inFlight;
+  private final LongAdder transferredBytes;
+  private final LongAccumulator largestTransfer;
+  private final ConcurrentMap<Class<?>, LongAdder> failures;
+
+  /**
+   * Metrics with nothing recorded.
+   */
+  public ArtifactRepositoryMetrics() {
+    requestLatency = new LatencyHistogram();
+    phaseLatencies = new EnumMap<>(Phase.class);
+    for (Phase phase : Phase.values()) {
+      phaseLatencies.put(phase, new LatencyHistogram());
+    }
+    inFlight = new LongAdder();
+    transferredBytes = new LongAdder();
+    largestTransfer = new LongAccumulator(Math::max, 0L);
+    failures = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void requestStarted(ArtifactCoordinates coordinates) {
+    inFlight.increment();
+  }
+
+  @Override
+  public void requestCompleted(ArtifactCoordinates coordinates, long nanos) {
+    inFlight.decrement();
+    requestLatency.record(nanos);
+  }
+
+  @Override
+  public void requestFailed(ArtifactCoordinates coordinates, Exception failure, long nanos) {
+    inFlight.decrement();
+    requestLatency.record(nanos);
+    failures.computeIfAbsent(failure.getClass(), type -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void phaseCompleted(ArtifactCoordinates coordinates, Phase phase, long nanos) {
+    phaseLatencies.get(phase).record(nanos);
+  }
+
+  @Override
+  public void transferred(ArtifactCoordinates coordinates, long bytes) {
+    transferredBytes.add(bytes);
+    largestTransfer.accumulate(bytes);
+  }
+
+  /**
+   * Latencies of completed and failed requests.
+   *
+   * @return The request latency histogram.
+   */
+  public LatencyHistogram getRequestLatency() {
+    return requestLatency;
+  }
+
+  /**
+   * Latencies of the given phase.
+   *
+   * @param phase The phase.
+   *
+   * @return The phase latency histogram.
+   */
+  public LatencyHistogram getPhaseLatency(Phase phase) {
+    return phaseLatencies.get(phase);
+  }
+
+  /**
+   * Number of requests started but neither completed nor failed yet.
+   *
+   * @return The number of requests in flight.
+   */
+  public long getInFlightCount() {
+    return inFlight.sum();
+  }
+
+  /**
+   * Number of bytes of all project files read.
+   *
+   * @return The number of bytes transferred.
+   */
+  public long getTransferredBytes() {
+    return transferredBytes.sum();
+  }
+
+  /**
+   * Number of bytes of the largest project file read.
+   *
+   * @return The number of bytes of the largest transfer, or {@code 0} when none has been read.
+   */
+  public long getLargestTransferBytes() {
+    return largestTransfer.get();
+  }
+
+  /**
+   * Number of failed requests, by exception type.
+   *
+   * @return Snapshot of the number of failures by type.
+   */
+  public Map<Class<?>, Long> getFailureCounts() {
+    return unmodifiableMap(failures.entrySet().stream()
+        .collect(toMap(Entry::getKey, entry -> entry.getValue().sum())));
+  }
+}
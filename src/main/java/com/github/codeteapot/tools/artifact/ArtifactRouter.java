@@ -0,0 +1,364 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.newSetFromMap;
+import static java.util.Comparator.comparingDouble;
+import static java.util.Comparator.comparingInt;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Source getting artifacts from the first of several sources that has them, like a set of mirrors
+ * of the same repositories.
+ * 
+ * <p>Latency and error rate of each source are tracked, so every artifact is first requested to
+ * the fastest healthy one. Sources whose latency is not known yet come after the rest, in the
+ * given order. When a source takes longer than the given percentile of its recent latencies to
+ * answer, but never less than 10 milliseconds, a hedged request is sent to the next one and the
+ * first artifact got wins, while the other one is cancelled. Sources are failed over one after
+ * another until the artifact is got.
+ * 
+ * <p>Sources that have not found any artifact of a group are requested for that group only after
+ * the rest have failed, and hedged requests are never sent to them, until the given time to live
+ * has elapsed. Up to 1024 groups are tracked for each source, evicting the least recently used
+ * ones first.
+ */
+public class ArtifactRouter implements ArtifactSource {
+
+  /**
+   * Default percentile of the latency after which a hedged request is sent.
+   */
+  public static final double DEFAULT_HEDGE_PERCENTILE = 0.95;
+
+  /**
+   * Default time a source is known to miss a group since it did not find an artifact of it.
+   */
+  public static final Duration DEFAULT_MISSING_GROUP_TIME_TO_LIVE = Duration.ofMinutes(10L);
+
+  private static final long MIN_HEDGE_DELAY = MILLISECONDS.toNanos(10L);
+  private static final int SAMPLE_COUNT = 64;
+  private static final int MAX_TRACKED_GROUPS = 1024;
+  private static final double SMOOTHING_FACTOR = 0.25;
+  private static final double MAX_HEALTHY_ERROR_RATE = 0.5;
+
+  private static final int HEALTHY_RANK = 0;
+  private static final int UNHEALTHY_RANK = 1;
+  private static final int MISSING_GROUP_RANK = 2;
+
+  private final List<Route> routes;
+  private final double hedgePercentile;
+  private final Executor executor;
+  private final long missingGroupTimeToLive;
+
+  /**
+   * Router over the given sources, hedging on the default percentile and executor.
+   *
+   * @param sources Sources in order of preference while there is no latency known.
+   *
+   * @throws IllegalArgumentException When there are no sources.
+   */
+  public ArtifactRouter(List<? extends ArtifactSource> sources) {
+    this(sources, DEFAULT_HEDGE_PERCENTILE, ArtifactExecutors.DEFAULT);
+  }
+
+  /**
+   * Router over the given sources.
+   *
+   * @param sources Sources in order of preference while there is no latency known.
+   * @param hedgePercentile Percentile of recent latencies of a source after which a hedged
+   *        request is sent, greater than {@code 0} and not greater than {@code 1}.
+   * @param executor Executor where artifacts are requested.
+   *
+   * @throws IllegalArgumentException When there are no sources, or the percentile is out of
+   *         range.
+   */
+  public ArtifactRouter(
+      List<? extends ArtifactSource> sources,
+      double hedgePercentile,
+      Executor executor) {
+    this(sources, hedgePercentile, executor, DEFAULT_MISSING_GROUP_TIME_TO_LIVE);
+  }
+
+  /**
+   * Router over the given sources, knowing that a source misses a group for the given time.
+   *
+   * @param sources Sources in order of preference while there is no latency known.
+   * @param hedgePercentile Percentile of recent latencies of a source after which a hedged
+   *        request is sent, greater than {@code 0} and not greater than {@code 1}.
+   * @param executor Executor where artifacts are requested.
+   * @param missingGroupTimeToLive Time a source is known to miss a group since it did not find an
+   *        artifact of it.
+   *
+   * @throws IllegalArgumentException When there are no sources, the percentile is out of range,
+   *         or the time to live is not positive.
+   */
+  public ArtifactRouter(
+      List<? extends ArtifactSource> sources,
+      double hedgePercentile,
+      Executor executor,
+      Duration missingGroupTimeToLive) {
+    if (sources.isEmpty()) {
+      throw new IllegalArgumentException("No sources");
+    }
+    if (!(hedgePercentile > 0.0 && hedgePercentile <= 1.0)) {
+      throw new IllegalArgumentException("Hedge percentile out of range");
+    }
+    if (missingGroupTimeToLive.isNegative() || missingGroupTimeToLive.isZero()) {
+      throw new IllegalArgumentException("Missing group time to live must be positive");
+    }
+    routes = sources.stream()
+        .map(Route::new)
+        .collect(toList());
+    this.hedgePercentile = hedgePercentile;
+    this.executor = requireNonNull(executor);
+    this.missingGroupTimeToLive = missingGroupTimeToLive.toNanos();
+  }
+
+  /**
+   * Get an artifact from the first source that has it.
+   * 
+   * <p>When every source fails, the failure of the first requested one is thrown, with the rest
+   * as suppressed.
+   *
+   * @throws InterruptedIOException When interrupted while waiting.
+   */
+  @Override
+  public Artifact get(ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    return new Request(requireNonNull(coordinates)).get();
+  }
+
+  private List<Ranking> candidates(String groupId) {
+    List<Ranking> rankings = routes.stream()
+        .map(route -> route.ranking(groupId))
+        .collect(toList());
+    rankings.sort(comparingInt((Ranking ranking) -> ranking.rank)
+        .thenComparing(comparingDouble(ranking -> ranking.latency)));
+    return rankings;
+  }
+
+  /*
+   * Requests of an artifact to the candidate sources. Failures are kept in the order sources are
+   * requested, and requests still running once the artifact has been got are cancelled.
+   */
+  private class Request {
+
+    private final ArtifactCoordinates coordinates;
+    private final List<Ranking> candidates;
+    private final long hedgedCount;
+    private final BlockingQueue<Outcome> outcomes;
+    private final List<Future<?>> fetches;
+    private volatile boolean settled;
+
+    private Request(ArtifactCoordinates coordinates) {
+      this.coordinates = coordinates;
+      candidates = candidates(coordinates.getGroupId());
+      hedgedCount = candidates.stream()
+          .filter(candidate -> candidate.rank < MISSING_GROUP_RANK)
+          .count();
+      outcomes = new LinkedBlockingQueue<>();
+      fetches = new ArrayList<>();
+      settled = false;
+    }
+
+    private Artifact get() throws ArtifactRepositoryException, IOException {
+      Throwable[] failures = new Throwable[candidates.size()];
+      int running = 0;
+      long hedgeDelay = 0L;
+      try {
+        do {
+          if (running == 0) {
+            hedgeDelay = fetchNext();
+            ++running;
+          }
+          Outcome outcome = running == 1 && fetches.size() < hedgedCount
+              ? outcomes.poll(hedgeDelay, NANOSECONDS)
+              : outcomes.take();
+          if (outcome == null) {
+            hedgeDelay = fetchNext();
+            ++running;
+          } else if (outcome.failure == null) {
+            return outcome.artifact;
+          } else {
+            --running;
+            failures[outcome.index] = outcome.failure;
+          }
+        } while (running > 0 || fetches.size() < candidates.size());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(
+            "Interrupted while getting " + coordinates.getPath("pom"));
+      } finally {
+        settled = true;
+        fetches.forEach(fetch -> fetch.cancel(true));
+      }
+      Throwable failure = failures[0];
+      Arrays.stream(failures)
+          .skip(1L)
+          .forEach(failure::addSuppressed);
+      throw Futures.rethrow(failure);
+    }
+
+    private long fetchNext() {
+      int index = fetches.size();
+      Route route = candidates.get(index).route;
+      FutureTask<?> fetch = new FutureTask<>(() -> fetch(route, index), null);
+      fetches.add(fetch);
+      executor.execute(fetch);
+      return route.hedgeDelay();
+    }
+
+    private void fetch(Route route, int index) {
+      String groupId = coordinates.getGroupId();
+      long start = System.nanoTime();
+      try {
+        Artifact artifact = route.source.get(coordinates);
+        route.record(groupId, System.nanoTime() - start, true, false);
+        outcomes.add(new Outcome(index, artifact, null));
+      } catch (ArtifactNotFoundException e) {
+        failed(route, index, e, System.nanoTime() - start, false);
+      } catch (Throwable e) {
+        failed(route, index, e, System.nanoTime() - start, true);
+      }
+    }
+
+    /*
+     * Requests failing once the artifact has been got have been cancelled, most likely, so only
+     * the time they have taken is recorded.
+     */
+    private void failed(Route route, int index, Throwable failure, long elapsed, boolean error) {
+      if (settled) {
+        route.sample(elapsed);
+      } else {
+        route.record(coordinates.getGroupId(), elapsed, false, error);
+        outcomes.add(new Outcome(index, null, failure));
+      }
+    }
+  }
+
+  private class Route {
+
+    private final ArtifactSource source;
+    private final long[] samples;
+    private final Set<String> hostedGroups;
+    private final Map<String, Long> missingGroups;
+    private int sampleCount;
+    private int nextSample;
+    private double latency;
+    private double errorRate;
+
+    private Route(ArtifactSource source) {
+      this.source = requireNonNull(source);
+      samples = new long[SAMPLE_COUNT];
+      hostedGroups = newSetFromMap(tracked());
+      missingGroups = tracked();
+      sampleCount = 0;
+      nextSample = 0;
+      latency = Double.MAX_VALUE;
+      errorRate = 0.0;
+    }
+
+    private synchronized void record(String groupId, long elapsed, boolean found, boolean error) {
+      sample(elapsed);
+      errorRate += SMOOTHING_FACTOR * ((error ? 1.0 : 0.0) - errorRate);
+      if (found) {
+        hostedGroups.add(groupId);
+        missingGroups.remove(groupId);
+      } else if (!error && !hostedGroups.contains(groupId)) {
+        missingGroups.put(groupId, System.nanoTime() + missingGroupTimeToLive);
+      }
+    }
+
+    /*
+     * Only the most recent samples are kept, overwriting the oldest one.
+     */
+    private synchronized void sample(long elapsed) {
+      latency = sampleCount == 0 ? elapsed : latency + SMOOTHING_FACTOR * (elapsed - latency);
+      samples[nextSample] = elapsed;
+      nextSample = (nextSample + 1) % SAMPLE_COUNT;
+      sampleCount = Math.min(sampleCount + 1, SAMPLE_COUNT);
+    }
+
+    private synchronized long hedgeDelay() {
+      if (sampleCount == 0) {
+        return Long.MAX_VALUE;
+      }
+      long[] sorted = Arrays.copyOf(samples, sampleCount);
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(hedgePercentile * sorted.length) - 1;
+      return Math.max(MIN_HEDGE_DELAY, sorted[index]);
+    }
+
+    private synchronized Ranking ranking(String groupId) {
+      Long expiration = missingGroups.get(groupId);
+      if (expiration != null) {
+        if (System.nanoTime() - expiration < 0L) {
+          return new Ranking(this, MISSING_GROUP_RANK, latency);
+        }
+        missingGroups.remove(groupId);
+      }
+      if (errorRate > MAX_HEALTHY_ERROR_RATE) {
+        return new Ranking(this, UNHEALTHY_RANK, latency);
+      }
+      return new Ranking(this, HEALTHY_RANK, latency);
+    }
+  }
+
+  /*
+   * Least recently used groups are evicted once the maximum number is exceeded.
+   */
+  private static <V> Map<String, V> tracked() {
+    return new LinkedHashMap<String, V>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Entry<String, V> eldest) {
+        return size() > MAX_TRACKED_GROUPS;
+      }
+    };
+  }
+
+  private static class Ranking {
+
+    private final Route route;
+    private final int rank;
+    private final double latency;
+
+    private Ranking(Route route, int rank, double latency) {
+      this.route = route;
+      this.rank = rank;
+      this.latency = latency;
+    }
+  }
+
+  private static class Outcome {
+
+    private final int index;
+    private final Artifact artifact;
+    private final Throwable failure;
+
+    private Outcome(int index, Artifact artifact, Throwable failure) {
+      this.index = index;
+      this.artifact = artifact;
+      this.failure = failure;
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Source artifacts can be got from, like an {@link ArtifactRepository} or a cache in front of it.
+ */
+public interface ArtifactSource {
+
+  /**
+   * Default maximum number of requests in flight when getting several artifacts at once.
+   * 
+   * <p>It matches the default number of idle connections kept alive by the platform for each
+   * host, so every request can reuse a persistent connection.
+   */
+  int DEFAULT_CONCURRENCY = 5;
+
+  /**
+   * Get an artifact through this source.
+   *
+   * @param coordinates Artifact coordinates.
+   *
+   * @return The artifact.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  Artifact get(ArtifactCoordinates coordinates) throws ArtifactRepositoryException, IOException;
+
+  /**
+   * Get an artifact through this source without blocking the caller.
+   * 
+   * <p>The artifact is got on a default executor. On runtimes supporting virtual threads, a new
+   * virtual thread is used for each artifact.
+   *
+   * @param coordinates Artifact coordinates.
+   *
+   * @return The future artifact, completed exceptionally with the same errors than
+   *         {@link #get(ArtifactCoordinates)}.
+   */
+  default CompletableFuture<Artifact> getAsync(ArtifactCoordinates coordinates) {
+    return getAsync(coordinates, ArtifactExecutors.DEFAULT);
+  }
+
+  /**
+   * Get an artifact through this source on the given executor.
+   *
+   * @param coordinates Artifact coordinates.
+   * @param executor Executor where the artifact is got.
+   *
+   * @return The future artifact, completed exceptionally with the same errors than
+   *         {@link #get(ArtifactCoordinates)}.
+   */
+  default CompletableFuture<Artifact> getAsync(
+      ArtifactCoordinates coordinates,
+      Executor executor) {
+    CompletableFuture<Artifact> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      try {
+        future.complete(get(coordinates));
+      } catch (Throwable e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Get several artifacts through this source, with the default concurrency.
+   *
+   * @param coordinates Coordinates of the artifacts.
+   *
+   * @return The artifacts and the errors occurred.
+   *
+   * @see #DEFAULT_CONCURRENCY
+   */
+  default ArtifactBatch getAll(Collection<ArtifactCoordinates> coordinates) {
+    return getAll(coordinates, DEFAULT_CONCURRENCY);
+  }
+
+  /**
+   * Get several artifacts through this source, waiting for all of them.
+   * 
+   * <p>An error getting one of the artifacts does not abort the others.
+   *
+   * @param coordinates Coordinates of the artifacts.
+   * @param concurrency Maximum number of artifacts being got at the same time.
+   *
+   * @return The artifacts and the errors occurred.
+   *
+   * @throws IllegalArgumentException When the concurrency is not positive.
+   */
+  default ArtifactBatch getAll(Collection<ArtifactCoordinates> coordinates, int concurrency) {
+    return ArtifactBatch.get(this, coordinates, concurrency, ArtifactExecutors.DEFAULT);
+  }
+}
@@ -0,0 +1,38 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLStreamHandler;
+
+/**
+ * Transport used by an {@link ArtifactRepository} to read the files it is made of.
+ *
+ * @see FileTransport
+ * @see HttpTransport
+ * @see AdaptiveTransport
+ */
+@FunctionalInterface
+public interface ArtifactTransport {
+
+  /**
+   * Transport opening locations through their own {@link URLStreamHandler}.
+   */
+  ArtifactTransport URL_CONNECTION = URL::openStream;
+
+  /**
+   * Open the file at the given location.
+   * 
+   * <p>The returned stream should be fully read before closing it, so the transport can reuse
+   * the underlying connection.
+   *
+   * @param location The file location.
+   *
+   * @return The stream the file content is read from.
+   *
+   * @throws FileNotFoundException When the file does not exist.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  InputStream open(URL location) throws IOException;
+}
@@ -0,0 +1,304 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/*
+ * Version ordered like Maven does. Versions are split into numbers and qualifiers on dots and on
+ * transitions between digits and letters, and each dash or transition starts a nested list of
+ * items. Numbers are greater than lists, which are greater than qualifiers. Known qualifiers are
+ * ordered as alpha < beta < milestone < rc < snapshot < release < sp, followed by unknown ones in
+ * lexical order. Trailing zeros and release qualifiers of each list are not significant, so 1, 1.0
+ * and 1.0.0-ga are the same version, and so are 1.0-beta and 1.0.0-beta.
+ */
+class ArtifactVersion implements Comparable<ArtifactVersion> {
+
+  private static final String[] QUALIFIERS = {
+      "alpha",
+      "beta",
+      "milestone",
+      "rc",
+      "snapshot",
+      "",
+      "sp"
+  };
+  private static final int RELEASE_RANK = 5;
+  private static final int UNKNOWN_RANK = QUALIFIERS.length;
+
+  private static final int QUALIFIER_KIND = 0;
+  private static final int LIST_KIND = 1;
+  private static final int NUMBER_KIND = 2;
+
+  private final String text;
+  private final ListItem items;
+
+  ArtifactVersion(String text) {
+    this.text = text;
+    items = parse(text.toLowerCase(Locale.ROOT));
+  }
+
+  @Override
+  public int compareTo(ArtifactVersion version) {
+    return items.compareTo(version.items);
+  }
+
+  /*
+   * Only leading numbers are hashed, since they are the only items that equal versions always have
+   * in common.
+   */
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (Item item : items.items) {
+      if (item.kind != NUMBER_KIND) {
+        break;
+      }
+      hash = hash * 31 + ((NumberItem) item).value.hashCode();
+    }
+    return hash;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof ArtifactVersion && compareTo((ArtifactVersion) obj) == 0;
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+
+  private static ListItem parse(String text) {
+    ListItem root = new ListItem();
+    Deque<ListItem> lists = new ArrayDeque<>();
+    lists.push(root);
+    ListItem list = root;
+    boolean digit = false;
+    int start = 0;
+    for (int i = 0; i < text.length(); ++i) {
+      char c = text.charAt(i);
+      if (c == '.' || c == '-') {
+        list.items.add(i == start ? NumberItem.ZERO : item(text.substring(start, i), digit, false));
+        start = i + 1;
+        if (c == '-') {
+          list = nested(list, lists);
+        }
+      } else {
+        boolean followingDigit = Character.isDigit(c);
+        if (followingDigit != digit && i > start) {
+          list.items.add(item(text.substring(start, i), digit, followingDigit));
+          start = i;
+          list = nested(list, lists);
+        }
+        digit = followingDigit;
+      }
+    }
+    if (text.length() > start) {
+      list.items.add(item(text.substring(start), digit, false));
+    }
+    while (!lists.isEmpty()) {
+      lists.pop().normalize();
+    }
+    return root;
+  }
+
+  private static ListItem nested(ListItem list, Deque<ListItem> lists) {
+    ListItem nested = new ListItem();
+    list.items.add(nested);
+    lists.push(nested);
+    return nested;
+  }
+
+  private static Item item(String token, boolean number, boolean followedByNumber) {
+    if (number) {
+      return NumberItem.of(token);
+    }
+    return QualifierItem.of(token, followedByNumber);
+  }
+
+  private abstract static class Item {
+
+    private final int kind;
+
+    private Item(int kind) {
+      this.kind = kind;
+    }
+
+    /*
+     * Comparison against another item, or against a missing one when it is null.
+     */
+    int compareTo(Item item) {
+      if (item == null) {
+        return compareToNothing();
+      }
+      if (kind != item.kind) {
+        return Integer.compare(kind, item.kind);
+      }
+      return compareToSameKind(item);
+    }
+
+    /*
+     * Whether it is not significant when trailing, like zero, a release qualifier or an empty list.
+     */
+    abstract boolean isNull();
+
+    abstract int compareToNothing();
+
+    abstract int compareToSameKind(Item item);
+  }
+
+  private static class NumberItem extends Item {
+
+    private static final NumberItem ZERO = new NumberItem("");
+
+    private final String value;
+
+    private NumberItem(String value) {
+      super(NUMBER_KIND);
+      this.value = value;
+    }
+
+    @Override
+    boolean isNull() {
+      return value.isEmpty();
+    }
+
+    @Override
+    int compareToNothing() {
+      return value.isEmpty() ? 0 : 1;
+    }
+
+    @Override
+    int compareToSameKind(Item item) {
+      String another = ((NumberItem) item).value;
+      if (value.length() != another.length()) {
+        return Integer.compare(value.length(), another.length());
+      }
+      return value.compareTo(another);
+    }
+
+    private static NumberItem of(String token) {
+      int zeros = 0;
+      while (zeros < token.length() && token.charAt(zeros) == '0') {
+        ++zeros;
+      }
+      return new NumberItem(token.substring(zeros));
+    }
+  }
+
+  private static class QualifierItem extends Item {
+
+    private final int rank;
+    private final String value;
+
+    private QualifierItem(int rank, String value) {
+      super(QUALIFIER_KIND);
+      this.rank = rank;
+      this.value = value;
+    }
+
+    @Override
+    boolean isNull() {
+      return rank == RELEASE_RANK;
+    }
+
+    @Override
+    int compareToNothing() {
+      return Integer.compare(rank, RELEASE_RANK);
+    }
+
+    @Override
+    int compareToSameKind(Item item) {
+      QualifierItem another = (QualifierItem) item;
+      if (rank != another.rank) {
+        return Integer.compare(rank, another.rank);
+      }
+      return value.compareTo(another.value);
+    }
+
+    private static QualifierItem of(String token, boolean followedByNumber) {
+      String qualifier = canonicalQualifier(token, followedByNumber);
+      int rank = Arrays.asList(QUALIFIERS).indexOf(qualifier);
+      if (rank < 0) {
+        return new QualifierItem(UNKNOWN_RANK, qualifier);
+      }
+      return new QualifierItem(rank, "");
+    }
+
+    private static String canonicalQualifier(String token, boolean followedByNumber) {
+      switch (token) {
+        case "a":
+          return followedByNumber ? "alpha" : token;
+        case "b":
+          return followedByNumber ? "beta" : token;
+        case "m":
+          return followedByNumber ? "milestone" : token;
+        case "cr":
+          return "rc";
+        case "ga":
+        case "final":
+        case "release":
+          return "";
+        default:
+          return token;
+      }
+    }
+  }
+
+  private static class ListItem extends Item {
+
+    private final List<Item> items;
+
+    private ListItem() {
+      super(LIST_KIND);
+      items = new ArrayList<>();
+    }
+
+    @Override
+    boolean isNull() {
+      return items.isEmpty();
+    }
+
+    /*
+     * Nested lists are never empty once normalized, since they are always the last item of their
+     * parent.
+     */
+    @Override
+    int compareToNothing() {
+      return items.get(0).compareTo(null);
+    }
+
+    @Override
+    int compareToSameKind(Item item) {
+      List<Item> another = ((ListItem) item).items;
+      int length = Math.max(items.size(), another.size());
+      for (int i = 0; i < length; ++i) {
+        int result = i < items.size()
+            ? items.get(i).compareTo(i < another.size() ? another.get(i) : null)
+            : -another.get(i).compareTo(null);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return 0;
+    }
+
+    /*
+     * Trailing items that are not significant are removed, looking through nested lists.
+     */
+    private void normalize() {
+      for (int i = items.size() - 1; i >= 0; --i) {
+        Item item = items.get(i);
+        if (item.isNull()) {
+          items.remove(i);
+        } else if (item.kind != LIST_KIND) {
+          break;
+        }
+      }
+    }
+  }
+}
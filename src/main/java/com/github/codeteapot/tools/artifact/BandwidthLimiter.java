@@ -0,0 +1,66 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+
+/*
+ * Bandwidth shared by all the streams opened through the same limiter. Each read reserves the time
+ * its bytes take at the given rate, right after those reserved before, and waits for the previous
+ * reservations to be over. So the overall rate never exceeds the limit by more than one read.
+ */
+class BandwidthLimiter {
+
+  private final double nanosPerByte;
+  private long next;
+
+  BandwidthLimiter(long bytesPerSecond) {
+    nanosPerByte = (double) SECONDS.toNanos(1L) / bytesPerSecond;
+    next = System.nanoTime();
+  }
+
+  ArtifactTransport limited(ArtifactTransport transport) {
+    return location -> new LimitedInputStream(transport.open(location));
+  }
+
+  private void acquire(long bytes) throws InterruptedIOException {
+    long delay;
+    synchronized (this) {
+      long now = System.nanoTime();
+      long start = Math.max(now, next);
+      next = start + (long) (bytes * nanosPerByte);
+      delay = start - now;
+    }
+    try {
+      NANOSECONDS.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private class LimitedInputStream extends FilterInputStream {
+
+    private LimitedInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      acquire(1L);
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      acquire(Math.max(n, 0));
+      return n;
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Arrays.copyOfRange;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only dependency graph where each coordinates are identified by an {@code int}.
+ * 
+ * <p>Identifiers go from zero to {@code getSize() - 1}. Edges are kept in compressed sparse row
+ * form, both from artifacts to their dependencies and from artifacts to their dependents, so
+ * adjacency and reverse adjacency are plain array ranges. It is intended for analysis of very
+ * large graphs, where a set of coordinates per artifact takes too much memory.
+ */
+public class CompactDependencyGraph {
+
+  private final ArtifactCoordinates[] coordinates;
+  private final Map<ArtifactCoordinates, Integer> ids;
+  private final int[] dependencyOffsets;
+  private final int[] dependencies;
+  private final int[] dependentOffsets;
+  private final int[] dependents;
+
+  /**
+   * Graph whose edges are given by the dependencies of the given artifacts.
+   * 
+   * <p>Dependencies that are not keys of the given map are part of the graph too, as artifacts
+   * without dependencies of their own.
+   *
+   * @param artifacts Artifacts by their coordinates, like those got from a
+   *        {@link ArtifactSource} or resolved in a {@link DependencyGraph}.
+   */
+  public CompactDependencyGraph(Map<ArtifactCoordinates, Artifact> artifacts) {
+    ids = new HashMap<>();
+    List<ArtifactCoordinates> identified = new ArrayList<>();
+    artifacts.keySet().forEach(key -> identify(identified, key));
+    int edgeCount = 0;
+    for (Artifact artifact : artifacts.values()) {
+      artifact.getDependencies().forEach(dependency -> identify(identified, dependency));
+      edgeCount += artifact.getDependencies().size();
+    }
+    coordinates = identified.toArray(new ArtifactCoordinates[identified.size()]);
+    dependencyOffsets = new int[coordinates.length + 1];
+    dependencies = new int[edgeCount];
+    dependentOffsets = new int[coordinates.length + 1];
+    dependents = new int[edgeCount];
+    for (Map.Entry<ArtifactCoordinates, Artifact> artifact : artifacts.entrySet()) {
+      dependencyOffsets[ids.get(artifact.getKey()) + 1] = artifact.getValue()
+          .getDependencies()
+          .size();
+      for (ArtifactCoordinates dependency : artifact.getValue().getDependencies()) {
+        ++dependentOffsets[ids.get(dependency) + 1];
+      }
+    }
+    accumulate(dependencyOffsets);
+    accumulate(dependentOffsets);
+    int[] dependentCounts = new int[coordinates.length];
+    for (Map.Entry<ArtifactCoordinates, Artifact> artifact : artifacts.entrySet()) {
+      int id = ids.get(artifact.getKey());
+      int position = dependencyOffsets[id];
+      for (ArtifactCoordinates dependency : artifact.getValue().getDependencies()) {
+        int dependencyId = ids.get(dependency);
+        dependencies[position++] = dependencyId;
+        dependents[dependentOffsets[dependencyId] + dependentCounts[dependencyId]++] = id;
+      }
+    }
+  }
+
+  /**
+   * Number of artifacts in the graph.
+   *
+   * @return The number of artifacts.
+   */
+  public int getSize() {
+    return coordinates.length;
+  }
+
+  /**
+   * Identifier of the given coordinates.
+   *
+   * @param coordinates The coordinates.
+   *
+   * @return The identifier, or {@code -1} when the coordinates are not part of the graph.
+   */
+  public int getId(ArtifactCoordinates coordinates) {
+    return ids.getOrDefault(coordinates, -1);
+  }
+
+  /**
+   * Coordinates identified by the given identifier.
+   *
+   * @param id The identifier.
+   *
+   * @return The coordinates.
+   *
+   * @throws IndexOutOfBoundsException When there are no such identifier.
+   */
+  public ArtifactCoordinates getCoordinates(int id) {
+    return coordinates[id];
+  }
+
+  /**
+   * Identifiers of the direct dependencies of the given artifact.
+   *
+   * @param id Identifier of the artifact.
+   *
+   * @return The dependencies identifiers.
+   *
+   * @throws IndexOutOfBoundsException When there are no such identifier.
+   */
+  public int[] getDependencies(int id) {
+    return copyOfRange(dependencies, dependencyOffsets[id], dependencyOffsets[id + 1]);
+  }
+
+  /**
+   * Identifiers of the artifacts directly depending on the given one.
+   *
+   * @param id Identifier of the artifact.
+   *
+   * @return The dependents identifiers.
+   *
+   * @throws IndexOutOfBoundsException When there are no such identifier.
+   */
+  public int[] getDependents(int id) {
+    return copyOfRange(dependents, dependentOffsets[id], dependentOffsets[id + 1]);
+  }
+
+  /**
+   * Identifiers of every artifact the given one depends on, directly or not.
+   * 
+   * <p>The artifact itself is only included when it depends on itself through a cycle.
+   *
+   * @param id Identifier of the artifact.
+   *
+   * @return The set of transitive dependencies identifiers.
+   *
+   * @throws IndexOutOfBoundsException When there are no such identifier.
+   */
+  public BitSet getTransitiveDependencies(int id) {
+    return reach(id, dependencyOffsets, dependencies);
+  }
+
+  /**
+   * Identifiers of every artifact depending on the given one, directly or not.
+   * 
+   * <p>The artifact itself is only included when it depends on itself through a cycle.
+   *
+   * @param id Identifier of the artifact.
+   *
+   * @return The set of transitive dependents identifiers.
+   *
+   * @throws IndexOutOfBoundsException When there are no such identifier.
+   */
+  public BitSet getTransitiveDependents(int id) {
+    return reach(id, dependentOffsets, dependents);
+  }
+
+  /**
+   * Identifiers of all artifacts, where each one comes after all of its dependencies.
+   *
+   * @return The identifiers in topological order.
+   *
+   * @throws IllegalStateException When the graph has cycles.
+   */
+  public int[] getTopologicalOrder() {
+    int[] remaining = new int[coordinates.length];
+    int[] order = new int[coordinates.length];
+    int tail = 0;
+    for (int id = 0; id < coordinates.length; ++id) {
+      remaining[id] = dependencyOffsets[id + 1] - dependencyOffsets[id];
+      if (remaining[id] == 0) {
+        order[tail++] = id;
+      }
+    }
+    for (int head = 0; head < tail; ++head) {
+      int id = order[head];
+      for (int i = dependentOffsets[id]; i < dependentOffsets[id + 1]; ++i) {
+        if (--remaining[dependents[i]] == 0) {
+          order[tail++] = dependents[i];
+        }
+      }
+    }
+    if (tail < order.length) {
+      throw new IllegalStateException("Cyclic dependency graph");
+    }
+    return order;
+  }
+
+  private void identify(List<ArtifactCoordinates> identified, ArtifactCoordinates coordinates) {
+    if (ids.putIfAbsent(coordinates, identified.size()) == null) {
+      identified.add(coordinates);
+    }
+  }
+
+  private BitSet reach(int id, int[] offsets, int[] targets) {
+    BitSet reached = new BitSet(coordinates.length);
+    int[] stack = new int[coordinates.length];
+    int top = 0;
+    stack[top++] = id;
+    while (top > 0) {
+      int current = stack[--top];
+      for (int i = offsets[current]; i < offsets[current + 1]; ++i) {
+        if (!reached.get(targets[i])) {
+          reached.set(targets[i]);
+          stack[top++] = targets[i];
+        }
+      }
+    }
+    return reached;
+  }
+
+  private static void accumulate(int[] offsets) {
+    for (int i = 1; i < offsets.length; ++i) {
+      offsets[i] += offsets[i - 1];
+    }
+  }
+}
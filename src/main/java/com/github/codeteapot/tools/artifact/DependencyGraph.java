@@ -0,0 +1,40 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.requireNonNull;
+
+import java.util.Map;
+
+/**
+ * Dependency graph resolved from a root artifact through {@link DependencyResolver}.
+ */
+public class DependencyGraph {
+
+  private final ArtifactCoordinates root;
+  private final Map<ArtifactCoordinates, Artifact> artifacts;
+
+  DependencyGraph(ArtifactCoordinates root, Map<ArtifactCoordinates, Artifact> artifacts) {
+    this.root = requireNonNull(root);
+    this.artifacts = unmodifiableMap(artifacts);
+  }
+
+  /**
+   * Coordinates of the artifact the graph has been resolved from.
+   *
+   * @return The root artifact coordinates.
+   */
+  public ArtifactCoordinates getRoot() {
+    return root;
+  }
+
+  /**
+   * Every artifact reachable from the root, including the root itself.
+   * 
+   * <p>Edges of the graph are given by {@link Artifact#getDependencies()}.
+   *
+   * @return The resolved artifacts, by their coordinates.
+   */
+  public Map<ArtifactCoordinates, Artifact> getArtifacts() {
+    return artifacts;
+  }
+}
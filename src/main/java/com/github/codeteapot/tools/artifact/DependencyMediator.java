@@ -0,0 +1,285 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.ArtifactDependency.isExcluded;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the dependency graph of several artifacts through an {@link ArtifactSource}, keeping a
+ * single version of each artifact.
+ * 
+ * <p>Versions are mediated like Maven does: when the same group and artifact identifiers are
+ * required with different versions, the one nearest to the roots wins, and the first one found
+ * wins among those at the same depth. Artifacts are got level by level, so omitted versions and
+ * their whole dependency trees are never got.
+ * 
+ * <p>Scopes, optional dependencies and exclusions are applied while walking the graph, so
+ * dependencies that are not part of it are never got either.
+ */
+public class DependencyMediator {
+
+  /**
+   * Default scopes of the dependencies that are part of the graph, those needed to run.
+   */
+  public static final Set<DependencyScope> DEFAULT_SCOPES = unmodifiableSet(EnumSet.of(
+      DependencyScope.COMPILE,
+      DependencyScope.RUNTIME));
+
+  private final ArtifactSource source;
+  private final int concurrency;
+
+  /**
+   * Mediator getting artifacts from the given source, with the default concurrency.
+   *
+   * @param source Source to get artifacts from.
+   *
+   * @see ArtifactSource#DEFAULT_CONCURRENCY
+   */
+  public DependencyMediator(ArtifactSource source) {
+    this(source, ArtifactSource.DEFAULT_CONCURRENCY);
+  }
+
+  /**
+   * Mediator getting artifacts from the given source.
+   *
+   * @param source Source to get artifacts from.
+   * @param concurrency Maximum number of artifacts being got at the same time.
+   *
+   * @throws IllegalArgumentException When the concurrency is not positive.
+   */
+  public DependencyMediator(ArtifactSource source, int concurrency) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("Concurrency must be positive");
+    }
+    this.source = requireNonNull(source);
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Resolve the mediated dependency graph of the given artifacts, with the default scopes.
+   *
+   * @param roots Coordinates of the artifacts to start from, in order of preference.
+   *
+   * @return The resolved graph.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   *
+   * @see #DEFAULT_SCOPES
+   */
+  public MediatedDependencyGraph resolve(List<ArtifactCoordinates> roots)
+      throws ArtifactRepositoryException, IOException {
+    return resolve(roots, DEFAULT_SCOPES);
+  }
+
+  /**
+   * Resolve the mediated dependency graph of the given artifacts, with the given scopes.
+   * 
+   * <p>Scopes propagate like Maven does: compile and runtime dependencies of a dependency are
+   * transitive, and take its scope unless it is a compile one and they are runtime ones. Optional
+   * dependencies of the roots are part of the graph, but optional dependencies of any other
+   * artifact are not. System dependencies are never part of the graph, since they are not got
+   * from any repository.
+   *
+   * @param roots Coordinates of the artifacts to start from, in order of preference.
+   * @param scopes Scopes of the dependencies that are part of the graph, once propagated.
+   *
+   * @return The resolved graph.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  public MediatedDependencyGraph resolve(
+      List<ArtifactCoordinates> roots,
+      Set<DependencyScope> scopes) throws ArtifactRepositoryException, IOException {
+    return new Mediation(emptyMap(), scopes).resolve(roots);
+  }
+
+  /**
+   * Resolve the mediated dependency graph of the given artifacts again, with the default scopes,
+   * after some of them have changed.
+   *
+   * @param previous Graph previously resolved.
+   * @param roots Coordinates of the artifacts to start from, in order of preference.
+   *
+   * @return The resolved graph.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   *
+   * @see #resolve(MediatedDependencyGraph, List, Set)
+   */
+  public MediatedDependencyGraph resolve(
+      MediatedDependencyGraph previous,
+      List<ArtifactCoordinates> roots) throws ArtifactRepositoryException, IOException {
+    return resolve(previous, roots, DEFAULT_SCOPES);
+  }
+
+  /**
+   * Resolve the mediated dependency graph of the given artifacts again, with the given scopes,
+   * after some of them have changed.
+   * 
+   * <p>Only those artifacts that were not part of the previous graph are got, so replacing one of
+   * the roots gets only the part of the graph that it brings in.
+   *
+   * @param previous Graph previously resolved.
+   * @param roots Coordinates of the artifacts to start from, in order of preference.
+   * @param scopes Scopes of the dependencies that are part of the graph, once propagated.
+   *
+   * @return The resolved graph.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   *
+   * @see #resolve(List, Set)
+   */
+  public MediatedDependencyGraph resolve(
+      MediatedDependencyGraph previous,
+      List<ArtifactCoordinates> roots,
+      Set<DependencyScope> scopes) throws ArtifactRepositoryException, IOException {
+    return new Mediation(previous.getArtifacts(), scopes).resolve(roots);
+  }
+
+  private class Mediation {
+
+    private final Map<ArtifactCoordinates, Artifact> known;
+    private final Set<DependencyScope> scopes;
+    private final Map<String, ArtifactCoordinates> selected;
+    private final Map<ArtifactCoordinates, Artifact> artifacts;
+    private final Map<ArtifactCoordinates, DependencyScope> selectedScopes;
+    private final Map<ArtifactCoordinates, ArtifactCoordinates> omitted;
+
+    private Mediation(Map<ArtifactCoordinates, Artifact> known, Set<DependencyScope> scopes) {
+      this.known = known;
+      this.scopes = requireNonNull(scopes);
+      selected = new HashMap<>();
+      artifacts = new LinkedHashMap<>();
+      selectedScopes = new LinkedHashMap<>();
+      omitted = new LinkedHashMap<>();
+    }
+
+    private MediatedDependencyGraph resolve(List<ArtifactCoordinates> roots)
+        throws ArtifactRepositoryException, IOException {
+      List<Node> level = new ArrayList<>();
+      for (ArtifactCoordinates root : roots) {
+        select(new Node(root, null, emptySet()), level);
+      }
+      while (!level.isEmpty()) {
+        get(level);
+        level = next(level);
+      }
+      return new MediatedDependencyGraph(
+          new ArrayList<>(roots),
+          artifacts,
+          selectedScopes,
+          omitted);
+    }
+
+    private List<Node> next(List<Node> level) {
+      List<Node> next = new ArrayList<>();
+      for (Node node : level) {
+        for (ArtifactDependency dependency : artifacts.get(node.coordinates)
+            .getDeclaredDependencies()) {
+          Node dependencyNode = node.dependency(dependency);
+          if (dependencyNode != null && scopes.contains(dependencyNode.scope)) {
+            select(dependencyNode, next);
+          }
+        }
+      }
+      return next;
+    }
+
+    /*
+     * Versions already selected for the same artifact are nearer, or as near but found before.
+     */
+    private void select(Node node, List<Node> level) {
+      ArtifactCoordinates winner = selected.putIfAbsent(key(node.coordinates), node.coordinates);
+      if (winner == null) {
+        level.add(node);
+        if (node.scope != null) {
+          selectedScopes.put(node.coordinates, node.scope);
+        }
+      } else if (!winner.equals(node.coordinates)) {
+        omitted.putIfAbsent(node.coordinates, winner);
+      }
+    }
+
+    private void get(List<Node> level) throws ArtifactRepositoryException, IOException {
+      List<ArtifactCoordinates> unknown = new ArrayList<>();
+      for (Node node : level) {
+        Artifact artifact = known.get(node.coordinates);
+        if (artifact == null) {
+          unknown.add(node.coordinates);
+        } else {
+          artifacts.put(node.coordinates, artifact);
+        }
+      }
+      ArtifactBatch batch = source.getAll(unknown, concurrency);
+      for (ArtifactCoordinates coordinates : unknown) {
+        Exception failure = batch.getFailures().get(coordinates);
+        if (failure != null) {
+          throw Futures.rethrow(failure);
+        }
+        artifacts.put(coordinates, batch.getArtifacts().get(coordinates));
+      }
+    }
+  }
+
+  /*
+   * Artifact reached through some path, with the scope and exclusions accumulated along it. Roots
+   * have no scope.
+   */
+  private static class Node {
+
+    private final ArtifactCoordinates coordinates;
+    private final DependencyScope scope;
+    private final Set<String> exclusions;
+
+    private Node(ArtifactCoordinates coordinates, DependencyScope scope, Set<String> exclusions) {
+      this.coordinates = coordinates;
+      this.scope = scope;
+      this.exclusions = exclusions;
+    }
+
+    /*
+     * Node of the given dependency of this one, or null when it is not part of the graph.
+     */
+    private Node dependency(ArtifactDependency dependency) {
+      DependencyScope dependencyScope;
+      if (scope == null) {
+        dependencyScope = dependency.getScope();
+      } else if (dependency.isOptional()) {
+        return null;
+      } else {
+        dependencyScope = scope.transitive(dependency.getScope());
+      }
+      if (dependencyScope == null
+          || dependencyScope == DependencyScope.SYSTEM
+          || isExcluded(exclusions, dependency.getCoordinates())) {
+        return null;
+      }
+      Set<String> dependencyExclusions = exclusions;
+      if (!dependency.getExclusions().isEmpty()) {
+        dependencyExclusions = new HashSet<>(exclusions);
+        dependencyExclusions.addAll(dependency.getExclusions());
+      }
+      return new Node(dependency.getCoordinates(), dependencyScope, dependencyExclusions);
+    }
+  }
+
+  private static String key(ArtifactCoordinates coordinates) {
+    return coordinates.getGroupId() + ':' + coordinates.getArtifactId();
+  }
+}
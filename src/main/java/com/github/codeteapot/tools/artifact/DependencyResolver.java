@@ -0,0 +1,114 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves the whole dependency graph of an artifact through an {@link ArtifactSource}.
+ * 
+ * <p>Project files are fetched concurrently on the given executor, which should be bounded to
+ * limit the number of simultaneous requests to the source. Each coordinates are fetched once
+ * per resolution, even when they are required by several artifacts at the same time.
+ */
+public class DependencyResolver {
+
+  private final ArtifactSource source;
+  private final Executor executor;
+
+  /**
+   * Resolver getting artifacts from the given source on the given executor.
+   *
+   * @param source Source to get artifacts from, usually an {@link ArtifactRepository}.
+   * @param executor Executor where artifacts are fetched.
+   */
+  public DependencyResolver(ArtifactSource source, Executor executor) {
+    this.source = requireNonNull(source);
+    this.executor = requireNonNull(executor);
+  }
+
+  /**
+   * Resolve the dependency graph of the given artifact, waiting for it to be completed.
+   *
+   * @param root Coordinates of the artifact to start from.
+   *
+   * @return The resolved graph.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   * @throws InterruptedException When interrupted while waiting.
+   */
+  public DependencyGraph resolve(ArtifactCoordinates root)
+      throws ArtifactRepositoryException, IOException, InterruptedException {
+    try {
+      return resolveAsync(root).get();
+    } catch (ExecutionException e) {
+      throw Futures.rethrow(e.getCause());
+    }
+  }
+
+  /**
+   * Resolve the dependency graph of the given artifact.
+   * 
+   * <p>The result is completed exceptionally with the first error occurred, if any.
+   *
+   * @param root Coordinates of the artifact to start from.
+   *
+   * @return The future resolved graph.
+   */
+  public CompletableFuture<DependencyGraph> resolveAsync(ArtifactCoordinates root) {
+    return new Resolution(root).start();
+  }
+
+  private class Resolution {
+
+    private final ArtifactCoordinates root;
+    private final Set<ArtifactCoordinates> visited;
+    private final Map<ArtifactCoordinates, Artifact> artifacts;
+    private final AtomicInteger pending;
+    private final CompletableFuture<DependencyGraph> completion;
+
+    private Resolution(ArtifactCoordinates root) {
+      this.root = requireNonNull(root);
+      visited = ConcurrentHashMap.newKeySet();
+      artifacts = new ConcurrentHashMap<>();
+      pending = new AtomicInteger();
+      completion = new CompletableFuture<>();
+    }
+
+    private CompletableFuture<DependencyGraph> start() {
+      visit(root);
+      return completion;
+    }
+
+    private void visit(ArtifactCoordinates coordinates) {
+      if (visited.add(coordinates)) {
+        pending.incrementAndGet();
+        executor.execute(() -> fetch(coordinates));
+      }
+    }
+
+    private void fetch(ArtifactCoordinates coordinates) {
+      try {
+        if (!completion.isDone()) {
+          Artifact artifact = source.get(coordinates);
+          artifacts.put(coordinates, artifact);
+          artifact.getDependencies().forEach(this::visit);
+        }
+      } catch (Throwable e) {
+        completion.completeExceptionally(e);
+      } finally {
+        if (pending.decrementAndGet() == 0) {
+          completion.complete(new DependencyGraph(root, artifacts));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.util.Locale;
+
+/**
+ * Scope of a dependency, telling on which classpaths it is needed.
+ */
+public enum DependencyScope {
+
+  /**
+   * Needed to compile and to run, and transitive.
+   */
+  COMPILE,
+
+  /**
+   * Needed to compile, but provided by the runtime environment.
+   */
+  PROVIDED,
+
+  /**
+   * Needed to run, but not to compile, and transitive.
+   */
+  RUNTIME,
+
+  /**
+   * Only needed to compile and run the tests.
+   */
+  TEST,
+
+  /**
+   * Like {@link #PROVIDED}, but got from the local file system instead of a repository.
+   */
+  SYSTEM;
+
+  /*
+   * Scope of a dependency of a dependency with this scope, like Maven does. Only compile and
+   * runtime dependencies are transitive, and compile ones take the scope of the depending one.
+   */
+  DependencyScope transitive(DependencyScope dependencyScope) {
+    if (!dependencyScope.isTransitive()) {
+      return null;
+    }
+    if (this == COMPILE) {
+      return dependencyScope;
+    }
+    return this;
+  }
+
+  /*
+   * Whether dependencies with this scope are walked beyond the roots.
+   */
+  boolean isTransitive() {
+    return this == COMPILE || this == RUNTIME;
+  }
+
+  /*
+   * Scope with the given name, or null when it is not known, like the import scope, which is not
+   * a dependency scope at all.
+   */
+  static DependencyScope of(String name) {
+    for (DependencyScope scope : values()) {
+      if (scope.name().toLowerCase(Locale.ROOT).equals(name)) {
+        return scope;
+      }
+    }
+    return null;
+  }
+}
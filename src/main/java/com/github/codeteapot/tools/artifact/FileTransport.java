@@ -0,0 +1,40 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.file.Files.newInputStream;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+
+/**
+ * Transport reading {@code file:} locations directly from the file system, without going through
+ * a URL connection.
+ */
+public class FileTransport implements ArtifactTransport {
+
+  private static final String FILE_PROTOCOL = "file";
+
+  /**
+   * Open the file at the given location.
+   *
+   * @throws IOException When the location is not a {@code file:} URI, or an I/O error has been
+   *         occurred.
+   */
+  @Override
+  public InputStream open(URL location) throws IOException {
+    if (!FILE_PROTOCOL.equals(location.getProtocol())) {
+      throw new IOException("Unsupported protocol of " + location);
+    }
+    try {
+      return newInputStream(Paths.get(location.toURI()));
+    } catch (NoSuchFileException e) {
+      throw new FileNotFoundException(location.toString());
+    } catch (URISyntaxException e) {
+      throw new IOException(e);
+    }
+  }
+}
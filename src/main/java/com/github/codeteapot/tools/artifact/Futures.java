@@ -0,0 +1,31 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+class Futures {
+
+  private Futures() {}
+
+  static <T> T join(CompletableFuture<T> future) throws ArtifactRepositoryException, IOException {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw rethrow(e.getCause());
+    }
+  }
+
+  static RuntimeException rethrow(Throwable cause) throws ArtifactRepositoryException, IOException {
+    if (cause instanceof ArtifactRepositoryException) {
+      throw (ArtifactRepositoryException) cause;
+    }
+    if (cause instanceof IOException) {
+      throw (IOException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return (RuntimeException) cause;
+  }
+}
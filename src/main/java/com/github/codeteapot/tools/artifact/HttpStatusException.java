@@ -0,0 +1,73 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Exception occurred when an HTTP server answers an error status other than not found.
+ *
+ * <p>It keeps the status and the {@code Retry-After} header, if any, so callers can tell whether
+ * the server is overloaded and when it can be requested again.
+ *
+ * @see HttpTransport
+ * @see AdaptiveTransport
+ */
+public class HttpStatusException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int SERVER_ERROR = 500;
+
+  /**
+   * Status answered by the server.
+   */
+  private final int status;
+
+  /**
+   * Time to wait before requesting again, as given by the server, or {@code null}.
+   */
+  private final Duration retryAfter;
+
+  /**
+   * Exception for the given status of the given location.
+   *
+   * @param status The status answered by the server.
+   * @param location Location of the requested file.
+   * @param retryAfter Time to wait before requesting again, as given by the server, or
+   *        {@code null} when it has not given any.
+   */
+  public HttpStatusException(int status, String location, Duration retryAfter) {
+    super("Unexpected status " + status + " of " + location);
+    this.status = status;
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * Status answered by the server.
+   *
+   * @return The HTTP status.
+   */
+  public int getStatus() {
+    return status;
+  }
+
+  /**
+   * Time to wait before requesting again, as given by the {@code Retry-After} header.
+   *
+   * @return The time to wait, or {@code null} when the server has not given any.
+   */
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+
+  /**
+   * Whether the status tells that the server is overloaded or failing, so the same request may
+   * succeed later, like {@code 429} and {@code 5xx} ones.
+   *
+   * @return {@code true} when the request may be retried.
+   */
+  public boolean isRetryable() {
+    return status == TOO_MANY_REQUESTS || status >= SERVER_ERROR;
+  }
+}
@@ -0,0 +1,372 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.net.HttpURLConnection.HTTP_BAD_REQUEST;
+import static java.net.HttpURLConnection.HTTP_GONE;
+import static java.net.HttpURLConnection.HTTP_NOT_FOUND;
+import static java.net.HttpURLConnection.HTTP_NOT_MODIFIED;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Transport reading {@code http:} and {@code https:} locations.
+ * 
+ * <p>Connections are kept alive and reused by the platform once the content of a file has been
+ * fully read and its stream closed. The number of files open at the same time on each host is
+ * bounded, so that many concurrent requests queue up instead of opening new connections.
+ * 
+ * <p>Responses may be compressed with {@code gzip}. Small files whose response has an
+ * {@code ETag} or a {@code Last-Modified} header are kept in memory, up to a maximum number of
+ * them, and they are requested again conditionally, so unchanged files are not transferred twice.
+ * Files are small when they take no more than 1 MiB once decompressed. Larger ones are streamed
+ * as usual once that size is exceeded.
+ */
+public class HttpTransport implements ArtifactTransport {
+
+  /**
+   * Default connect timeout.
+   */
+  public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10L);
+
+  /**
+   * Default read timeout.
+   */
+  public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30L);
+
+  /**
+   * Default maximum number of files open at the same time on each host.
+   * 
+   * <p>It matches the default number of idle connections kept alive by the platform for each
+   * host.
+   */
+  public static final int DEFAULT_MAX_CONNECTIONS_PER_HOST = ArtifactSource.DEFAULT_CONCURRENCY;
+
+  /**
+   * Default maximum number of files kept in memory to be requested conditionally.
+   */
+  public static final int DEFAULT_CONDITIONAL_CACHE_SIZE = 256;
+
+  private static final long MAX_CONDITIONAL_CONTENT_LENGTH = 1024L * 1024L;
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final String HTTP_PROTOCOL = "http";
+  private static final String HTTPS_PROTOCOL = "https";
+  private static final String GZIP_ENCODING = "gzip";
+
+  private final int connectTimeout;
+  private final int readTimeout;
+  private final int maxConnectionsPerHost;
+  private final boolean keepAlive;
+  private final boolean compression;
+  private final boolean conditional;
+  private final Map<String, Semaphore> hosts;
+  private final Map<String, Validated> validated;
+
+  /**
+   * Transport with default settings, keeping connections alive and accepting compressed
+   * responses.
+   */
+  public HttpTransport() {
+    this(
+        DEFAULT_CONNECT_TIMEOUT,
+        DEFAULT_READ_TIMEOUT,
+        DEFAULT_MAX_CONNECTIONS_PER_HOST,
+        true,
+        true,
+        DEFAULT_CONDITIONAL_CACHE_SIZE);
+  }
+
+  /**
+   * Transport with the given settings.
+   *
+   * @param connectTimeout Timeout of establishing a connection.
+   * @param readTimeout Timeout of waiting for data once connected.
+   * @param maxConnectionsPerHost Maximum number of files open at the same time on each host.
+   * @param keepAlive Whether connections are kept alive to be reused.
+   * @param compression Whether compressed responses are accepted.
+   * @param conditionalCacheSize Maximum number of files kept in memory to be requested
+   *        conditionally, or {@code 0} to disable conditional requests.
+   *
+   * @throws IllegalArgumentException When the maximum number of connections is not positive, or
+   *         the conditional cache size is negative.
+   */
+  public HttpTransport(
+      Duration connectTimeout,
+      Duration readTimeout,
+      int maxConnectionsPerHost,
+      boolean keepAlive,
+      boolean compression,
+      int conditionalCacheSize) {
+    if (maxConnectionsPerHost < 1) {
+      throw new IllegalArgumentException("Maximum connections per host must be positive");
+    }
+    if (conditionalCacheSize < 0) {
+      throw new IllegalArgumentException("Conditional cache size must not be negative");
+    }
+    this.connectTimeout = Math.toIntExact(connectTimeout.toMillis());
+    this.readTimeout = Math.toIntExact(readTimeout.toMillis());
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.keepAlive = keepAlive;
+    this.compression = compression;
+    conditional = conditionalCacheSize > 0;
+    hosts = new ConcurrentHashMap<>();
+    validated = new LinkedHashMap<String, Validated>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Entry<String, Validated> eldest) {
+        return size() > conditionalCacheSize;
+      }
+    };
+  }
+
+  /**
+   * Open the file at the given location.
+   * 
+   * <p>It waits while the maximum number of files is open on the same host.
+   *
+   * @throws FileNotFoundException When the server answers {@code 404} or {@code 410}.
+   * @throws InterruptedIOException When interrupted while waiting.
+   * @throws HttpStatusException When the server answers another error status.
+   * @throws IOException When the location is not an HTTP URL, or an I/O error has been occurred.
+   */
+  @Override
+  public InputStream open(URL location) throws IOException {
+    String protocol = location.getProtocol();
+    if (!HTTP_PROTOCOL.equals(protocol) && !HTTPS_PROTOCOL.equals(protocol)) {
+      throw new IOException("Unsupported protocol of " + location);
+    }
+    Permit permit = acquire(protocol + "://" + location.getAuthority());
+    try {
+      return open(location, permit);
+    } catch (IOException | RuntimeException e) {
+      permit.close();
+      throw e;
+    }
+  }
+
+  private InputStream open(URL location, Permit permit) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) location.openConnection();
+    connection.setConnectTimeout(connectTimeout);
+    connection.setReadTimeout(readTimeout);
+    if (!keepAlive) {
+      connection.setRequestProperty("Connection", "close");
+    }
+    if (compression) {
+      connection.setRequestProperty("Accept-Encoding", GZIP_ENCODING);
+    }
+    String key = location.toString();
+    Validated cached = validated(key);
+    if (cached != null) {
+      cached.addConditions(connection);
+    }
+    int status = connection.getResponseCode();
+    if (cached != null && status == HTTP_NOT_MODIFIED) {
+      connection.getInputStream().close();
+      permit.close();
+      return new ByteArrayInputStream(cached.content);
+    }
+    if (status >= HTTP_BAD_REQUEST) {
+      discard(connection.getErrorStream());
+      if (status == HTTP_NOT_FOUND || status == HTTP_GONE) {
+        throw new FileNotFoundException(key);
+      }
+      throw new HttpStatusException(
+          status,
+          key,
+          retryAfter(connection.getHeaderField("Retry-After")));
+    }
+    InputStream input = connection.getInputStream();
+    if (GZIP_ENCODING.equalsIgnoreCase(connection.getContentEncoding())) {
+      input = new GZIPInputStream(input);
+    }
+    String entityTag = connection.getHeaderField("ETag");
+    String lastModified = connection.getHeaderField("Last-Modified");
+    long length = connection.getContentLengthLong();
+    if (conditional
+        && (entityTag != null || lastModified != null)
+        && length >= 0L
+        && length <= MAX_CONDITIONAL_CONTENT_LENGTH) {
+      return validate(key, entityTag, lastModified, input, permit);
+    }
+    return new PermitInputStream(input, permit);
+  }
+
+  /*
+   * Content is counted once decompressed, so it is streamed as usual once it exceeds the maximum,
+   * whatever its transferred length.
+   */
+  private InputStream validate(
+      String key,
+      String entityTag,
+      String lastModified,
+      InputStream input,
+      Permit permit) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    if (!readUpTo(input, output, MAX_CONDITIONAL_CONTENT_LENGTH)) {
+      return new PermitInputStream(
+          new SequenceInputStream(new ByteArrayInputStream(output.toByteArray()), input),
+          permit);
+    }
+    input.close();
+    permit.close();
+    byte[] content = output.toByteArray();
+    synchronized (validated) {
+      validated.put(key, new Validated(entityTag, lastModified, content));
+    }
+    return new ByteArrayInputStream(content);
+  }
+
+  private Permit acquire(String host) throws InterruptedIOException {
+    Semaphore semaphore = hosts.computeIfAbsent(host, key -> new Semaphore(
+        maxConnectionsPerHost,
+        true));
+    try {
+      semaphore.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a connection to " + host);
+    }
+    return new Permit(semaphore);
+  }
+
+  private Validated validated(String key) {
+    synchronized (validated) {
+      return validated.get(key);
+    }
+  }
+
+  /*
+   * Retry-After is given either as a number of seconds or as a date, and it is ignored when it is
+   * malformed.
+   */
+  private static Duration retryAfter(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Duration.ofSeconds(Long.parseLong(value.trim()));
+    } catch (NumberFormatException e) {
+      // Try as a date
+    }
+    try {
+      Duration remaining = Duration.between(
+          Instant.now(),
+          Instant.from(RFC_1123_DATE_TIME.parse(value.trim())));
+      return remaining.isNegative() ? Duration.ZERO : remaining;
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /*
+   * Whether the whole content has been read, without exceeding the given maximum length. The input
+   * is closed when it fails.
+   */
+  private static boolean readUpTo(InputStream input, ByteArrayOutputStream output, long maximum)
+      throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try {
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        output.write(buffer, 0, count);
+        if (output.size() > maximum) {
+          return false;
+        }
+      }
+      return true;
+    } catch (IOException | RuntimeException e) {
+      input.close();
+      throw e;
+    }
+  }
+
+  private static void discard(InputStream input) throws IOException {
+    if (input != null) {
+      try (InputStream source = input) {
+        ArtifactRepository.drain(source);
+      }
+    }
+  }
+
+  private static class Validated {
+
+    private final String entityTag;
+    private final String lastModified;
+    private final byte[] content;
+
+    private Validated(String entityTag, String lastModified, byte[] content) {
+      this.entityTag = entityTag;
+      this.lastModified = lastModified;
+      this.content = requireNonNull(content);
+    }
+
+    private void addConditions(HttpURLConnection connection) {
+      if (entityTag != null) {
+        connection.setRequestProperty("If-None-Match", entityTag);
+      }
+      if (lastModified != null) {
+        connection.setRequestProperty("If-Modified-Since", lastModified);
+      }
+    }
+  }
+
+  private static class Permit implements Closeable {
+
+    private final Semaphore semaphore;
+    private final AtomicBoolean released;
+
+    private Permit(Semaphore semaphore) {
+      this.semaphore = semaphore;
+      released = new AtomicBoolean();
+    }
+
+    @Override
+    public void close() {
+      if (released.compareAndSet(false, true)) {
+        semaphore.release();
+      }
+    }
+  }
+
+  private static class PermitInputStream extends FilterInputStream {
+
+    private final Permit permit;
+
+    private PermitInputStream(InputStream input, Permit permit) {
+      super(input);
+      this.permit = permit;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        permit.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies, whose buckets are powers of two of nanoseconds.
+ * 
+ * <p>Recording is lock-free and allocation-free, so it can be done on hot paths. Percentiles are
+ * approximated by the upper bound of their bucket, so they are at most twice the actual value.
+ */
+public class LatencyHistogram {
+
+  private static final int BUCKET_COUNT = Long.SIZE;
+
+  private final LongAdder[] buckets;
+  private final LongAdder count;
+  private final LongAdder total;
+  private final LongAccumulator max;
+
+  LatencyHistogram() {
+    buckets = new LongAdder[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      buckets[i] = new LongAdder();
+    }
+    count = new LongAdder();
+    total = new LongAdder();
+    max = new LongAccumulator(Math::max, 0L);
+  }
+
+  /**
+   * Number of recorded latencies.
+   *
+   * @return The number of latencies.
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Sum of recorded latencies.
+   *
+   * @return The sum of latencies, in nanoseconds.
+   */
+  public long getTotalNanos() {
+    return total.sum();
+  }
+
+  /**
+   * Maximum recorded latency.
+   *
+   * @return The maximum latency, in nanoseconds, or {@code 0} when none has been recorded.
+   */
+  public long getMaxNanos() {
+    return max.get();
+  }
+
+  /**
+   * Approximate latency below which the given fraction of the recorded ones are.
+   *
+   * @param percentile The fraction, between {@code 0} and {@code 1}.
+   *
+   * @return The upper bound of the bucket containing the percentile, in nanoseconds, or
+   *         {@code 0} when none has been recorded.
+   */
+  public long getPercentileNanos(double percentile) {
+    long threshold = (long) Math.ceil(percentile * count.sum());
+    long accumulated = 0L;
+    for (int i = 0; i < BUCKET_COUNT; ++i) {
+      accumulated += buckets[i].sum();
+      if (accumulated >= threshold && accumulated > 0L) {
+        return Math.min((2L << i) - 1L, max.get());
+      }
+    }
+    return 0L;
+  }
+
+  void record(long nanos) {
+    long value = Math.max(nanos, 0L);
+    buckets[BUCKET_COUNT - 1 - Long.numberOfLeadingZeros(value | 1L)].increment();
+    count.increment();
+    total.add(value);
+    max.accumulate(value);
+  }
+}
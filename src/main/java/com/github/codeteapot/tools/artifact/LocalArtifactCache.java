@@ -0,0 +1,154 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+
+/**
+ * Local directory caching artifacts of a repository.
+ * 
+ * <p>The directory follows the same layout than the repository, so it can be used as a repository
+ * itself. Both project files and bundles are downloaded on the first time an artifact is got,
+ * together with the project files of its parents and imported bills of materials, and they are
+ * served from the directory since then, so the location of the artifacts got through the cache
+ * are always {@code file:} URLs. The {@code maven-metadata.xml} files used to resolve dynamic
+ * versions are copied too, and refreshed like the repository does.
+ * 
+ * <p>Release versions are considered immutable, so they are never downloaded again once they are
+ * in the directory. Snapshot versions are downloaded each time they are got.
+ * 
+ * <p>Files are written to temporary files and atomically moved to their final place, so the same
+ * directory can be safely shared by several processes.
+ */
+public class LocalArtifactCache implements ArtifactSource {
+
+  private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+  private static final String TEMPORARY_SUFFIX = ".part";
+
+  private final ArtifactRepository upstream;
+  private final Path directory;
+  private final ArtifactRepository local;
+  private final String localPrefix;
+
+  /**
+   * Cache of the given repository on the given directory.
+   *
+   * @param upstream Repository whose artifacts are cached.
+   * @param directory Directory where artifacts are cached.
+   *
+   * @throws MalformedURLException When the directory cannot be used as a repository.
+   */
+  public LocalArtifactCache(ArtifactRepository upstream, Path directory)
+      throws MalformedURLException {
+    this.upstream = requireNonNull(upstream);
+    this.directory = directory.toAbsolutePath();
+    URL localDirectory = directoryLocation(this.directory);
+    local = new ArtifactRepository(localDirectory, new UpstreamReplica());
+    localPrefix = localDirectory.toString();
+  }
+
+  /**
+   * Get an artifact through the cache, downloading it from the repository when needed.
+   *
+   * @param coordinates Artifact coordinates.
+   *
+   * @return The artifact, located at the cache directory.
+   *
+   * @throws ArtifactRepositoryException When some repository error has been occurred.
+   * @throws IOException When an I/O error has been occurred.
+   */
+  @Override
+  public Artifact get(ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    ArtifactCoordinates resolved = local.resolve(coordinates);
+    Artifact artifact = local.get(resolved);
+    String bundlePath = artifact.getLocation().toString().substring(localPrefix.length());
+    if (isSnapshot(resolved) || !exists(directory.resolve(bundlePath))) {
+      download(resolved, bundlePath, bundlePath.substring(bundlePath.lastIndexOf('.') + 1));
+    }
+    return artifact;
+  }
+
+  /*
+   * Files are kept with the same names than the coordinates, even when they have timestamped names
+   * on the repository, so the directory can be read without metadata.
+   */
+  private void download(ArtifactCoordinates coordinates, String relativePath, String extension)
+      throws ArtifactRepositoryException, IOException {
+    try {
+      transfer(upstream.path(coordinates, extension), relativePath);
+    } catch (FileNotFoundException e) {
+      throw new ArtifactNotFoundException(coordinates, e);
+    }
+  }
+
+  private void transfer(String upstreamPath, String relativePath)
+      throws ArtifactRepositoryException, IOException {
+    Path target = directory.resolve(relativePath);
+    createDirectories(target.getParent());
+    Path temporary = createTempFile(
+        target.getParent(),
+        target.getFileName().toString(),
+        TEMPORARY_SUFFIX);
+    try {
+      try (InputStream input = upstream.open(upstreamPath)) {
+        copy(input, temporary, REPLACE_EXISTING);
+      }
+      move(temporary, target, ATOMIC_MOVE);
+    } finally {
+      deleteIfExists(temporary);
+    }
+  }
+
+  private static boolean isSnapshot(ArtifactCoordinates coordinates) {
+    return coordinates.getVersion().endsWith(SNAPSHOT_SUFFIX);
+  }
+
+  static URL directoryLocation(Path directory) throws MalformedURLException {
+    String spec = directory.toUri().toString();
+    if (spec.endsWith("/")) {
+      return new URL(spec);
+    }
+    return new URL(spec + "/");
+  }
+
+  /*
+   * Project files are copied for the artifact, and for its parents and imported projects, before
+   * reading them from the directory. Metadata is copied each time the directory copy of it is
+   * refreshed, and it is removed from the directory once it is not on the repository anymore.
+   */
+  private class UpstreamReplica implements ArtifactRepository.Replica {
+
+    @Override
+    public void copyProject(ArtifactCoordinates coordinates)
+        throws ArtifactRepositoryException, IOException {
+      String projectPath = coordinates.getPath("pom");
+      if (isSnapshot(coordinates) || !exists(directory.resolve(projectPath))) {
+        download(coordinates, projectPath, "pom");
+      }
+    }
+
+    @Override
+    public void copyMetadata(String relativePath)
+        throws ArtifactRepositoryException, IOException {
+      try {
+        transfer(relativePath, relativePath);
+      } catch (FileNotFoundException e) {
+        deleteIfExists(directory.resolve(relativePath));
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dependency graph where each artifact appears with a single version, resolved through
+ * {@link DependencyMediator}.
+ */
+public class MediatedDependencyGraph {
+
+  private final List<ArtifactCoordinates> roots;
+  private final Map<ArtifactCoordinates, Artifact> artifacts;
+  private final Map<ArtifactCoordinates, DependencyScope> scopes;
+  private final Map<ArtifactCoordinates, ArtifactCoordinates> omitted;
+
+  MediatedDependencyGraph(
+      List<ArtifactCoordinates> roots,
+      Map<ArtifactCoordinates, Artifact> artifacts,
+      Map<ArtifactCoordinates, DependencyScope> scopes,
+      Map<ArtifactCoordinates, ArtifactCoordinates> omitted) {
+    this.roots = unmodifiableList(roots);
+    this.artifacts = unmodifiableMap(artifacts);
+    this.scopes = unmodifiableMap(scopes);
+    this.omitted = unmodifiableMap(omitted);
+  }
+
+  /**
+   * Coordinates of the artifacts the graph has been resolved from.
+   *
+   * @return The root artifacts coordinates, in the given order.
+   */
+  public List<ArtifactCoordinates> getRoots() {
+    return roots;
+  }
+
+  /**
+   * Artifacts selected by the mediation, including the roots.
+   * 
+   * <p>Artifacts are iterated from the nearest to the farthest to the roots. Their dependencies
+   * may include versions that have been omitted.
+   *
+   * @return The selected artifacts, by their coordinates.
+   */
+  public Map<ArtifactCoordinates, Artifact> getArtifacts() {
+    return artifacts;
+  }
+
+  /**
+   * Scopes of the selected artifacts, as propagated from the roots along the nearest path.
+   * 
+   * <p>Roots have no scope, so they are not included.
+   *
+   * @return The scopes, by the coordinates of the selected artifacts.
+   */
+  public Map<ArtifactCoordinates, DependencyScope> getScopes() {
+    return scopes;
+  }
+
+  /**
+   * Versions required by some artifact but omitted in favour of a nearer one.
+   * 
+   * <p>Omitted artifacts have not been got, so neither have their dependencies.
+   *
+   * @return The coordinates of the selected artifact, by the coordinates of the omitted one.
+   */
+  public Map<ArtifactCoordinates, ArtifactCoordinates> getOmitted() {
+    return omitted;
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/*
+ * Metadata kept by path until the refresh interval has elapsed since it was fetched. Concurrent
+ * requests of the same metadata are coalesced, so it is fetched once while they wait for it.
+ * Failures are never kept.
+ */
+class MetadataCache {
+
+  private final long refreshNanos;
+  private final LongSupplier nanoTime;
+  private final ConcurrentMap<String, Entry> entries;
+
+  MetadataCache(long refreshNanos, LongSupplier nanoTime) {
+    this.refreshNanos = refreshNanos;
+    this.nanoTime = nanoTime;
+    entries = new ConcurrentHashMap<>();
+  }
+
+  XMLMetadata get(String path, Fetcher fetcher) throws ArtifactRepositoryException, IOException {
+    long now = nanoTime.getAsLong();
+    Entry entry = entries.compute(path, (key, cached) -> cached == null
+        || now - cached.fetched >= refreshNanos ? new Entry(now) : cached);
+    if (entry.fetching.compareAndSet(false, true)) {
+      try {
+        entry.metadata.complete(fetcher.fetch(path));
+      } catch (Throwable e) {
+        entries.remove(path, entry);
+        entry.metadata.completeExceptionally(e);
+      }
+    }
+    return Futures.join(entry.metadata);
+  }
+
+  @FunctionalInterface
+  interface Fetcher {
+
+    XMLMetadata fetch(String path) throws ArtifactRepositoryException, IOException;
+  }
+
+  private static class Entry {
+
+    private final long fetched;
+    private final AtomicBoolean fetching;
+    private final CompletableFuture<XMLMetadata> metadata;
+
+    private Entry(long fetched) {
+      this.fetched = fetched;
+      fetching = new AtomicBoolean();
+      metadata = new CompletableFuture<>();
+    }
+  }
+}
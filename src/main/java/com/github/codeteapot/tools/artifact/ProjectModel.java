@@ -0,0 +1,155 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Effective model of a project, once inherited and imported elements have been merged. Managed and
+ * inherited dependencies are kept as declared, so they are interpolated with the properties of the
+ * project finally using them, like Maven does.
+ */
+class ProjectModel {
+
+  static final ProjectModel NONE = new ProjectModel();
+
+  private static final String EXPRESSION_START = "${";
+  private static final char EXPRESSION_END = '}';
+  private static final int MAX_INTERPOLATION_DEPTH = 16;
+
+  private final Map<String, String> properties;
+  private final Map<String, XMLDependency> managedDependencies;
+  private final Map<String, XMLDependency> dependencies;
+  private final String parentVersion;
+  private final Set<ArtifactCoordinates> sources;
+
+  private ProjectModel() {
+    properties = new HashMap<>();
+    managedDependencies = new LinkedHashMap<>();
+    dependencies = new LinkedHashMap<>();
+    parentVersion = null;
+    sources = new LinkedHashSet<>();
+  }
+
+  private ProjectModel(ProjectModel parentModel, XMLProject project) {
+    XMLParent parent = project.getParent();
+    properties = new HashMap<>(parentModel.properties);
+    properties.putAll(project.getProperties());
+    putProperty("project.groupId", firstOf(project.getGroupId(), parent.getGroupId()));
+    putProperty("project.artifactId", project.getArtifactId());
+    putProperty("project.version", firstOf(project.getVersion(), parent.getVersion()));
+    putProperty("project.parent.groupId", parent.getGroupId());
+    putProperty("project.parent.version", parent.getVersion());
+    managedDependencies = new LinkedHashMap<>(parentModel.managedDependencies);
+    dependencies = new LinkedHashMap<>(parentModel.dependencies);
+    parentVersion = parent.getVersion();
+    sources = new LinkedHashSet<>(parentModel.sources);
+    ArtifactCoordinates parentCoordinates = parent.toCoordinates();
+    if (parentCoordinates != null) {
+      sources.add(parentCoordinates);
+    }
+  }
+
+  static ProjectModel build(XMLProject project, ProjectModel parentModel, Loader importLoader)
+      throws ArtifactRepositoryException, IOException {
+    ProjectModel model = new ProjectModel(parentModel, project);
+    List<XMLDependency> imports = new ArrayList<>();
+    for (XMLDependency managed : project.getManagedDependencies()) {
+      if (managed.isImport()) {
+        imports.add(managed);
+      } else {
+        model.managedDependencies.put(managed.getKey(model::interpolate), managed);
+      }
+    }
+    for (XMLDependency imported : imports) {
+      ArtifactCoordinates importedCoordinates = imported.toImport(model::interpolate);
+      ProjectModel importedModel = importLoader.load(importedCoordinates);
+      model.sources.add(importedCoordinates);
+      model.sources.addAll(importedModel.sources);
+      for (XMLDependency managed : importedModel.managedDependencies.values()) {
+        model.managedDependencies.putIfAbsent(
+            managed.getKey(importedModel::interpolate),
+            managed.interpolate(importedModel::interpolate));
+      }
+    }
+    for (XMLDependency dependency : project.getDependencies()) {
+      model.dependencies.put(dependency.getKey(model::interpolate), dependency);
+    }
+    return model;
+  }
+
+  List<ArtifactDependency> getDependencies() throws ArtifactRepositoryException {
+    List<ArtifactDependency> effectiveDependencies = new ArrayList<>();
+    for (Map.Entry<String, XMLDependency> dependency : dependencies.entrySet()) {
+      ArtifactDependency effectiveDependency = dependency.getValue().toDependency(
+          this::interpolate,
+          managedDependencies.getOrDefault(dependency.getKey(), XMLDependency.NONE),
+          parentVersion);
+      if (effectiveDependency != null) {
+        effectiveDependencies.add(effectiveDependency);
+      }
+    }
+    return effectiveDependencies;
+  }
+
+  /*
+   * Coordinates of the parents and imported projects this model has been merged from, as declared.
+   */
+  Set<ArtifactCoordinates> getSources() {
+    return sources;
+  }
+
+  String interpolate(String value) {
+    return interpolate(value, MAX_INTERPOLATION_DEPTH);
+  }
+
+  private String interpolate(String value, int depth) {
+    if (value == null || depth == 0) {
+      return value;
+    }
+    StringBuilder interpolated = new StringBuilder();
+    int from = 0;
+    int start = value.indexOf(EXPRESSION_START);
+    while (start >= 0) {
+      int end = value.indexOf(EXPRESSION_END, start);
+      if (end < 0) {
+        break;
+      }
+      String property = properties.get(value.substring(start + EXPRESSION_START.length(), end));
+      interpolated.append(value, from, start);
+      if (property == null) {
+        interpolated.append(value, start, end + 1);
+      } else {
+        interpolated.append(interpolate(property, depth - 1));
+      }
+      from = end + 1;
+      start = value.indexOf(EXPRESSION_START, from);
+    }
+    return interpolated.append(value, from, value.length()).toString();
+  }
+
+  private void putProperty(String name, String value) {
+    if (value != null) {
+      properties.put(name, value);
+    }
+  }
+
+  private static String firstOf(String value, String inheritedValue) {
+    if (value == null) {
+      return inheritedValue;
+    }
+    return value;
+  }
+
+  @FunctionalInterface
+  interface Loader {
+
+    ProjectModel load(ArtifactCoordinates coordinates)
+        throws ArtifactRepositoryException, IOException;
+  }
+}
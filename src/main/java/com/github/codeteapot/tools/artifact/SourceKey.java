@@ -0,0 +1,15 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+
+/*
+ * Key of artifacts kept by source and coordinates.
+ */
+class SourceKey extends SimpleImmutableEntry<ArtifactSource, ArtifactCoordinates> {
+
+  private static final long serialVersionUID = 1L;
+
+  SourceKey(ArtifactSource source, ArtifactCoordinates coordinates) {
+    super(source, coordinates);
+  }
+}
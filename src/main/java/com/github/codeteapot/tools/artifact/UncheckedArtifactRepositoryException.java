@@ -1,14 +0,0 @@
-package com.github.codeteapot.tools.artifact;
-
-@SuppressWarnings("serial")
-class UncheckedArtifactRepositoryException extends RuntimeException {
-
-  UncheckedArtifactRepositoryException(ArtifactRepositoryException cause) {
-    super(cause);
-  }
-
-  @Override
-  public ArtifactRepositoryException getCause() {
-    return (ArtifactRepositoryException) super.getCause();
-  }
-}
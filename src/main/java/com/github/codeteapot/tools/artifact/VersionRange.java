@@ -0,0 +1,125 @@
+package com.github.codeteapot.tools.artifact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Version range like [1.0,2.0), (,1.0] or [1.2], optionally joined by commas like (,1.0],[1.2,).
+ * Matching is done against versions sorted in ascending order, by a binary search on each
+ * restriction, so it takes logarithmic time on the number of versions.
+ */
+class VersionRange {
+
+  private final List<Restriction> restrictions;
+
+  private VersionRange(List<Restriction> restrictions) {
+    this.restrictions = restrictions;
+  }
+
+  /*
+   * Greatest of the sorted versions matching this range, or -1 when none matches.
+   */
+  int select(ArtifactVersion[] sortedVersions) {
+    int selected = -1;
+    for (Restriction restriction : restrictions) {
+      selected = Math.max(selected, restriction.select(sortedVersions));
+    }
+    return selected;
+  }
+
+  static boolean isRange(String spec) {
+    return spec.startsWith("[") || spec.startsWith("(");
+  }
+
+  /*
+   * Only called on specs known to be ranges, so there is at least one restriction.
+   */
+  static VersionRange parse(String spec) throws ArtifactRepositoryException {
+    List<Restriction> restrictions = new ArrayList<>();
+    int start = 0;
+    while (start < spec.length()) {
+      int end = indexOfClosing(spec, start);
+      if (end < 0 || !isRange(spec.substring(start))) {
+        throw new ArtifactRepositoryException("Invalid version range " + spec);
+      }
+      restrictions.add(Restriction.parse(spec, start, end));
+      start = end + 1;
+      if (start < spec.length() && spec.charAt(start) == ',') {
+        ++start;
+      }
+    }
+    return new VersionRange(restrictions);
+  }
+
+  private static int indexOfClosing(String spec, int start) {
+    for (int i = start + 1; i < spec.length(); ++i) {
+      char c = spec.charAt(i);
+      if (c == ']' || c == ')') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static class Restriction {
+
+    private final ArtifactVersion lower;
+    private final boolean lowerInclusive;
+    private final ArtifactVersion upper;
+    private final boolean upperInclusive;
+
+    private Restriction(
+        ArtifactVersion lower,
+        boolean lowerInclusive,
+        ArtifactVersion upper,
+        boolean upperInclusive) {
+      this.lower = lower;
+      this.lowerInclusive = lowerInclusive;
+      this.upper = upper;
+      this.upperInclusive = upperInclusive;
+    }
+
+    private int select(ArtifactVersion[] sortedVersions) {
+      int index = sortedVersions.length - 1;
+      if (upper != null) {
+        int found = Arrays.binarySearch(sortedVersions, upper);
+        if (found >= 0) {
+          index = upperInclusive ? found : found - 1;
+        } else {
+          index = -found - 2;
+        }
+      }
+      if (index < 0 || lower == null) {
+        return index;
+      }
+      int comparison = sortedVersions[index].compareTo(lower);
+      return comparison > 0 || comparison == 0 && lowerInclusive ? index : -1;
+    }
+
+    private static Restriction parse(String spec, int start, int end)
+        throws ArtifactRepositoryException {
+      boolean lowerInclusive = spec.charAt(start) == '[';
+      boolean upperInclusive = spec.charAt(end) == ']';
+      String content = spec.substring(start + 1, end).trim();
+      int comma = content.indexOf(',');
+      if (comma < 0) {
+        if (!lowerInclusive || !upperInclusive || content.isEmpty()) {
+          throw new ArtifactRepositoryException("Invalid version range " + spec);
+        }
+        ArtifactVersion exact = new ArtifactVersion(content);
+        return new Restriction(exact, true, exact, true);
+      }
+      return new Restriction(
+          bound(content.substring(0, comma)),
+          lowerInclusive,
+          bound(content.substring(comma + 1)),
+          upperInclusive);
+    }
+
+    private static ArtifactVersion bound(String text) {
+      String trimmed = text.trim();
+      return trimmed.isEmpty() ? null : new ArtifactVersion(trimmed);
+    }
+  }
+}
@@ -1,58 +1,213 @@
 package com.github.codeteapot.tools.artifact;
 
-import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toSet;
+import static com.github.codeteapot.tools.artifact.XMLElements.nextElement;
+import static com.github.codeteapot.tools.artifact.XMLElements.pomElementName;
+import static com.github.codeteapot.tools.artifact.XMLElements.skip;
+import static com.github.codeteapot.tools.artifact.XMLElements.text;
+import static java.util.Collections.emptyList;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
-import javax.xml.bind.annotation.XmlElement;
+import java.util.function.UnaryOperator;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 class XMLDependency {
 
-  private static final Set<String> REQUIRED_SCOPES = Stream.of("compile", "runtime")
-      .collect(toSet());
+  static final XMLDependency NONE = new XMLDependency();
 
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "groupId")
-  private String groupId;
+  private static final String DEFAULT_SCOPE = "compile";
+  private static final String IMPORT_SCOPE = "import";
+  private static final String OPTIONAL = "true";
 
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "artifactId")
+  private String groupId;
   private String artifactId;
-
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "version")
   private String version;
-
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "scope")
+  private String type;
+  private String classifier;
   private String scope;
+  private String optional;
+  private List<String> exclusions;
 
   private XMLDependency() {
     groupId = null;
     artifactId = null;
     version = null;
+    type = ArtifactDependency.DEFAULT_TYPE;
+    classifier = null;
+    scope = null;
+    optional = null;
+    exclusions = emptyList();
+  }
+
+  /*
+   * Same key than Maven matches managed dependencies by, so the same artifact can be depended on
+   * with several types or classifiers.
+   */
+  String getKey(UnaryOperator<String> interpolator) {
+    String key = interpolator.apply(groupId)
+        + ":" + interpolator.apply(artifactId)
+        + ":" + interpolator.apply(type);
+    if (classifier == null) {
+      return key;
+    }
+    return key + ":" + interpolator.apply(classifier);
+  }
+
+  boolean isImport() {
+    return IMPORT_SCOPE.equals(scope);
   }
 
-  ArtifactCoordinates toRequiredDependency(XMLParent parent) {
-    if (scope == null || REQUIRED_SCOPES.contains(scope)) {
-      return new ArtifactCoordinates(
-          groupId,
-          artifactId,
-          ofNullable(version).orElseGet(versionFrom(parent)));
+  XMLDependency interpolate(UnaryOperator<String> interpolator) {
+    XMLDependency dependency = new XMLDependency();
+    dependency.groupId = interpolator.apply(groupId);
+    dependency.artifactId = interpolator.apply(artifactId);
+    dependency.version = interpolator.apply(version);
+    dependency.type = interpolator.apply(type);
+    dependency.classifier = interpolator.apply(classifier);
+    dependency.scope = interpolator.apply(scope);
+    dependency.optional = interpolator.apply(optional);
+    dependency.exclusions = new ArrayList<>();
+    for (String exclusion : exclusions) {
+      dependency.exclusions.add(interpolator.apply(exclusion));
     }
-    return null;
+    return dependency;
+  }
+
+  ArtifactCoordinates toImport(UnaryOperator<String> interpolator)
+      throws ArtifactRepositoryException {
+    return new ArtifactCoordinates(
+        interpolator.apply(groupId),
+        interpolator.apply(artifactId),
+        versionOf(interpolator.apply(version)));
   }
 
-  private Supplier<String> versionFrom(XMLParent parent) {
-    return () -> ofNullable(parent)
-        .map(XMLParent::getVersion)
-        .orElseThrow(() -> new UncheckedArtifactRepositoryException(
-            new ArtifactRepositoryException("Unknown artifact version")));
+  /*
+   * Dependencies with an unknown scope are not dependencies at all, so they are dropped. Those
+   * which are not transitive are dropped too when their version is not known, since it is usually
+   * given by the environment, like a plugin or a profile.
+   */
+  ArtifactDependency toDependency(
+      UnaryOperator<String> interpolator,
+      XMLDependency managed,
+      String fallbackVersion) throws ArtifactRepositoryException {
+    DependencyScope effectiveScope = DependencyScope.of(firstOf(
+        interpolator.apply(scope),
+        interpolator.apply(managed.scope),
+        DEFAULT_SCOPE));
+    if (effectiveScope == null) {
+      return null;
+    }
+    String effectiveVersion = firstOf(
+        interpolator.apply(version),
+        interpolator.apply(managed.version),
+        fallbackVersion);
+    if (effectiveVersion == null && !effectiveScope.isTransitive()) {
+      return null;
+    }
+    Set<String> effectiveExclusions = new LinkedHashSet<>();
+    for (String exclusion : exclusions) {
+      effectiveExclusions.add(interpolator.apply(exclusion));
+    }
+    for (String exclusion : managed.exclusions) {
+      effectiveExclusions.add(interpolator.apply(exclusion));
+    }
+    return new ArtifactDependency(
+        new ArtifactCoordinates(
+            interpolator.apply(groupId),
+            interpolator.apply(artifactId),
+            versionOf(effectiveVersion)),
+        interpolator.apply(type),
+        interpolator.apply(classifier),
+        effectiveScope,
+        OPTIONAL.equals(interpolator.apply(optional)),
+        effectiveExclusions);
+  }
+
+  static XMLDependency read(XMLStreamReader reader) throws XMLStreamException {
+    XMLDependency dependency = new XMLDependency();
+    while (nextElement(reader)) {
+      switch (pomElementName(reader)) {
+        case "groupId":
+          dependency.groupId = text(reader);
+          break;
+        case "artifactId":
+          dependency.artifactId = text(reader);
+          break;
+        case "version":
+          dependency.version = text(reader);
+          break;
+        case "type":
+          dependency.type = text(reader);
+          break;
+        case "classifier":
+          dependency.classifier = text(reader);
+          break;
+        case "scope":
+          dependency.scope = text(reader);
+          break;
+        case "optional":
+          dependency.optional = text(reader);
+          break;
+        case "exclusions":
+          dependency.exclusions = readExclusions(reader);
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return dependency;
+  }
+
+  private static List<String> readExclusions(XMLStreamReader reader) throws XMLStreamException {
+    List<String> exclusions = new ArrayList<>();
+    while (nextElement(reader)) {
+      if (pomElementName(reader).equals("exclusion")) {
+        exclusions.add(readExclusion(reader));
+      } else {
+        skip(reader);
+      }
+    }
+    return exclusions;
+  }
+
+  /*
+   * Missing identifiers match anything.
+   */
+  private static String readExclusion(XMLStreamReader reader) throws XMLStreamException {
+    String groupId = ArtifactDependency.ANY;
+    String artifactId = ArtifactDependency.ANY;
+    while (nextElement(reader)) {
+      switch (pomElementName(reader)) {
+        case "groupId":
+          groupId = text(reader);
+          break;
+        case "artifactId":
+          artifactId = text(reader);
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return ArtifactDependency.exclusion(groupId, artifactId);
+  }
+
+  private static String versionOf(String version) throws ArtifactRepositoryException {
+    if (version == null) {
+      throw new ArtifactRepositoryException("Unknown artifact version");
+    }
+    return version;
+  }
+
+  private static String firstOf(String value, String managedValue, String defaultValue) {
+    if (value != null) {
+      return value;
+    }
+    if (managedValue != null) {
+      return managedValue;
+    }
+    return defaultValue;
   }
 }
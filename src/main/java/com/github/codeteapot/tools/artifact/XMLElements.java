@@ -0,0 +1,58 @@
+package com.github.codeteapot.tools.artifact;
+
+import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
+import static javax.xml.stream.XMLInputFactory.SUPPORT_DTD;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.InputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+class XMLElements {
+
+  private static final String POM_NAMESPACE = "http://maven.apache.org/POM/4.0.0";
+
+  private static final XMLInputFactory INPUT_FACTORY = inputFactory();
+
+  private XMLElements() {}
+
+  static XMLStreamReader reader(InputStream input) throws XMLStreamException {
+    return INPUT_FACTORY.createXMLStreamReader(input);
+  }
+
+  static boolean nextElement(XMLStreamReader reader) throws XMLStreamException {
+    return reader.nextTag() == START_ELEMENT;
+  }
+
+  static String pomElementName(XMLStreamReader reader) {
+    if (POM_NAMESPACE.equals(reader.getNamespaceURI())) {
+      return reader.getLocalName();
+    }
+    return "";
+  }
+
+  static String text(XMLStreamReader reader) throws XMLStreamException {
+    return reader.getElementText().trim();
+  }
+
+  static void skip(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == START_ELEMENT) {
+        depth++;
+      } else if (event == END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  private static XMLInputFactory inputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(SUPPORT_DTD, false);
+    factory.setProperty(IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+}
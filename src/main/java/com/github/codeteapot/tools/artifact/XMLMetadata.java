@@ -0,0 +1,204 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.XMLElements.nextElement;
+import static com.github.codeteapot.tools.artifact.XMLElements.reader;
+import static com.github.codeteapot.tools.artifact.XMLElements.skip;
+import static com.github.codeteapot.tools.artifact.XMLElements.text;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/*
+ * Repository metadata of an artifact, listing its versions, or of a snapshot version, telling the
+ * timestamped version of its files. Versions are sorted once when read, and the version selected
+ * for each range is kept, so all the dependents asking for the same range share the result.
+ */
+class XMLMetadata {
+
+  static final XMLMetadata NONE = new XMLMetadata();
+
+  private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+
+  private String latest;
+  private String release;
+  private String timestamp;
+  private String buildNumber;
+  private final Map<String, String> snapshotVersions;
+  private ArtifactVersion[] versions;
+  private final ConcurrentMap<String, String> selections;
+
+  private XMLMetadata() {
+    latest = null;
+    release = null;
+    timestamp = null;
+    buildNumber = null;
+    snapshotVersions = new HashMap<>();
+    versions = new ArtifactVersion[0];
+    selections = new ConcurrentHashMap<>();
+  }
+
+  /*
+   * Greatest version matching the range, or null when none does.
+   */
+  String select(String spec) throws ArtifactRepositoryException {
+    String selected = selections.get(spec);
+    if (selected == null) {
+      int index = VersionRange.parse(spec).select(versions);
+      if (index < 0) {
+        return null;
+      }
+      selected = versions[index].toString();
+      selections.put(spec, selected);
+    }
+    return selected;
+  }
+
+  /*
+   * Latest version, including snapshots, or null when there is no version at all.
+   */
+  String getLatest() {
+    if (latest != null) {
+      return latest;
+    }
+    return versions.length == 0 ? null : versions[versions.length - 1].toString();
+  }
+
+  /*
+   * Latest release version, or null when there is no release at all.
+   */
+  String getRelease() {
+    if (release != null) {
+      return release;
+    }
+    for (int i = versions.length - 1; i >= 0; --i) {
+      if (!versions[i].toString().endsWith(SNAPSHOT_SUFFIX)) {
+        return versions[i].toString();
+      }
+    }
+    return null;
+  }
+
+  /*
+   * Version of the files with the given extension of a snapshot, or the snapshot version itself
+   * when the files are not timestamped.
+   */
+  String getSnapshotFileVersion(String snapshotVersion, String extension) {
+    String value = snapshotVersions.get(extension);
+    if (value != null) {
+      return value;
+    }
+    if (timestamp == null || buildNumber == null) {
+      return snapshotVersion;
+    }
+    return snapshotVersion.substring(0, snapshotVersion.length() - SNAPSHOT_SUFFIX.length())
+        + "-" + timestamp + "-" + buildNumber;
+  }
+
+  static XMLMetadata read(InputStream input) throws XMLStreamException {
+    XMLStreamReader reader = reader(input);
+    try {
+      reader.nextTag();
+      if (!reader.getLocalName().equals("metadata")) {
+        throw new XMLStreamException("Unexpected element " + reader.getName());
+      }
+      XMLMetadata metadata = new XMLMetadata();
+      while (nextElement(reader)) {
+        if (reader.getLocalName().equals("versioning")) {
+          metadata.readVersioning(reader);
+        } else {
+          skip(reader);
+        }
+      }
+      return metadata;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private void readVersioning(XMLStreamReader reader) throws XMLStreamException {
+    while (nextElement(reader)) {
+      switch (reader.getLocalName()) {
+        case "latest":
+          latest = text(reader);
+          break;
+        case "release":
+          release = text(reader);
+          break;
+        case "versions":
+          versions = readVersions(reader);
+          break;
+        case "snapshot":
+          readSnapshot(reader);
+          break;
+        case "snapshotVersions":
+          readSnapshotVersions(reader);
+          break;
+        default:
+          skip(reader);
+      }
+    }
+  }
+
+  private void readSnapshot(XMLStreamReader reader) throws XMLStreamException {
+    while (nextElement(reader)) {
+      switch (reader.getLocalName()) {
+        case "timestamp":
+          timestamp = text(reader);
+          break;
+        case "buildNumber":
+          buildNumber = text(reader);
+          break;
+        default:
+          skip(reader);
+      }
+    }
+  }
+
+  /*
+   * Only files without classifier are kept, since they are the only ones got by coordinates.
+   */
+  private void readSnapshotVersions(XMLStreamReader reader) throws XMLStreamException {
+    while (nextElement(reader)) {
+      String extension = null;
+      String classifier = "";
+      String value = null;
+      while (nextElement(reader)) {
+        switch (reader.getLocalName()) {
+          case "extension":
+            extension = text(reader);
+            break;
+          case "classifier":
+            classifier = text(reader);
+            break;
+          case "value":
+            value = text(reader);
+            break;
+          default:
+            skip(reader);
+        }
+      }
+      if (classifier.isEmpty()) {
+        snapshotVersions.put(extension, value);
+      }
+    }
+  }
+
+  private static ArtifactVersion[] readVersions(XMLStreamReader reader)
+      throws XMLStreamException {
+    List<ArtifactVersion> versions = new ArrayList<>();
+    while (nextElement(reader)) {
+      versions.add(new ArtifactVersion(text(reader)));
+    }
+    ArtifactVersion[] sorted = versions.toArray(new ArtifactVersion[versions.size()]);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+}
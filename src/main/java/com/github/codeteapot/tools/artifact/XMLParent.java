@@ -1,19 +1,59 @@
 package com.github.codeteapot.tools.artifact;
 
-import javax.xml.bind.annotation.XmlElement;
+import static com.github.codeteapot.tools.artifact.XMLElements.nextElement;
+import static com.github.codeteapot.tools.artifact.XMLElements.pomElementName;
+import static com.github.codeteapot.tools.artifact.XMLElements.skip;
+import static com.github.codeteapot.tools.artifact.XMLElements.text;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 class XMLParent {
 
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "version")
+  static final XMLParent NONE = new XMLParent();
+
+  private String groupId;
+  private String artifactId;
   private String version;
 
   private XMLParent() {
+    groupId = null;
+    artifactId = null;
     version = null;
   }
 
+  String getGroupId() {
+    return groupId;
+  }
+
   String getVersion() {
     return version;
   }
+
+  ArtifactCoordinates toCoordinates() {
+    if (groupId == null || artifactId == null || version == null) {
+      return null;
+    }
+    return new ArtifactCoordinates(groupId, artifactId, version);
+  }
+
+  static XMLParent read(XMLStreamReader reader) throws XMLStreamException {
+    XMLParent parent = new XMLParent();
+    while (nextElement(reader)) {
+      switch (pomElementName(reader)) {
+        case "groupId":
+          parent.groupId = text(reader);
+          break;
+        case "artifactId":
+          parent.artifactId = text(reader);
+          break;
+        case "version":
+          parent.version = text(reader);
+          break;
+        default:
+          skip(reader);
+      }
+    }
+    return parent;
+  }
 }
@@ -1,59 +1,153 @@
 package com.github.codeteapot.tools.artifact;
 
-import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toSet;
+import static com.github.codeteapot.tools.artifact.XMLElements.nextElement;
+import static com.github.codeteapot.tools.artifact.XMLElements.pomElementName;
+import static com.github.codeteapot.tools.artifact.XMLElements.reader;
+import static com.github.codeteapot.tools.artifact.XMLElements.skip;
+import static com.github.codeteapot.tools.artifact.XMLElements.text;
+import static java.util.Collections.emptyList;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Map;
 import java.util.function.Function;
-import java.util.stream.Stream;
-import javax.xml.bind.annotation.XmlElement;
-import javax.xml.bind.annotation.XmlElementWrapper;
-import javax.xml.bind.annotation.XmlRootElement;
-
-@XmlRootElement(
-    namespace = "http://maven.apache.org/POM/4.0.0",
-    name = "project")
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
 class XMLProject {
 
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "parent")
   private XMLParent parent;
-
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "packaging")
+  private String groupId;
+  private String artifactId;
+  private String version;
   private String packaging;
-
-  @XmlElementWrapper(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "dependencies")
-  @XmlElement(
-      namespace = "http://maven.apache.org/POM/4.0.0",
-      name = "dependency")
+  private final Map<String, String> properties;
+  private List<XMLDependency> managedDependencies;
   private List<XMLDependency> dependencies;
 
   private XMLProject() {
+    parent = XMLParent.NONE;
+    groupId = null;
+    artifactId = null;
+    version = null;
     packaging = null;
-    dependencies = null;
+    properties = new LinkedHashMap<>();
+    managedDependencies = emptyList();
+    dependencies = emptyList();
+  }
+
+  XMLParent getParent() {
+    return parent;
+  }
+
+  String getGroupId() {
+    return groupId;
+  }
+
+  String getArtifactId() {
+    return artifactId;
+  }
+
+  String getVersion() {
+    return version;
   }
 
   String getExtension(Function<String, String> mapper) {
     return mapper.apply(packaging);
   }
 
-  Set<ArtifactCoordinates> getDependencies() {
-    return ofNullable(dependencies)
-        .map(List::stream)
-        .orElseGet(Stream::empty)
-        .map(this::toRequiredDependency)
-        .filter(Objects::nonNull)
-        .collect(toSet());
+  Map<String, String> getProperties() {
+    return properties;
+  }
+
+  List<XMLDependency> getManagedDependencies() {
+    return managedDependencies;
+  }
+
+  List<XMLDependency> getDependencies() {
+    return dependencies;
+  }
+
+  /*
+   * Only the elements needed to build an artifact are pulled. Everything else, like build,
+   * profiles or reporting, is skipped without being materialized.
+   */
+  static XMLProject read(InputStream input) throws XMLStreamException {
+    XMLStreamReader reader = reader(input);
+    try {
+      reader.nextTag();
+      if (!pomElementName(reader).equals("project")) {
+        throw new XMLStreamException("Unexpected element " + reader.getName());
+      }
+      XMLProject project = new XMLProject();
+      while (nextElement(reader)) {
+        switch (pomElementName(reader)) {
+          case "parent":
+            project.parent = XMLParent.read(reader);
+            break;
+          case "groupId":
+            project.groupId = text(reader);
+            break;
+          case "artifactId":
+            project.artifactId = text(reader);
+            break;
+          case "version":
+            project.version = text(reader);
+            break;
+          case "packaging":
+            project.packaging = text(reader);
+            break;
+          case "properties":
+            readProperties(reader, project.properties);
+            break;
+          case "dependencyManagement":
+            project.managedDependencies = readDependencyManagement(reader);
+            break;
+          case "dependencies":
+            project.dependencies = readDependencies(reader);
+            break;
+          default:
+            skip(reader);
+        }
+      }
+      return project;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static void readProperties(XMLStreamReader reader, Map<String, String> properties)
+      throws XMLStreamException {
+    while (nextElement(reader)) {
+      properties.put(reader.getLocalName(), text(reader));
+    }
+  }
+
+  private static List<XMLDependency> readDependencyManagement(XMLStreamReader reader)
+      throws XMLStreamException {
+    List<XMLDependency> dependencies = emptyList();
+    while (nextElement(reader)) {
+      if (pomElementName(reader).equals("dependencies")) {
+        dependencies = readDependencies(reader);
+      } else {
+        skip(reader);
+      }
+    }
+    return dependencies;
   }
 
-  private ArtifactCoordinates toRequiredDependency(XMLDependency dependency) {
-    return dependency.toRequiredDependency(parent);
+  private static List<XMLDependency> readDependencies(XMLStreamReader reader)
+      throws XMLStreamException {
+    List<XMLDependency> dependencies = new ArrayList<>();
+    while (nextElement(reader)) {
+      if (pomElementName(reader).equals("dependency")) {
+        dependencies.add(XMLDependency.read(reader));
+      } else {
+        skip(reader);
+      }
+    }
+    return dependencies;
   }
 }
@@ -0,0 +1,366 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.github.codeteapot.tools.artifact.test.TestHttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.Thread.State;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("integration")
+public class AdaptiveTransportTest {
+
+  private static final double ANY_REQUESTS_PER_SECOND = 1000.0;
+  private static final int ANY_BURST = 100;
+  private static final int ANY_MAX_CONCURRENCY = 16;
+  private static final int ANY_MAX_RETRIES = 3;
+  private static final Duration SOME_MIN_BACKOFF = Duration.ofMillis(1L);
+  private static final Duration SOME_MAX_BACKOFF = Duration.ofMillis(10L);
+
+  private static final String SOME_PATH = "/some/file.pom";
+  private static final String ANOTHER_PATH = "/another/file.pom";
+  private static final byte[] SOME_CONTENT = "some-content".getBytes(UTF_8);
+  private static final byte[] ANOTHER_CONTENT = "another-content".getBytes(UTF_8);
+
+  private static final int FORBIDDEN = 403;
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final int INTERNAL_SERVER_ERROR = 500;
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  @Test
+  public void retryWhileServerIsUnavailable() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_PATH, SOME_CONTENT)
+        .failing(SOME_PATH, SERVICE_UNAVAILABLE, 2)) {
+      AdaptiveTransport transport = transport(new HttpTransport(), ANY_MAX_CONCURRENCY);
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(server.exchanges()).hasSize(3);
+      assertThat(transport.limit(server.url(SOME_PATH)))
+          .isLessThan(ArtifactSource.DEFAULT_CONCURRENCY);
+    }
+  }
+
+  @Test
+  public void waitForRetryAfter() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withRetryAfter("1")
+        .with(SOME_PATH, SOME_CONTENT)
+        .with(ANOTHER_PATH, ANOTHER_CONTENT)
+        .failing(SOME_PATH, TOO_MANY_REQUESTS, 1)) {
+      AdaptiveTransport transport = transport(new HttpTransport(), ANY_MAX_CONCURRENCY);
+      long start = System.nanoTime();
+
+      byte[] someContent = read(transport, server.url(SOME_PATH));
+      byte[] anotherContent = read(transport, server.url(ANOTHER_PATH));
+
+      assertThat(someContent).isEqualTo(SOME_CONTENT);
+      assertThat(anotherContent).isEqualTo(ANOTHER_CONTENT);
+      assertThat(Duration.ofNanos(System.nanoTime() - start))
+          .isGreaterThanOrEqualTo(Duration.ofSeconds(1L));
+    }
+  }
+
+  @Test
+  public void failWhenRetriesAreExhausted() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .failing(SOME_PATH, INTERNAL_SERVER_ERROR)) {
+      AdaptiveTransport transport = transport(new HttpTransport(), ANY_MAX_CONCURRENCY);
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e).isInstanceOf(HttpStatusException.class);
+      assertThat(((HttpStatusException) e).getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+      assertThat(server.exchanges()).hasSize(ANY_MAX_RETRIES + 1);
+    }
+  }
+
+  @Test
+  public void failWithoutRetryingWhenStatusIsNotRetryable() throws Exception {
+    try (TestHttpServer server = new TestHttpServer().failing(SOME_PATH, FORBIDDEN)) {
+      AdaptiveTransport transport = transport(new HttpTransport(), ANY_MAX_CONCURRENCY);
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e).isInstanceOf(HttpStatusException.class);
+      assertThat(server.exchanges()).hasSize(1);
+      assertThat(transport.limit(server.url(SOME_PATH)))
+          .isEqualTo(ArtifactSource.DEFAULT_CONCURRENCY);
+    }
+  }
+
+  @Test
+  public void failWithoutRetryingWhenNotFound() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()) {
+      AdaptiveTransport transport = transport(new HttpTransport(), 1);
+
+      Throwable someFailure = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+      Throwable anotherFailure = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(someFailure).isInstanceOf(FileNotFoundException.class);
+      assertThat(anotherFailure).isInstanceOf(FileNotFoundException.class);
+      assertThat(server.exchanges()).hasSize(2);
+    }
+  }
+
+  @Test
+  public void growLimitWhileHealthy() throws Exception {
+    URL someLocation = new URL("http://some.host" + SOME_PATH);
+    AdaptiveTransport transport = new AdaptiveTransport(location -> {
+      sleep(5L);
+      return new ByteArrayInputStream(SOME_CONTENT);
+    });
+
+    for (int i = 0; i < 20; ++i) {
+      read(transport, someLocation);
+    }
+
+    assertThat(transport.limit(someLocation)).isGreaterThan(ArtifactSource.DEFAULT_CONCURRENCY);
+  }
+
+  @Test
+  public void shrinkLimitOnLatencySpike() throws Exception {
+    URL someLocation = new URL("http://some.host" + SOME_PATH);
+    AtomicInteger requests = new AtomicInteger();
+    AdaptiveTransport transport = transport(location -> {
+      sleep(requests.getAndIncrement() == 0 ? 10L : 100L);
+      return new ByteArrayInputStream(SOME_CONTENT);
+    }, ANY_MAX_CONCURRENCY);
+
+    read(transport, someLocation);
+    read(transport, someLocation);
+
+    assertThat(transport.limit(someLocation)).isEqualTo(2);
+  }
+
+  @Test
+  public void shrinkLimitOncePerResponseTime() throws Exception {
+    URL someLocation = new URL("http://some.host" + SOME_PATH);
+    AtomicInteger requests = new AtomicInteger();
+    AdaptiveTransport transport = new AdaptiveTransport(location -> {
+      if (requests.getAndIncrement() == 0) {
+        sleep(50L);
+        return new ByteArrayInputStream(SOME_CONTENT);
+      }
+      throw new HttpStatusException(SERVICE_UNAVAILABLE, location.toString(), null);
+    }, ANY_REQUESTS_PER_SECOND, ANY_BURST, 4, 0, SOME_MIN_BACKOFF, SOME_MAX_BACKOFF);
+    read(transport, someLocation);
+
+    catchThrowable(() -> transport.open(someLocation));
+    catchThrowable(() -> transport.open(someLocation));
+
+    assertThat(transport.limit(someLocation)).isEqualTo(2);
+  }
+
+  @Test
+  public void shrinkLimitOnceBeforeAnyResponseTime() throws Exception {
+    URL someLocation = new URL("http://some.host" + SOME_PATH);
+    AdaptiveTransport transport = transport(location -> {
+      throw new HttpStatusException(SERVICE_UNAVAILABLE, location.toString(), null);
+    }, ANY_MAX_CONCURRENCY);
+
+    catchThrowable(() -> transport.open(someLocation));
+
+    assertThat(transport.limit(someLocation)).isEqualTo(2);
+  }
+
+  @Test
+  public void waitWhileLimitIsReached() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_PATH, SOME_CONTENT)
+        .with(ANOTHER_PATH, ANOTHER_CONTENT)) {
+      AdaptiveTransport transport = transport(new HttpTransport(), 1);
+      InputStream someInput = transport.open(server.url(SOME_PATH));
+      CompletableFuture<byte[]> anotherRequest = new CompletableFuture<>();
+      Thread anotherRequestThread = new Thread(() -> {
+        try {
+          anotherRequest.complete(read(transport, server.url(ANOTHER_PATH)));
+        } catch (IOException e) {
+          anotherRequest.completeExceptionally(e);
+        }
+      });
+      anotherRequestThread.start();
+      while (anotherRequestThread.getState() != State.TIMED_WAITING) {
+        Thread.yield();
+      }
+
+      someInput.close();
+      someInput.close();
+
+      assertThat(anotherRequest.get()).isEqualTo(ANOTHER_CONTENT);
+    }
+  }
+
+  @Test
+  public void paceRequests() throws Exception {
+    URL someLocation = new URL("http://some.host" + SOME_PATH);
+    AdaptiveTransport transport = new AdaptiveTransport(
+        location -> new ByteArrayInputStream(SOME_CONTENT),
+        10.0,
+        1,
+        ANY_MAX_CONCURRENCY,
+        ANY_MAX_RETRIES,
+        SOME_MIN_BACKOFF,
+        SOME_MAX_BACKOFF);
+    long start = System.nanoTime();
+
+    read(transport, someLocation);
+    read(transport, someLocation);
+
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(50L));
+  }
+
+  @Test
+  public void failWhenInterruptedWhileWaiting() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_PATH, SOME_CONTENT)
+        .with(ANOTHER_PATH, ANOTHER_CONTENT)) {
+      AdaptiveTransport transport = transport(new HttpTransport(), 1);
+      InputStream someInput = transport.open(server.url(SOME_PATH));
+      Thread.currentThread().interrupt();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(ANOTHER_PATH)));
+
+      assertThat(e).isInstanceOf(InterruptedIOException.class);
+      assertThat(Thread.interrupted()).isTrue();
+      someInput.close();
+    }
+  }
+
+  @Test
+  public void failWhenInterruptedWhileBackingOff() throws Exception {
+    URL someLocation = new URL("http://some.host" + SOME_PATH);
+    AdaptiveTransport transport = new AdaptiveTransport(location -> {
+      throw new HttpStatusException(SERVICE_UNAVAILABLE, location.toString(), null);
+    });
+    Thread.currentThread().interrupt();
+
+    Throwable e = catchThrowable(() -> transport.open(someLocation));
+
+    assertThat(e).isInstanceOf(InterruptedIOException.class);
+    assertThat(Thread.interrupted()).isTrue();
+  }
+
+  @Test
+  public void failWhenRequestsPerSecondIsNotPositive() {
+    Throwable e = catchThrowable(() -> new AdaptiveTransport(
+        ArtifactTransport.URL_CONNECTION,
+        0.0,
+        ANY_BURST,
+        ANY_MAX_CONCURRENCY,
+        ANY_MAX_RETRIES,
+        SOME_MIN_BACKOFF,
+        SOME_MAX_BACKOFF));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenBurstIsNotPositive() {
+    Throwable e = catchThrowable(() -> new AdaptiveTransport(
+        ArtifactTransport.URL_CONNECTION,
+        ANY_REQUESTS_PER_SECOND,
+        0,
+        ANY_MAX_CONCURRENCY,
+        ANY_MAX_RETRIES,
+        SOME_MIN_BACKOFF,
+        SOME_MAX_BACKOFF));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenMaxConcurrencyIsNotPositive() {
+    Throwable e = catchThrowable(() -> transport(ArtifactTransport.URL_CONNECTION, 0));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenMaxRetriesIsNegative() {
+    Throwable e = catchThrowable(() -> new AdaptiveTransport(
+        ArtifactTransport.URL_CONNECTION,
+        ANY_REQUESTS_PER_SECOND,
+        ANY_BURST,
+        ANY_MAX_CONCURRENCY,
+        -1,
+        SOME_MIN_BACKOFF,
+        SOME_MAX_BACKOFF));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenMinBackoffIsNegative() {
+    Throwable e = catchThrowable(() -> new AdaptiveTransport(
+        ArtifactTransport.URL_CONNECTION,
+        ANY_REQUESTS_PER_SECOND,
+        ANY_BURST,
+        ANY_MAX_CONCURRENCY,
+        ANY_MAX_RETRIES,
+        Duration.ofMillis(-1L),
+        SOME_MAX_BACKOFF));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenMaxBackoffIsLowerThanMin() {
+    Throwable e = catchThrowable(() -> new AdaptiveTransport(
+        ArtifactTransport.URL_CONNECTION,
+        ANY_REQUESTS_PER_SECOND,
+        ANY_BURST,
+        ANY_MAX_CONCURRENCY,
+        ANY_MAX_RETRIES,
+        SOME_MAX_BACKOFF,
+        SOME_MIN_BACKOFF));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static AdaptiveTransport transport(ArtifactTransport transport, int maxConcurrency) {
+    return new AdaptiveTransport(
+        transport,
+        ANY_REQUESTS_PER_SECOND,
+        ANY_BURST,
+        maxConcurrency,
+        ANY_MAX_RETRIES,
+        SOME_MIN_BACKOFF,
+        SOME_MAX_BACKOFF);
+  }
+
+  private static byte[] read(ArtifactTransport transport, URL location) throws IOException {
+    try (InputStream input = transport.open(location)) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        output.write(buffer, 0, count);
+      }
+      return output.toByteArray();
+    }
+  }
+
+  private static void sleep(long millis) throws InterruptedIOException {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException();
+    }
+  }
+}
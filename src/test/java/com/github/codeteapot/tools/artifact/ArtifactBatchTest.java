@@ -0,0 +1,67 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactBatchTest {
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "another.group",
+      "another-artifact",
+      "another-version");
+  private static final ArtifactCoordinates FAILING_COORDINATES = new ArtifactCoordinates(
+      "failing.group",
+      "failing-artifact",
+      "failing-version");
+
+  @Test
+  public void getAllDespiteFailures() throws Exception {
+    IOException someFailure = new IOException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES)
+        .failing(FAILING_COORDINATES, someFailure);
+
+    ArtifactBatch batch = source.getAll(asList(
+        SOME_COORDINATES,
+        FAILING_COORDINATES,
+        ANOTHER_COORDINATES));
+
+    assertThat(batch.getArtifacts())
+        .containsEntry(SOME_COORDINATES, source.get(SOME_COORDINATES))
+        .containsEntry(ANOTHER_COORDINATES, source.get(ANOTHER_COORDINATES))
+        .hasSize(2);
+    assertThat(batch.getFailures())
+        .containsEntry(FAILING_COORDINATES, someFailure)
+        .hasSize(1);
+  }
+
+  @Test
+  public void getAllSequentially() {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES);
+
+    ArtifactBatch batch = source.getAll(asList(SOME_COORDINATES, ANOTHER_COORDINATES), 1);
+
+    assertThat(batch.getArtifacts()).containsOnlyKeys(SOME_COORDINATES, ANOTHER_COORDINATES);
+    assertThat(batch.getFailures()).isEmpty();
+  }
+
+  @Test
+  public void failWhenConcurrencyIsNotPositive() {
+    TestArtifactSource source = new TestArtifactSource();
+
+    Throwable e = catchThrowable(() -> source.getAll(asList(SOME_COORDINATES), 0));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,18 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import org.junit.jupiter.api.Test;
+
+public class ArtifactChecksumTest {
+
+  private static final String ANY_EXPECTED = "any-expected";
+
+  @Test
+  public void failWhenAlgorithmIsNotSupported() {
+    Throwable e = catchThrowable(() -> new ArtifactChecksum("unknown-algorithm", ANY_EXPECTED));
+
+    assertThat(e).isInstanceOf(ArtifactRepositoryException.class);
+  }
+}
@@ -0,0 +1,344 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.TestUtil.validURL;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactClosureTest {
+
+  private static final int MAGIC = 0x4d414743;
+  private static final int VERSION = 1;
+  private static final int UNKNOWN_VERSION = 2;
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "another.group",
+      "another-artifact",
+      "1.0-SNAPSHOT");
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-dependency",
+      "some-version");
+
+  private static final String SOME_REPOSITORY = "http://some.host/repository/";
+  private static final String SOME_LOCATION =
+      SOME_REPOSITORY + "some/group/some-artifact/some-version/some-artifact-some-version.jar";
+  private static final String ANOTHER_LOCATION = SOME_REPOSITORY
+      + "another/group/another-artifact/1.0-SNAPSHOT/another-artifact-1.0-20200101.000000-1.pom";
+  private static final String SOME_DEPENDENCY_LOCATION = SOME_REPOSITORY
+      + "some/group/some-dependency/some-version/some-dependency-some-version.war";
+  private static final String SOME_USER_LOCATION = "http://some-user@some.host/repository/"
+      + "some/group/some-artifact/some-version/some-artifact-some-version.jar";
+  private static final String SOME_FRAGMENT_LOCATION = "http://some.host/repository/#some/"
+      + "some/group/some-dependency/some-version/some-dependency-some-version.jar";
+  private static final String SOME_QUERY_LOCATION = "http://some.host/repository/?some=/"
+      + "another/group/another-artifact/1.0-SNAPSHOT/another-artifact-1.0-SNAPSHOT.pom";
+  private static final String SOME_PREFIX_LOCATION = "http://some.host/repository-"
+      + "some/group/some-artifact/some-version/some-artifact-some-version.pom";
+
+  private static final String SOME_LONG_CLASSIFIER = repeat('c', 20000);
+  private static final String SOME_TOO_LONG_CLASSIFIER = repeat('c', 0x10000);
+
+  @Test
+  public void readWrittenClosure() throws Exception {
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    artifacts.put(SOME_COORDINATES, new Artifact(validURL(SOME_LOCATION), asList(
+        new ArtifactDependency(SOME_DEPENDENCY_COORDINATES),
+        new ArtifactDependency(
+            ANOTHER_COORDINATES,
+            "test-jar",
+            SOME_LONG_CLASSIFIER,
+            DependencyScope.RUNTIME,
+            true,
+            singleton("some.group:*")))));
+    artifacts.put(ANOTHER_COORDINATES, new Artifact(validURL(ANOTHER_LOCATION), asList(
+        new ArtifactDependency(
+            SOME_DEPENDENCY_COORDINATES,
+            "jar",
+            null,
+            DependencyScope.TEST,
+            false,
+            emptySet()))));
+    artifacts.put(SOME_DEPENDENCY_COORDINATES, new Artifact(
+        validURL(SOME_DEPENDENCY_LOCATION),
+        emptyList()));
+
+    Map<ArtifactCoordinates, Artifact> read;
+    try (ArtifactClosureReader reader = read(write(artifacts))) {
+      read = reader.readAll();
+    }
+
+    assertThat(read.keySet()).containsExactly(
+        SOME_COORDINATES,
+        ANOTHER_COORDINATES,
+        SOME_DEPENDENCY_COORDINATES);
+    assertThat(read.values())
+        .extracting(artifact -> artifact.getLocation().toString())
+        .containsExactly(SOME_LOCATION, ANOTHER_LOCATION, SOME_DEPENDENCY_LOCATION);
+    assertThat(read.get(SOME_COORDINATES).getDeclaredDependencies())
+        .extracting(
+            ArtifactDependency::getCoordinates,
+            ArtifactDependency::getType,
+            ArtifactDependency::getClassifier,
+            ArtifactDependency::getScope,
+            ArtifactDependency::isOptional,
+            ArtifactDependency::getExclusions)
+        .containsExactly(
+            tuple(
+                SOME_DEPENDENCY_COORDINATES,
+                "jar",
+                null,
+                DependencyScope.COMPILE,
+                false,
+                emptySet()),
+            tuple(
+                ANOTHER_COORDINATES,
+                "test-jar",
+                SOME_LONG_CLASSIFIER,
+                DependencyScope.RUNTIME,
+                true,
+                singleton("some.group:*")));
+    assertThat(read.get(ANOTHER_COORDINATES).getDeclaredDependencies())
+        .singleElement()
+        .extracting(ArtifactDependency::getScope)
+        .isEqualTo(DependencyScope.TEST);
+    assertThat(read.get(ANOTHER_COORDINATES).getDependencies()).isEmpty();
+  }
+
+  @Test
+  public void readOneByOne() throws Exception {
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    artifacts.put(SOME_COORDINATES, new Artifact(
+        validURL(SOME_LOCATION),
+        singleton(SOME_DEPENDENCY_COORDINATES)));
+    ArtifactClosureReader reader = read(write(artifacts));
+
+    Map.Entry<ArtifactCoordinates, Artifact> first = reader.read();
+    Map.Entry<ArtifactCoordinates, Artifact> end = reader.read();
+    Map.Entry<ArtifactCoordinates, Artifact> afterEnd = reader.read();
+
+    assertThat(first.getKey()).isEqualTo(SOME_COORDINATES);
+    assertThat(first.getValue().getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(end).isNull();
+    assertThat(afterEnd).isNull();
+  }
+
+  @Test
+  public void readLocationsWithUnusualBases() throws Exception {
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    artifacts.put(SOME_COORDINATES, new Artifact(
+        validURL(SOME_USER_LOCATION),
+        emptySet()));
+    artifacts.put(SOME_DEPENDENCY_COORDINATES, new Artifact(
+        validURL(SOME_FRAGMENT_LOCATION),
+        emptySet()));
+    artifacts.put(ANOTHER_COORDINATES, new Artifact(
+        validURL(SOME_QUERY_LOCATION),
+        emptySet()));
+    Map<ArtifactCoordinates, Artifact> prefixed = new LinkedHashMap<>();
+    prefixed.put(SOME_COORDINATES, new Artifact(
+        validURL(SOME_PREFIX_LOCATION),
+        emptySet()));
+
+    Map<ArtifactCoordinates, Artifact> read = read(write(artifacts)).readAll();
+    Map<ArtifactCoordinates, Artifact> readPrefixed = read(write(prefixed)).readAll();
+
+    assertThat(read.values())
+        .extracting(artifact -> artifact.getLocation().toString())
+        .containsExactly(SOME_USER_LOCATION, SOME_FRAGMENT_LOCATION, SOME_QUERY_LOCATION);
+    assertThat(readPrefixed.values())
+        .extracting(artifact -> artifact.getLocation().toString())
+        .containsExactly(SOME_PREFIX_LOCATION);
+  }
+
+  @Test
+  public void writeRepeatedValuesOnce() throws Exception {
+    ArtifactCoordinates[] coordinates = new ArtifactCoordinates[1000];
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    int locationsLength = 0;
+    for (int i = 0; i < coordinates.length; ++i) {
+      coordinates[i] = new ArtifactCoordinates("some.group", "some-artifact-" + i, "1.0");
+      String location = SOME_REPOSITORY + coordinates[i].getPath("jar");
+      artifacts.put(coordinates[i], new Artifact(
+          validURL(location),
+          i == 0 ? emptySet() : singleton(coordinates[i - 1])));
+      locationsLength += location.length();
+    }
+
+    byte[] closure = write(artifacts);
+
+    assertThat(closure.length).isLessThan(locationsLength / 2);
+    assertThat(read(closure).readAll()).containsOnlyKeys(coordinates);
+  }
+
+  @Test
+  public void failWhenStringIsTooLong() throws Exception {
+    ArtifactClosureWriter writer = new ArtifactClosureWriter(new ByteArrayOutputStream());
+
+    Throwable e = catchThrowable(() -> writer.write(SOME_COORDINATES, new Artifact(
+        validURL(SOME_LOCATION),
+        asList(new ArtifactDependency(
+            SOME_DEPENDENCY_COORDINATES,
+            "jar",
+            SOME_TOO_LONG_CLASSIFIER,
+            DependencyScope.COMPILE,
+            false,
+            emptySet())))));
+
+    assertThat(e).isInstanceOf(UTFDataFormatException.class);
+  }
+
+  @Test
+  public void failAgainWhenStringIsTooLong() throws Exception {
+    ArtifactClosureWriter writer = new ArtifactClosureWriter(new ByteArrayOutputStream());
+    Artifact artifact = new Artifact(
+        validURL(SOME_LOCATION),
+        asList(new ArtifactDependency(
+            SOME_DEPENDENCY_COORDINATES,
+            "jar",
+            SOME_TOO_LONG_CLASSIFIER,
+            DependencyScope.COMPILE,
+            false,
+            emptySet())));
+    catchThrowable(() -> writer.write(SOME_COORDINATES, artifact));
+
+    Throwable e = catchThrowable(() -> writer.write(ANOTHER_COORDINATES, artifact));
+
+    assertThat(e).isInstanceOf(UTFDataFormatException.class);
+  }
+
+  @Test
+  public void failWhenNotAClosure() {
+    Throwable e = catchThrowable(() -> read(new byte[] {1, 2, 3, 4, 5}));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("Not an artifact closure");
+  }
+
+  @Test
+  public void failWhenVersionIsUnknown() throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new DataOutputStream(output).writeInt(MAGIC);
+    output.write(UNKNOWN_VERSION);
+
+    Throwable e = catchThrowable(() -> read(output.toByteArray()));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("Not an artifact closure");
+  }
+
+  @Test
+  public void failWhenTruncated() throws Exception {
+    ArtifactClosureReader reader = read(closure(1, 0, 0));
+
+    Throwable e = catchThrowable(() -> reader.read());
+
+    assertThat(e).isInstanceOf(EOFException.class);
+  }
+
+  @Test
+  public void failWhenMarkerIsUnknown() throws Exception {
+    assertCorrupted(closure(2));
+  }
+
+  @Test
+  public void failWhenCoordinatesReferenceIsOutOfRange() throws Exception {
+    assertCorrupted(closure(1, 1));
+  }
+
+  @Test
+  public void failWhenStringReferenceIsOutOfRange() throws Exception {
+    assertCorrupted(closure(1, 0, 1));
+  }
+
+  @Test
+  public void failWhenStringLengthIsTooLong() throws Exception {
+    assertCorrupted(closure(1, 0, 0, 0x80, 0x80, 0x04));
+  }
+
+  @Test
+  public void failWhenLocationKindIsUnknown() throws Exception {
+    assertCorrupted(closure(1, 0, 0, 1, 'g', 0, 1, 'a', 0, 1, 'v', 2));
+  }
+
+  @Test
+  public void failWhenScopeIsUnknown() throws Exception {
+    assertCorrupted(closure(
+        1, 0, 0, 1, 'g', 0, 1, 'a', 0, 1, 'v',
+        1, 0, 6, 'f', 'i', 'l', 'e', ':', '/', 1,
+        1, 1, 7));
+  }
+
+  @Test
+  public void failWhenIntegerIsTooLong() throws Exception {
+    assertCorrupted(closure(0x80, 0x80, 0x80, 0x80, 0x80, 0x00));
+  }
+
+  @Test
+  public void failWhenIntegerIsNegative() throws Exception {
+    assertCorrupted(closure(0x80, 0x80, 0x80, 0x80, 0x0f));
+  }
+
+  private static void assertCorrupted(byte[] closure) throws IOException {
+    ArtifactClosureReader reader = read(closure);
+
+    Throwable e = catchThrowable(() -> reader.readAll());
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessage("Corrupted artifact closure");
+  }
+
+  private static byte[] write(Map<ArtifactCoordinates, Artifact> artifacts) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (ArtifactClosureWriter writer = new ArtifactClosureWriter(output)) {
+      writer.writeAll(artifacts);
+    }
+    return output.toByteArray();
+  }
+
+  private static ArtifactClosureReader read(byte[] closure) throws IOException {
+    return new ArtifactClosureReader(new ByteArrayInputStream(closure));
+  }
+
+  /*
+   * Header followed by the given bytes.
+   */
+  private static byte[] closure(int... bytes) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    new DataOutputStream(output).writeInt(MAGIC);
+    output.write(VERSION);
+    for (int b : bytes) {
+      output.write(b);
+    }
+    return output.toByteArray();
+  }
+
+  private static String repeat(char c, int count) {
+    StringBuilder builder = new StringBuilder(count);
+    for (int i = 0; i < count; ++i) {
+      builder.append(c);
+    }
+    return builder.toString();
+  }
+}
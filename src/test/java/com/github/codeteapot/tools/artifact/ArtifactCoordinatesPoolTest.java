@@ -0,0 +1,85 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class ArtifactCoordinatesPoolTest {
+
+  private static final int MAX_COLLECTION_COUNT = 100;
+
+  private static final String SOME_GROUP_ID = "some.group";
+  private static final String SOME_ARTIFACT_ID = "some-artifact";
+  private static final String SOME_VERSION = "some-version";
+  private static final String ANOTHER_ARTIFACT_ID = "another-artifact";
+
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES = new ArtifactCoordinates(
+      "some.dependency.group",
+      "some-dependency-artifact",
+      "some-dependency-version");
+  private static final ArtifactCoordinates ANOTHER_DEPENDENCY_COORDINATES =
+      new ArtifactCoordinates(
+          "some.dependency.group",
+          "another-dependency-artifact",
+          "some-dependency-version");
+
+  @Test
+  public void canonicalOfEqualCoordinates() {
+    ArtifactCoordinatesPool pool = new ArtifactCoordinatesPool();
+    ArtifactCoordinates someCanonical = pool.canonical(coordinates(SOME_ARTIFACT_ID));
+
+    ArtifactCoordinates canonical = pool.canonical(coordinates(SOME_ARTIFACT_ID));
+
+    assertThat(canonical).isSameAs(someCanonical);
+    assertThat(pool.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void canonicalSharesStrings() {
+    ArtifactCoordinatesPool pool = new ArtifactCoordinatesPool();
+    ArtifactCoordinates someCanonical = pool.canonical(coordinates(SOME_ARTIFACT_ID));
+
+    ArtifactCoordinates canonical = pool.canonical(coordinates(ANOTHER_ARTIFACT_ID));
+
+    assertThat(canonical).isNotEqualTo(someCanonical);
+    assertThat(canonical.getGroupId()).isSameAs(someCanonical.getGroupId());
+    assertThat(canonical.getVersion()).isSameAs(someCanonical.getVersion());
+    assertThat(pool.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void canonicalCoordinatesAreReclaimed() {
+    ArtifactCoordinatesPool pool = new ArtifactCoordinatesPool();
+    pool.canonical(coordinates(SOME_ARTIFACT_ID));
+
+    for (int i = 0; i < MAX_COLLECTION_COUNT && pool.getSize() > 0; ++i) {
+      System.gc();
+    }
+
+    assertThat(pool.getSize()).isZero();
+  }
+
+  @Test
+  public void getArtifactWithCanonicalDependencies() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(
+        coordinates(SOME_ARTIFACT_ID),
+        SOME_DEPENDENCY_COORDINATES,
+        ANOTHER_DEPENDENCY_COORDINATES);
+    ArtifactCoordinatesPool pool = new ArtifactCoordinatesPool();
+    ArtifactCoordinates someCanonical = pool.canonical(SOME_DEPENDENCY_COORDINATES);
+
+    Artifact artifact = pool.pooled(someSource).get(coordinates(SOME_ARTIFACT_ID));
+
+    assertThat(artifact.getDependencies())
+        .containsExactlyInAnyOrder(SOME_DEPENDENCY_COORDINATES, ANOTHER_DEPENDENCY_COORDINATES)
+        .anySatisfy(dependency -> assertThat(dependency).isSameAs(someCanonical))
+        .allSatisfy(dependency -> assertThat(dependency).isSameAs(pool.canonical(dependency)));
+  }
+
+  private static ArtifactCoordinates coordinates(String artifactId) {
+    return new ArtifactCoordinates(
+        new String(SOME_GROUP_ID),
+        new String(artifactId),
+        new String(SOME_VERSION));
+  }
+}
@@ -18,6 +18,10 @@ public class ArtifactCoordinatesTest {
   private static final String ANOTHER_ARTIFACT_ID = "another-artifact";
   private static final String ANOTHER_VERSION = "another-version";
 
+  private static final String SOME_EXTENSION = "jar";
+  private static final String SOME_PATH =
+      "some/group/some-artifact/some-version/some-artifact-some-version.jar";
+
   @Test
   public void hasGroupId() {
     ArtifactCoordinates coordinates = new ArtifactCoordinates(
@@ -137,4 +141,51 @@ public class ArtifactCoordinatesTest {
 
     assertThat(equals).isFalse();
   }
+
+  @Test
+  public void sameHashCodeWhenEqual() {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(
+        SOME_GROUP_ID,
+        SOME_ARTIFACT_ID,
+        SOME_VERSION);
+    ArtifactCoordinates anotherCoordinates = new ArtifactCoordinates(
+        SOME_GROUP_ID,
+        SOME_ARTIFACT_ID,
+        SOME_VERSION);
+
+    int hashCode = coordinates.hashCode();
+
+    assertThat(hashCode)
+        .isEqualTo(anotherCoordinates.hashCode())
+        .isEqualTo(coordinates.hashCode());
+  }
+
+  @Test
+  public void differentHashCodeByGroupId() {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(
+        SOME_GROUP_ID,
+        SOME_ARTIFACT_ID,
+        SOME_VERSION);
+    ArtifactCoordinates anotherCoordinates = new ArtifactCoordinates(
+        ANOTHER_GROUP_ID,
+        SOME_ARTIFACT_ID,
+        SOME_VERSION);
+
+    int hashCode = coordinates.hashCode();
+
+    assertThat(hashCode).isNotEqualTo(anotherCoordinates.hashCode());
+  }
+
+  @Test
+  public void hasPath() {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(
+        SOME_GROUP_ID,
+        SOME_ARTIFACT_ID,
+        SOME_VERSION);
+
+    String path = coordinates.getPath(SOME_EXTENSION);
+
+    assertThat(path).isEqualTo(SOME_PATH);
+    assertThat(coordinates.getPath(SOME_EXTENSION)).isEqualTo(SOME_PATH);
+  }
 }
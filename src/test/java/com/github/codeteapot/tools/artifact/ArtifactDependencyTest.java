@@ -0,0 +1,68 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactDependencyTest {
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "another.group",
+      "another-artifact",
+      "another-version");
+
+  @Test
+  public void excludedByExactMatch() {
+    Set<String> exclusions = singleton("some.group:some-artifact");
+
+    assertThat(ArtifactDependency.isExcluded(exclusions, SOME_COORDINATES)).isTrue();
+    assertThat(ArtifactDependency.isExcluded(exclusions, ANOTHER_COORDINATES)).isFalse();
+  }
+
+  @Test
+  public void excludedByAnyArtifact() {
+    Set<String> exclusions = singleton("some.group:*");
+
+    assertThat(ArtifactDependency.isExcluded(exclusions, SOME_COORDINATES)).isTrue();
+  }
+
+  @Test
+  public void excludedByAnyGroup() {
+    Set<String> exclusions = singleton("*:some-artifact");
+
+    assertThat(ArtifactDependency.isExcluded(exclusions, SOME_COORDINATES)).isTrue();
+  }
+
+  @Test
+  public void excludedByAnything() {
+    Set<String> exclusions = singleton("*:*");
+
+    assertThat(ArtifactDependency.isExcluded(exclusions, SOME_COORDINATES)).isTrue();
+  }
+
+  @Test
+  public void keepDetailsWithOtherCoordinates() {
+    ArtifactDependency dependency = new ArtifactDependency(
+        SOME_COORDINATES,
+        "test-jar",
+        "tests",
+        DependencyScope.TEST,
+        true,
+        singleton("*:*"));
+
+    ArtifactDependency moved = dependency.withCoordinates(ANOTHER_COORDINATES);
+
+    assertThat(moved.getCoordinates()).isEqualTo(ANOTHER_COORDINATES);
+    assertThat(moved.getType()).isEqualTo("test-jar");
+    assertThat(moved.getClassifier()).isEqualTo("tests");
+    assertThat(moved.getScope()).isEqualTo(DependencyScope.TEST);
+    assertThat(moved.isOptional()).isTrue();
+    assertThat(moved.getExclusions()).containsExactly("*:*");
+  }
+}
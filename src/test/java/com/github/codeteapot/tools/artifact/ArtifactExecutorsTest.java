@@ -0,0 +1,32 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactExecutorsTest {
+
+  @Test
+  public void defaultExecutorFromFactory() {
+    Executor executor = ArtifactExecutors.defaultExecutor(
+        Executors.class,
+        "newSingleThreadExecutor");
+
+    assertThat(executor).isInstanceOf(ExecutorService.class);
+    ((ExecutorService) executor).shutdown();
+  }
+
+  @Test
+  public void defaultExecutorWithDaemonThreadsWhenFactoryIsMissing() throws Exception {
+    Executor executor = ArtifactExecutors.defaultExecutor(Executors.class, "missingFactory");
+    CompletableFuture<Boolean> daemon = new CompletableFuture<>();
+
+    executor.execute(() -> daemon.complete(Thread.currentThread().isDaemon()));
+
+    assertThat(daemon.get()).isTrue();
+  }
+}
@@ -0,0 +1,332 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.write;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class ArtifactIndexTest {
+
+  private static final String SOME_INDEX_PATH = "index/artifacts.idx";
+
+  private static final ArtifactCoordinates SOME_ARTIFACT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final String SOME_ARTIFACT_POM_PATH =
+      "some/group/some-artifact/some-version/some-artifact-some-version.pom";
+  private static final String SOME_ARTIFACT_BUNDLE_PATH =
+      "some/group/some-artifact/some-version/some-artifact-some-version.war";
+
+  private static final ArtifactCoordinates ANOTHER_ARTIFACT_COORDINATES =
+      new ArtifactCoordinates(
+          "some.group",
+          "another-artifact",
+          "some-version");
+  private static final String ANOTHER_ARTIFACT_POM_PATH =
+      "some/group/another-artifact/some-version/another-artifact-some-version.pom";
+
+  private static final ArtifactCoordinates SOME_SNAPSHOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-snapshot",
+      "some-version-SNAPSHOT");
+  private static final String SOME_SNAPSHOT_POM_PATH =
+      "some/group/some-snapshot/some-version-SNAPSHOT/some-snapshot-some-version-SNAPSHOT.pom";
+
+  private static final ArtifactCoordinates SOME_RANGE_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "[some-version]");
+  private static final String SOME_METADATA_PATH = "some/group/some-artifact/maven-metadata.xml";
+
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES = new ArtifactCoordinates(
+      "some.dependency.group",
+      "some-dependency-artifact",
+      "some-dependency-version");
+
+  private static final String SOME_SHA1 = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+  private static final String ANOTHER_SHA1 = "2fd4e1c67a2d28fced849ee1bb76e7391b93eb12";
+  private static final String SOME_SHA256 =
+      "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+  private static final int INDEX_MAGIC = 0x4d414749;
+  private static final int INDEX_VERSION = 2;
+  private static final int UNKNOWN_INDEX_VERSION = 1;
+  private static final int UNKNOWN_INDEX_MAGIC = 0;
+
+  @Test
+  public void getFromSavedIndex(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    ArtifactRepository someRepository = new ArtifactRepository(someUpstreamDir.toUri().toURL());
+    ArtifactIndex someIndex = new ArtifactIndex(someRepository, someIndexFile);
+    someIndex.get(SOME_ARTIFACT_COORDINATES);
+    someIndex.save();
+    delete(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    ArtifactIndex index = new ArtifactIndex(someRepository, someIndexFile);
+
+    Artifact artifact = index.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(Paths.get(artifact.getLocation().getPath()))
+        .isEqualTo(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH));
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(artifact.getDeclaredDependencies()).hasSize(2).last().satisfies(dependency -> {
+      assertThat(dependency.getCoordinates().getArtifactId()).isEqualTo("some-test-artifact");
+      assertThat(dependency.getType()).isEqualTo("test-jar");
+      assertThat(dependency.getClassifier()).isEqualTo("tests");
+      assertThat(dependency.getScope()).isEqualTo(DependencyScope.TEST);
+      assertThat(dependency.isOptional()).isTrue();
+      assertThat(dependency.getExclusions()).containsExactly("some.excluded.group:*");
+    });
+    assertThat(artifact.getDeclaredDependencies().get(0).getClassifier()).isNull();
+    assertThat(index.getSize()).isEqualTo(1);
+    assertThat(someIndexFile.getParent()).isDirectoryNotContaining("glob:**.part");
+  }
+
+  @Test
+  public void getWithoutFetchingChecksum(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    writeChecksum(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH + ".sha1"), SOME_SHA1);
+    List<String> somePaths = new ArrayList<>();
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL(), location -> {
+          somePaths.add(location.getPath());
+          return location.openStream();
+        }),
+        someDir.resolve(SOME_INDEX_PATH));
+
+    index.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(somePaths).containsExactly(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH)
+        .toUri()
+        .getPath());
+  }
+
+  @Test
+  public void dropChangedOnRevalidate(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    writeChecksum(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH + ".sha1"), SOME_SHA1);
+    writeProject(someUpstreamDir.resolve(ANOTHER_ARTIFACT_POM_PATH));
+    writeChecksum(someUpstreamDir.resolve(ANOTHER_ARTIFACT_POM_PATH + ".sha256"), SOME_SHA256);
+    ArtifactRepository someRepository = new ArtifactRepository(someUpstreamDir.toUri().toURL());
+    ArtifactIndex someIndex = new ArtifactIndex(someRepository, someIndexFile);
+    someIndex.get(SOME_ARTIFACT_COORDINATES);
+    someIndex.get(ANOTHER_ARTIFACT_COORDINATES);
+    someIndex.save();
+    writeChecksum(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH + ".sha1"), ANOTHER_SHA1);
+    ArtifactIndex index = new ArtifactIndex(someRepository, someIndexFile);
+
+    int dropped = index.revalidate();
+
+    assertThat(dropped).isEqualTo(1);
+    assertThat(index.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void keepUnchangedOnRevalidate(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    ArtifactRepository someRepository = new ArtifactRepository(someUpstreamDir.toUri().toURL());
+    ArtifactIndex index = new ArtifactIndex(someRepository, someIndexFile);
+    index.get(SOME_ARTIFACT_COORDINATES);
+
+    int dropped = index.revalidate();
+
+    assertThat(dropped).isZero();
+    assertThat(index.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void getSnapshotFromRepository(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeProject(someUpstreamDir.resolve(SOME_SNAPSHOT_POM_PATH));
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someDir.resolve(SOME_INDEX_PATH));
+
+    Artifact artifact = index.get(SOME_SNAPSHOT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(index.getSize()).isZero();
+  }
+
+  @Test
+  public void getRangeFromRepository(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    write(someUpstreamDir.resolve(SOME_METADATA_PATH), Stream.of(
+        "<metadata>",
+        "  <versioning>",
+        "    <versions>",
+        "      <version>some-version</version>",
+        "    </versions>",
+        "  </versioning>",
+        "</metadata>")
+        .collect(toList()));
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someDir.resolve(SOME_INDEX_PATH));
+
+    Artifact artifact = index.get(SOME_RANGE_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(index.getSize()).isZero();
+  }
+
+  @Test
+  public void getWithDynamicDependencyFromRepository(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someProjectFile = someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH);
+    createDirectories(someProjectFile.getParent());
+    write(someProjectFile, Stream.of(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_COORDINATES.getArtifactId() + "</artifactId>",
+        "      <version>LATEST</version>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</project>")
+        .collect(toList()));
+    Path someDependencyMetadataFile =
+        someUpstreamDir.resolve(SOME_DEPENDENCY_COORDINATES.getArtifactMetadataPath());
+    createDirectories(someDependencyMetadataFile.getParent());
+    write(someDependencyMetadataFile, Stream.of(
+        "<metadata>",
+        "  <versioning>",
+        "    <latest>" + SOME_DEPENDENCY_COORDINATES.getVersion() + "</latest>",
+        "  </versioning>",
+        "</metadata>")
+        .collect(toList()));
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someDir.resolve(SOME_INDEX_PATH));
+
+    Artifact artifact = index.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(index.getSize()).isZero();
+  }
+
+  @Test
+  public void ignoreIndexOfAnotherRepository(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    ArtifactIndex someIndex = new ArtifactIndex(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someIndexFile);
+    someIndex.get(SOME_ARTIFACT_COORDINATES);
+    someIndex.save();
+
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someDir.resolve("another").toUri().toURL()),
+        someIndexFile);
+
+    assertThat(index.getSize()).isZero();
+  }
+
+  @Test
+  public void ignoreIndexOfAnotherVersion(@TempDir Path someDir) throws Exception {
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeIndex(someIndexFile, INDEX_MAGIC, UNKNOWN_INDEX_VERSION, 0);
+
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someDir.toUri().toURL()),
+        someIndexFile);
+
+    assertThat(index.getSize()).isZero();
+  }
+
+  @Test
+  public void ignoreFileOfAnotherFormat(@TempDir Path someDir) throws Exception {
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeIndex(someIndexFile, UNKNOWN_INDEX_MAGIC, 0, 0);
+
+    ArtifactIndex index = new ArtifactIndex(
+        new ArtifactRepository(someDir.toUri().toURL()),
+        someIndexFile);
+
+    assertThat(index.getSize()).isZero();
+  }
+
+  @Test
+  public void failWhenIndexIsCorrupted(@TempDir Path someDir) throws Exception {
+    Path someIndexFile = someDir.resolve(SOME_INDEX_PATH);
+    writeIndex(someIndexFile, INDEX_MAGIC, INDEX_VERSION, Integer.MAX_VALUE);
+
+    Throwable e = catchThrowable(() -> new ArtifactIndex(
+        new ArtifactRepository(someDir.toUri().toURL()),
+        someIndexFile));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessage("Corrupted index file " + someIndexFile);
+  }
+
+  private static void writeProject(Path path) throws Exception {
+    createDirectories(path.getParent());
+    write(path, Stream.of(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <packaging>war</packaging>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_COORDINATES.getArtifactId() + "</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_COORDINATES.getVersion() + "</version>",
+        "    </dependency>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "      <artifactId>some-test-artifact</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_COORDINATES.getVersion() + "</version>",
+        "      <type>test-jar</type>",
+        "      <classifier>tests</classifier>",
+        "      <scope>test</scope>",
+        "      <optional>true</optional>",
+        "      <exclusions>",
+        "        <exclusion>",
+        "          <groupId>some.excluded.group</groupId>",
+        "        </exclusion>",
+        "      </exclusions>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</project>")
+        .collect(toList()));
+  }
+
+  private static void writeChecksum(Path path, String checksum) throws Exception {
+    write(path, Stream.of(checksum).collect(toList()));
+  }
+
+  private static void writeIndex(Path path, int magic, int version, int repositoryLength)
+      throws Exception {
+    createDirectories(path.getParent());
+    write(path, ByteBuffer.allocate(3 * Integer.BYTES)
+        .putInt(magic)
+        .putInt(version)
+        .putInt(repositoryLength)
+        .array());
+  }
+}
@@ -0,0 +1,527 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.ArtifactMirrorTest.writeArtifact;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class ArtifactLockfileTest {
+
+  private static final String SOME_LOCKFILE_PATH = "lock/artifacts.lock";
+
+  private static final ArtifactCoordinates SOME_ROOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-root",
+      "some-version");
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES = new ArtifactCoordinates(
+      "some.dependency.group",
+      "some-dependency",
+      "some-dependency-version");
+  private static final ArtifactCoordinates SOME_SNAPSHOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-snapshot",
+      "some-version-SNAPSHOT");
+  private static final ArtifactCoordinates SOME_LATEST_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-root",
+      "LATEST");
+  private static final ArtifactCoordinates SOME_RANGE_COORDINATES = new ArtifactCoordinates(
+      "some.dependency.group",
+      "some-dependency",
+      "[some-dependency-version,)");
+  private static final ArtifactCoordinates SOME_PARENT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-parent",
+      "some-version");
+  private static final ArtifactCoordinates SOME_BOM_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-bom",
+      "some-version");
+
+  private static final String SOME_ROOT_TEXT = "some.group:some-root:some-version";
+  private static final String SOME_DEPENDENCY_TEXT =
+      "some.dependency.group:some-dependency:some-dependency-version";
+
+  private static final String SOME_SHA1 = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+
+  private static final Executor ANY_EXECUTOR = Runnable::run;
+
+  @Test
+  public void lockResolvedClosure(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    writeChecksum(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, "sha1", SOME_SHA1);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(graph.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    assertThat(readAllLines(someLockfile)).containsExactly(
+        "artifact-lockfile 1",
+        "root " + SOME_ROOT_TEXT + " sha256:" + sha256(someUpstreamDir.resolve(
+            SOME_ROOT_COORDINATES.getPath("pom"))),
+        SOME_DEPENDENCY_TEXT + " jar sha1:" + SOME_SHA1,
+        SOME_ROOT_TEXT + " jar - " + SOME_DEPENDENCY_TEXT);
+    assertThat(someLockfile.getParent()).isDirectoryNotContaining("glob:**.part");
+  }
+
+  @Test
+  public void getClosureFromTrustedLockfile(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    new ArtifactLockfile(repository(someUpstreamDir), someLockfile)
+        .resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    delete(someUpstreamDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("pom")));
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(trusted).isTrue();
+    assertThat(graph.getRoot()).isEqualTo(SOME_ROOT_COORDINATES);
+    assertThat(graph.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    assertThat(graph.getArtifacts().get(SOME_ROOT_COORDINATES).getDependencies())
+        .containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(Paths.get(graph.getArtifacts().get(SOME_DEPENDENCY_COORDINATES)
+        .getLocation()
+        .getPath()))
+            .isEqualTo(someUpstreamDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("jar")));
+  }
+
+  @Test
+  public void resolveAgainWhenRootProjectChanges(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    new ArtifactLockfile(repository(someUpstreamDir), someLockfile)
+        .resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(trusted).isFalse();
+    assertThat(graph.getArtifacts()).containsOnlyKeys(SOME_ROOT_COORDINATES);
+    assertThat(readAllLines(someLockfile)).hasSize(3);
+  }
+
+  @Test
+  public void resolveAgainWhenParentProjectChanges(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeProject(
+        someUpstreamDir,
+        SOME_ROOT_COORDINATES,
+        "  <parent>",
+        "    <groupId>" + SOME_PARENT_COORDINATES.getGroupId() + "</groupId>",
+        "    <artifactId>" + SOME_PARENT_COORDINATES.getArtifactId() + "</artifactId>",
+        "    <version>" + SOME_PARENT_COORDINATES.getVersion() + "</version>",
+        "  </parent>");
+    writeArtifact(someUpstreamDir, SOME_PARENT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    new ArtifactLockfile(repository(someUpstreamDir), someLockfile)
+        .resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    String someRootLine = "root " + SOME_ROOT_TEXT
+        + " sha256:" + sha256(someUpstreamDir.resolve(SOME_ROOT_COORDINATES.getPath("pom")))
+        + " some.group:some-parent:some-version"
+        + " sha256:" + sha256(someUpstreamDir.resolve(SOME_PARENT_COORDINATES.getPath("pom")));
+    List<String> someLines = readAllLines(someLockfile);
+    writeArtifact(someUpstreamDir, SOME_PARENT_COORDINATES, null);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(someLines).contains(someRootLine);
+    assertThat(trusted).isFalse();
+    assertThat(graph.getArtifacts()).containsOnlyKeys(SOME_ROOT_COORDINATES);
+  }
+
+  @Test
+  public void resolveAgainWhenImportedProjectChanges(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeProject(
+        someUpstreamDir,
+        SOME_ROOT_COORDINATES,
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_BOM_COORDINATES.getGroupId() + "</groupId>",
+        "        <artifactId>" + SOME_BOM_COORDINATES.getArtifactId() + "</artifactId>",
+        "        <version>" + SOME_BOM_COORDINATES.getVersion() + "</version>",
+        "        <type>pom</type>",
+        "        <scope>import</scope>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>");
+    writeArtifact(someUpstreamDir, SOME_BOM_COORDINATES, null);
+    new ArtifactLockfile(repository(someUpstreamDir), someLockfile)
+        .resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    writeArtifact(someUpstreamDir, SOME_BOM_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+
+    assertThat(trusted).isFalse();
+  }
+
+  @Test
+  public void distrustLockfileOfAnotherRoot(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+    lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    boolean trusted = lockfile.verify(SOME_DEPENDENCY_COORDINATES);
+
+    assertThat(trusted).isFalse();
+  }
+
+  @Test
+  public void distrustMissingLockfile(@TempDir Path someDir) throws Exception {
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someDir.resolve("upstream")),
+        someDir.resolve(SOME_LOCKFILE_PATH));
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+
+    assertThat(trusted).isFalse();
+  }
+
+  @Test
+  public void distrustEmptyLockfile(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        writeLockfile(someDir.resolve(SOME_LOCKFILE_PATH)));
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+
+    assertThat(trusted).isFalse();
+  }
+
+  @Test
+  public void distrustLockfileOfAnotherVersion(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        writeLockfile(someDir.resolve(SOME_LOCKFILE_PATH), "artifact-lockfile 0"));
+
+    boolean trusted = lockfile.verify(SOME_ROOT_COORDINATES);
+
+    assertThat(trusted).isFalse();
+  }
+
+  @Test
+  public void neverLockSnapshotClosures(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    Path someTargetDir = someDir.resolve("target");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_SNAPSHOT_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_SNAPSHOT_COORDINATES, null);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    lockfile.download(graph, someTargetDir);
+
+    assertThat(graph.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_SNAPSHOT_COORDINATES);
+    assertThat(exists(someLockfile)).isFalse();
+    assertThat(exists(someTargetDir.resolve(SOME_SNAPSHOT_COORDINATES.getPath("jar")))).isTrue();
+  }
+
+  @Test
+  public void neverLockDynamicClosures(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    write(someUpstreamDir.resolve(SOME_ROOT_COORDINATES.getArtifactMetadataPath()), asList(
+        "<metadata>",
+        "  <versioning>",
+        "    <latest>some-version</latest>",
+        "  </versioning>",
+        "</metadata>"));
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    DependencyGraph graph = lockfile.resolve(SOME_LATEST_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(SOME_LATEST_COORDINATES);
+    assertThat(exists(someLockfile)).isFalse();
+  }
+
+  @Test
+  public void neverLockClosuresWithTransitiveRanges(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_RANGE_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    writeVersions(someUpstreamDir, SOME_DEPENDENCY_COORDINATES);
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(graph.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    assertThat(exists(someLockfile)).isFalse();
+  }
+
+  @Test
+  public void lockClosureWithRangeOfTestDependency(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    writeProject(
+        someUpstreamDir,
+        SOME_ROOT_COORDINATES,
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_RANGE_COORDINATES.getGroupId() + "</groupId>",
+        "      <artifactId>" + SOME_RANGE_COORDINATES.getArtifactId() + "</artifactId>",
+        "      <version>" + SOME_RANGE_COORDINATES.getVersion() + "</version>",
+        "      <scope>test</scope>",
+        "    </dependency>",
+        "  </dependencies>");
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(SOME_ROOT_COORDINATES);
+    assertThat(exists(someLockfile)).isTrue();
+  }
+
+  @Test
+  public void downloadOnlyMissingBundles(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someLockfile = someDir.resolve(SOME_LOCKFILE_PATH);
+    Path someTargetDir = someDir.resolve("target");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    Path someBundle = someUpstreamDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("jar"));
+    writeChecksum(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, "sha256", sha256(someBundle));
+    ArtifactLockfile someLockfileBefore = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        someLockfile);
+    someLockfileBefore.download(
+        someLockfileBefore.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR),
+        someTargetDir);
+    delete(someTargetDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("jar")));
+    ArtifactLockfile lockfile = new ArtifactLockfile(repository(someUpstreamDir), someLockfile);
+
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    Set<ArtifactCoordinates> downloaded = lockfile.download(graph, someTargetDir);
+
+    assertThat(downloaded).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(readAllBytes(someTargetDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("jar"))))
+        .isEqualTo(readAllBytes(someBundle));
+  }
+
+  @Test
+  public void downloadWithoutChecksumOfUnknownAlgorithm(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someTargetDir = someDir.resolve("target");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    writeChecksum(someUpstreamDir, SOME_ROOT_COORDINATES, "sha1", SOME_SHA1);
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        writeLockfile(
+            someDir.resolve(SOME_LOCKFILE_PATH),
+            "artifact-lockfile 1",
+            "root " + SOME_ROOT_TEXT + " sha256:" + sha256(someUpstreamDir.resolve(
+                SOME_ROOT_COORDINATES.getPath("pom"))),
+            SOME_ROOT_TEXT + " jar md5:d41d8cd98f00b204e9800998ecf8427e"));
+
+    lockfile.download(lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR), someTargetDir);
+
+    assertThat(exists(someTargetDir.resolve(SOME_ROOT_COORDINATES.getPath("jar")))).isTrue();
+  }
+
+  @Test
+  public void failWhenLockedChecksumDoesNotMatch(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someTargetDir = someDir.resolve("target");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    writeChecksum(someUpstreamDir, SOME_ROOT_COORDINATES, "sha1", SOME_SHA1);
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        someDir.resolve(SOME_LOCKFILE_PATH));
+    DependencyGraph graph = lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+
+    Throwable e = catchThrowable(() -> lockfile.download(graph, someTargetDir));
+
+    assertThat(e).isInstanceOf(ArtifactRepositoryException.class);
+    assertThat(exists(someTargetDir.resolve(SOME_ROOT_COORDINATES.getPath("jar")))).isFalse();
+  }
+
+  @Test
+  public void failWhenChecksumLockedAlongWithGraphDoesNotMatch(@TempDir Path someDir)
+      throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someTargetDir = someDir.resolve("target");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    ArtifactLockfile someLockfile = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        writeLockfile(
+            someDir.resolve(SOME_LOCKFILE_PATH),
+            "artifact-lockfile 1",
+            "root " + SOME_ROOT_TEXT + " sha256:" + sha256(someUpstreamDir.resolve(
+                SOME_ROOT_COORDINATES.getPath("pom"))),
+            SOME_ROOT_TEXT + " jar sha1:" + SOME_SHA1));
+    DependencyGraph graph = someLockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR);
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someUpstreamDir),
+        someDir.resolve("another.lock"));
+
+    Throwable e = catchThrowable(() -> lockfile.download(graph, someTargetDir));
+
+    assertThat(e).isInstanceOf(ArtifactRepositoryException.class);
+  }
+
+  @Test
+  public void failWhenChecksumCannotBeFetched(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL(), location -> {
+          if (location.getPath().endsWith(".sha256")) {
+            throw new IOException("Unreachable checksum");
+          }
+          return location.openStream();
+        }),
+        someDir.resolve(SOME_LOCKFILE_PATH));
+
+    Throwable e = catchThrowable(() -> lockfile.resolve(SOME_ROOT_COORDINATES, ANY_EXECUTOR));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessage("Unreachable checksum");
+  }
+
+  @Test
+  public void failWhenRootLineIsMissing(@TempDir Path someDir) throws Exception {
+    assertMalformed(someDir, "artifact-lockfile 1");
+  }
+
+  @Test
+  public void failWhenRootLineIsIncomplete(@TempDir Path someDir) throws Exception {
+    assertMalformed(someDir, "artifact-lockfile 1", "root " + SOME_ROOT_TEXT);
+  }
+
+  @Test
+  public void failWhenRootLineIsNotARootOne(@TempDir Path someDir) throws Exception {
+    assertMalformed(someDir, "artifact-lockfile 1", SOME_ROOT_TEXT + " jar -");
+  }
+
+  @Test
+  public void failWhenCoordinatesAreMalformed(@TempDir Path someDir) throws Exception {
+    assertMalformed(someDir, "artifact-lockfile 1", "root some.group:some-root -");
+  }
+
+  @Test
+  public void failWhenArtifactLineIsIncomplete(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+
+    assertMalformed(
+        someDir,
+        "artifact-lockfile 1",
+        "root " + SOME_ROOT_TEXT + " sha256:" + sha256(someUpstreamDir.resolve(
+            SOME_ROOT_COORDINATES.getPath("pom"))),
+        SOME_ROOT_TEXT + " jar");
+  }
+
+  private static void assertMalformed(Path someDir, String... lines) throws Exception {
+    Path someLockfile = writeLockfile(someDir.resolve(SOME_LOCKFILE_PATH), lines);
+    ArtifactLockfile lockfile = new ArtifactLockfile(
+        repository(someDir.resolve("upstream")),
+        someLockfile);
+
+    Throwable e = catchThrowable(() -> lockfile.verify(SOME_ROOT_COORDINATES));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessage("Malformed lockfile " + someLockfile);
+  }
+
+  private static ArtifactRepository repository(Path directory) throws Exception {
+    return new ArtifactRepository(directory.toUri().toURL());
+  }
+
+  private static void writeProject(
+      Path repositoryDir,
+      ArtifactCoordinates coordinates,
+      String... lines) throws Exception {
+    Path projectPath = repositoryDir.resolve(coordinates.getPath("pom"));
+    createDirectories(projectPath.getParent());
+    write(projectPath, Stream.concat(
+        Stream.of("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"),
+        Stream.concat(Stream.of(lines), Stream.of("</project>")))
+        .collect(toList()));
+  }
+
+  private static void writeVersions(Path repositoryDir, ArtifactCoordinates coordinates)
+      throws Exception {
+    write(repositoryDir.resolve(coordinates.getArtifactMetadataPath()), asList(
+        "<metadata>",
+        "  <versioning>",
+        "    <versions>",
+        "      <version>" + coordinates.getVersion() + "</version>",
+        "    </versions>",
+        "  </versioning>",
+        "</metadata>"));
+  }
+
+  private static Path writeLockfile(Path path, String... lines) throws Exception {
+    createDirectories(path.getParent());
+    write(path, asList(lines));
+    return path;
+  }
+
+  private static void writeChecksum(
+      Path repositoryDir,
+      ArtifactCoordinates coordinates,
+      String algorithm,
+      String checksum) throws Exception {
+    write(
+        repositoryDir.resolve(coordinates.getPath("jar") + "." + algorithm),
+        checksum.getBytes(US_ASCII));
+  }
+
+  private static String sha256(Path path) throws Exception {
+    StringBuilder hex = new StringBuilder();
+    for (byte octet : MessageDigest.getInstance("SHA-256").digest(readAllBytes(path))) {
+      hex.append(String.format("%02x", octet));
+    }
+    return hex.toString();
+  }
+}
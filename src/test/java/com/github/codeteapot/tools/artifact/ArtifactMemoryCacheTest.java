@@ -0,0 +1,179 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.lang.Thread.State;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactMemoryCacheTest {
+
+  private static final int ANY_MAXIMUM_SIZE = 10;
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "another.group",
+      "another-artifact",
+      "another-version");
+  private static final ArtifactCoordinates YET_ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "yet.another.group",
+      "yet-another-artifact",
+      "yet-another-version");
+  private static final ArtifactCoordinates SOME_SNAPSHOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version-SNAPSHOT");
+  private static final ArtifactCoordinates SOME_RANGE_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "[some-version,)");
+
+  @Test
+  public void getCachedArtifact() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactMemoryCache cache = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    Artifact someArtifact = cachedSource.get(SOME_COORDINATES);
+
+    Artifact artifact = cachedSource.get(SOME_COORDINATES);
+
+    assertThat(artifact).isSameAs(someArtifact);
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1L);
+    assertThat(cache.getMissCount()).isEqualTo(1L);
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void keepArtifactsBySource() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactMemoryCache cache = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE);
+    cache.cached(someSource).get(SOME_COORDINATES);
+
+    cache.cached(anotherSource).get(SOME_COORDINATES);
+
+    assertThat(anotherSource.fetchCount(SOME_COORDINATES)).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(2L);
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES)
+        .with(YET_ANOTHER_COORDINATES);
+    ArtifactMemoryCache cache = new ArtifactMemoryCache(2);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    cachedSource.get(SOME_COORDINATES);
+    cachedSource.get(ANOTHER_COORDINATES);
+    cachedSource.get(SOME_COORDINATES);
+    cachedSource.get(YET_ANOTHER_COORDINATES);
+
+    cachedSource.get(SOME_COORDINATES);
+    cachedSource.get(ANOTHER_COORDINATES);
+
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(1);
+    assertThat(someSource.fetchCount(ANOTHER_COORDINATES)).isEqualTo(2);
+    assertThat(cache.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void doNotCacheSnapshots() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_SNAPSHOT_COORDINATES);
+    ArtifactMemoryCache cache = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    cachedSource.get(SOME_SNAPSHOT_COORDINATES);
+
+    cachedSource.get(SOME_SNAPSHOT_COORDINATES);
+
+    assertThat(someSource.fetchCount(SOME_SNAPSHOT_COORDINATES)).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(2L);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void doNotCacheDynamicVersions() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_RANGE_COORDINATES);
+    ArtifactMemoryCache cache = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    cachedSource.get(SOME_RANGE_COORDINATES);
+
+    cachedSource.get(SOME_RANGE_COORDINATES);
+
+    assertThat(someSource.fetchCount(SOME_RANGE_COORDINATES)).isEqualTo(2);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void doNotCacheDynamicDependencies() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource()
+        .with(SOME_COORDINATES, SOME_RANGE_COORDINATES);
+    ArtifactMemoryCache cache = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    cachedSource.get(SOME_COORDINATES);
+
+    cachedSource.get(SOME_COORDINATES);
+
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(2);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void doNotCacheFailures() throws Exception {
+    IOException someFailure = new IOException("some-failure");
+    TestArtifactSource someSource = new TestArtifactSource().failing(SOME_COORDINATES, someFailure);
+    ArtifactSource cachedSource = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE).cached(someSource);
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    Throwable e = catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    assertThat(e).isSameAs(someFailure);
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(2);
+  }
+
+  @Test
+  public void coalesceConcurrentFailingRequests() throws Exception {
+    ArtifactRepositoryException someFailure = new ArtifactRepositoryException("some-failure");
+    CountDownLatch someRequestStarted = new CountDownLatch(1);
+    CompletableFuture<Void> someRequestRelease = new CompletableFuture<>();
+    AtomicInteger fetchCount = new AtomicInteger();
+    ArtifactSource cachedSource = new ArtifactMemoryCache(ANY_MAXIMUM_SIZE).cached(coordinates -> {
+      fetchCount.incrementAndGet();
+      someRequestStarted.countDown();
+      someRequestRelease.join();
+      throw someFailure;
+    });
+    CompletableFuture<Throwable> someRequest = new CompletableFuture<>();
+    new Thread(() -> someRequest.complete(
+        catchThrowable(() -> cachedSource.get(SOME_COORDINATES)))).start();
+    someRequestStarted.await();
+    CompletableFuture<Throwable> anotherRequest = new CompletableFuture<>();
+    Thread anotherRequestThread = new Thread(() -> anotherRequest.complete(
+        catchThrowable(() -> cachedSource.get(SOME_COORDINATES))));
+    anotherRequestThread.start();
+    while (anotherRequestThread.getState() != State.WAITING) {
+      Thread.yield();
+    }
+
+    someRequestRelease.complete(null);
+
+    assertThat(someRequest.get()).isSameAs(someFailure);
+    assertThat(anotherRequest.get()).isSameAs(someFailure);
+    assertThat(fetchCount.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void failWhenMaximumSizeIsNotPositive() {
+    Throwable e = catchThrowable(() -> new ArtifactMemoryCache(0));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+}
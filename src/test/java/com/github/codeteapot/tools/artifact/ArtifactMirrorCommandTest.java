@@ -0,0 +1,83 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.ArtifactMirrorTest.writeArtifact;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class ArtifactMirrorCommandTest {
+
+  private static final ArtifactCoordinates SOME_ROOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-root",
+      "some-version");
+  private static final String SOME_ROOT_OPERAND = "some.group:some-root:some-version";
+  private static final ArtifactCoordinates MISSING_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "missing-artifact",
+      "some-version");
+
+  private static final String MALFORMED_OPERAND = "some.group:some-root";
+
+  private static final String SOME_CONCURRENCY_OPTION = "--concurrency=2";
+  private static final String SOME_BANDWIDTH_OPTION = "--bandwidth=1000000";
+
+  @Test
+  public void mirrorGivenRoots(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = someDir.resolve("mirror");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+
+    ArtifactMirrorCommand.main(new String[] {
+        SOME_CONCURRENCY_OPTION,
+        SOME_BANDWIDTH_OPTION,
+        someUpstreamDir.toUri().toString(),
+        someMirrorDir.toString(),
+        SOME_ROOT_OPERAND});
+
+    assertThat(someMirrorDir.resolve(SOME_ROOT_COORDINATES.getPath("jar"))).exists();
+  }
+
+  @Test
+  public void failWhenSomeArtifactIsNotMirrored(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, MISSING_COORDINATES);
+
+    Throwable e = catchThrowable(() -> ArtifactMirrorCommand.main(new String[] {
+        someUpstreamDir.toUri().toString(),
+        someDir.resolve("mirror").toString(),
+        SOME_ROOT_OPERAND}));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasMessage("1 artifacts could not be mirrored");
+  }
+
+  @Test
+  public void failWhenOperandsAreMissing(@TempDir Path someDir) {
+    Throwable e = catchThrowable(() -> ArtifactMirrorCommand.main(new String[] {
+        someDir.toUri().toString(),
+        someDir.toString()}));
+
+    assertThat(e)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Usage: ");
+  }
+
+  @Test
+  public void failWhenCoordinatesAreMalformed(@TempDir Path someDir) {
+    Throwable e = catchThrowable(() -> ArtifactMirrorCommand.main(new String[] {
+        someDir.toUri().toString(),
+        someDir.toString(),
+        MALFORMED_OPERAND}));
+
+    assertThat(e)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Malformed coordinates " + MALFORMED_OPERAND);
+  }
+}
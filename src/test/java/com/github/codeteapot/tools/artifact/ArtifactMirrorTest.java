@@ -0,0 +1,297 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class ArtifactMirrorTest {
+
+  private static final ArtifactCoordinates SOME_ROOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-root",
+      "some-version");
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES = new ArtifactCoordinates(
+      "some.dependency.group",
+      "some-dependency",
+      "some-dependency-version");
+  private static final ArtifactCoordinates SOME_PARENT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-parent",
+      "some-version");
+  private static final ArtifactCoordinates SOME_LATEST_DEPENDENCY_COORDINATES =
+      new ArtifactCoordinates("some.dependency.group", "some-dependency", "LATEST");
+  private static final ArtifactCoordinates SOME_LATEST_ROOT_COORDINATES =
+      new ArtifactCoordinates("some.group", "some-root", "LATEST");
+  private static final ArtifactCoordinates MISSING_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "missing-artifact",
+      "some-version");
+
+  private static final String SOME_JOURNAL_LINE = "some.group:some-root:some-version";
+  private static final String SOME_DEPENDENCY_JOURNAL_LINE =
+      "some.dependency.group:some-dependency:some-dependency-version";
+  private static final String INCOMPLETE_JOURNAL_LINE = "some.dependency.group:some-depe";
+
+  private static final String SOME_BUNDLE_CONTENT = "some-bundle-content";
+  private static final int LARGE_BUNDLE_LENGTH = 3000;
+  private static final long SOME_BYTES_PER_SECOND = 10000L;
+  private static final long SOME_MINIMUM_MILLIS = 200L;
+
+  private static final int ANY_CONCURRENCY = 2;
+
+  @Test
+  public void mirrorClosure(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = someDir.resolve("mirror");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    ArtifactMirror mirror = new ArtifactMirror(someUpstreamDir.toUri().toURL(), someMirrorDir);
+
+    ArtifactBatch batch = mirror.mirror(singleton(SOME_ROOT_COORDINATES));
+
+    assertThat(batch.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    assertThat(batch.getFailures()).isEmpty();
+    assertThat(Paths.get(batch.getArtifacts().get(SOME_DEPENDENCY_COORDINATES)
+        .getLocation().getPath()))
+            .isEqualTo(someMirrorDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("jar")))
+            .exists();
+    assertThat(someMirrorDir.resolve(SOME_ROOT_COORDINATES.getPath("pom"))).exists();
+    assertThat(readAllLines(someMirrorDir.resolve(ArtifactMirror.JOURNAL_NAME)))
+        .containsExactlyInAnyOrder(SOME_JOURNAL_LINE, SOME_DEPENDENCY_JOURNAL_LINE);
+  }
+
+  @Test
+  public void mirrorSharedDependencyOnce(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = someDir.resolve("mirror");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    ArtifactMirror mirror = new ArtifactMirror(someUpstreamDir.toUri().toURL(), someMirrorDir);
+
+    mirror.mirror(asList(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES));
+
+    assertThat(readAllLines(someMirrorDir.resolve(ArtifactMirror.JOURNAL_NAME)))
+        .containsExactlyInAnyOrder(SOME_JOURNAL_LINE, SOME_DEPENDENCY_JOURNAL_LINE);
+  }
+
+  @Test
+  public void restartFromJournal(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = someDir.resolve("mirror");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    new ArtifactMirror(someUpstreamDir.toUri().toURL(), someMirrorDir)
+        .mirror(singleton(SOME_ROOT_COORDINATES));
+    ArtifactMirror mirror = new ArtifactMirror(
+        someDir.resolve("unreachable").toUri().toURL(),
+        someMirrorDir);
+
+    ArtifactBatch batch = mirror.mirror(singleton(SOME_ROOT_COORDINATES));
+
+    assertThat(batch.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    assertThat(batch.getFailures()).isEmpty();
+  }
+
+  @Test
+  public void restartFromJournalWithDynamicVersion(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = someDir.resolve("mirror");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    writeLatest(someUpstreamDir, SOME_ROOT_COORDINATES);
+    new ArtifactMirror(someUpstreamDir.toUri().toURL(), someMirrorDir)
+        .mirror(singleton(SOME_LATEST_ROOT_COORDINATES));
+    ArtifactMirror mirror = new ArtifactMirror(
+        someDir.resolve("unreachable").toUri().toURL(),
+        someMirrorDir);
+
+    ArtifactBatch batch = mirror.mirror(singleton(SOME_LATEST_ROOT_COORDINATES));
+
+    assertThat(batch.getArtifacts()).containsOnlyKeys(SOME_LATEST_ROOT_COORDINATES);
+    assertThat(batch.getFailures()).isEmpty();
+  }
+
+  @Test
+  public void resolveFromMirrorDirectoryAlone(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = someDir.resolve("mirror");
+    Path someParentPath = someUpstreamDir.resolve(SOME_PARENT_COORDINATES.getPath("pom"));
+    createDirectories(someParentPath.getParent());
+    write(someParentPath, asList(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <packaging>pom</packaging>",
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_LATEST_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "        <artifactId>" + SOME_LATEST_DEPENDENCY_COORDINATES.getArtifactId()
+            + "</artifactId>",
+        "        <version>" + SOME_LATEST_DEPENDENCY_COORDINATES.getVersion() + "</version>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>",
+        "</project>"));
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    write(someUpstreamDir.resolve(SOME_ROOT_COORDINATES.getPath("pom")), asList(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <parent>",
+        "    <groupId>" + SOME_PARENT_COORDINATES.getGroupId() + "</groupId>",
+        "    <artifactId>" + SOME_PARENT_COORDINATES.getArtifactId() + "</artifactId>",
+        "    <version>" + SOME_PARENT_COORDINATES.getVersion() + "</version>",
+        "  </parent>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_COORDINATES.getArtifactId() + "</artifactId>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</project>"));
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    writeLatest(someUpstreamDir, SOME_DEPENDENCY_COORDINATES);
+    new ArtifactMirror(someUpstreamDir.toUri().toURL(), someMirrorDir)
+        .mirror(singleton(SOME_ROOT_COORDINATES));
+    ArtifactRepository repository = new ArtifactRepository(someMirrorDir.toUri().toURL());
+
+    Artifact artifact = repository.get(SOME_ROOT_COORDINATES);
+    Artifact dependency = repository.get(SOME_LATEST_DEPENDENCY_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(Paths.get(dependency.getLocation().toURI()))
+        .isEqualTo(someMirrorDir.resolve(SOME_DEPENDENCY_COORDINATES.getPath("jar")));
+  }
+
+  @Test
+  public void mirrorAgainAfterIncompleteJournalLine(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someMirrorDir = createDirectories(someDir.resolve("mirror"));
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+    writeArtifact(someUpstreamDir, SOME_DEPENDENCY_COORDINATES, null);
+    write(
+        someMirrorDir.resolve(ArtifactMirror.JOURNAL_NAME),
+        (INCOMPLETE_JOURNAL_LINE + "\n").getBytes());
+    ArtifactMirror mirror = new ArtifactMirror(someUpstreamDir.toUri().toURL(), someMirrorDir);
+
+    ArtifactBatch batch = mirror.mirror(singleton(SOME_ROOT_COORDINATES));
+
+    assertThat(batch.getArtifacts())
+        .containsOnlyKeys(SOME_ROOT_COORDINATES, SOME_DEPENDENCY_COORDINATES);
+  }
+
+  @Test
+  public void reportFailureWithoutAbort(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, MISSING_COORDINATES);
+    ArtifactMirror mirror = new ArtifactMirror(
+        someUpstreamDir.toUri().toURL(),
+        someDir.resolve("mirror"));
+
+    ArtifactBatch batch = mirror.mirror(singleton(SOME_ROOT_COORDINATES));
+
+    assertThat(batch.getArtifacts()).containsOnlyKeys(SOME_ROOT_COORDINATES);
+    assertThat(batch.getFailures()).containsOnlyKeys(MISSING_COORDINATES);
+    assertThat(batch.getFailures().get(MISSING_COORDINATES))
+        .isInstanceOf(ArtifactNotFoundException.class);
+  }
+
+  @Test
+  public void limitBandwidth(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    writeArtifact(someUpstreamDir, SOME_ROOT_COORDINATES, null);
+    write(
+        someUpstreamDir.resolve(SOME_ROOT_COORDINATES.getPath("jar")),
+        new byte[LARGE_BUNDLE_LENGTH]);
+    ArtifactMirror mirror = new ArtifactMirror(
+        someUpstreamDir.toUri().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        someDir.resolve("mirror"),
+        ANY_CONCURRENCY,
+        SOME_BYTES_PER_SECOND);
+    long started = System.nanoTime();
+
+    ArtifactBatch batch = mirror.mirror(singleton(SOME_ROOT_COORDINATES));
+
+    assertThat(batch.getArtifacts()).containsOnlyKeys(SOME_ROOT_COORDINATES);
+    assertThat((System.nanoTime() - started) / 1000000L)
+        .isGreaterThanOrEqualTo(SOME_MINIMUM_MILLIS);
+  }
+
+  @Test
+  public void failWhenConcurrencyIsNotPositive(@TempDir Path someDir) throws Exception {
+    Throwable e = catchThrowable(() -> new ArtifactMirror(
+        someDir.toUri().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        someDir,
+        0,
+        ArtifactMirror.UNLIMITED_BANDWIDTH));
+
+    assertThat(e)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Concurrency must be positive");
+  }
+
+  @Test
+  public void failWhenBandwidthIsNotPositive(@TempDir Path someDir) throws Exception {
+    Throwable e = catchThrowable(() -> new ArtifactMirror(
+        someDir.toUri().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        someDir,
+        ANY_CONCURRENCY,
+        0L));
+
+    assertThat(e)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Bandwidth must be positive");
+  }
+
+  private static void writeLatest(Path repositoryDir, ArtifactCoordinates coordinates)
+      throws Exception {
+    write(repositoryDir.resolve(coordinates.getArtifactMetadataPath()), asList(
+        "<metadata>",
+        "  <versioning>",
+        "    <latest>" + coordinates.getVersion() + "</latest>",
+        "  </versioning>",
+        "</metadata>"));
+  }
+
+  static void writeArtifact(
+      Path repositoryDir,
+      ArtifactCoordinates coordinates,
+      ArtifactCoordinates dependency) throws Exception {
+    Path projectPath = repositoryDir.resolve(coordinates.getPath("pom"));
+    createDirectories(projectPath.getParent());
+    write(projectPath, Stream.concat(
+        Stream.of(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+            "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"),
+        Stream.concat(
+            dependency == null ? Stream.empty() : Stream.of(
+                "  <dependencies>",
+                "    <dependency>",
+                "      <groupId>" + dependency.getGroupId() + "</groupId>",
+                "      <artifactId>" + dependency.getArtifactId() + "</artifactId>",
+                "      <version>" + dependency.getVersion() + "</version>",
+                "    </dependency>",
+                "  </dependencies>"),
+            Stream.of("</project>")))
+        .collect(toList()));
+    write(
+        repositoryDir.resolve(coordinates.getPath("jar")),
+        Stream.of(SOME_BUNDLE_CONTENT).collect(toList()));
+  }
+}
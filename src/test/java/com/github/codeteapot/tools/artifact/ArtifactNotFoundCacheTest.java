@@ -0,0 +1,129 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactNotFoundCacheTest {
+
+  private static final int ANY_MAXIMUM_SIZE = 10;
+  private static final Duration ANY_TIME_TO_LIVE = Duration.ofMinutes(1L);
+
+  private static final Duration SOME_TIME_TO_LIVE = Duration.ofNanos(100L);
+  private static final long SOME_ELAPSED_NANOS = 99L;
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "another.group",
+      "another-artifact",
+      "another-version");
+
+  @Test
+  public void failCachedNotFound() {
+    TestArtifactSource someSource = new TestArtifactSource();
+    ArtifactNotFoundCache cache = new ArtifactNotFoundCache(ANY_MAXIMUM_SIZE, ANY_TIME_TO_LIVE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    Throwable e = catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    assertThat(e).isInstanceOf(ArtifactNotFoundException.class);
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1L);
+    assertThat(cache.getMissCount()).isEqualTo(1L);
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void getAgainWhenExpired() throws Exception {
+    AtomicLong someClock = new AtomicLong();
+    TestArtifactSource someSource = new TestArtifactSource();
+    ArtifactNotFoundCache cache = new ArtifactNotFoundCache(
+        ANY_MAXIMUM_SIZE,
+        SOME_TIME_TO_LIVE,
+        someClock::get);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+    someClock.addAndGet(SOME_ELAPSED_NANOS);
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+    someSource.with(SOME_COORDINATES);
+    someClock.addAndGet(SOME_TIME_TO_LIVE.toNanos());
+
+    Artifact artifact = cachedSource.get(SOME_COORDINATES);
+
+    assertThat(artifact).isSameAs(someSource.get(SOME_COORDINATES));
+    assertThat(cache.getHitCount()).isEqualTo(1L);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void keepNotFoundBySource() {
+    TestArtifactSource someSource = new TestArtifactSource();
+    TestArtifactSource anotherSource = new TestArtifactSource();
+    ArtifactNotFoundCache cache = new ArtifactNotFoundCache(ANY_MAXIMUM_SIZE, ANY_TIME_TO_LIVE);
+    catchThrowable(() -> cache.cached(someSource).get(SOME_COORDINATES));
+
+    catchThrowable(() -> cache.cached(anotherSource).get(SOME_COORDINATES));
+
+    assertThat(anotherSource.fetchCount(SOME_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void evictOldest() {
+    TestArtifactSource someSource = new TestArtifactSource();
+    ArtifactNotFoundCache cache = new ArtifactNotFoundCache(1, ANY_TIME_TO_LIVE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+    catchThrowable(() -> cachedSource.get(ANOTHER_COORDINATES));
+
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(2);
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void neverCacheOtherFailures() {
+    TestArtifactSource someSource = new TestArtifactSource()
+        .failing(SOME_COORDINATES, new IOException());
+    ArtifactNotFoundCache cache = new ArtifactNotFoundCache(ANY_MAXIMUM_SIZE, ANY_TIME_TO_LIVE);
+    ArtifactSource cachedSource = cache.cached(someSource);
+    catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    Throwable e = catchThrowable(() -> cachedSource.get(SOME_COORDINATES));
+
+    assertThat(e).isInstanceOf(IOException.class);
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(2);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  public void failWhenMaximumSizeIsNotPositive() {
+    Throwable e = catchThrowable(() -> new ArtifactNotFoundCache(0, ANY_TIME_TO_LIVE));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenTimeToLiveIsZero() {
+    Throwable e = catchThrowable(() -> new ArtifactNotFoundCache(ANY_MAXIMUM_SIZE, Duration.ZERO));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenTimeToLiveIsNegative() {
+    Throwable e = catchThrowable(() -> new ArtifactNotFoundCache(
+        ANY_MAXIMUM_SIZE,
+        Duration.ofSeconds(-1L)));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+}
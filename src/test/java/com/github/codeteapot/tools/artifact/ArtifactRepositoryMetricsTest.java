@@ -0,0 +1,75 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import com.github.codeteapot.tools.artifact.ArtifactRepositoryListener.Phase;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactRepositoryMetricsTest {
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+
+  private static final long SOME_NANOS = 1000L;
+  private static final long ANOTHER_NANOS = 2000L;
+
+  private static final long SOME_BYTES = 100L;
+  private static final long ANOTHER_BYTES = 300L;
+
+  @Test
+  public void countInFlightRequests() {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+    metrics.requestStarted(SOME_COORDINATES);
+    metrics.requestStarted(SOME_COORDINATES);
+
+    metrics.requestCompleted(SOME_COORDINATES, SOME_NANOS);
+
+    assertThat(metrics.getInFlightCount()).isEqualTo(1L);
+    assertThat(metrics.getRequestLatency().getCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void countFailuresByType() {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+    metrics.requestStarted(SOME_COORDINATES);
+    metrics.requestStarted(SOME_COORDINATES);
+    metrics.requestStarted(SOME_COORDINATES);
+
+    metrics.requestFailed(SOME_COORDINATES, new IOException(), SOME_NANOS);
+    metrics.requestFailed(SOME_COORDINATES, new IOException(), SOME_NANOS);
+    metrics.requestFailed(SOME_COORDINATES, new ArtifactRepositoryException(""), SOME_NANOS);
+
+    assertThat(metrics.getInFlightCount()).isZero();
+    assertThat(metrics.getRequestLatency().getCount()).isEqualTo(3L);
+    assertThat(metrics.getFailureCounts()).containsOnly(
+        entry(IOException.class, 2L),
+        entry(ArtifactRepositoryException.class, 1L));
+  }
+
+  @Test
+  public void recordPhaseLatencies() {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+
+    metrics.phaseCompleted(SOME_COORDINATES, Phase.FETCH, SOME_NANOS);
+    metrics.phaseCompleted(SOME_COORDINATES, Phase.PARSE, ANOTHER_NANOS);
+
+    assertThat(metrics.getPhaseLatency(Phase.FETCH).getTotalNanos()).isEqualTo(SOME_NANOS);
+    assertThat(metrics.getPhaseLatency(Phase.PARSE).getTotalNanos()).isEqualTo(ANOTHER_NANOS);
+    assertThat(metrics.getPhaseLatency(Phase.RESOLVE).getCount()).isZero();
+  }
+
+  @Test
+  public void sumTransferredBytes() {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+
+    metrics.transferred(SOME_COORDINATES, ANOTHER_BYTES);
+    metrics.transferred(SOME_COORDINATES, SOME_BYTES);
+
+    assertThat(metrics.getTransferredBytes()).isEqualTo(SOME_BYTES + ANOTHER_BYTES);
+    assertThat(metrics.getLargestTransferBytes()).isEqualTo(ANOTHER_BYTES);
+  }
+}
@@ -1,17 +1,28 @@
 package com.github.codeteapot.tools.artifact;
 
 import static com.github.codeteapot.tools.artifact.TestUtil.validURL;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.size;
 import static java.nio.file.Files.write;
 import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
 
+import com.github.codeteapot.tools.artifact.ArtifactRepositoryListener.Phase;
 import java.io.File;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
-import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLStreamException;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -28,6 +39,10 @@ public class ArtifactRepositoryTest {
 
   private static final int SOME_DIRECTORY_BASED_HASH_CODE = 491834430;
 
+  private static final int TRAILING_LINE_COUNT = 4096;
+
+  private static final int SHARED_PROJECT_COUNT = 1024;
+
   private static final URL ANOTHER_DIRECTORY = validURL("file:///another-directory");
 
   private static final ArtifactCoordinates SOME_ARTIFACT_COORDINATES = new ArtifactCoordinates(
@@ -47,6 +62,33 @@ public class ArtifactRepositoryTest {
   private static final String SOME_DEPENDENCY_ARTIFACT_ID = "some-dependency-artifact";
   private static final String SOME_DEPENDENCY_VERSION = "some-dependency-version";
 
+  private static final ArtifactCoordinates ANOTHER_ARTIFACT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "another-artifact",
+      "some-version");
+
+  private static final ArtifactCoordinates MALFORMED_ARTIFACT_COORDINATES =
+      new ArtifactCoordinates(
+          "unknown-protocol:some.group",
+          "some-artifact",
+          "some-version");
+
+  private static final ArtifactCoordinates SOME_PARENT_COORDINATES = new ArtifactCoordinates(
+      "some.parent.group",
+      "some-parent-artifact",
+      "some-parent-version");
+
+  private static final ArtifactCoordinates SOME_GRANDPARENT_COORDINATES =
+      new ArtifactCoordinates(
+          "some.grandparent.group",
+          "some-grandparent-artifact",
+          "some-grandparent-version");
+
+  private static final ArtifactCoordinates SOME_BOM_COORDINATES = new ArtifactCoordinates(
+      "some.bom.group",
+      "some-bom-artifact",
+      "some-bom-version");
+
   private static final ArtifactCoordinates SOME_RUNTIME_DEPENDENCY_ARTIFACT_COORDINATES =
       new ArtifactCoordinates(
           "some.runtime.dependency.group",
@@ -189,6 +231,37 @@ public class ArtifactRepositoryTest {
     assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
   }
 
+  @Test
+  @Tag("integration")
+  public void getWithLargeTrailingContent(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    File artifactDir = new File(
+        someRepositoryDir.getAbsoluteFile(),
+        SOME_ARTIFACT_SUBPATH);
+    artifactDir.mkdirs();
+    write(
+        Paths.get(artifactDir.getAbsolutePath(), SOME_ARTIFACT_POM_PATH),
+        Stream.concat(
+            Stream.of(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+                "  <dependencies>",
+                "    <dependency>",
+                "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+                "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+                "      <version>" + SOME_DEPENDENCY_VERSION + "</version>",
+                "    </dependency>",
+                "  </dependencies>",
+                "</project>"),
+            Stream.generate(() -> "<!-- trailing content -->").limit(TRAILING_LINE_COUNT))
+            .collect(toList()),
+        CREATE_NEW);
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
+  }
+
   @Test
   @Tag("integration")
   public void failWhenDependencyVersionIsNotKnown(@TempDir File someRepositoryDir)
@@ -242,6 +315,656 @@ public class ArtifactRepositoryTest {
 
     assertThat(e)
         .isInstanceOf(ArtifactRepositoryException.class)
-        .hasCauseInstanceOf(JAXBException.class);
+        .hasCauseInstanceOf(XMLStreamException.class);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithVersionManagedByParentAndImport(@TempDir File someRepositoryDir)
+      throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(someRepositoryDir, SOME_GRANDPARENT_COORDINATES,
+        "  <properties>",
+        "    <some.dependency.version>unexpected-version</some.dependency.version>",
+        "  </properties>",
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_BOM_COORDINATES.getGroupId() + "</groupId>",
+        "        <artifactId>" + SOME_BOM_COORDINATES.getArtifactId() + "</artifactId>",
+        "        <version>" + SOME_BOM_COORDINATES.getVersion() + "</version>",
+        "        <scope>import</scope>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>");
+    writeProject(someRepositoryDir, SOME_BOM_COORDINATES,
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_RUNTIME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "        <artifactId>" + SOME_RUNTIME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "        <version>" + SOME_RUNTIME_DEPENDENCY_VERSION + "</version>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>");
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES,
+        parent(SOME_GRANDPARENT_COORDINATES),
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "        <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "        <version>${some.dependency.version}</version>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>");
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES),
+        "  <properties>",
+        "    <some.dependency.version>" + SOME_DEPENDENCY_VERSION + "</some.dependency.version>",
+        "  </properties>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "    </dependency>",
+        "    <dependency>",
+        "      <groupId>" + SOME_RUNTIME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_RUNTIME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <scope>runtime</scope>",
+        "    </dependency>",
+        "  </dependencies>");
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(
+        SOME_DEPENDENCY_ARTIFACT_COORDINATES,
+        SOME_RUNTIME_DEPENDENCY_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithParentModelMergedOnce(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES,
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_VERSION + "</version>",
+        "    </dependency>",
+        "  </dependencies>");
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+    writeProject(someRepositoryDir, ANOTHER_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+    repository.get(SOME_ARTIFACT_COORDINATES);
+    deleteProject(someRepositoryDir, SOME_PARENT_COORDINATES);
+
+    Artifact artifact = repository.get(ANOTHER_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithParentProjectFetchedOnce(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES,
+        parent(SOME_GRANDPARENT_COORDINATES));
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+    catchThrowable(() -> repository.get(SOME_ARTIFACT_COORDINATES));
+    deleteProject(someRepositoryDir, SOME_PARENT_COORDINATES);
+    writeProject(someRepositoryDir, SOME_GRANDPARENT_COORDINATES);
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).isEmpty();
+  }
+
+  @Test
+  @Tag("integration")
+  public void failWhenParentIsCyclic(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES,
+        parent(SOME_GRANDPARENT_COORDINATES));
+    writeProject(someRepositoryDir, SOME_GRANDPARENT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+
+    Throwable e = catchThrowable(() -> repository.get(SOME_ARTIFACT_COORDINATES));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasMessageStartingWith("Cyclic project inheritance");
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithSnapshotAncestorsFetchedAgain(@TempDir File someRepositoryDir)
+      throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    ArtifactCoordinates snapshotGrandparentCoordinates =
+        versionOf(SOME_GRANDPARENT_COORDINATES, "1.0-SNAPSHOT");
+    writeProject(someRepositoryDir, snapshotGrandparentCoordinates,
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_VERSION + "</version>",
+        "    </dependency>",
+        "  </dependencies>");
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES,
+        parent(snapshotGrandparentCoordinates));
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+    repository.get(SOME_ARTIFACT_COORDINATES);
+    writeProject(someRepositoryDir, snapshotGrandparentCoordinates);
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).isEmpty();
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithDynamicAncestorsResolvedAgain(@TempDir File someRepositoryDir)
+      throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        ArtifactRepositoryListener.NONE,
+        Duration.ZERO);
+    writeProject(someRepositoryDir, versionOf(SOME_GRANDPARENT_COORDINATES, "1.0"));
+    writeProject(someRepositoryDir, versionOf(SOME_GRANDPARENT_COORDINATES, "1.1"),
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_VERSION + "</version>",
+        "    </dependency>",
+        "  </dependencies>");
+    writeMetadata(
+        someRepositoryDir,
+        SOME_GRANDPARENT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "</versions>");
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES,
+        parent(versionOf(SOME_GRANDPARENT_COORDINATES, "[1.0,)")));
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(SOME_PARENT_COORDINATES));
+    repository.get(SOME_ARTIFACT_COORDINATES);
+    writeMetadata(
+        someRepositoryDir,
+        SOME_GRANDPARENT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "  <version>1.1</version>",
+        "</versions>");
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithSnapshotImportMergedOnce(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        metrics);
+    ArtifactCoordinates snapshotBomCoordinates = versionOf(SOME_BOM_COORDINATES, "1.0-SNAPSHOT");
+    ArtifactCoordinates snapshotParentCoordinates =
+        versionOf(SOME_PARENT_COORDINATES, "1.0-SNAPSHOT");
+    writeProject(someRepositoryDir, snapshotBomCoordinates);
+    writeProject(someRepositoryDir, snapshotParentCoordinates,
+        imports(snapshotBomCoordinates));
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES,
+        parent(snapshotParentCoordinates),
+        imports(snapshotBomCoordinates));
+
+    repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(metrics.getPhaseLatency(Phase.PARSE).getCount()).isEqualTo(3L);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithLeastRecentlyUsedModelsFetchedAgain(@TempDir File someRepositoryDir)
+      throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    ArtifactCoordinates[] bomCoordinates = new ArtifactCoordinates[SHARED_PROJECT_COUNT + 1];
+    for (int i = 0; i < bomCoordinates.length; i++) {
+      bomCoordinates[i] = versionOf(SOME_BOM_COORDINATES, "1." + i);
+      writeProject(someRepositoryDir, bomCoordinates[i]);
+    }
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES, imports(bomCoordinates));
+    writeProject(someRepositoryDir, ANOTHER_ARTIFACT_COORDINATES, imports(bomCoordinates[0]));
+    repository.get(SOME_ARTIFACT_COORDINATES);
+    deleteProject(someRepositoryDir, bomCoordinates[0]);
+
+    Throwable e = catchThrowable(() -> repository.get(ANOTHER_ARTIFACT_COORDINATES));
+
+    assertThat(e).isInstanceOf(ArtifactNotFoundException.class);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getThroughTransport(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        new FileTransport());
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES);
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).isEmpty();
+  }
+
+  @Test
+  @Tag("integration")
+  public void downloadWithChecksumReadThroughTransport(@TempDir File someRepositoryDir)
+      throws Exception {
+    List<String> somePaths = new ArrayList<>();
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        location -> {
+          somePaths.add(location.getPath());
+          return location.openStream();
+        });
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES);
+    Path someBundle = someRepositoryDir.toPath().resolve(SOME_ARTIFACT_COORDINATES.getPath("jar"));
+    write(someBundle, Stream.of("some-content").collect(toList()));
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    artifact.downloadTo(someRepositoryDir.toPath().resolve("some-target.jar"));
+
+    assertThat(somePaths).contains(someBundle.toUri().getPath() + ".sha256");
+  }
+
+  @Test
+  @Tag("integration")
+  public void reportMetricsOfGet(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        metrics);
+    writeProject(someRepositoryDir, SOME_PARENT_COORDINATES);
+    writeProject(someRepositoryDir, SOME_ARTIFACT_COORDINATES, parent(SOME_PARENT_COORDINATES));
+
+    repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(metrics.getRequestLatency().getCount()).isEqualTo(1L);
+    assertThat(metrics.getPhaseLatency(Phase.FETCH).getCount()).isEqualTo(2L);
+    assertThat(metrics.getPhaseLatency(Phase.PARSE).getCount()).isEqualTo(2L);
+    assertThat(metrics.getPhaseLatency(Phase.RESOLVE).getCount()).isEqualTo(1L);
+    assertThat(metrics.getTransferredBytes()).isEqualTo(
+        projectSize(someRepositoryDir, SOME_ARTIFACT_COORDINATES)
+            + projectSize(someRepositoryDir, SOME_PARENT_COORDINATES));
+    assertThat(metrics.getInFlightCount()).isZero();
+    assertThat(metrics.getFailureCounts()).isEmpty();
+  }
+
+  @Test
+  @Tag("integration")
+  public void reportMetricsOfFailure(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepositoryMetrics metrics = new ArtifactRepositoryMetrics();
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        metrics);
+
+    catchThrowable(() -> repository.get(SOME_ARTIFACT_COORDINATES));
+
+    assertThat(metrics.getRequestLatency().getCount()).isEqualTo(1L);
+    assertThat(metrics.getPhaseLatency(Phase.FETCH).getCount()).isZero();
+    assertThat(metrics.getInFlightCount()).isZero();
+    assertThat(metrics.getFailureCounts())
+        .containsExactly(entry(ArtifactNotFoundException.class, 1L));
+  }
+
+  @Test
+  @Tag("integration")
+  public void failWhenProjectIsNotFound(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+
+    Throwable e = catchThrowable(() -> repository.get(SOME_ARTIFACT_COORDINATES));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactNotFoundException.class)
+        .hasMessage("Artifact not found some.group:some-artifact:some-version");
+    assertThat(((ArtifactNotFoundException) e).getCoordinates())
+        .isEqualTo(SOME_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  @Tag("integration")
+  public void failWhenLocationIsMalformed(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+
+    Throwable e = catchThrowable(() -> repository.get(MALFORMED_ARTIFACT_COORDINATES));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasCauseInstanceOf(MalformedURLException.class);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithDependencyVersionRange(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(
+        someRepositoryDir,
+        SOME_ARTIFACT_COORDINATES,
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <version>[1.0,2.0)</version>",
+        "    </dependency>",
+        "  </dependencies>");
+    writeMetadata(
+        someRepositoryDir,
+        SOME_DEPENDENCY_ARTIFACT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "  <version>1.5</version>",
+        "  <version>2.0</version>",
+        "</versions>");
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(new ArtifactCoordinates(
+        SOME_DEPENDENCY_GROUP_ID,
+        SOME_DEPENDENCY_ARTIFACT_ID,
+        "1.5"));
+  }
+
+  @Test
+  @Tag("integration")
+  public void getNotTransitiveDependenciesUnresolved(@TempDir File someRepositoryDir)
+      throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(
+        someRepositoryDir,
+        SOME_ARTIFACT_COORDINATES,
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <version>[1.0,2.0)</version>",
+        "      <scope>test</scope>",
+        "    </dependency>",
+        "    <dependency>",
+        "      <groupId>versionless.test.group</groupId>",
+        "      <artifactId>versionless-test-artifact</artifactId>",
+        "      <scope>test</scope>",
+        "    </dependency>",
+        "    <dependency>",
+        "      <groupId>versionless.provided.group</groupId>",
+        "      <artifactId>versionless-provided-artifact</artifactId>",
+        "      <scope>provided</scope>",
+        "    </dependency>",
+        "  </dependencies>");
+
+    Artifact artifact = repository.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDeclaredDependencies())
+        .extracting(ArtifactDependency::getCoordinates)
+        .containsExactly(new ArtifactCoordinates(
+            SOME_DEPENDENCY_GROUP_ID,
+            SOME_DEPENDENCY_ARTIFACT_ID,
+            "[1.0,2.0)"));
+  }
+
+  @Test
+  @Tag("integration")
+  public void getDynamicVersions(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    writeProject(someRepositoryDir, versionOf(SOME_ARTIFACT_COORDINATES, "1.0"));
+    writeProject(someRepositoryDir, versionOf(SOME_ARTIFACT_COORDINATES, "1.1"));
+    writeProject(someRepositoryDir, versionOf(SOME_ARTIFACT_COORDINATES, "2.0-SNAPSHOT"));
+    writeMetadata(
+        someRepositoryDir,
+        SOME_ARTIFACT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "  <version>1.1</version>",
+        "  <version>2.0-SNAPSHOT</version>",
+        "</versions>");
+
+    Artifact latest = repository.get(versionOf(SOME_ARTIFACT_COORDINATES, "LATEST"));
+    Artifact release = repository.get(versionOf(SOME_ARTIFACT_COORDINATES, "RELEASE"));
+    Artifact ranged = repository.get(versionOf(SOME_ARTIFACT_COORDINATES, "(,1.1)"));
+
+    assertThat(fileName(latest)).isEqualTo("some-artifact-2.0-SNAPSHOT.jar");
+    assertThat(fileName(release)).isEqualTo("some-artifact-1.1.jar");
+    assertThat(fileName(ranged)).isEqualTo("some-artifact-1.0.jar");
+  }
+
+  @Test
+  @Tag("integration")
+  public void getTimestampedSnapshot(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    ArtifactCoordinates snapshotCoordinates =
+        versionOf(SOME_ARTIFACT_COORDINATES, "1.0-SNAPSHOT");
+    writeTimestampedProject(
+        someRepositoryDir,
+        snapshotCoordinates,
+        "1.0-20200101.120000-3",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_GROUP_ID + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_ARTIFACT_ID + "</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_VERSION + "</version>",
+        "    </dependency>",
+        "  </dependencies>");
+    writeMetadata(
+        someRepositoryDir,
+        snapshotCoordinates.getVersionMetadataPath(),
+        "<snapshot>",
+        "  <timestamp>20200101.120000</timestamp>",
+        "  <buildNumber>3</buildNumber>",
+        "</snapshot>");
+
+    Artifact artifact = repository.get(snapshotCoordinates);
+
+    assertThat(fileName(artifact)).isEqualTo("some-artifact-1.0-20200101.120000-3.jar");
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  @Tag("integration")
+  public void getWithRefreshedMetadata(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(
+        someRepositoryDir.toURI().toURL(),
+        ArtifactTransport.URL_CONNECTION,
+        ArtifactRepositoryListener.NONE,
+        Duration.ZERO);
+    ArtifactCoordinates rangeCoordinates = versionOf(SOME_ARTIFACT_COORDINATES, "[1.0,)");
+    writeProject(someRepositoryDir, versionOf(SOME_ARTIFACT_COORDINATES, "1.0"));
+    writeProject(someRepositoryDir, versionOf(SOME_ARTIFACT_COORDINATES, "1.1"));
+    writeMetadata(
+        someRepositoryDir,
+        SOME_ARTIFACT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "</versions>");
+    repository.get(rangeCoordinates);
+    writeMetadata(
+        someRepositoryDir,
+        SOME_ARTIFACT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "  <version>1.1</version>",
+        "</versions>");
+
+    Artifact artifact = repository.get(rangeCoordinates);
+
+    assertThat(fileName(artifact)).isEqualTo("some-artifact-1.1.jar");
+  }
+
+  @Test
+  @Tag("integration")
+  public void failWhenNoVersionIsInRange(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    ArtifactCoordinates rangeCoordinates = versionOf(SOME_ARTIFACT_COORDINATES, "[3.0,)");
+    writeMetadata(
+        someRepositoryDir,
+        SOME_ARTIFACT_COORDINATES.getArtifactMetadataPath(),
+        "<versions>",
+        "  <version>1.0</version>",
+        "</versions>");
+
+    Throwable e = catchThrowable(() -> repository.get(rangeCoordinates));
+
+    assertThat(e).isInstanceOf(ArtifactNotFoundException.class);
+    assertThat(((ArtifactNotFoundException) e).getCoordinates()).isEqualTo(rangeCoordinates);
+  }
+
+  @Test
+  @Tag("integration")
+  public void failWhenMetadataIsNotFound(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+
+    Throwable e = catchThrowable(() -> repository.get(
+        versionOf(SOME_ARTIFACT_COORDINATES, "RELEASE")));
+
+    assertThat(e).isInstanceOf(ArtifactNotFoundException.class);
+  }
+
+  @Test
+  @Tag("integration")
+  public void failWhenMetadataFileIsInvalid(@TempDir File someRepositoryDir) throws Exception {
+    ArtifactRepository repository = new ArtifactRepository(someRepositoryDir.toURI().toURL());
+    Path path = someRepositoryDir.toPath()
+        .resolve(SOME_ARTIFACT_COORDINATES.getArtifactMetadataPath());
+    createDirectories(path.getParent());
+    write(path, Stream.of("<unexpected/>").collect(toList()));
+
+    Throwable e = catchThrowable(() -> repository.get(
+        versionOf(SOME_ARTIFACT_COORDINATES, "LATEST")));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasCauseInstanceOf(XMLStreamException.class);
+  }
+
+  @Test
+  public void failWhenMetadataRefreshIntervalIsNegative() {
+    Throwable e = catchThrowable(() -> new ArtifactRepository(
+        ANY_DIRECTORY,
+        ArtifactTransport.URL_CONNECTION,
+        ArtifactRepositoryListener.NONE,
+        Duration.ofSeconds(-1L)));
+
+    assertThat(e)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Metadata refresh interval must not be negative");
+  }
+
+  private static String parent(ArtifactCoordinates coordinates) {
+    return Stream.of(
+        "  <parent>",
+        "    <groupId>" + coordinates.getGroupId() + "</groupId>",
+        "    <artifactId>" + coordinates.getArtifactId() + "</artifactId>",
+        "    <version>" + coordinates.getVersion() + "</version>",
+        "  </parent>")
+        .collect(joining("\n"));
+  }
+
+  private static String imports(ArtifactCoordinates... coordinates) {
+    return Stream.concat(
+        Stream.concat(
+            Stream.of("  <dependencyManagement>", "    <dependencies>"),
+            Stream.of(coordinates).map(imported -> Stream.of(
+                "      <dependency>",
+                "        <groupId>" + imported.getGroupId() + "</groupId>",
+                "        <artifactId>" + imported.getArtifactId() + "</artifactId>",
+                "        <version>" + imported.getVersion() + "</version>",
+                "        <type>pom</type>",
+                "        <scope>import</scope>",
+                "      </dependency>")
+                .collect(joining("\n")))),
+        Stream.of("    </dependencies>", "  </dependencyManagement>"))
+        .collect(joining("\n"));
+  }
+
+  private static void writeProject(
+      File repositoryDir,
+      ArtifactCoordinates coordinates,
+      String... lines) throws Exception {
+    Path path = repositoryDir.toPath().resolve(coordinates.getPath("pom"));
+    createDirectories(path.getParent());
+    write(
+        path,
+        Stream.concat(
+            Stream.concat(
+                Stream.of(
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                    "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"),
+                Stream.of(lines)),
+            Stream.of("</project>"))
+            .collect(toList()));
+  }
+
+  private static void writeTimestampedProject(
+      File repositoryDir,
+      ArtifactCoordinates coordinates,
+      String fileVersion,
+      String... lines) throws Exception {
+    Path path = repositoryDir.toPath().resolve(coordinates.getPath("pom", fileVersion));
+    createDirectories(path.getParent());
+    write(
+        path,
+        Stream.concat(
+            Stream.concat(
+                Stream.of(
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                    "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"),
+                Stream.of(lines)),
+            Stream.of("</project>"))
+            .collect(toList()));
+  }
+
+  private static void writeMetadata(File repositoryDir, String relativePath, String... lines)
+      throws Exception {
+    Path path = repositoryDir.toPath().resolve(relativePath);
+    createDirectories(path.getParent());
+    write(
+        path,
+        Stream.concat(
+            Stream.concat(
+                Stream.of(
+                    "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                    "<metadata>",
+                    "  <versioning>"),
+                Stream.of(lines)),
+            Stream.of("  </versioning>", "</metadata>"))
+            .collect(toList()));
+  }
+
+  private static ArtifactCoordinates versionOf(ArtifactCoordinates coordinates, String version) {
+    return new ArtifactCoordinates(coordinates.getGroupId(), coordinates.getArtifactId(), version);
+  }
+
+  private static String fileName(Artifact artifact) {
+    return Paths.get(artifact.getLocation().getPath()).getFileName().toString();
+  }
+
+  private static long projectSize(File repositoryDir, ArtifactCoordinates coordinates)
+      throws Exception {
+    return size(repositoryDir.toPath().resolve(coordinates.getPath("pom")));
+  }
+
+  private static void deleteProject(File repositoryDir, ArtifactCoordinates coordinates)
+      throws Exception {
+    delete(repositoryDir.toPath().resolve(coordinates.getPath("pom")));
   }
 }
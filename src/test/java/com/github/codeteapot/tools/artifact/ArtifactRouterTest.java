@@ -0,0 +1,371 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactRouterTest {
+
+  private static final double ANY_HEDGE_PERCENTILE = 0.5;
+  private static final long GATE_DELAY_MILLIS = 100L;
+  private static final Duration SHORT_TIME_TO_LIVE = Duration.ofNanos(1L);
+  private static final int TRACKED_GROUP_COUNT = 1024;
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "another-artifact",
+      "some-version");
+  private static final ArtifactCoordinates YET_ANOTHER_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "yet-another-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_GROUP_COORDINATES = new ArtifactCoordinates(
+      "another.group",
+      "some-artifact",
+      "some-version");
+
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    executor.shutdown();
+    executor.awaitTermination(1L, TimeUnit.MINUTES);
+  }
+
+  @Test
+  public void getFromFirstSource() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = new ArtifactRouter(asList(someSource, anotherSource));
+
+    Artifact artifact = router.get(SOME_COORDINATES);
+
+    assertThat(artifact).isSameAs(someSource.get(SOME_COORDINATES));
+    assertThat(anotherSource.fetchCount(SOME_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void failOverWhenNotFound() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource();
+    TestArtifactSource anotherSource = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES);
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+
+    Artifact artifact = router.get(ANOTHER_COORDINATES);
+
+    assertThat(artifact).isSameAs(anotherSource.get(ANOTHER_COORDINATES));
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isEqualTo(1);
+    assertThat(someSource.fetchCount(ANOTHER_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void failOverToSourceMissingGroup() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(ANOTHER_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+
+    Artifact artifact = router.get(ANOTHER_COORDINATES);
+
+    assertThat(artifact).isSameAs(someSource.get(ANOTHER_COORDINATES));
+    assertThat(anotherSource.fetchCount(ANOTHER_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void keepSourceHostingGroup() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource()
+        .with(ANOTHER_COORDINATES)
+        .failing(YET_ANOTHER_COORDINATES, new IOException());
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    catchThrowable(() -> router.get(YET_ANOTHER_COORDINATES));
+    catchThrowable(() -> router.get(YET_ANOTHER_COORDINATES));
+    catchThrowable(() -> router.get(YET_ANOTHER_COORDINATES));
+
+    Artifact artifact = router.get(ANOTHER_COORDINATES);
+
+    assertThat(artifact).isSameAs(anotherSource.get(ANOTHER_COORDINATES));
+    assertThat(someSource.fetchCount(ANOTHER_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void preferHealthySource() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .failing(ANOTHER_GROUP_COORDINATES, new IOException());
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = router(someSource, anotherSource);
+    catchThrowable(() -> router.get(ANOTHER_GROUP_COORDINATES));
+    catchThrowable(() -> router.get(ANOTHER_GROUP_COORDINATES));
+    catchThrowable(() -> router.get(ANOTHER_GROUP_COORDINATES));
+
+    Artifact artifact = router.get(SOME_COORDINATES);
+
+    assertThat(artifact).isSameAs(anotherSource.get(SOME_COORDINATES));
+    assertThat(someSource.fetchCount(SOME_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void hedgeWhenSlow() throws Exception {
+    CountDownLatch someGate = new CountDownLatch(1);
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    someSource.gated(someGate);
+
+    Artifact artifact = router.get(SOME_COORDINATES);
+
+    assertThat(artifact).isSameAs(anotherSource.get(SOME_COORDINATES));
+    someGate.countDown();
+  }
+
+  @Test
+  public void cancelLosingRequest() throws Exception {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    someSource.gated(new CountDownLatch(1));
+
+    router.get(SOME_COORDINATES);
+    executor.shutdown();
+
+    assertThat(executor.awaitTermination(1L, TimeUnit.MINUTES)).isTrue();
+  }
+
+  @Test
+  public void neverHedgeToSourceMissingGroup() throws Exception {
+    CountDownLatch someGate = new CountDownLatch(1);
+    TestArtifactSource someSource = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource();
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    catchThrowable(() -> router.get(YET_ANOTHER_COORDINATES));
+    someSource.gated(someGate);
+
+    Future<Artifact> artifact = executor.submit(() -> router.get(ANOTHER_COORDINATES));
+    Thread.sleep(GATE_DELAY_MILLIS);
+    someGate.countDown();
+
+    assertThat(artifact.get()).isSameAs(someSource.get(ANOTHER_COORDINATES));
+    assertThat(anotherSource.fetchCount(ANOTHER_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void hedgeToSourceWhoseMissingGroupExpired() throws Exception {
+    CountDownLatch someGate = new CountDownLatch(1);
+    TestArtifactSource someSource = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource();
+    ArtifactRouter router = router(SHORT_TIME_TO_LIVE, someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    catchThrowable(() -> router.get(YET_ANOTHER_COORDINATES));
+    Thread.sleep(1L);
+    someSource.gated(someGate);
+
+    Future<Artifact> artifact = executor.submit(() -> router.get(ANOTHER_COORDINATES));
+    Thread.sleep(GATE_DELAY_MILLIS);
+    someGate.countDown();
+
+    assertThat(artifact.get()).isSameAs(someSource.get(ANOTHER_COORDINATES));
+    assertThat(anotherSource.fetchCount(ANOTHER_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void hedgeToSourceWhoseMissingGroupWasEvicted() throws Exception {
+    CountDownLatch someGate = new CountDownLatch(1);
+    TestArtifactSource someSource = new TestArtifactSource()
+        .with(SOME_COORDINATES)
+        .with(ANOTHER_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource();
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    catchThrowable(() -> router.get(YET_ANOTHER_COORDINATES));
+    for (int i = 0; i < TRACKED_GROUP_COUNT; ++i) {
+      ArtifactCoordinates coordinates = new ArtifactCoordinates(
+          "another.group" + i,
+          "some-artifact",
+          "some-version");
+      catchThrowable(() -> router.get(coordinates));
+    }
+    someSource.gated(someGate);
+
+    Future<Artifact> artifact = executor.submit(() -> router.get(ANOTHER_COORDINATES));
+    Thread.sleep(GATE_DELAY_MILLIS);
+    someGate.countDown();
+
+    assertThat(artifact.get()).isSameAs(someSource.get(ANOTHER_COORDINATES));
+    assertThat(anotherSource.fetchCount(ANOTHER_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void preferFastestSource() throws Exception {
+    CountDownLatch someGate = new CountDownLatch(1);
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    someSource.gated(someGate);
+    router.get(SOME_COORDINATES);
+    Thread.sleep(GATE_DELAY_MILLIS);
+    someGate.countDown();
+    executor.shutdown();
+    executor.awaitTermination(1L, TimeUnit.MINUTES);
+    executor = Executors.newCachedThreadPool();
+
+    Artifact artifact = router.get(SOME_COORDINATES);
+
+    assertThat(artifact).isSameAs(anotherSource.get(SOME_COORDINATES));
+  }
+
+  @Test
+  public void failWithFirstFailureWhenAllFail() {
+    TestArtifactSource someSource = new TestArtifactSource();
+    TestArtifactSource anotherSource = new TestArtifactSource()
+        .failing(SOME_COORDINATES, new ArtifactRepositoryException("some-message"));
+    ArtifactRouter router = router(someSource, anotherSource);
+
+    Throwable e = catchThrowable(() -> router.get(SOME_COORDINATES));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactNotFoundException.class)
+        .hasSuppressedException(new ArtifactRepositoryException("some-message"));
+  }
+
+  @Test
+  public void failWithFirstRequestedFailureWhenAllFail() throws Exception {
+    CountDownLatch someGate = new CountDownLatch(1);
+    IOException someFailure = new IOException("some-failure");
+    ArtifactRepositoryException anotherFailure = new ArtifactRepositoryException("another-failure");
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    TestArtifactSource anotherSource = new TestArtifactSource()
+        .failing(ANOTHER_COORDINATES, anotherFailure);
+    ArtifactRouter router = router(someSource, anotherSource);
+    router.get(SOME_COORDINATES);
+    someSource.failing(ANOTHER_COORDINATES, someFailure).gated(someGate);
+
+    Future<Throwable> e = executor.submit(() -> catchThrowable(
+        () -> router.get(ANOTHER_COORDINATES)));
+    Thread.sleep(GATE_DELAY_MILLIS);
+    someGate.countDown();
+
+    assertThat(e.get())
+        .isSameAs(someFailure)
+        .hasSuppressedException(anotherFailure);
+    assertThat(anotherSource.fetchCount(ANOTHER_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void failWithRuntimeFailureWhenAllFail() {
+    TestArtifactSource someSource = new TestArtifactSource()
+        .failing(SOME_COORDINATES, new IllegalStateException());
+    ArtifactRouter router = router(someSource);
+
+    Throwable e = catchThrowable(() -> router.get(SOME_COORDINATES));
+
+    assertThat(e).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void failWhenInterrupted() {
+    TestArtifactSource someSource = new TestArtifactSource().with(SOME_COORDINATES);
+    ArtifactRouter router = router(someSource);
+    Thread.currentThread().interrupt();
+
+    Throwable e = catchThrowable(() -> router.get(SOME_COORDINATES));
+
+    assertThat(e).isInstanceOf(InterruptedIOException.class);
+    assertThat(Thread.interrupted()).isTrue();
+  }
+
+  @Test
+  public void failWhenThereAreNoSources() {
+    Throwable e = catchThrowable(() -> new ArtifactRouter(emptyList()));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenHedgePercentileIsNotPositive() {
+    Throwable e = catchThrowable(() -> new ArtifactRouter(
+        singletonList(new TestArtifactSource()),
+        0.0,
+        executor));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenHedgePercentileIsGreaterThanOne() {
+    Throwable e = catchThrowable(() -> new ArtifactRouter(
+        singletonList(new TestArtifactSource()),
+        1.5,
+        executor));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenMissingGroupTimeToLiveIsZero() {
+    Throwable e = catchThrowable(() -> new ArtifactRouter(
+        singletonList(new TestArtifactSource()),
+        ANY_HEDGE_PERCENTILE,
+        executor,
+        Duration.ZERO));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenMissingGroupTimeToLiveIsNegative() {
+    Throwable e = catchThrowable(() -> new ArtifactRouter(
+        singletonList(new TestArtifactSource()),
+        ANY_HEDGE_PERCENTILE,
+        executor,
+        SHORT_TIME_TO_LIVE.negated()));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private ArtifactRouter router(ArtifactSource... sources) {
+    return new ArtifactRouter(asList(sources), ANY_HEDGE_PERCENTILE, task -> executor.execute(task));
+  }
+
+  private ArtifactRouter router(Duration missingGroupTimeToLive, ArtifactSource... sources) {
+    return new ArtifactRouter(
+        asList(sources),
+        ANY_HEDGE_PERCENTILE,
+        task -> executor.execute(task),
+        missingGroupTimeToLive);
+  }
+}
@@ -0,0 +1,63 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactSourceTest {
+
+  private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+  private static final ArtifactCoordinates SOME_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+
+  @Test
+  public void getAsyncOnDefaultExecutor() throws Exception {
+    TestArtifactSource source = new TestArtifactSource().with(SOME_COORDINATES);
+
+    Artifact artifact = source.getAsync(SOME_COORDINATES).get();
+
+    assertThat(artifact).isSameAs(source.get(SOME_COORDINATES));
+  }
+
+  @Test
+  public void getAsyncOnGivenExecutor() throws Exception {
+    TestArtifactSource source = new TestArtifactSource().with(SOME_COORDINATES);
+
+    Artifact artifact = source.getAsync(SOME_COORDINATES, DIRECT_EXECUTOR).getNow(null);
+
+    assertThat(artifact).isSameAs(source.get(SOME_COORDINATES));
+  }
+
+  @Test
+  public void getAsyncFailed() {
+    IOException someFailure = new IOException("some-failure");
+    TestArtifactSource source = new TestArtifactSource().failing(SOME_COORDINATES, someFailure);
+
+    Throwable e = catchThrowable(() -> source.getAsync(SOME_COORDINATES, DIRECT_EXECUTOR).get());
+
+    assertThat(e)
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(someFailure);
+  }
+
+  @Test
+  public void getAsyncFailedWithError() {
+    Error someFailure = new AssertionError("some-failure");
+    ArtifactSource source = coordinates -> {
+      throw someFailure;
+    };
+
+    Throwable e = catchThrowable(() -> source.getAsync(SOME_COORDINATES, DIRECT_EXECUTOR).get());
+
+    assertThat(e)
+        .isInstanceOf(ExecutionException.class)
+        .hasCause(someFailure);
+  }
+}
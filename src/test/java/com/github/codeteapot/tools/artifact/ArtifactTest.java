@@ -0,0 +1,321 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static java.util.Arrays.copyOf;
+import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.github.codeteapot.tools.artifact.test.TestHttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class ArtifactTest {
+
+  private static final byte[] SOME_BUNDLE_CONTENT = randomContent(300 * 1024);
+  private static final String SOME_BUNDLE_SHA1 = "sha1-of-some-bundle";
+  private static final String SOME_BUNDLE_SHA256 = "sha256-of-some-bundle";
+
+  private static final String SOME_BUNDLE_PATH = "/some-bundle.jar";
+  private static final String SOME_TARGET_NAME = "some-target.jar";
+  private static final String SOME_PARTIAL_NAME = "some-target.jar.part";
+  private static final String SOME_VALIDATOR_NAME = "some-target.jar.part.validator";
+  private static final String SOME_ENTITY_TAG = "\"" + Arrays.hashCode(SOME_BUNDLE_CONTENT) + "\"";
+  private static final String ANOTHER_ENTITY_TAG = "\"another-entity-tag\"";
+  private static final String SOME_LAST_MODIFIED = "Thu, 01 Jan 2026 00:00:00 GMT";
+
+  @Test
+  public void downloadLocalFile(@TempDir Path someDir) throws Exception {
+    Path source = someDir.resolve("some-bundle.jar");
+    write(source, SOME_BUNDLE_CONTENT);
+    Artifact artifact = new Artifact(source.toUri().toURL(), emptySet());
+
+    artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+    assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+    assertThat(exists(someDir.resolve(SOME_PARTIAL_NAME))).isFalse();
+  }
+
+  @Test
+  public void downloadLocalFileVerified(@TempDir Path someDir) throws Exception {
+    Path source = someDir.resolve("some-bundle.jar");
+    write(source, SOME_BUNDLE_CONTENT);
+    write(
+        someDir.resolve("some-bundle.jar.sha256"),
+        (checksum("SHA-256", SOME_BUNDLE_CONTENT) + "  some-bundle.jar\n").getBytes(US_ASCII));
+    Artifact artifact = new Artifact(source.toUri().toURL(), emptySet());
+
+    artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+    assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+  }
+
+  @Test
+  public void failWhenLocalFileChecksumDoesNotMatch(@TempDir Path someDir) throws Exception {
+    Path source = someDir.resolve("some-bundle.jar");
+    write(source, SOME_BUNDLE_CONTENT);
+    write(someDir.resolve("some-bundle.jar.sha1"), SOME_BUNDLE_SHA1.getBytes(US_ASCII));
+    Artifact artifact = new Artifact(source.toUri().toURL(), emptySet());
+
+    Throwable e = catchThrowable(() -> artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME)));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasMessageStartingWith("Checksum mismatch");
+    assertThat(exists(someDir.resolve(SOME_TARGET_NAME))).isFalse();
+    assertThat(exists(someDir.resolve(SOME_PARTIAL_NAME))).isFalse();
+  }
+
+  @Test
+  public void failWhenLocalFileLocationIsNotURI(@TempDir Path someDir) throws Exception {
+    Artifact artifact = new Artifact(
+        new URL("file:" + someDir.toAbsolutePath() + "/some bundle.jar"),
+        emptySet());
+
+    Throwable e = catchThrowable(() -> artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME)));
+
+    assertThat(e).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void downloadRemoteFileVerified(@TempDir Path someDir) throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)
+        .with(SOME_BUNDLE_PATH + ".sha1", checksum("SHA-1", SOME_BUNDLE_CONTENT)
+            .getBytes(US_ASCII))) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+    }
+  }
+
+  @Test
+  public void resumeRemoteFileVerified(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), copyOf(SOME_BUNDLE_CONTENT, 1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), SOME_ENTITY_TAG.getBytes(US_ASCII));
+    try (TestHttpServer server = new TestHttpServer()
+        .withRangeSupported()
+        .withEntityTag()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)
+        .with(SOME_BUNDLE_PATH + ".sha256", checksum("SHA-256", SOME_BUNDLE_CONTENT)
+            .getBytes(US_ASCII))) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+      assertThat(server.exchanges())
+          .anySatisfy(exchange -> {
+            assertThat(exchange.getRequestHeaders().getFirst("Range")).isEqualTo("bytes=1000-");
+            assertThat(exchange.getRequestHeaders().getFirst("If-Range"))
+                .isEqualTo(SOME_ENTITY_TAG);
+          });
+      assertThat(exists(someDir.resolve(SOME_VALIDATOR_NAME))).isFalse();
+    }
+  }
+
+  @Test
+  public void resumeRemoteFile(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), copyOf(SOME_BUNDLE_CONTENT, 1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), SOME_LAST_MODIFIED.getBytes(US_ASCII));
+    try (TestHttpServer server = new TestHttpServer()
+        .withRangeSupported()
+        .withLastModified()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+      assertThat(server.exchanges())
+          .anySatisfy(exchange -> assertThat(exchange.getRequestHeaders().getFirst("Range"))
+              .isEqualTo("bytes=1000-"));
+    }
+  }
+
+  @Test
+  public void restartRemoteFileWhenItHasChanged(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), randomContent(1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), ANOTHER_ENTITY_TAG.getBytes(US_ASCII));
+    try (TestHttpServer server = new TestHttpServer()
+        .withRangeSupported()
+        .withEntityTag()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)
+        .with(SOME_BUNDLE_PATH + ".sha256", checksum("SHA-256", SOME_BUNDLE_CONTENT)
+            .getBytes(US_ASCII))) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+    }
+  }
+
+  @Test
+  public void restartRemoteFileWhenRangeIsNotSatisfiable(@TempDir Path someDir) throws Exception {
+    write(
+        someDir.resolve(SOME_PARTIAL_NAME),
+        copyOf(SOME_BUNDLE_CONTENT, SOME_BUNDLE_CONTENT.length + 1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), SOME_ENTITY_TAG.getBytes(US_ASCII));
+    try (TestHttpServer server = new TestHttpServer()
+        .withRangeSupported()
+        .withEntityTag()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+    }
+  }
+
+  @Test
+  public void restartRemoteFileWhenRangeDoesNotMatch(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), copyOf(SOME_BUNDLE_CONTENT, 1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), SOME_ENTITY_TAG.getBytes(US_ASCII));
+    try (TestHttpServer server = new TestHttpServer()
+        .withRangeFrom(500)
+        .withEntityTag()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+    }
+  }
+
+  @Test
+  public void restartRemoteFileWhenRangeIsMissing(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), copyOf(SOME_BUNDLE_CONTENT, 1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), SOME_ENTITY_TAG.getBytes(US_ASCII));
+    try (TestHttpServer server = new TestHttpServer()
+        .withoutContentRange()
+        .withEntityTag()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+      assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+      assertThat(server.exchanges().get(server.exchanges().size() - 1).getRequestHeaders()
+          .getFirst("Range")).isNull();
+    }
+  }
+
+  @Test
+  public void keepValidatorOfInterruptedRemoteFile(@TempDir Path someDir) throws Exception {
+    Artifact artifact = new Artifact(
+        new URL("some", "some-host", -1, SOME_BUNDLE_PATH, new SomeHandler(true)),
+        emptySet());
+
+    Throwable e = catchThrowable(() -> artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME)));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessage("Interrupted transfer");
+    assertThat(readAllBytes(someDir.resolve(SOME_VALIDATOR_NAME)))
+        .isEqualTo(SOME_LAST_MODIFIED.getBytes(US_ASCII));
+  }
+
+  @Test
+  public void restartRemoteFileWithoutRanges(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), copyOf(SOME_BUNDLE_CONTENT, 1000));
+    write(someDir.resolve(SOME_VALIDATOR_NAME), SOME_LAST_MODIFIED.getBytes(US_ASCII));
+    Artifact artifact = new Artifact(
+        new URL("some", "some-host", -1, SOME_BUNDLE_PATH, new SomeHandler(false)),
+        emptySet());
+
+    artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME));
+
+    assertThat(readAllBytes(someDir.resolve(SOME_TARGET_NAME))).isEqualTo(SOME_BUNDLE_CONTENT);
+    assertThat(exists(someDir.resolve(SOME_VALIDATOR_NAME))).isFalse();
+  }
+
+  @Test
+  public void failWhenRestartedRemoteFileChecksumDoesNotMatch(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_PARTIAL_NAME), randomContent(1000));
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_BUNDLE_PATH, SOME_BUNDLE_CONTENT)
+        .with(SOME_BUNDLE_PATH + ".sha256", SOME_BUNDLE_SHA256.getBytes(US_ASCII))) {
+      Artifact artifact = new Artifact(server.url(SOME_BUNDLE_PATH), emptySet());
+
+      Throwable e = catchThrowable(() -> artifact.downloadTo(someDir.resolve(SOME_TARGET_NAME)));
+
+      assertThat(e).isInstanceOf(ArtifactRepositoryException.class);
+      assertThat(exists(someDir.resolve(SOME_PARTIAL_NAME))).isFalse();
+    }
+  }
+
+  private static class SomeHandler extends URLStreamHandler {
+
+    private final boolean interrupted;
+
+    private SomeHandler(boolean interrupted) {
+      this.interrupted = interrupted;
+    }
+
+    @Override
+    protected URLConnection openConnection(URL location) throws IOException {
+      if (!location.getPath().equals(SOME_BUNDLE_PATH)) {
+        throw new FileNotFoundException(location.toString());
+      }
+      return new URLConnection(location) {
+
+        @Override
+        public void connect() {}
+
+        @Override
+        public String getHeaderField(String name) {
+          return name.equals("Last-Modified") ? SOME_LAST_MODIFIED : null;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+          if (interrupted) {
+            return new InputStream() {
+
+              @Override
+              public int read() throws IOException {
+                throw new IOException("Interrupted transfer");
+              }
+            };
+          }
+          return new ByteArrayInputStream(SOME_BUNDLE_CONTENT);
+        }
+      };
+    }
+  }
+
+  private static byte[] randomContent(int length) {
+    byte[] content = new byte[length];
+    new Random(length).nextBytes(content);
+    return content;
+  }
+
+  private static String checksum(String algorithm, byte[] content) throws Exception {
+    StringBuilder hex = new StringBuilder();
+    for (byte octet : MessageDigest.getInstance(algorithm).digest(content)) {
+      hex.append(String.format("%02x", octet));
+    }
+    return hex.toString();
+  }
+}
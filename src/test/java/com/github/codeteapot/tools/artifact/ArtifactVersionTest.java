@@ -0,0 +1,180 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ArtifactVersionTest {
+
+  private static final String SOME_VERSION = "1.0-SOME";
+
+  @Test
+  public void equalIgnoringTrailingZerosAndReleaseQualifiers() {
+    ArtifactVersion version = new ArtifactVersion("1");
+
+    assertThat(version)
+        .isEqualTo(new ArtifactVersion("1.0.0"))
+        .isEqualTo(new ArtifactVersion("1.0-ga"))
+        .isEqualTo(new ArtifactVersion("1-final"))
+        .isEqualTo(new ArtifactVersion("1.0.RELEASE"))
+        .hasSameHashCodeAs(new ArtifactVersion("1.0.0"));
+  }
+
+  @Test
+  public void equalWhenOnlyZeros() {
+    ArtifactVersion version = new ArtifactVersion("0.0");
+
+    assertThat(version).isEqualTo(new ArtifactVersion(""));
+  }
+
+  @Test
+  public void notEqualByObjectType() {
+    ArtifactVersion version = new ArtifactVersion(SOME_VERSION);
+
+    assertThat(version)
+        .isNotEqualTo(new Object())
+        .isNotEqualTo(new ArtifactVersion("1.0"));
+  }
+
+  @Test
+  public void hasOriginalText() {
+    ArtifactVersion version = new ArtifactVersion(SOME_VERSION);
+
+    assertThat(version).hasToString(SOME_VERSION);
+  }
+
+  @Test
+  public void orderQualifiers() {
+    List<String> versions = sorted(
+        "1.0-bar",
+        "1.0",
+        "1.0-sp",
+        "1.0-foo",
+        "1.0-SNAPSHOT",
+        "1.0-cr1",
+        "1.0-m3",
+        "1.0-b2",
+        "1.0-alpha-1",
+        "1.0-a",
+        "1.0-m",
+        "1.0-a2",
+        "1.0-b");
+
+    assertThat(versions).containsExactly(
+        "1.0-alpha-1",
+        "1.0-a2",
+        "1.0-b2",
+        "1.0-m3",
+        "1.0-cr1",
+        "1.0-SNAPSHOT",
+        "1.0",
+        "1.0-sp",
+        "1.0-a",
+        "1.0-b",
+        "1.0-bar",
+        "1.0-foo",
+        "1.0-m");
+  }
+
+  @Test
+  public void orderNumbers() {
+    List<String> versions = sorted(
+        "1.10",
+        "2",
+        "1.9",
+        "1.0.1",
+        "1-alpha",
+        "1",
+        "1.0.2");
+
+    assertThat(versions).containsExactly(
+        "1-alpha",
+        "1",
+        "1.0.1",
+        "1.0.2",
+        "1.9",
+        "1.10",
+        "2");
+  }
+
+  @Test
+  public void orderNumbersWithLeadingZeros() {
+    ArtifactVersion version = new ArtifactVersion("1.010");
+
+    assertThat(version).isEqualByComparingTo(new ArtifactVersion("1.10"));
+  }
+
+  @Test
+  public void numbersGreaterThanQualifiers() {
+    ArtifactVersion version = new ArtifactVersion("1.0-1");
+
+    assertThat(version).isGreaterThan(new ArtifactVersion("1.0-sp"));
+  }
+
+  @Test
+  public void equalIgnoringTrailingZerosBeforeQualifiers() {
+    ArtifactVersion version = new ArtifactVersion("1.0.0-beta");
+
+    assertThat(version)
+        .isEqualTo(new ArtifactVersion("1.0-beta"))
+        .hasSameHashCodeAs(new ArtifactVersion("1.0-beta"));
+  }
+
+  @Test
+  public void orderQualifiersWhateverTheLeadingZeros() {
+    List<String> versions = sorted(
+        "1.0-rc1",
+        "1.0.0-beta1",
+        "1.0.0-rc2",
+        "1-alpha");
+
+    assertThat(versions).containsExactly(
+        "1-alpha",
+        "1.0.0-beta1",
+        "1.0-rc1",
+        "1.0.0-rc2");
+  }
+
+  @Test
+  public void qualifiersLowerThanListsOfNumbers() {
+    ArtifactVersion version = new ArtifactVersion("1.0.0-beta");
+
+    assertThat(version).isLessThan(new ArtifactVersion("1.0-rc1"));
+  }
+
+  @Test
+  public void listsLowerThanNumbers() {
+    ArtifactVersion version = new ArtifactVersion("1-1");
+
+    assertThat(version)
+        .isLessThan(new ArtifactVersion("1.1"))
+        .isGreaterThan(new ArtifactVersion("1.0.0-sp"));
+  }
+
+  @Test
+  public void orderNestedListsBySize() {
+    ArtifactVersion version = new ArtifactVersion("1-2.1");
+
+    assertThat(version)
+        .isGreaterThan(new ArtifactVersion("1-2"))
+        .isLessThan(new ArtifactVersion("1-2.1.1"));
+  }
+
+  @Test
+  public void equalWhenSeparatorsAreRepeated() {
+    ArtifactVersion version = new ArtifactVersion("1..1");
+
+    assertThat(version).isEqualTo(new ArtifactVersion("1.0.1."));
+  }
+
+  private static List<String> sorted(String... versions) {
+    return Stream.of(versions)
+        .map(ArtifactVersion::new)
+        .sorted()
+        .map(ArtifactVersion::toString)
+        .collect(toList());
+  }
+}
@@ -0,0 +1,50 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.TestUtil.validURL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URL;
+import org.junit.jupiter.api.Test;
+
+public class BandwidthLimiterTest {
+
+  private static final URL ANY_LOCATION = validURL("file:///any-file");
+
+  private static final byte[] SOME_CONTENT = {1, 2};
+
+  private static final long FAST_BYTES_PER_SECOND = 1000000L;
+  private static final long SLOW_BYTES_PER_SECOND = 1L;
+
+  @Test
+  public void readSingleBytes() throws Exception {
+    BandwidthLimiter limiter = new BandwidthLimiter(FAST_BYTES_PER_SECOND);
+    InputStream input = limiter.limited(location -> new ByteArrayInputStream(SOME_CONTENT))
+        .open(ANY_LOCATION);
+
+    int first = input.read();
+    int second = input.read();
+    int end = input.read();
+
+    assertThat(first).isEqualTo(SOME_CONTENT[0]);
+    assertThat(second).isEqualTo(SOME_CONTENT[1]);
+    assertThat(end).isEqualTo(-1);
+  }
+
+  @Test
+  public void failWhenInterrupted() throws Exception {
+    BandwidthLimiter limiter = new BandwidthLimiter(SLOW_BYTES_PER_SECOND);
+    InputStream input = limiter.limited(location -> new ByteArrayInputStream(SOME_CONTENT))
+        .open(ANY_LOCATION);
+    input.read();
+    Thread.currentThread().interrupt();
+
+    Throwable e = catchThrowable(() -> input.read());
+
+    assertThat(e).isInstanceOf(InterruptedIOException.class);
+    assertThat(Thread.interrupted()).isTrue();
+  }
+}
@@ -0,0 +1,138 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.TestUtil.validURL;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class CompactDependencyGraphTest {
+
+  private static final ArtifactCoordinates SOME_COORDINATES = coordinates("some-artifact");
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES =
+      coordinates("some-dependency");
+  private static final ArtifactCoordinates ANOTHER_DEPENDENCY_COORDINATES =
+      coordinates("another-dependency");
+  private static final ArtifactCoordinates SOME_LEAF_COORDINATES = coordinates("some-leaf");
+  private static final ArtifactCoordinates UNKNOWN_COORDINATES = coordinates("unknown");
+
+  @Test
+  public void identifyEveryCoordinates() {
+    CompactDependencyGraph graph = new CompactDependencyGraph(someArtifacts());
+
+    int someId = graph.getId(SOME_LEAF_COORDINATES);
+
+    assertThat(graph.getSize()).isEqualTo(4);
+    assertThat(graph.getCoordinates(someId)).isEqualTo(SOME_LEAF_COORDINATES);
+    assertThat(graph.getId(UNKNOWN_COORDINATES)).isEqualTo(-1);
+  }
+
+  @Test
+  public void hasDependencies() {
+    CompactDependencyGraph graph = new CompactDependencyGraph(someArtifacts());
+
+    int[] dependencies = graph.getDependencies(graph.getId(SOME_COORDINATES));
+
+    assertThat(dependencies).containsExactlyInAnyOrder(
+        graph.getId(SOME_DEPENDENCY_COORDINATES),
+        graph.getId(ANOTHER_DEPENDENCY_COORDINATES));
+    assertThat(graph.getDependencies(graph.getId(SOME_LEAF_COORDINATES))).isEmpty();
+  }
+
+  @Test
+  public void hasDependents() {
+    CompactDependencyGraph graph = new CompactDependencyGraph(someArtifacts());
+
+    int[] dependents = graph.getDependents(graph.getId(ANOTHER_DEPENDENCY_COORDINATES));
+
+    assertThat(dependents).containsExactlyInAnyOrder(
+        graph.getId(SOME_COORDINATES),
+        graph.getId(SOME_DEPENDENCY_COORDINATES));
+    assertThat(graph.getDependents(graph.getId(SOME_COORDINATES))).isEmpty();
+  }
+
+  @Test
+  public void hasTransitiveDependencies() {
+    CompactDependencyGraph graph = new CompactDependencyGraph(someArtifacts());
+
+    BitSet dependencies = graph.getTransitiveDependencies(graph.getId(SOME_COORDINATES));
+
+    assertThat(dependencies).isEqualTo(ids(
+        graph,
+        SOME_DEPENDENCY_COORDINATES,
+        ANOTHER_DEPENDENCY_COORDINATES,
+        SOME_LEAF_COORDINATES));
+  }
+
+  @Test
+  public void hasTransitiveDependents() {
+    CompactDependencyGraph graph = new CompactDependencyGraph(someArtifacts());
+
+    BitSet dependents = graph.getTransitiveDependents(graph.getId(SOME_LEAF_COORDINATES));
+
+    assertThat(dependents).isEqualTo(ids(
+        graph,
+        SOME_COORDINATES,
+        SOME_DEPENDENCY_COORDINATES,
+        ANOTHER_DEPENDENCY_COORDINATES));
+  }
+
+  @Test
+  public void hasTopologicalOrder() {
+    CompactDependencyGraph graph = new CompactDependencyGraph(someArtifacts());
+
+    int[] order = graph.getTopologicalOrder();
+
+    assertThat(IntStream.of(order).mapToObj(graph::getCoordinates)).containsExactly(
+        SOME_LEAF_COORDINATES,
+        ANOTHER_DEPENDENCY_COORDINATES,
+        SOME_DEPENDENCY_COORDINATES,
+        SOME_COORDINATES);
+  }
+
+  @Test
+  public void failTopologicalOrderWhenCyclic() {
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    artifacts.put(SOME_COORDINATES, artifact(SOME_DEPENDENCY_COORDINATES));
+    artifacts.put(SOME_DEPENDENCY_COORDINATES, artifact(SOME_COORDINATES));
+    CompactDependencyGraph graph = new CompactDependencyGraph(artifacts);
+
+    Throwable e = catchThrowable(() -> graph.getTopologicalOrder());
+
+    assertThat(e).isInstanceOf(IllegalStateException.class);
+    assertThat(graph.getTransitiveDependencies(graph.getId(SOME_COORDINATES)))
+        .isEqualTo(ids(graph, SOME_COORDINATES, SOME_DEPENDENCY_COORDINATES));
+  }
+
+  private static Map<ArtifactCoordinates, Artifact> someArtifacts() {
+    Map<ArtifactCoordinates, Artifact> artifacts = new LinkedHashMap<>();
+    artifacts.put(SOME_COORDINATES, artifact(
+        SOME_DEPENDENCY_COORDINATES,
+        ANOTHER_DEPENDENCY_COORDINATES));
+    artifacts.put(SOME_DEPENDENCY_COORDINATES, artifact(ANOTHER_DEPENDENCY_COORDINATES));
+    artifacts.put(ANOTHER_DEPENDENCY_COORDINATES, artifact(SOME_LEAF_COORDINATES));
+    return artifacts;
+  }
+
+  private static Artifact artifact(ArtifactCoordinates... dependencies) {
+    return new Artifact(validURL("file:///test-repository/"), new HashSet<>(asList(dependencies)));
+  }
+
+  private static BitSet ids(CompactDependencyGraph graph, ArtifactCoordinates... coordinates) {
+    BitSet ids = new BitSet();
+    for (ArtifactCoordinates element : coordinates) {
+      ids.set(graph.getId(element));
+    }
+    return ids;
+  }
+
+  private static ArtifactCoordinates coordinates(String artifactId) {
+    return new ArtifactCoordinates("some.group", artifactId, "some-version");
+  }
+}
@@ -0,0 +1,24 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import org.junit.jupiter.api.Test;
+
+public class CountingInputStreamTest {
+
+  private static final byte[] SOME_CONTENT = {1, 2, 3, 4, 5, 6, 7, 8};
+
+  @Test
+  public void countReadAndSkippedBytes() throws Exception {
+    CountingInputStream input = new CountingInputStream(new ByteArrayInputStream(SOME_CONTENT));
+
+    input.read();
+    input.skip(2L);
+    input.read(new byte[SOME_CONTENT.length]);
+    input.read(new byte[SOME_CONTENT.length]);
+    input.read();
+
+    assertThat(input.getCount()).isEqualTo(SOME_CONTENT.length);
+  }
+}
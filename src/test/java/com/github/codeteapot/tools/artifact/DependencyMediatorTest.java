@@ -0,0 +1,345 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashSet;
+import org.junit.jupiter.api.Test;
+
+public class DependencyMediatorTest {
+
+  private static final int SOME_CONCURRENCY = 2;
+  private static final int NON_POSITIVE_CONCURRENCY = 0;
+
+  private static final ArtifactCoordinates SOME_ROOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-root-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_ROOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "another-root-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_ROOT_VERSION_COORDINATES =
+      new ArtifactCoordinates(
+          "some.group",
+          "another-root-artifact",
+          "another-version");
+  private static final ArtifactCoordinates SOME_LEFT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-left-artifact",
+      "some-version");
+  private static final ArtifactCoordinates SOME_MIDDLE_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-middle-artifact",
+      "some-version");
+  private static final ArtifactCoordinates SOME_RIGHT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-right-artifact",
+      "some-version");
+  private static final ArtifactCoordinates SOME_SHARED_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-shared-artifact",
+      "some-version");
+  private static final ArtifactCoordinates ANOTHER_SHARED_VERSION_COORDINATES =
+      new ArtifactCoordinates(
+          "some.group",
+          "some-shared-artifact",
+          "another-version");
+  private static final ArtifactCoordinates SOME_PRUNED_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-pruned-artifact",
+      "some-version");
+
+  @Test
+  public void nearestVersionWins() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_RIGHT_COORDINATES)
+        .with(SOME_LEFT_COORDINATES, SOME_MIDDLE_COORDINATES)
+        .with(SOME_MIDDLE_COORDINATES, ANOTHER_SHARED_VERSION_COORDINATES)
+        .with(SOME_RIGHT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_SHARED_COORDINATES)
+        .with(ANOTHER_SHARED_VERSION_COORDINATES, SOME_PRUNED_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    assertThat(graph.getRoots()).containsExactly(SOME_ROOT_COORDINATES);
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES,
+        SOME_RIGHT_COORDINATES,
+        SOME_MIDDLE_COORDINATES,
+        SOME_SHARED_COORDINATES);
+    assertThat(graph.getOmitted())
+        .containsExactly(entry(ANOTHER_SHARED_VERSION_COORDINATES, SOME_SHARED_COORDINATES));
+  }
+
+  @Test
+  public void omittedVersionIsNotGot() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_LEFT_COORDINATES, ANOTHER_SHARED_VERSION_COORDINATES)
+        .with(SOME_SHARED_COORDINATES)
+        .with(ANOTHER_SHARED_VERSION_COORDINATES, SOME_PRUNED_COORDINATES)
+        .with(SOME_PRUNED_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    assertThat(graph.getArtifacts()).doesNotContainKey(SOME_PRUNED_COORDINATES);
+    assertThat(source.fetchCount(ANOTHER_SHARED_VERSION_COORDINATES)).isZero();
+    assertThat(source.fetchCount(SOME_PRUNED_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void firstVersionWinsAtSameDepth() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_RIGHT_COORDINATES)
+        .with(SOME_LEFT_COORDINATES, ANOTHER_SHARED_VERSION_COORDINATES)
+        .with(SOME_RIGHT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(ANOTHER_SHARED_VERSION_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    assertThat(graph.getArtifacts()).containsKey(ANOTHER_SHARED_VERSION_COORDINATES);
+    assertThat(graph.getOmitted())
+        .containsExactly(entry(SOME_SHARED_COORDINATES, ANOTHER_SHARED_VERSION_COORDINATES));
+  }
+
+  @Test
+  public void firstRootWins() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_SHARED_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(asList(
+        SOME_SHARED_COORDINATES,
+        ANOTHER_SHARED_VERSION_COORDINATES));
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(SOME_SHARED_COORDINATES);
+    assertThat(graph.getOmitted())
+        .containsExactly(entry(ANOTHER_SHARED_VERSION_COORDINATES, SOME_SHARED_COORDINATES));
+  }
+
+  @Test
+  public void resolveCyclicGraph() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES)
+        .with(SOME_LEFT_COORDINATES, SOME_ROOT_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source, SOME_CONCURRENCY);
+
+    MediatedDependencyGraph graph = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES);
+    assertThat(graph.getOmitted()).isEmpty();
+  }
+
+  @Test
+  public void resolveAgainOnlyChangedRoot() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_LEFT_COORDINATES)
+        .with(SOME_SHARED_COORDINATES)
+        .with(ANOTHER_ROOT_COORDINATES, SOME_RIGHT_COORDINATES)
+        .with(SOME_RIGHT_COORDINATES)
+        .with(ANOTHER_ROOT_VERSION_COORDINATES, ANOTHER_SHARED_VERSION_COORDINATES)
+        .with(ANOTHER_SHARED_VERSION_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+    MediatedDependencyGraph previous = mediator.resolve(asList(
+        SOME_ROOT_COORDINATES,
+        ANOTHER_ROOT_COORDINATES));
+
+    MediatedDependencyGraph graph = mediator.resolve(previous, asList(
+        SOME_ROOT_COORDINATES,
+        ANOTHER_ROOT_VERSION_COORDINATES));
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES,
+        SOME_SHARED_COORDINATES,
+        ANOTHER_ROOT_VERSION_COORDINATES);
+    assertThat(graph.getOmitted())
+        .containsExactly(entry(ANOTHER_SHARED_VERSION_COORDINATES, SOME_SHARED_COORDINATES));
+    assertThat(source.fetchCount(SOME_ROOT_COORDINATES)).isEqualTo(1);
+    assertThat(source.fetchCount(SOME_LEFT_COORDINATES)).isEqualTo(1);
+    assertThat(source.fetchCount(SOME_SHARED_COORDINATES)).isEqualTo(1);
+    assertThat(source.fetchCount(ANOTHER_ROOT_VERSION_COORDINATES)).isEqualTo(1);
+    assertThat(source.fetchCount(ANOTHER_SHARED_VERSION_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void pruneTransitiveOptionalDependencies() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .withDeclared(
+            SOME_ROOT_COORDINATES,
+            dependency(SOME_LEFT_COORDINATES, DependencyScope.COMPILE, true))
+        .withDeclared(
+            SOME_LEFT_COORDINATES,
+            dependency(SOME_SHARED_COORDINATES, DependencyScope.COMPILE, true))
+        .with(SOME_SHARED_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES);
+    assertThat(source.fetchCount(SOME_SHARED_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void pruneExcludedDependencies() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .withDeclared(
+            SOME_ROOT_COORDINATES,
+            dependency(
+                SOME_LEFT_COORDINATES,
+                DependencyScope.COMPILE,
+                false,
+                "some.group:some-shared-artifact"),
+            dependency(SOME_RIGHT_COORDINATES, DependencyScope.COMPILE, false))
+        .with(SOME_LEFT_COORDINATES, SOME_MIDDLE_COORDINATES)
+        .with(SOME_MIDDLE_COORDINATES, SOME_SHARED_COORDINATES, SOME_PRUNED_COORDINATES)
+        .with(SOME_RIGHT_COORDINATES)
+        .with(SOME_PRUNED_COORDINATES)
+        .with(SOME_SHARED_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES,
+        SOME_RIGHT_COORDINATES,
+        SOME_MIDDLE_COORDINATES,
+        SOME_PRUNED_COORDINATES);
+    assertThat(source.fetchCount(SOME_SHARED_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void propagateScopes() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .withDeclared(
+            SOME_ROOT_COORDINATES,
+            dependency(SOME_LEFT_COORDINATES, DependencyScope.COMPILE, false),
+            dependency(SOME_RIGHT_COORDINATES, DependencyScope.TEST, false),
+            dependency(SOME_PRUNED_COORDINATES, DependencyScope.SYSTEM, false))
+        .withDeclared(
+            SOME_LEFT_COORDINATES,
+            dependency(SOME_MIDDLE_COORDINATES, DependencyScope.RUNTIME, false),
+            dependency(ANOTHER_ROOT_COORDINATES, DependencyScope.PROVIDED, false))
+        .withDeclared(
+            SOME_RIGHT_COORDINATES,
+            dependency(SOME_SHARED_COORDINATES, DependencyScope.COMPILE, false))
+        .with(SOME_MIDDLE_COORDINATES)
+        .with(SOME_SHARED_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    MediatedDependencyGraph graph = mediator.resolve(
+        singletonList(SOME_ROOT_COORDINATES),
+        EnumSet.allOf(DependencyScope.class));
+
+    assertThat(graph.getScopes()).containsOnly(
+        entry(SOME_LEFT_COORDINATES, DependencyScope.COMPILE),
+        entry(SOME_MIDDLE_COORDINATES, DependencyScope.RUNTIME),
+        entry(SOME_RIGHT_COORDINATES, DependencyScope.TEST),
+        entry(SOME_SHARED_COORDINATES, DependencyScope.TEST));
+    assertThat(source.fetchCount(ANOTHER_ROOT_COORDINATES)).isZero();
+    assertThat(source.fetchCount(SOME_PRUNED_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void pruneDependenciesOfOtherScopes() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .withDeclared(
+            SOME_ROOT_COORDINATES,
+            dependency(SOME_LEFT_COORDINATES, DependencyScope.COMPILE, false),
+            dependency(SOME_RIGHT_COORDINATES, DependencyScope.TEST, false))
+        .withDeclared(
+            SOME_LEFT_COORDINATES,
+            dependency(SOME_MIDDLE_COORDINATES, DependencyScope.RUNTIME, false))
+        .with(SOME_MIDDLE_COORDINATES);
+    DependencyMediator mediator = new DependencyMediator(source);
+    MediatedDependencyGraph previous = mediator.resolve(singletonList(SOME_ROOT_COORDINATES));
+
+    MediatedDependencyGraph graph = mediator.resolve(
+        previous,
+        singletonList(SOME_ROOT_COORDINATES),
+        EnumSet.of(DependencyScope.COMPILE));
+
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES);
+    assertThat(source.fetchCount(SOME_RIGHT_COORDINATES)).isZero();
+  }
+
+  @Test
+  public void failWithRepositoryError() {
+    ArtifactRepositoryException someFailure = new ArtifactRepositoryException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES)
+        .failing(SOME_LEFT_COORDINATES, someFailure);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    Throwable e = catchThrowable(() -> mediator.resolve(singletonList(SOME_ROOT_COORDINATES)));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+
+  @Test
+  public void failWithIOError() {
+    IOException someFailure = new IOException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .failing(SOME_ROOT_COORDINATES, someFailure);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    Throwable e = catchThrowable(() -> mediator.resolve(singletonList(SOME_ROOT_COORDINATES)));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+
+  @Test
+  public void failWithRuntimeError() {
+    RuntimeException someFailure = new RuntimeException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .failing(SOME_ROOT_COORDINATES, someFailure);
+    DependencyMediator mediator = new DependencyMediator(source);
+
+    Throwable e = catchThrowable(() -> mediator.resolve(singletonList(SOME_ROOT_COORDINATES)));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+
+  @Test
+  public void failWhenConcurrencyIsNotPositive() {
+    TestArtifactSource source = new TestArtifactSource();
+
+    Throwable e = catchThrowable(() -> new DependencyMediator(source, NON_POSITIVE_CONCURRENCY));
+
+    assertThat(e)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Concurrency must be positive");
+  }
+
+  private static ArtifactDependency dependency(
+      ArtifactCoordinates coordinates,
+      DependencyScope scope,
+      boolean optional,
+      String... exclusions) {
+    return new ArtifactDependency(
+        coordinates,
+        ArtifactDependency.DEFAULT_TYPE,
+        null,
+        scope,
+        optional,
+        new HashSet<>(asList(exclusions)));
+  }
+}
@@ -0,0 +1,112 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.Test;
+
+public class DependencyResolverTest {
+
+  private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+  private static final ArtifactCoordinates SOME_ROOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-root-artifact",
+      "some-version");
+  private static final ArtifactCoordinates SOME_LEFT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-left-artifact",
+      "some-version");
+  private static final ArtifactCoordinates SOME_RIGHT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-right-artifact",
+      "some-version");
+  private static final ArtifactCoordinates SOME_SHARED_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-shared-artifact",
+      "some-version");
+
+  @Test
+  public void resolveWholeGraph() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_RIGHT_COORDINATES)
+        .with(SOME_LEFT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_RIGHT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_SHARED_COORDINATES);
+    DependencyResolver resolver = new DependencyResolver(source, DIRECT_EXECUTOR);
+
+    DependencyGraph graph = resolver.resolve(SOME_ROOT_COORDINATES);
+
+    assertThat(graph.getRoot()).isEqualTo(SOME_ROOT_COORDINATES);
+    assertThat(graph.getArtifacts()).containsOnlyKeys(
+        SOME_ROOT_COORDINATES,
+        SOME_LEFT_COORDINATES,
+        SOME_RIGHT_COORDINATES,
+        SOME_SHARED_COORDINATES);
+    assertThat(graph.getArtifacts().get(SOME_LEFT_COORDINATES).getDependencies())
+        .containsExactly(SOME_SHARED_COORDINATES);
+  }
+
+  @Test
+  public void fetchSharedDependencyOnceConcurrently() throws Exception {
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_RIGHT_COORDINATES)
+        .with(SOME_LEFT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_RIGHT_COORDINATES, SOME_SHARED_COORDINATES)
+        .with(SOME_SHARED_COORDINATES);
+    ExecutorService executor = newFixedThreadPool(4);
+    try {
+      DependencyResolver resolver = new DependencyResolver(source, executor);
+
+      resolver.resolve(SOME_ROOT_COORDINATES);
+
+      assertThat(source.fetchCount(SOME_SHARED_COORDINATES)).isEqualTo(1);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void failWithRepositoryError() {
+    ArtifactRepositoryException someFailure = new ArtifactRepositoryException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .with(SOME_ROOT_COORDINATES, SOME_LEFT_COORDINATES, SOME_RIGHT_COORDINATES)
+        .failing(SOME_LEFT_COORDINATES, someFailure)
+        .failing(SOME_RIGHT_COORDINATES, someFailure);
+    DependencyResolver resolver = new DependencyResolver(source, DIRECT_EXECUTOR);
+
+    Throwable e = catchThrowable(() -> resolver.resolve(SOME_ROOT_COORDINATES));
+
+    assertThat(e).isSameAs(someFailure);
+    assertThat(source.fetchCount(SOME_LEFT_COORDINATES)
+        + source.fetchCount(SOME_RIGHT_COORDINATES)).isEqualTo(1);
+  }
+
+  @Test
+  public void failWithInputOutputError() {
+    IOException someFailure = new IOException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .failing(SOME_ROOT_COORDINATES, someFailure);
+    DependencyResolver resolver = new DependencyResolver(source, DIRECT_EXECUTOR);
+
+    Throwable e = catchThrowable(() -> resolver.resolve(SOME_ROOT_COORDINATES));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+
+  @Test
+  public void failWithRuntimeError() {
+    RuntimeException someFailure = new IllegalStateException("some-failure");
+    TestArtifactSource source = new TestArtifactSource()
+        .failing(SOME_ROOT_COORDINATES, someFailure);
+    DependencyResolver resolver = new DependencyResolver(source, DIRECT_EXECUTOR);
+
+    Throwable e = catchThrowable(() -> resolver.resolve(SOME_ROOT_COORDINATES));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+}
@@ -0,0 +1,39 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class DependencyScopeTest {
+
+  @Test
+  public void compileTakesScopeOfTransitive() {
+    assertThat(DependencyScope.COMPILE.transitive(DependencyScope.COMPILE))
+        .isEqualTo(DependencyScope.COMPILE);
+    assertThat(DependencyScope.COMPILE.transitive(DependencyScope.RUNTIME))
+        .isEqualTo(DependencyScope.RUNTIME);
+  }
+
+  @Test
+  public void otherScopesAreKept() {
+    assertThat(DependencyScope.RUNTIME.transitive(DependencyScope.COMPILE))
+        .isEqualTo(DependencyScope.RUNTIME);
+    assertThat(DependencyScope.PROVIDED.transitive(DependencyScope.RUNTIME))
+        .isEqualTo(DependencyScope.PROVIDED);
+    assertThat(DependencyScope.TEST.transitive(DependencyScope.COMPILE))
+        .isEqualTo(DependencyScope.TEST);
+  }
+
+  @Test
+  public void onlyCompileAndRuntimeAreTransitive() {
+    assertThat(DependencyScope.COMPILE.transitive(DependencyScope.PROVIDED)).isNull();
+    assertThat(DependencyScope.COMPILE.transitive(DependencyScope.TEST)).isNull();
+    assertThat(DependencyScope.COMPILE.transitive(DependencyScope.SYSTEM)).isNull();
+  }
+
+  @Test
+  public void scopeOfName() {
+    assertThat(DependencyScope.of("provided")).isEqualTo(DependencyScope.PROVIDED);
+    assertThat(DependencyScope.of("import")).isNull();
+  }
+}
@@ -0,0 +1,65 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.write;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class FileTransportTest {
+
+  private static final String SOME_FILE_NAME = "some-file.pom";
+  private static final byte[] SOME_CONTENT = "some-content".getBytes(UTF_8);
+
+  @Test
+  public void openFile(@TempDir Path someDir) throws Exception {
+    write(someDir.resolve(SOME_FILE_NAME), SOME_CONTENT);
+    FileTransport transport = new FileTransport();
+
+    try (InputStream input = transport.open(someDir.resolve(SOME_FILE_NAME).toUri().toURL())) {
+
+      assertThat(input).hasBinaryContent(SOME_CONTENT);
+    }
+  }
+
+  @Test
+  public void failWhenFileIsNotFound(@TempDir Path someDir) throws Exception {
+    FileTransport transport = new FileTransport();
+    URL someLocation = someDir.resolve(SOME_FILE_NAME).toUri().toURL();
+
+    Throwable e = catchThrowable(() -> transport.open(someLocation));
+
+    assertThat(e).isInstanceOf(FileNotFoundException.class);
+  }
+
+  @Test
+  public void failWhenProtocolIsNotFile() throws Exception {
+    FileTransport transport = new FileTransport();
+    URL someLocation = new URL("http://localhost/" + SOME_FILE_NAME);
+
+    Throwable e = catchThrowable(() -> transport.open(someLocation));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("Unsupported protocol");
+  }
+
+  @Test
+  public void failWhenLocationIsNotURI(@TempDir Path someDir) throws Exception {
+    FileTransport transport = new FileTransport();
+    URL someLocation = new URL("file:" + someDir.toAbsolutePath() + "/some file.pom");
+
+    Throwable e = catchThrowable(() -> transport.open(someLocation));
+
+    assertThat(e).isInstanceOf(IOException.class);
+  }
+}
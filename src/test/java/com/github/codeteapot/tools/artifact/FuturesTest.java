@@ -0,0 +1,42 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class FuturesTest {
+
+  private static final Object SOME_RESULT = new Object();
+
+  @Test
+  public void joinCompleted() throws Exception {
+    Object result = Futures.join(completedFuture(SOME_RESULT));
+
+    assertThat(result).isSameAs(SOME_RESULT);
+  }
+
+  @Test
+  public void joinFailedWithRuntimeError() {
+    RuntimeException someFailure = new IllegalStateException("some-failure");
+    CompletableFuture<Object> someFuture = new CompletableFuture<>();
+    someFuture.completeExceptionally(someFailure);
+
+    Throwable e = catchThrowable(() -> Futures.join(someFuture));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+
+  @Test
+  public void joinFailedWithError() {
+    Error someFailure = new AssertionError("some-failure");
+    CompletableFuture<Object> someFuture = new CompletableFuture<>();
+    someFuture.completeExceptionally(someFailure);
+
+    Throwable e = catchThrowable(() -> Futures.join(someFuture));
+
+    assertThat(e).isSameAs(someFailure);
+  }
+}
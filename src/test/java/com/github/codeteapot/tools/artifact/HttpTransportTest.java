@@ -0,0 +1,467 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.time.ZoneOffset.UTC;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import com.github.codeteapot.tools.artifact.test.TestHttpServer;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.Thread.State;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("integration")
+public class HttpTransportTest {
+
+  private static final Duration ANY_TIMEOUT = Duration.ofSeconds(5L);
+  private static final int ANY_MAX_CONNECTIONS_PER_HOST = 2;
+  private static final int ANY_CONDITIONAL_CACHE_SIZE = 16;
+
+  private static final String SOME_PATH = "/some/file.pom";
+  private static final String ANOTHER_PATH = "/another/file.pom";
+  private static final byte[] SOME_CONTENT = "some-content".getBytes(UTF_8);
+  private static final byte[] ANOTHER_CONTENT = "another-content".getBytes(UTF_8);
+  private static final byte[] SOME_LARGE_CONTENT = new byte[1024 * 1024 + 1];
+  private static final int SOME_TRUNCATED_LENGTH = 8;
+
+  private static final int GONE = 410;
+  private static final int INTERNAL_SERVER_ERROR = 500;
+  private static final int SERVICE_UNAVAILABLE = 503;
+
+  @Test
+  public void openFile() throws Exception {
+    try (TestHttpServer server = new TestHttpServer().with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 0, "Accept-Encoding")).isEqualTo("gzip");
+      assertThat(requestHeader(server, 0, "Connection")).isNotEqualTo("close");
+    }
+  }
+
+  @Test
+  public void openCompressedFile() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withCompression()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+    }
+  }
+
+  @Test
+  public void openWithoutCompressionNorKeepAlive() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withCompression()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport(
+          ANY_TIMEOUT,
+          ANY_TIMEOUT,
+          ANY_MAX_CONNECTIONS_PER_HOST,
+          false,
+          false,
+          ANY_CONDITIONAL_CACHE_SIZE);
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 0, "Accept-Encoding")).isNull();
+      assertThat(requestHeader(server, 0, "Connection")).isEqualTo("close");
+    }
+  }
+
+  @Test
+  public void openNotModifiedByEntityTag() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNotNull();
+      assertThat(requestHeader(server, 1, "If-Modified-Since")).isNull();
+    }
+  }
+
+  @Test
+  public void openNotModifiedSinceLastModified() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withLastModified()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNull();
+      assertThat(requestHeader(server, 1, "If-Modified-Since")).isNotNull();
+    }
+  }
+
+  @Test
+  public void openModified() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+      server.with(SOME_PATH, ANOTHER_CONTENT);
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(ANOTHER_CONTENT);
+    }
+  }
+
+  @Test
+  public void openUnconditionallyWhenDisabled() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport(
+          ANY_TIMEOUT,
+          ANY_TIMEOUT,
+          ANY_MAX_CONNECTIONS_PER_HOST,
+          true,
+          true,
+          0);
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNull();
+    }
+  }
+
+  @Test
+  public void openLargeFileUnconditionally() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_LARGE_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_LARGE_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNull();
+    }
+  }
+
+  @Test
+  public void openLargeDecompressedFileUnconditionally() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withCompressedLength()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_LARGE_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_LARGE_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNull();
+    }
+  }
+
+  @Test
+  public void openCompressedFileConditionally() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withCompressedLength()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNotNull();
+    }
+  }
+
+  @Test
+  public void openEvictedFileUnconditionally() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)
+        .with(ANOTHER_PATH, ANOTHER_CONTENT)) {
+      HttpTransport transport = new HttpTransport(
+          ANY_TIMEOUT,
+          ANY_TIMEOUT,
+          ANY_MAX_CONNECTIONS_PER_HOST,
+          true,
+          true,
+          1);
+      read(transport, server.url(SOME_PATH));
+      read(transport, server.url(ANOTHER_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 2, "If-None-Match")).isNull();
+    }
+  }
+
+  @Test
+  public void openFileOfUnknownLengthUnconditionally() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withCompression()
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+      read(transport, server.url(SOME_PATH));
+
+      byte[] content = read(transport, server.url(SOME_PATH));
+
+      assertThat(content).isEqualTo(SOME_CONTENT);
+      assertThat(requestHeader(server, 1, "If-None-Match")).isNull();
+    }
+  }
+
+  @Test
+  public void waitForConnectionToSameHost() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_PATH, SOME_CONTENT)
+        .with(ANOTHER_PATH, ANOTHER_CONTENT)) {
+      HttpTransport transport = transport(1);
+      InputStream someInput = transport.open(server.url(SOME_PATH));
+      CompletableFuture<byte[]> anotherRequest = new CompletableFuture<>();
+      Thread anotherRequestThread = new Thread(() -> {
+        try {
+          anotherRequest.complete(read(transport, server.url(ANOTHER_PATH)));
+        } catch (IOException e) {
+          anotherRequest.completeExceptionally(e);
+        }
+      });
+      anotherRequestThread.start();
+      while (anotherRequestThread.getState() != State.WAITING) {
+        Thread.yield();
+      }
+
+      someInput.close();
+      someInput.close();
+
+      assertThat(anotherRequest.get()).isEqualTo(ANOTHER_CONTENT);
+    }
+  }
+
+  @Test
+  public void failWhenInterruptedWhileWaitingForConnection() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .with(SOME_PATH, SOME_CONTENT)
+        .with(ANOTHER_PATH, ANOTHER_CONTENT)) {
+      HttpTransport transport = transport(1);
+      InputStream someInput = transport.open(server.url(SOME_PATH));
+      Thread.currentThread().interrupt();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(ANOTHER_PATH)));
+
+      assertThat(e).isInstanceOf(InterruptedIOException.class);
+      assertThat(Thread.interrupted()).isTrue();
+      someInput.close();
+    }
+  }
+
+  @Test
+  public void failWhenCompressedFileIsTruncated() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withTruncatedCompression(SOME_TRUNCATED_LENGTH)
+        .withEntityTag()
+        .with(SOME_PATH, SOME_CONTENT)) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e).isInstanceOf(EOFException.class);
+    }
+  }
+
+  @Test
+  public void failWhenNotFound() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e).isInstanceOf(FileNotFoundException.class);
+    }
+  }
+
+  @Test
+  public void failWhenGone() throws Exception {
+    try (TestHttpServer server = new TestHttpServer().failing(SOME_PATH, GONE)) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e).isInstanceOf(FileNotFoundException.class);
+    }
+  }
+
+  @Test
+  public void failWhenServerFails() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .failing(SOME_PATH, INTERNAL_SERVER_ERROR)) {
+      HttpTransport transport = transport(1);
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e)
+          .isInstanceOf(HttpStatusException.class)
+          .hasMessageStartingWith("Unexpected status 500");
+      assertThat(((HttpStatusException) e).getStatus()).isEqualTo(INTERNAL_SERVER_ERROR);
+      assertThat(((HttpStatusException) e).getRetryAfter()).isNull();
+    }
+  }
+
+  @Test
+  public void failWithRetryAfterSeconds() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withRetryAfter("120")
+        .failing(SOME_PATH, SERVICE_UNAVAILABLE)) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(((HttpStatusException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(120L));
+    }
+  }
+
+  @Test
+  public void failWithRetryAfterDate() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withRetryAfter(RFC_1123_DATE_TIME.format(ZonedDateTime.now(UTC).plusHours(1L)))
+        .failing(SOME_PATH, SERVICE_UNAVAILABLE)) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(((HttpStatusException) e).getRetryAfter())
+          .isGreaterThan(Duration.ofMinutes(58L))
+          .isLessThanOrEqualTo(Duration.ofHours(1L));
+    }
+  }
+
+  @Test
+  public void failWithRetryAfterPastDate() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withRetryAfter(RFC_1123_DATE_TIME.format(ZonedDateTime.now(UTC).minusHours(1L)))
+        .failing(SOME_PATH, SERVICE_UNAVAILABLE)) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(((HttpStatusException) e).getRetryAfter()).isEqualTo(Duration.ZERO);
+    }
+  }
+
+  @Test
+  public void failIgnoringMalformedRetryAfter() throws Exception {
+    try (TestHttpServer server = new TestHttpServer()
+        .withRetryAfter("some-malformed-value")
+        .failing(SOME_PATH, SERVICE_UNAVAILABLE)) {
+      HttpTransport transport = new HttpTransport();
+
+      Throwable e = catchThrowable(() -> transport.open(server.url(SOME_PATH)));
+
+      assertThat(e).isInstanceOf(HttpStatusException.class);
+      assertThat(((HttpStatusException) e).getRetryAfter()).isNull();
+    }
+  }
+
+  @Test
+  public void failWhenConnectionIsRefused() throws Exception {
+    int somePort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      somePort = socket.getLocalPort();
+    }
+    HttpTransport transport = new HttpTransport();
+
+    Throwable e = catchThrowable(() -> transport.open(
+        new URL("https", "127.0.0.1", somePort, SOME_PATH)));
+
+    assertThat(e).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void failWhenProtocolIsNotHttp() throws Exception {
+    HttpTransport transport = new HttpTransport();
+
+    Throwable e = catchThrowable(() -> transport.open(new URL("file:///some/file.pom")));
+
+    assertThat(e)
+        .isInstanceOf(IOException.class)
+        .hasMessageStartingWith("Unsupported protocol");
+  }
+
+  @Test
+  public void failWhenMaxConnectionsPerHostIsNotPositive() {
+    Throwable e = catchThrowable(() -> transport(0));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void failWhenConditionalCacheSizeIsNegative() {
+    Throwable e = catchThrowable(() -> new HttpTransport(
+        ANY_TIMEOUT,
+        ANY_TIMEOUT,
+        ANY_MAX_CONNECTIONS_PER_HOST,
+        true,
+        true,
+        -1));
+
+    assertThat(e).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static HttpTransport transport(int maxConnectionsPerHost) {
+    return new HttpTransport(
+        ANY_TIMEOUT,
+        ANY_TIMEOUT,
+        maxConnectionsPerHost,
+        true,
+        true,
+        ANY_CONDITIONAL_CACHE_SIZE);
+  }
+
+  private static byte[] read(HttpTransport transport, URL location) throws IOException {
+    try (InputStream input = transport.open(location)) {
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      byte[] buffer = new byte[4096];
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        output.write(buffer, 0, count);
+      }
+      return output.toByteArray();
+    }
+  }
+
+  private static String requestHeader(TestHttpServer server, int index, String name) {
+    HttpExchange exchange = server.exchanges().get(index);
+    return exchange.getRequestHeaders().getFirst(name);
+  }
+}
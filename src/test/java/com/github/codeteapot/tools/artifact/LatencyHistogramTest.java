@@ -0,0 +1,71 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  private static final long SOME_FAST_NANOS = 1000L;
+  private static final long SOME_SLOW_NANOS = 1000000L;
+  private static final long SOME_FAST_UPPER_BOUND_NANOS = 1023L;
+
+  private static final double SOME_LOW_PERCENTILE = 0.5;
+  private static final double SOME_HIGH_PERCENTILE = 0.99;
+
+  private static final long NEGATIVE_NANOS = -1L;
+  private static final long HUGE_NANOS = Long.MAX_VALUE;
+
+  @Test
+  public void emptyWhenNothingRecorded() {
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    long percentile = histogram.getPercentileNanos(SOME_HIGH_PERCENTILE);
+
+    assertThat(percentile).isZero();
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getTotalNanos()).isZero();
+    assertThat(histogram.getMaxNanos()).isZero();
+  }
+
+  @Test
+  public void approximatePercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 0; i < 99; ++i) {
+      histogram.record(SOME_FAST_NANOS);
+    }
+    histogram.record(SOME_SLOW_NANOS);
+
+    long lowPercentile = histogram.getPercentileNanos(SOME_LOW_PERCENTILE);
+    long highPercentile = histogram.getPercentileNanos(SOME_HIGH_PERCENTILE);
+    long maxPercentile = histogram.getPercentileNanos(1.0);
+
+    assertThat(lowPercentile).isEqualTo(SOME_FAST_UPPER_BOUND_NANOS);
+    assertThat(highPercentile).isEqualTo(SOME_FAST_UPPER_BOUND_NANOS);
+    assertThat(maxPercentile).isEqualTo(SOME_SLOW_NANOS);
+    assertThat(histogram.getCount()).isEqualTo(100L);
+    assertThat(histogram.getTotalNanos()).isEqualTo(99L * SOME_FAST_NANOS + SOME_SLOW_NANOS);
+    assertThat(histogram.getMaxNanos()).isEqualTo(SOME_SLOW_NANOS);
+  }
+
+  @Test
+  public void recordNegativeAsZero() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(NEGATIVE_NANOS);
+
+    long percentile = histogram.getPercentileNanos(0.0);
+
+    assertThat(percentile).isZero();
+    assertThat(histogram.getTotalNanos()).isZero();
+  }
+
+  @Test
+  public void recordHuge() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(HUGE_NANOS);
+
+    long percentile = histogram.getPercentileNanos(1.0);
+
+    assertThat(percentile).isEqualTo(HUGE_NANOS);
+  }
+}
@@ -0,0 +1,368 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.delete;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@Tag("integration")
+public class LocalArtifactCacheTest {
+
+  private static final String TEST_PROTOCOL = "file";
+
+  private static final ArtifactCoordinates SOME_ARTIFACT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "some-version");
+  private static final String SOME_ARTIFACT_POM_PATH =
+      "some/group/some-artifact/some-version/some-artifact-some-version.pom";
+  private static final String SOME_ARTIFACT_BUNDLE_PATH =
+      "some/group/some-artifact/some-version/some-artifact-some-version.jar";
+
+  private static final ArtifactCoordinates SOME_PROJECT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-project",
+      "some-version");
+  private static final String SOME_PROJECT_POM_PATH =
+      "some/group/some-project/some-version/some-project-some-version.pom";
+
+  private static final ArtifactCoordinates SOME_SNAPSHOT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-snapshot",
+      "some-version-SNAPSHOT");
+  private static final String SOME_SNAPSHOT_POM_PATH =
+      "some/group/some-snapshot/some-version-SNAPSHOT/some-snapshot-some-version-SNAPSHOT.pom";
+  private static final String SOME_SNAPSHOT_BUNDLE_PATH =
+      "some/group/some-snapshot/some-version-SNAPSHOT/some-snapshot-some-version-SNAPSHOT.jar";
+  private static final String SOME_SNAPSHOT_METADATA_PATH =
+      "some/group/some-snapshot/some-version-SNAPSHOT/maven-metadata.xml";
+  private static final String SOME_TIMESTAMPED_POM_PATH =
+      "some/group/some-snapshot/some-version-SNAPSHOT/"
+          + "some-snapshot-some-version-20200101.120000-3.pom";
+  private static final String SOME_TIMESTAMPED_BUNDLE_PATH =
+      "some/group/some-snapshot/some-version-SNAPSHOT/"
+          + "some-snapshot-some-version-20200101.120000-3.jar";
+
+  private static final ArtifactCoordinates SOME_DEPENDENCY_COORDINATES = new ArtifactCoordinates(
+      "some.dependency.group",
+      "some-dependency-artifact",
+      "some-dependency-version");
+
+  private static final ArtifactCoordinates SOME_PARENT_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-parent",
+      "some-parent-version");
+  private static final String SOME_PARENT_POM_PATH =
+      "some/group/some-parent/some-parent-version/some-parent-some-parent-version.pom";
+
+  private static final ArtifactCoordinates SOME_BOM_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-bom",
+      "some-bom-version");
+  private static final String SOME_BOM_POM_PATH =
+      "some/group/some-bom/some-bom-version/some-bom-some-bom-version.pom";
+
+  private static final ArtifactCoordinates SOME_LATEST_COORDINATES = new ArtifactCoordinates(
+      "some.group",
+      "some-artifact",
+      "LATEST");
+  private static final String SOME_ARTIFACT_METADATA_PATH =
+      "some/group/some-artifact/maven-metadata.xml";
+
+  private static final String SOME_BUNDLE_CONTENT = "some-bundle-content";
+  private static final String ANOTHER_BUNDLE_CONTENT = "another-bundle-content";
+
+  @Test
+  public void getDownloadedToCache(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = createDirectories(someDir.resolve("cache"));
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH), "jar");
+    writeBundle(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+
+    Artifact artifact = cache.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getLocation().getProtocol()).isEqualTo(TEST_PROTOCOL);
+    assertThat(Paths.get(artifact.getLocation().getPath()))
+        .isEqualTo(someCacheDir.resolve(SOME_ARTIFACT_BUNDLE_PATH));
+    assertThat(readAllLines(someCacheDir.resolve(SOME_ARTIFACT_BUNDLE_PATH)))
+        .containsExactly(SOME_BUNDLE_CONTENT);
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(someCacheDir.resolve(SOME_ARTIFACT_BUNDLE_PATH).getParent())
+        .isDirectoryNotContaining("glob:**.part");
+  }
+
+  @Test
+  public void getWithParentDownloadedToCache(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeManagingProject(someUpstreamDir.resolve(SOME_PARENT_POM_PATH));
+    writeManagedProject(
+        someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH),
+        "  <parent>",
+        "    <groupId>" + SOME_PARENT_COORDINATES.getGroupId() + "</groupId>",
+        "    <artifactId>" + SOME_PARENT_COORDINATES.getArtifactId() + "</artifactId>",
+        "    <version>" + SOME_PARENT_COORDINATES.getVersion() + "</version>",
+        "  </parent>");
+    writeBundle(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+    cache.get(SOME_ARTIFACT_COORDINATES);
+    delete(someUpstreamDir.resolve(SOME_PARENT_POM_PATH));
+
+    Artifact artifact = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir).get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(someCacheDir.resolve(SOME_PARENT_POM_PATH)).exists();
+  }
+
+  @Test
+  public void getWithImportDownloadedToCache(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeManagingProject(someUpstreamDir.resolve(SOME_BOM_POM_PATH));
+    writeManagedProject(
+        someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH),
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_BOM_COORDINATES.getGroupId() + "</groupId>",
+        "        <artifactId>" + SOME_BOM_COORDINATES.getArtifactId() + "</artifactId>",
+        "        <version>" + SOME_BOM_COORDINATES.getVersion() + "</version>",
+        "        <type>pom</type>",
+        "        <scope>import</scope>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>");
+    writeBundle(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+    cache.get(SOME_ARTIFACT_COORDINATES);
+    delete(someUpstreamDir.resolve(SOME_BOM_POM_PATH));
+
+    Artifact artifact = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir).get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+    assertThat(someCacheDir.resolve(SOME_BOM_POM_PATH)).exists();
+  }
+
+  @Test
+  public void getReleaseWithoutUpstream(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH), "jar");
+    writeBundle(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+    cache.get(SOME_ARTIFACT_COORDINATES);
+    delete(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH));
+    delete(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH));
+
+    Artifact artifact = cache.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(Paths.get(artifact.getLocation().getPath()))
+        .isEqualTo(someCacheDir.resolve(SOME_ARTIFACT_BUNDLE_PATH));
+  }
+
+  @Test
+  public void getMissingReleaseBundleAgain(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH), "jar");
+    writeBundle(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+    cache.get(SOME_ARTIFACT_COORDINATES);
+    delete(someCacheDir.resolve(SOME_ARTIFACT_BUNDLE_PATH));
+
+    cache.get(SOME_ARTIFACT_COORDINATES);
+
+    assertThat(readAllLines(someCacheDir.resolve(SOME_ARTIFACT_BUNDLE_PATH)))
+        .containsExactly(SOME_BUNDLE_CONTENT);
+  }
+
+  @Test
+  public void getProjectPackagingOnce(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_PROJECT_POM_PATH), "pom");
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+
+    Artifact artifact = cache.get(SOME_PROJECT_COORDINATES);
+
+    assertThat(Paths.get(artifact.getLocation().getPath()))
+        .isEqualTo(someCacheDir.resolve(SOME_PROJECT_POM_PATH));
+  }
+
+  @Test
+  public void getSnapshotAgain(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_SNAPSHOT_POM_PATH), "jar");
+    writeBundle(someUpstreamDir.resolve(SOME_SNAPSHOT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+    cache.get(SOME_SNAPSHOT_COORDINATES);
+    writeBundle(someUpstreamDir.resolve(SOME_SNAPSHOT_BUNDLE_PATH), ANOTHER_BUNDLE_CONTENT);
+
+    cache.get(SOME_SNAPSHOT_COORDINATES);
+
+    assertThat(readAllLines(someCacheDir.resolve(SOME_SNAPSHOT_BUNDLE_PATH)))
+        .containsExactly(ANOTHER_BUNDLE_CONTENT);
+  }
+
+  @Test
+  public void getTimestampedSnapshotWithLiteralName(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_TIMESTAMPED_POM_PATH), "jar");
+    writeBundle(someUpstreamDir.resolve(SOME_TIMESTAMPED_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    write(someUpstreamDir.resolve(SOME_SNAPSHOT_METADATA_PATH), Stream.of(
+        "<metadata>",
+        "  <versioning>",
+        "    <snapshot>",
+        "      <timestamp>20200101.120000</timestamp>",
+        "      <buildNumber>3</buildNumber>",
+        "    </snapshot>",
+        "  </versioning>",
+        "</metadata>")
+        .collect(toList()));
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+
+    Artifact artifact = cache.get(SOME_SNAPSHOT_COORDINATES);
+
+    assertThat(Paths.get(artifact.getLocation().getPath()))
+        .isEqualTo(someCacheDir.resolve(SOME_SNAPSHOT_BUNDLE_PATH));
+    assertThat(readAllLines(someCacheDir.resolve(SOME_SNAPSHOT_BUNDLE_PATH)))
+        .containsExactly(SOME_BUNDLE_CONTENT);
+    assertThat(artifact.getDependencies()).containsExactly(SOME_DEPENDENCY_COORDINATES);
+  }
+
+  @Test
+  public void failWhenBundleIsNotFound(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH), "jar");
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+
+    Throwable e = catchThrowable(() -> cache.get(SOME_ARTIFACT_COORDINATES));
+
+    assertThat(e).isInstanceOf(ArtifactNotFoundException.class);
+    assertThat(((ArtifactNotFoundException) e).getCoordinates())
+        .isEqualTo(SOME_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  public void failWhenMetadataIsRemovedFromUpstream(@TempDir Path someDir) throws Exception {
+    Path someUpstreamDir = someDir.resolve("upstream");
+    Path someCacheDir = someDir.resolve("cache");
+    writeProject(someUpstreamDir.resolve(SOME_ARTIFACT_POM_PATH), "jar");
+    writeBundle(someUpstreamDir.resolve(SOME_ARTIFACT_BUNDLE_PATH), SOME_BUNDLE_CONTENT);
+    write(someUpstreamDir.resolve(SOME_ARTIFACT_METADATA_PATH), Stream.of(
+        "<metadata>",
+        "  <versioning>",
+        "    <latest>" + SOME_ARTIFACT_COORDINATES.getVersion() + "</latest>",
+        "  </versioning>",
+        "</metadata>")
+        .collect(toList()));
+    new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir).get(SOME_LATEST_COORDINATES);
+    delete(someUpstreamDir.resolve(SOME_ARTIFACT_METADATA_PATH));
+    LocalArtifactCache cache = new LocalArtifactCache(
+        new ArtifactRepository(someUpstreamDir.toUri().toURL()),
+        someCacheDir);
+
+    Throwable e = catchThrowable(() -> cache.get(SOME_LATEST_COORDINATES));
+
+    assertThat(e).isInstanceOf(ArtifactNotFoundException.class);
+    assertThat(someCacheDir.resolve(SOME_ARTIFACT_METADATA_PATH)).doesNotExist();
+  }
+
+  private static void writeProject(Path path, String packaging) throws Exception {
+    createDirectories(path.getParent());
+    write(path, Stream.of(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <packaging>" + packaging + "</packaging>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "      <artifactId>" + SOME_DEPENDENCY_COORDINATES.getArtifactId() + "</artifactId>",
+        "      <version>" + SOME_DEPENDENCY_COORDINATES.getVersion() + "</version>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</project>")
+        .collect(toList()));
+  }
+
+  private static void writeManagingProject(Path path) throws Exception {
+    createDirectories(path.getParent());
+    write(path, Stream.of(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <packaging>pom</packaging>",
+        "  <dependencyManagement>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+        "        <artifactId>" + SOME_DEPENDENCY_COORDINATES.getArtifactId() + "</artifactId>",
+        "        <version>" + SOME_DEPENDENCY_COORDINATES.getVersion() + "</version>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>",
+        "</project>")
+        .collect(toList()));
+  }
+
+  private static void writeManagedProject(Path path, String... managementLines) throws Exception {
+    createDirectories(path.getParent());
+    write(path, Stream.of(
+        Stream.of(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+            "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"),
+        Stream.of(managementLines),
+        Stream.of(
+            "  <dependencies>",
+            "    <dependency>",
+            "      <groupId>" + SOME_DEPENDENCY_COORDINATES.getGroupId() + "</groupId>",
+            "      <artifactId>" + SOME_DEPENDENCY_COORDINATES.getArtifactId() + "</artifactId>",
+            "    </dependency>",
+            "  </dependencies>",
+            "</project>"))
+        .flatMap(lines -> lines)
+        .collect(toList()));
+  }
+
+  private static void writeBundle(Path path, String content) throws Exception {
+    createDirectories(path.getParent());
+    write(path, Stream.of(content).collect(toList()));
+  }
+}
@@ -0,0 +1,64 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class MetadataCacheTest {
+
+  private static final String SOME_PATH = "some/group/some-artifact/maven-metadata.xml";
+
+  private static final long SOME_REFRESH_NANOS = 100L;
+  private static final long SOME_ELAPSED_NANOS = 99L;
+
+  @Test
+  public void fetchOnceWithinRefreshInterval() throws Exception {
+    AtomicLong someClock = new AtomicLong();
+    AtomicInteger fetchCount = new AtomicInteger();
+    MetadataCache cache = new MetadataCache(SOME_REFRESH_NANOS, someClock::get);
+    cache.get(SOME_PATH, path -> fetch(fetchCount));
+    someClock.addAndGet(SOME_ELAPSED_NANOS);
+
+    XMLMetadata metadata = cache.get(SOME_PATH, path -> fetch(fetchCount));
+
+    assertThat(metadata).isSameAs(XMLMetadata.NONE);
+    assertThat(fetchCount).hasValue(1);
+  }
+
+  @Test
+  public void fetchAgainAfterRefreshInterval() throws Exception {
+    AtomicLong someClock = new AtomicLong();
+    AtomicInteger fetchCount = new AtomicInteger();
+    MetadataCache cache = new MetadataCache(SOME_REFRESH_NANOS, someClock::get);
+    cache.get(SOME_PATH, path -> fetch(fetchCount));
+    someClock.addAndGet(SOME_REFRESH_NANOS);
+
+    cache.get(SOME_PATH, path -> fetch(fetchCount));
+
+    assertThat(fetchCount).hasValue(2);
+  }
+
+  @Test
+  public void fetchAgainAfterFailure() throws Exception {
+    AtomicInteger fetchCount = new AtomicInteger();
+    MetadataCache cache = new MetadataCache(SOME_REFRESH_NANOS, System::nanoTime);
+    Throwable e = catchThrowable(() -> cache.get(SOME_PATH, path -> {
+      fetchCount.incrementAndGet();
+      throw new IOException();
+    }));
+
+    cache.get(SOME_PATH, path -> fetch(fetchCount));
+
+    assertThat(e).isInstanceOf(IOException.class);
+    assertThat(fetchCount).hasValue(2);
+  }
+
+  private static XMLMetadata fetch(AtomicInteger fetchCount) {
+    fetchCount.incrementAndGet();
+    return XMLMetadata.NONE;
+  }
+}
@@ -0,0 +1,341 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayInputStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ProjectModelTest {
+
+  private static final ProjectModel.Loader NO_IMPORT_LOADER = coordinates -> {
+    throw new IllegalStateException();
+  };
+
+  private static final ArtifactCoordinates SOME_BOM_COORDINATES = new ArtifactCoordinates(
+      "some.bom.group",
+      "some-bom-artifact",
+      "some-bom-version");
+
+  @Test
+  public void interpolateNestedProperties() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE,
+        "<properties>",
+        "  <some.property>${another.property}</some.property>",
+        "  <another.property>some-value</another.property>",
+        "</properties>");
+
+    String interpolated = model.interpolate("before-${some.property}-after");
+
+    assertThat(interpolated).isEqualTo("before-some-value-after");
+  }
+
+  @Test
+  public void interpolateKeepingUnknownAndUnterminatedExpressions() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE);
+
+    String interpolated = model.interpolate("${unknown.property}-${unterminated");
+
+    assertThat(interpolated).isEqualTo("${unknown.property}-${unterminated");
+  }
+
+  @Test
+  public void interpolateCyclicPropertyUpToMaximumDepth() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE,
+        "<properties>",
+        "  <some.property>${some.property}</some.property>",
+        "</properties>");
+
+    String interpolated = model.interpolate("${some.property}");
+
+    assertThat(interpolated).isEqualTo("${some.property}");
+  }
+
+  @Test
+  public void interpolateNothing() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE);
+
+    String interpolated = model.interpolate(null);
+
+    assertThat(interpolated).isNull();
+  }
+
+  @Test
+  public void interpolateProjectPropertiesInheritedFromParent() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE,
+        "<parent>",
+        "  <groupId>some.parent.group</groupId>",
+        "  <artifactId>some-parent-artifact</artifactId>",
+        "  <version>some-parent-version</version>",
+        "</parent>",
+        "<artifactId>some-artifact</artifactId>",
+        "<version>some-version</version>");
+
+    String interpolated = model.interpolate(
+        "${project.groupId}:${project.artifactId}:${project.version}");
+
+    assertThat(interpolated).isEqualTo("some.parent.group:some-artifact:some-version");
+  }
+
+  @Test
+  public void getManagedVersionAndScope() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE,
+        "<dependencyManagement>",
+        "  <dependencies>",
+        dependency("some.group", "some-artifact", "some-managed-version", null),
+        dependency("test.group", "test-artifact", "test-version", "test"),
+        "  </dependencies>",
+        "</dependencyManagement>",
+        "<dependencies>",
+        dependency("some.group", "some-artifact", null, null),
+        dependency("test.group", "test-artifact", null, null),
+        "</dependencies>");
+
+    assertThat(model.getDependencies())
+        .extracting(ArtifactDependency::getCoordinates, ArtifactDependency::getScope)
+        .containsExactly(
+            tuple(
+                new ArtifactCoordinates("some.group", "some-artifact", "some-managed-version"),
+                DependencyScope.COMPILE),
+            tuple(
+                new ArtifactCoordinates("test.group", "test-artifact", "test-version"),
+                DependencyScope.TEST));
+  }
+
+  @Test
+  public void getInheritedDependencyWithOverriddenManagedVersion() throws Exception {
+    ProjectModel parentModel = build(ProjectModel.NONE,
+        "<properties>",
+        "  <some.version>some-parent-version</some.version>",
+        "</properties>",
+        "<dependencyManagement>",
+        "  <dependencies>",
+        dependency("some.group", "some-artifact", "${some.version}", null),
+        "  </dependencies>",
+        "</dependencyManagement>",
+        "<dependencies>",
+        dependency("some.group", "some-artifact", null, null),
+        "</dependencies>");
+    ProjectModel model = build(parentModel,
+        "<properties>",
+        "  <some.version>some-child-version</some.version>",
+        "</properties>");
+
+    assertThat(model.getDependencies())
+        .extracting(ArtifactDependency::getCoordinates)
+        .containsExactly(
+        new ArtifactCoordinates("some.group", "some-artifact", "some-child-version"));
+  }
+
+  @Test
+  public void getVersionImportedFromBillOfMaterials() throws Exception {
+    ProjectModel bomModel = build(ProjectModel.NONE,
+        "<properties>",
+        "  <imported.version>some-imported-version</imported.version>",
+        "</properties>",
+        "<dependencyManagement>",
+        "  <dependencies>",
+        dependency("some.group", "some-artifact", "${imported.version}", null),
+        dependency("another.group", "another-artifact", "${imported.version}", null),
+        "  </dependencies>",
+        "</dependencyManagement>");
+    ProjectModel model = build(
+        coordinates -> {
+          assertThat(coordinates).isEqualTo(SOME_BOM_COORDINATES);
+          return bomModel;
+        },
+        ProjectModel.NONE,
+        "<properties>",
+        "  <bom.version>some-bom-version</bom.version>",
+        "</properties>",
+        "<dependencyManagement>",
+        "  <dependencies>",
+        dependency("some.bom.group", "some-bom-artifact", "${bom.version}", "import"),
+        dependency("another.group", "another-artifact", "another-managed-version", null),
+        "  </dependencies>",
+        "</dependencyManagement>",
+        "<dependencies>",
+        dependency("some.group", "some-artifact", null, null),
+        dependency("another.group", "another-artifact", null, null),
+        "</dependencies>");
+
+    assertThat(model.getDependencies())
+        .extracting(ArtifactDependency::getCoordinates)
+        .containsExactly(
+        new ArtifactCoordinates("some.group", "some-artifact", "some-imported-version"),
+        new ArtifactCoordinates("another.group", "another-artifact", "another-managed-version"));
+  }
+
+  @Test
+  public void getSameArtifactWithSeveralTypesAndClassifiers() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE,
+        "<dependencyManagement>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>some.group</groupId>",
+        "      <artifactId>some-artifact</artifactId>",
+        "      <version>some-test-version</version>",
+        "      <type>test-jar</type>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</dependencyManagement>",
+        "<dependencies>",
+        dependency("some.group", "some-artifact", "some-version", null),
+        "  <dependency>",
+        "    <groupId>some.group</groupId>",
+        "    <artifactId>some-artifact</artifactId>",
+        "    <type>test-jar</type>",
+        "    <scope>test</scope>",
+        "  </dependency>",
+        "  <dependency>",
+        "    <groupId>some.group</groupId>",
+        "    <artifactId>some-artifact</artifactId>",
+        "    <version>some-version</version>",
+        "    <classifier>some-classifier</classifier>",
+        "  </dependency>",
+        "</dependencies>");
+
+    assertThat(model.getDependencies())
+        .extracting(
+            ArtifactDependency::getCoordinates,
+            ArtifactDependency::getType,
+            ArtifactDependency::getClassifier,
+            ArtifactDependency::getScope)
+        .containsExactly(
+            tuple(
+                new ArtifactCoordinates("some.group", "some-artifact", "some-version"),
+                "jar",
+                null,
+                DependencyScope.COMPILE),
+            tuple(
+                new ArtifactCoordinates("some.group", "some-artifact", "some-test-version"),
+                "test-jar",
+                null,
+                DependencyScope.TEST),
+            tuple(
+                new ArtifactCoordinates("some.group", "some-artifact", "some-version"),
+                "jar",
+                "some-classifier",
+                DependencyScope.COMPILE));
+  }
+
+  @Test
+  public void getDependencyDefaults() throws Exception {
+    ProjectModel model = build(ProjectModel.NONE,
+        "<dependencies>",
+        dependency("some.group", "some-artifact", "some-version", null),
+        "</dependencies>");
+
+    assertThat(model.getDependencies()).singleElement().satisfies(dependency -> {
+      assertThat(dependency.getType()).isEqualTo("jar");
+      assertThat(dependency.getClassifier()).isNull();
+      assertThat(dependency.getScope()).isEqualTo(DependencyScope.COMPILE);
+      assertThat(dependency.isOptional()).isFalse();
+      assertThat(dependency.getExclusions()).isEmpty();
+    });
+  }
+
+  @Test
+  public void getExclusionsMergedWithManagedAndImportedOnes() throws Exception {
+    ProjectModel bomModel = build(ProjectModel.NONE,
+        "<properties>",
+        "  <imported.group>some.imported.group</imported.group>",
+        "</properties>",
+        "<dependencyManagement>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>another.group</groupId>",
+        "      <artifactId>another-artifact</artifactId>",
+        "      <version>another-version</version>",
+        "      <exclusions>",
+        "        <exclusion>",
+        "          <groupId>${imported.group}</groupId>",
+        "          <artifactId>*</artifactId>",
+        "        </exclusion>",
+        "      </exclusions>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</dependencyManagement>");
+    ProjectModel model = build(
+        coordinates -> bomModel,
+        ProjectModel.NONE,
+        "<dependencyManagement>",
+        "  <dependencies>",
+        dependency("some.bom.group", "some-bom-artifact", "some-bom-version", "import"),
+        "  </dependencies>",
+        "</dependencyManagement>",
+        "<dependencies>",
+        "  <dependency>",
+        "    <groupId>another.group</groupId>",
+        "    <artifactId>another-artifact</artifactId>",
+        "    <exclusions>",
+        "      <exclusion>",
+        "        <groupId>some.excluded.group</groupId>",
+        "        <artifactId>some-excluded-artifact</artifactId>",
+        "      </exclusion>",
+        "    </exclusions>",
+        "  </dependency>",
+        "</dependencies>");
+
+    assertThat(model.getDependencies()).singleElement().satisfies(dependency -> {
+      assertThat(dependency.getCoordinates())
+          .isEqualTo(new ArtifactCoordinates("another.group", "another-artifact", "another-version"));
+      assertThat(dependency.getExclusions()).containsExactly(
+          "some.excluded.group:some-excluded-artifact",
+          "some.imported.group:*");
+    });
+  }
+
+  @Test
+  public void failWhenImportVersionIsNotKnown() {
+    Throwable e = catchThrowable(() -> build(ProjectModel.NONE,
+        "<dependencyManagement>",
+        "  <dependencies>",
+        dependency("some.bom.group", "some-bom-artifact", null, "import"),
+        "  </dependencies>",
+        "</dependencyManagement>"));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasMessage("Unknown artifact version");
+  }
+
+  private static ProjectModel build(ProjectModel parentModel, String... lines) throws Exception {
+    return build(NO_IMPORT_LOADER, parentModel, lines);
+  }
+
+  private static ProjectModel build(
+      ProjectModel.Loader importLoader,
+      ProjectModel parentModel,
+      String... lines) throws Exception {
+    return ProjectModel.build(
+        XMLProject.read(new ByteArrayInputStream(Stream.concat(
+            Stream.concat(
+                Stream.of("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"),
+                Stream.of(lines)),
+            Stream.of("</project>"))
+            .collect(joining("\n"))
+            .getBytes(UTF_8))),
+        parentModel,
+        importLoader);
+  }
+
+  private static String dependency(
+      String groupId,
+      String artifactId,
+      String version,
+      String scope) {
+    return Stream.of(
+        "<dependency>",
+        "<groupId>" + groupId + "</groupId>",
+        "<artifactId>" + artifactId + "</artifactId>",
+        version == null ? "" : "<version>" + version + "</version>",
+        scope == null ? "" : "<scope>" + scope + "</scope>",
+        "</dependency>")
+        .collect(joining());
+  }
+}
@@ -0,0 +1,87 @@
+package com.github.codeteapot.tools.artifact;
+
+import static com.github.codeteapot.tools.artifact.TestUtil.validURL;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class TestArtifactSource implements ArtifactSource {
+
+  private final Map<ArtifactCoordinates, Artifact> artifacts;
+  private final Map<ArtifactCoordinates, Exception> failures;
+  private final Map<ArtifactCoordinates, AtomicInteger> fetchCounts;
+  private volatile CountDownLatch gate;
+
+  public TestArtifactSource() {
+    artifacts = new ConcurrentHashMap<>();
+    failures = new ConcurrentHashMap<>();
+    fetchCounts = new ConcurrentHashMap<>();
+    gate = new CountDownLatch(0);
+  }
+
+  public TestArtifactSource with(
+      ArtifactCoordinates coordinates,
+      ArtifactCoordinates... dependencies) {
+    artifacts.put(coordinates, new Artifact(
+        validURL("file:///test-repository/" + coordinates.getPath("jar")),
+        Stream.of(dependencies).collect(toCollection(LinkedHashSet::new))));
+    return this;
+  }
+
+  public TestArtifactSource withDeclared(
+      ArtifactCoordinates coordinates,
+      ArtifactDependency... dependencies) {
+    artifacts.put(coordinates, new Artifact(
+        validURL("file:///test-repository/" + coordinates.getPath("jar")),
+        Stream.of(dependencies).collect(toList())));
+    return this;
+  }
+
+  public TestArtifactSource failing(ArtifactCoordinates coordinates, Exception failure) {
+    failures.put(coordinates, failure);
+    return this;
+  }
+
+  public TestArtifactSource gated(CountDownLatch gate) {
+    this.gate = gate;
+    return this;
+  }
+
+  public int fetchCount(ArtifactCoordinates coordinates) {
+    return fetchCounts.computeIfAbsent(coordinates, key -> new AtomicInteger()).get();
+  }
+
+  @Override
+  public Artifact get(ArtifactCoordinates coordinates)
+      throws ArtifactRepositoryException, IOException {
+    fetchCounts.computeIfAbsent(coordinates, key -> new AtomicInteger()).incrementAndGet();
+    try {
+      gate.await();
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException();
+    }
+    Exception failure = failures.get(coordinates);
+    if (failure instanceof ArtifactRepositoryException) {
+      throw (ArtifactRepositoryException) failure;
+    }
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    }
+    if (failure != null) {
+      throw (RuntimeException) failure;
+    }
+    Artifact artifact = artifacts.get(coordinates);
+    if (artifact == null) {
+      throw new ArtifactNotFoundException(coordinates);
+    }
+    return artifact;
+  }
+}
@@ -0,0 +1,139 @@
+package com.github.codeteapot.tools.artifact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class VersionRangeTest {
+
+  private static final ArtifactVersion[] SOME_VERSIONS = Stream.of(
+      "1.0",
+      "1.1",
+      "1.5",
+      "2.0",
+      "2.1")
+      .map(ArtifactVersion::new)
+      .toArray(ArtifactVersion[]::new);
+
+  @Test
+  public void selectBelowExclusiveUpperBound() throws Exception {
+    int selected = VersionRange.parse("[1.0,2.0)").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(2);
+  }
+
+  @Test
+  public void selectInclusiveUpperBound() throws Exception {
+    int selected = VersionRange.parse("[1.0,2.0]").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(3);
+  }
+
+  @Test
+  public void selectBelowMissingUpperBound() throws Exception {
+    int selected = VersionRange.parse("[ 1.0 , 1.8 )").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(2);
+  }
+
+  @Test
+  public void selectWithoutUpperBound() throws Exception {
+    int selected = VersionRange.parse("[2.1,)").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(4);
+  }
+
+  @Test
+  public void selectWithoutLowerBound() throws Exception {
+    int selected = VersionRange.parse("(,1.2)").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(1);
+  }
+
+  @Test
+  public void selectNoneBelowLowerBound() throws Exception {
+    int selected = VersionRange.parse("[2.2,)").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(-1);
+  }
+
+  @Test
+  public void selectNoneOnExclusiveLowerBound() throws Exception {
+    int selected = VersionRange.parse("(2.1,)").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(-1);
+  }
+
+  @Test
+  public void selectNoneBelowFirst() throws Exception {
+    int selected = VersionRange.parse("(,1.0)").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(-1);
+  }
+
+  @Test
+  public void selectExact() throws Exception {
+    int selected = VersionRange.parse("[1.1]").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(1);
+  }
+
+  @Test
+  public void selectNoneWhenExactIsMissing() throws Exception {
+    int selected = VersionRange.parse("[1.2]").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(-1);
+  }
+
+  @Test
+  public void selectGreatestOfUnion() throws Exception {
+    int selected = VersionRange.parse("[1.5,2.0),(,1.0]").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(2);
+  }
+
+  @Test
+  public void selectGreatestOfUnionWithoutComma() throws Exception {
+    int selected = VersionRange.parse("(,1.0][1.1]").select(SOME_VERSIONS);
+
+    assertThat(selected).isEqualTo(1);
+  }
+
+  @Test
+  public void recognizeRanges() {
+    assertThat(VersionRange.isRange("[1.0,)")).isTrue();
+    assertThat(VersionRange.isRange("(,1.0]")).isTrue();
+    assertThat(VersionRange.isRange("1.0")).isFalse();
+  }
+
+  @Test
+  public void failWhenNotClosed() {
+    Throwable e = catchThrowable(() -> VersionRange.parse("[1.0,2.0"));
+
+    assertThat(e)
+        .isInstanceOf(ArtifactRepositoryException.class)
+        .hasMessage("Invalid version range [1.0,2.0");
+  }
+
+  @Test
+  public void failWhenFollowedByAnythingElse() {
+    Throwable unclosed = catchThrowable(() -> VersionRange.parse("[1.0,2.0),2.0"));
+    Throwable unopened = catchThrowable(() -> VersionRange.parse("[1.0,2.0),2.0)"));
+
+    assertThat(unclosed).isInstanceOf(ArtifactRepositoryException.class);
+    assertThat(unopened).isInstanceOf(ArtifactRepositoryException.class);
+  }
+
+  @Test
+  public void failWhenExactIsNotInclusive() {
+    Throwable lowerExclusive = catchThrowable(() -> VersionRange.parse("(1.0]"));
+    Throwable upperExclusive = catchThrowable(() -> VersionRange.parse("[1.0)"));
+    Throwable empty = catchThrowable(() -> VersionRange.parse("[]"));
+
+    assertThat(lowerExclusive).isInstanceOf(ArtifactRepositoryException.class);
+    assertThat(upperExclusive).isInstanceOf(ArtifactRepositoryException.class);
+    assertThat(empty).isInstanceOf(ArtifactRepositoryException.class);
+  }
+}
@@ -0,0 +1,158 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.stream.Stream;
+import javax.xml.stream.XMLStreamException;
+import org.junit.jupiter.api.Test;
+
+public class XMLMetadataTest {
+
+  private static final String SOME_SNAPSHOT_VERSION = "1.0-SNAPSHOT";
+  private static final String SOME_TIMESTAMPED_VERSION = "1.0-20200101.120000-3";
+  private static final String ANOTHER_TIMESTAMPED_VERSION = "1.0-20200101.110000-2";
+
+  @Test
+  public void selectRange() throws Exception {
+    XMLMetadata metadata = XMLMetadata.read(input(
+        "<metadata>",
+        "  <groupId>some.group</groupId>",
+        "  <versioning>",
+        "    <versions>",
+        "      <version>2.0</version>",
+        "      <version>1.10</version>",
+        "      <version>1.9</version>",
+        "    </versions>",
+        "    <lastUpdated>20200101120000</lastUpdated>",
+        "  </versioning>",
+        "</metadata>"));
+
+    String selected = metadata.select("[1.0,2.0)");
+    String selectedAgain = metadata.select("[1.0,2.0)");
+    String none = metadata.select("[3.0,)");
+
+    assertThat(selected).isEqualTo("1.10");
+    assertThat(selectedAgain).isEqualTo("1.10");
+    assertThat(none).isNull();
+  }
+
+  @Test
+  public void readLatestAndRelease() throws Exception {
+    XMLMetadata metadata = XMLMetadata.read(input(
+        "<metadata xmlns=\"http://maven.apache.org/METADATA/1.1.0\">",
+        "  <versioning>",
+        "    <latest>2.0-SNAPSHOT</latest>",
+        "    <release>1.0</release>",
+        "  </versioning>",
+        "</metadata>"));
+
+    assertThat(metadata.getLatest()).isEqualTo("2.0-SNAPSHOT");
+    assertThat(metadata.getRelease()).isEqualTo("1.0");
+  }
+
+  @Test
+  public void computeLatestAndRelease() throws Exception {
+    XMLMetadata metadata = XMLMetadata.read(input(
+        "<metadata>",
+        "  <versioning>",
+        "    <versions>",
+        "      <version>1.0</version>",
+        "      <version>2.0-SNAPSHOT</version>",
+        "      <version>1.1</version>",
+        "    </versions>",
+        "  </versioning>",
+        "</metadata>"));
+
+    assertThat(metadata.getLatest()).isEqualTo("2.0-SNAPSHOT");
+    assertThat(metadata.getRelease()).isEqualTo("1.1");
+  }
+
+  @Test
+  public void noLatestNorReleaseWhenNoVersion() throws Exception {
+    XMLMetadata metadata = XMLMetadata.read(input("<metadata/>"));
+
+    assertThat(metadata.getLatest()).isNull();
+    assertThat(metadata.getRelease()).isNull();
+  }
+
+  @Test
+  public void noReleaseWhenOnlySnapshots() throws Exception {
+    XMLMetadata metadata = XMLMetadata.read(input(
+        "<metadata>",
+        "  <versioning>",
+        "    <versions>",
+        "      <version>1.0-SNAPSHOT</version>",
+        "    </versions>",
+        "  </versioning>",
+        "</metadata>"));
+
+    assertThat(metadata.getRelease()).isNull();
+  }
+
+  @Test
+  public void readSnapshotFileVersions() throws Exception {
+    XMLMetadata metadata = XMLMetadata.read(input(
+        "<metadata>",
+        "  <versioning>",
+        "    <snapshot>",
+        "      <timestamp>20200101.120000</timestamp>",
+        "      <buildNumber>3</buildNumber>",
+        "      <localCopy>false</localCopy>",
+        "    </snapshot>",
+        "    <snapshotVersions>",
+        "      <snapshotVersion>",
+        "        <extension>pom</extension>",
+        "        <value>" + ANOTHER_TIMESTAMPED_VERSION + "</value>",
+        "        <updated>20200101110000</updated>",
+        "      </snapshotVersion>",
+        "      <snapshotVersion>",
+        "        <classifier>sources</classifier>",
+        "        <extension>jar</extension>",
+        "        <value>1.0-20200101.100000-1</value>",
+        "      </snapshotVersion>",
+        "    </snapshotVersions>",
+        "  </versioning>",
+        "</metadata>"));
+
+    assertThat(metadata.getSnapshotFileVersion(SOME_SNAPSHOT_VERSION, "pom"))
+        .isEqualTo(ANOTHER_TIMESTAMPED_VERSION);
+    assertThat(metadata.getSnapshotFileVersion(SOME_SNAPSHOT_VERSION, "jar"))
+        .isEqualTo(SOME_TIMESTAMPED_VERSION);
+  }
+
+  @Test
+  public void keepSnapshotVersionWhenNotTimestamped() throws Exception {
+    XMLMetadata withoutSnapshot = XMLMetadata.read(input("<metadata/>"));
+    XMLMetadata withoutBuildNumber = XMLMetadata.read(input(
+        "<metadata>",
+        "  <versioning>",
+        "    <snapshot>",
+        "      <timestamp>20200101.120000</timestamp>",
+        "    </snapshot>",
+        "  </versioning>",
+        "</metadata>"));
+
+    assertThat(withoutSnapshot.getSnapshotFileVersion(SOME_SNAPSHOT_VERSION, "jar"))
+        .isEqualTo(SOME_SNAPSHOT_VERSION);
+    assertThat(withoutBuildNumber.getSnapshotFileVersion(SOME_SNAPSHOT_VERSION, "jar"))
+        .isEqualTo(SOME_SNAPSHOT_VERSION);
+  }
+
+  @Test
+  public void failWhenRootIsNotMetadata() {
+    Throwable e = catchThrowable(() -> XMLMetadata.read(input("<project/>")));
+
+    assertThat(e)
+        .isInstanceOf(XMLStreamException.class)
+        .hasMessage("Unexpected element project");
+  }
+
+  private static InputStream input(String... lines) {
+    return new ByteArrayInputStream(Stream.of(lines).collect(joining("\n")).getBytes(UTF_8));
+  }
+}
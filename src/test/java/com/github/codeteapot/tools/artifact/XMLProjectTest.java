@@ -0,0 +1,188 @@
+package com.github.codeteapot.tools.artifact;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.joining;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.stream.Stream;
+import javax.xml.stream.XMLStreamException;
+import org.junit.jupiter.api.Test;
+
+public class XMLProjectTest {
+
+  private static final String SOME_PACKAGING = "some-packaging";
+
+  private static final ArtifactCoordinates SOME_PARENT_COORDINATES = new ArtifactCoordinates(
+      "some.parent.group",
+      "some-parent-artifact",
+      "some-parent-version");
+
+  private static final ArtifactCoordinates SOME_DEPENDENCY_ARTIFACT_COORDINATES =
+      new ArtifactCoordinates(
+          "some.dependency.group",
+          "some-dependency-artifact",
+          "some-parent-version");
+
+  @Test
+  public void readPackaging() throws Exception {
+    XMLProject project = XMLProject.read(input(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <packaging>" + SOME_PACKAGING + "</packaging>",
+        "</project>"));
+
+    assertThat(project.getExtension(identity())).isEqualTo(SOME_PACKAGING);
+  }
+
+  @Test
+  public void readSkippingUnusedElements() throws Exception {
+    XMLProject project = XMLProject.read(input(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <parent>",
+        "    <groupId>some.parent.group</groupId>",
+        "    <version>some-parent-version</version>",
+        "  </parent>",
+        "  <foreign xmlns=\"urn:foreign\"/>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>some.dependency.group</groupId>",
+        "      <artifactId>some-dependency-artifact</artifactId>",
+        "      <systemPath>any-path</systemPath>",
+        "    </dependency>",
+        "    <unexpected/>",
+        "  </dependencies>",
+        "  <build>",
+        "    <plugins>",
+        "      <plugin><configuration>any-configuration</configuration></plugin>",
+        "    </plugins>",
+        "  </build>",
+        "</project>"));
+
+    assertThat(project.getExtension(identity())).isNull();
+    assertThat(project.getParent().toCoordinates()).isNull();
+    assertThat(ProjectModel.build(project, ProjectModel.NONE, coordinates -> null)
+        .getDependencies())
+        .extracting(ArtifactDependency::getCoordinates)
+        .containsExactly(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
+  }
+
+  @Test
+  public void readDependencyElements() throws Exception {
+    XMLProject project = XMLProject.read(input(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <properties>",
+        "    <some.scope>test</some.scope>",
+        "  </properties>",
+        "  <dependencies>",
+        "    <dependency>",
+        "      <groupId>some.dependency.group</groupId>",
+        "      <artifactId>some-dependency-artifact</artifactId>",
+        "      <version>some-parent-version</version>",
+        "      <type>test-jar</type>",
+        "      <classifier>tests</classifier>",
+        "      <scope>${some.scope}</scope>",
+        "      <optional>true</optional>",
+        "      <exclusions>",
+        "        <exclusion>",
+        "          <groupId>some.excluded.group</groupId>",
+        "          <artifactId>some-excluded-artifact</artifactId>",
+        "          <unexpected/>",
+        "        </exclusion>",
+        "        <exclusion>",
+        "          <groupId>another.excluded.group</groupId>",
+        "        </exclusion>",
+        "        <unexpected/>",
+        "      </exclusions>",
+        "    </dependency>",
+        "    <dependency>",
+        "      <groupId>unknown.scope.group</groupId>",
+        "      <artifactId>unknown-scope-artifact</artifactId>",
+        "      <version>some-version</version>",
+        "      <scope>import</scope>",
+        "    </dependency>",
+        "  </dependencies>",
+        "</project>"));
+
+    assertThat(ProjectModel.build(project, ProjectModel.NONE, coordinates -> null)
+        .getDependencies())
+        .singleElement()
+        .satisfies(dependency -> {
+          assertThat(dependency.getCoordinates()).isEqualTo(SOME_DEPENDENCY_ARTIFACT_COORDINATES);
+          assertThat(dependency.getType()).isEqualTo("test-jar");
+          assertThat(dependency.getClassifier()).isEqualTo("tests");
+          assertThat(dependency.getScope()).isEqualTo(DependencyScope.TEST);
+          assertThat(dependency.isOptional()).isTrue();
+          assertThat(dependency.getExclusions()).containsExactly(
+              "some.excluded.group:some-excluded-artifact",
+              "another.excluded.group:*");
+        });
+  }
+
+  @Test
+  public void readModelElements() throws Exception {
+    XMLProject project = XMLProject.read(input(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <parent>",
+        "    <groupId>some.parent.group</groupId>",
+        "    <artifactId>some-parent-artifact</artifactId>",
+        "    <version>some-parent-version</version>",
+        "    <relativePath/>",
+        "  </parent>",
+        "  <groupId>some.group</groupId>",
+        "  <artifactId>some-artifact</artifactId>",
+        "  <version>some-version</version>",
+        "  <properties>",
+        "    <some.property>some-value</some.property>",
+        "  </properties>",
+        "  <dependencyManagement>",
+        "    <unexpected/>",
+        "    <dependencies>",
+        "      <dependency>",
+        "        <groupId>some.managed.group</groupId>",
+        "        <artifactId>some-managed-artifact</artifactId>",
+        "        <version>some-managed-version</version>",
+        "      </dependency>",
+        "    </dependencies>",
+        "  </dependencyManagement>",
+        "</project>"));
+
+    assertThat(project.getParent().toCoordinates()).isEqualTo(SOME_PARENT_COORDINATES);
+    assertThat(project.getGroupId()).isEqualTo("some.group");
+    assertThat(project.getArtifactId()).isEqualTo("some-artifact");
+    assertThat(project.getVersion()).isEqualTo("some-version");
+    assertThat(project.getProperties()).containsExactly(entry("some.property", "some-value"));
+    assertThat(project.getManagedDependencies()).hasSize(1);
+    assertThat(project.getDependencies()).isEmpty();
+  }
+
+  @Test
+  public void readParentWithoutVersion() throws Exception {
+    XMLProject project = XMLProject.read(input(
+        "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">",
+        "  <parent>",
+        "    <groupId>some.parent.group</groupId>",
+        "    <artifactId>some-parent-artifact</artifactId>",
+        "  </parent>",
+        "</project>"));
+
+    assertThat(project.getParent().toCoordinates()).isNull();
+  }
+
+  @Test
+  public void failWhenRootIsNotProject() {
+    Throwable e = catchThrowable(() -> XMLProject.read(input(
+        "<project xmlns=\"urn:unexpected\"/>")));
+
+    assertThat(e).isInstanceOf(XMLStreamException.class);
+  }
+
+  private static InputStream input(String... lines) {
+    return new ByteArrayInputStream(Stream.of(lines)
+        .collect(joining("\n"))
+        .getBytes(UTF_8));
+  }
+}
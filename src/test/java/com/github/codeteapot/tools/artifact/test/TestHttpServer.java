@@ -0,0 +1,228 @@
+package com.github.codeteapot.tools.artifact.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+public class TestHttpServer implements AutoCloseable {
+
+  private static final int NOT_FOUND = 404;
+  private static final int NOT_MODIFIED = 304;
+  private static final int OK = 200;
+  private static final int PARTIAL_CONTENT = 206;
+  private static final int RANGE_NOT_SATISFIABLE = 416;
+
+  private static final String SOME_LAST_MODIFIED = "Thu, 01 Jan 2026 00:00:00 GMT";
+
+  private final HttpServer server;
+  private final Map<String, byte[]> contents;
+  private final Map<String, Integer> failures;
+  private final Map<String, AtomicInteger> remainingFailures;
+  private final List<HttpExchange> exchanges;
+  private boolean rangeSupported;
+  private int rangeStart;
+  private boolean contentRange;
+  private boolean compression;
+  private boolean compressedLength;
+  private int truncatedLength;
+  private boolean entityTag;
+  private boolean lastModified;
+  private String retryAfter;
+
+  public TestHttpServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    contents = new ConcurrentHashMap<>();
+    failures = new ConcurrentHashMap<>();
+    remainingFailures = new ConcurrentHashMap<>();
+    exchanges = new CopyOnWriteArrayList<>();
+    rangeSupported = false;
+    rangeStart = -1;
+    contentRange = true;
+    compression = false;
+    compressedLength = false;
+    truncatedLength = 0;
+    entityTag = false;
+    lastModified = false;
+    retryAfter = null;
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  public TestHttpServer with(String path, byte[] content) {
+    contents.put(path, content);
+    return this;
+  }
+
+  public TestHttpServer withRangeSupported() {
+    rangeSupported = true;
+    return this;
+  }
+
+  public TestHttpServer withRangeFrom(int start) {
+    rangeSupported = true;
+    rangeStart = start;
+    return this;
+  }
+
+  public TestHttpServer withoutContentRange() {
+    rangeSupported = true;
+    contentRange = false;
+    return this;
+  }
+
+  public TestHttpServer failing(String path, int status) {
+    return failing(path, status, Integer.MAX_VALUE);
+  }
+
+  public TestHttpServer failing(String path, int status, int times) {
+    failures.put(path, status);
+    remainingFailures.put(path, new AtomicInteger(times));
+    return this;
+  }
+
+  public TestHttpServer withRetryAfter(String value) {
+    retryAfter = value;
+    return this;
+  }
+
+  public TestHttpServer withCompression() {
+    compression = true;
+    return this;
+  }
+
+  public TestHttpServer withCompressedLength() {
+    compression = true;
+    compressedLength = true;
+    return this;
+  }
+
+  public TestHttpServer withTruncatedCompression(int length) {
+    withCompressedLength();
+    truncatedLength = length;
+    return this;
+  }
+
+  public TestHttpServer withEntityTag() {
+    entityTag = true;
+    return this;
+  }
+
+  public TestHttpServer withLastModified() {
+    lastModified = true;
+    return this;
+  }
+
+  public URL url(String path) throws MalformedURLException {
+    return new URL(
+        "http",
+        server.getAddress().getHostString(),
+        server.getAddress().getPort(),
+        path);
+  }
+
+  public List<HttpExchange> exchanges() {
+    return exchanges;
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    exchanges.add(exchange);
+    String path = exchange.getRequestURI().getPath();
+    Integer failure = failures.get(path);
+    if (failure != null && remainingFailures.get(path).getAndDecrement() > 0) {
+      if (retryAfter != null) {
+        exchange.getResponseHeaders().add("Retry-After", retryAfter);
+      }
+      byte[] body = "some-failure".getBytes();
+      exchange.sendResponseHeaders(failure, body.length);
+      try (OutputStream output = exchange.getResponseBody()) {
+        output.write(body);
+      }
+      return;
+    }
+    byte[] content = contents.get(path);
+    if (content == null) {
+      exchange.sendResponseHeaders(NOT_FOUND, -1);
+      exchange.close();
+      return;
+    }
+    String tag = "\"" + Arrays.hashCode(content) + "\"";
+    if (entityTag) {
+      exchange.getResponseHeaders().add("ETag", tag);
+    }
+    if (lastModified) {
+      exchange.getResponseHeaders().add("Last-Modified", SOME_LAST_MODIFIED);
+    }
+    if (entityTag && tag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))
+        || lastModified
+            && SOME_LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"))) {
+      exchange.sendResponseHeaders(NOT_MODIFIED, -1);
+      exchange.close();
+      return;
+    }
+    String range = exchange.getRequestHeaders().getFirst("Range");
+    String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+    int offset = 0;
+    int status = OK;
+    if (rangeSupported
+        && range != null
+        && (ifRange == null || ifRange.equals(tag) || ifRange.equals(SOME_LAST_MODIFIED))) {
+      offset = rangeStart >= 0
+          ? rangeStart
+          : Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+      if (offset >= content.length) {
+        exchange.sendResponseHeaders(RANGE_NOT_SATISFIABLE, -1);
+        exchange.close();
+        return;
+      }
+      status = PARTIAL_CONTENT;
+      if (contentRange) {
+        exchange.getResponseHeaders().add(
+            "Content-Range",
+            "bytes " + offset + "-" + (content.length - 1) + "/" + content.length);
+      }
+    }
+    String encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+    if (compression && encoding != null && encoding.contains("gzip")) {
+      exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+      if (compressedLength) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(compressed)) {
+          output.write(content, offset, content.length - offset);
+        }
+        int length = compressed.size() - truncatedLength;
+        exchange.sendResponseHeaders(status, length);
+        try (OutputStream output = exchange.getResponseBody()) {
+          output.write(compressed.toByteArray(), 0, length);
+        }
+        return;
+      }
+      exchange.sendResponseHeaders(status, 0);
+      try (OutputStream output = new GZIPOutputStream(exchange.getResponseBody())) {
+        output.write(content, offset, content.length - offset);
+      }
+      return;
+    }
+    exchange.sendResponseHeaders(status, content.length - offset);
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(content, offset, content.length - offset);
+    }
+  }
+}